@@ -3,8 +3,11 @@ package io.hyperfoil.tools.horreum.api.alerting;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.CusumDetectionConfig;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.EDivisiveDetectionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.EwmaDetectionConfig;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.FixedThresholdDetectionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.PermutationTestDetectionConfig;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.RelativeDifferenceDetectionConfig;
 import jakarta.validation.constraints.NotNull;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -24,12 +27,18 @@ public class ChangeDetection {
             discriminatorMapping = {
                     @DiscriminatorMapping(schema = RelativeDifferenceDetectionConfig.class, value = ChangeDetectionModelType.names.RELATIVE_DIFFERENCE),
                     @DiscriminatorMapping(schema = FixedThresholdDetectionConfig.class, value = ChangeDetectionModelType.names.FIXED_THRESHOLD),
-                    @DiscriminatorMapping(schema = EDivisiveDetectionConfig.class, value = ChangeDetectionModelType.names.EDIVISIVE)
+                    @DiscriminatorMapping(schema = EDivisiveDetectionConfig.class, value = ChangeDetectionModelType.names.EDIVISIVE),
+                    @DiscriminatorMapping(schema = CusumDetectionConfig.class, value = ChangeDetectionModelType.names.CUSUM),
+                    @DiscriminatorMapping(schema = EwmaDetectionConfig.class, value = ChangeDetectionModelType.names.EWMA),
+                    @DiscriminatorMapping(schema = PermutationTestDetectionConfig.class, value = ChangeDetectionModelType.names.PERMUTATION_TEST)
             },
         oneOf = {
                 RelativeDifferenceDetectionConfig.class,
                 FixedThresholdDetectionConfig.class,
-                EDivisiveDetectionConfig.class
+                EDivisiveDetectionConfig.class,
+                CusumDetectionConfig.class,
+                EwmaDetectionConfig.class,
+                PermutationTestDetectionConfig.class
         }
     )
     public ObjectNode config;
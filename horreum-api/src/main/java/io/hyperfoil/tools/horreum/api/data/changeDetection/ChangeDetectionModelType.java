@@ -14,7 +14,10 @@ public enum ChangeDetectionModelType {
 
     FIXED_THRESHOLD(names.FIXED_THRESHOLD, new TypeReference<FixedThresholdDetectionConfig>() {}),
     RELATIVE_DIFFERENCE (names.RELATIVE_DIFFERENCE, new TypeReference<RelativeDifferenceDetectionConfig>() {}),
-    EDIVISIVE(names.EDIVISIVE, new TypeReference<EDivisiveDetectionConfig>() {});
+    EDIVISIVE(names.EDIVISIVE, new TypeReference<EDivisiveDetectionConfig>() {}),
+    CUSUM(names.CUSUM, new TypeReference<CusumDetectionConfig>() {}),
+    EWMA(names.EWMA, new TypeReference<EwmaDetectionConfig>() {}),
+    PERMUTATION_TEST(names.PERMUTATION_TEST, new TypeReference<PermutationTestDetectionConfig>() {});
     private static final ChangeDetectionModelType[] VALUES = values();
 
     private final String name;
@@ -38,5 +41,8 @@ public enum ChangeDetectionModelType {
         public static final String FIXED_THRESHOLD = "fixedThreshold";
         public static final String RELATIVE_DIFFERENCE = "relativeDifference";
         public static final String EDIVISIVE = "eDivisive";
+        public static final String CUSUM = "cusum";
+        public static final String EWMA = "ewma";
+        public static final String PERMUTATION_TEST = "permutationTest";
     }
 }
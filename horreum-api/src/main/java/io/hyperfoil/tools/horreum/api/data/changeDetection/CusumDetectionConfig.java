@@ -0,0 +1,23 @@
+package io.hyperfoil.tools.horreum.api.data.changeDetection;
+
+import io.hyperfoil.tools.horreum.api.data.datastore.BaseChangeDetectionConfig;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/*
+ * Concrete configuration type for io.hyperfoil.tools.horreum.changedetection.CusumModel
+ */
+public class CusumDetectionConfig extends BaseChangeDetectionConfig {
+    @Schema(type = SchemaType.STRING, required = true, enumeration = { ChangeDetectionModelType.names.CUSUM })
+    public String model;
+    @Schema(type = SchemaType.NUMBER, required = true, example = "5",
+            description = "Cumulative deviation from the baseline mean, in multiples of baseline standard deviation, that is reported as a change.")
+    public Double threshold;
+    @Schema(type = SchemaType.NUMBER, required = true, example = "0.5",
+            description = "Deviation from the baseline mean, in multiples of baseline standard deviation, tolerated in each datapoint.")
+    public Double slack;
+    @Schema(type = SchemaType.INTEGER, required = true, example = "5",
+            description = "Number of datapoints after the last change used to estimate the baseline")
+    public Integer minPrevious;
+
+}
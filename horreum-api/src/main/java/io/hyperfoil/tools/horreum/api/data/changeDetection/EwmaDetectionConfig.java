@@ -0,0 +1,23 @@
+package io.hyperfoil.tools.horreum.api.data.changeDetection;
+
+import io.hyperfoil.tools.horreum.api.data.datastore.BaseChangeDetectionConfig;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/*
+ * Concrete configuration type for io.hyperfoil.tools.horreum.changedetection.EwmaModel
+ */
+public class EwmaDetectionConfig extends BaseChangeDetectionConfig {
+    @Schema(type = SchemaType.STRING, required = true, enumeration = { ChangeDetectionModelType.names.EWMA })
+    public String model;
+    @Schema(type = SchemaType.NUMBER, required = true, example = "0.2",
+            description = "Weight of the most recent datapoint in the moving average.")
+    public Double lambda;
+    @Schema(type = SchemaType.NUMBER, required = true, example = "3",
+            description = "Width of the control limits in multiples of the standard deviation of the moving average.")
+    public Double width;
+    @Schema(type = SchemaType.INTEGER, required = true, example = "5",
+            description = "Number of datapoints after the last change used to estimate the baseline")
+    public Integer minPrevious;
+
+}
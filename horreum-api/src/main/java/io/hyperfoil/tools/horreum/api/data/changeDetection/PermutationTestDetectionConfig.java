@@ -0,0 +1,32 @@
+package io.hyperfoil.tools.horreum.api.data.changeDetection;
+
+import io.hyperfoil.tools.horreum.api.data.datastore.BaseChangeDetectionConfig;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/*
+ * Concrete configuration type for io.hyperfoil.tools.horreum.changedetection.PermutationTestModel
+ */
+public class PermutationTestDetectionConfig extends BaseChangeDetectionConfig {
+    @Schema(type = SchemaType.STRING, required = true, enumeration = { ChangeDetectionModelType.names.PERMUTATION_TEST })
+    public String model;
+    @Schema(type = SchemaType.STRING, required = true, example = "mannWhitney",
+            description = "Test statistic: 'mean' compares means of the values, 'mannWhitney' compares ranks")
+    public String statistic;
+    @Schema(type = SchemaType.INTEGER, required = true, example = "5",
+            description = "Number of most recent datapoints tested against the preceding ones.")
+    public Integer window;
+    @Schema(type = SchemaType.INTEGER, required = true, example = "20",
+            description = "Number of datapoints preceding the window")
+    public Integer previous;
+    @Schema(type = SchemaType.NUMBER, required = true, example = "0.01",
+            description = "Maximum p-value of the test for the difference to be reported as a change.")
+    public Double pvalue;
+    @Schema(type = SchemaType.INTEGER, required = true, example = "10000",
+            description = "Number of random permutations used to estimate the p-value")
+    public Integer iterations;
+    @Schema(type = SchemaType.INTEGER, example = "0",
+            description = "Seed of the random permutations; the same datapoints always give the same result.")
+    public Long seed;
+
+}
@@ -16,6 +16,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
 
+import java.time.Instant;
 import java.util.List;
 
 @Startup
@@ -75,6 +76,16 @@ public interface ConfigService {
    @Operation(description="Test a Datastore")
    void deleteDatastore(@PathParam("id") String datastoreId);
 
+   @GET
+   @Path("leases")
+   @Operation(description="List leases of scheduled jobs; each job is executed only by the Horreum instance holding its lease")
+   List<SchedulerLease> leases();
+
+   @GET
+   @Path("queues")
+   @Operation(description="Show occupancy of message buffers, enqueue latency and consumer lag for each processing lane in this Horreum instance")
+   List<QueueStats> queues();
+
 
 
    class VersionInfo {
@@ -97,6 +108,45 @@ public interface ConfigService {
       public String clientId;
    }
 
+   class SchedulerLease {
+      @NotNull
+      @Schema(description="Identifier of the scheduled job", example = "missing-dataset-check")
+      public String name;
+      @NotNull
+      @Schema(description="Horreum instance holding the lease", example = "horreum-7d9f-1234")
+      public String holder;
+      @NotNull
+      @Schema(description="Time when the current holder acquired the lease", example = "2024-05-06T12:00:00Z")
+      public Instant acquired;
+      @NotNull
+      @Schema(description="Time when the lease expires unless it is renewed", example = "2024-05-06T12:11:00Z")
+      public Instant expires;
+   }
+
+   class QueueStats {
+      @NotNull
+      @Schema(description="Processing lane", example = "run-recalc")
+      public String lane;
+      @Schema(description="Maximum number of messages buffered before sending to the broker")
+      public int capacity;
+      @Schema(description="Messages buffered and not acknowledged yet")
+      public int buffered;
+      @Schema(description="Messages stored in the database because the buffer was full")
+      public long spilled;
+      @Schema(description="Mean time in milliseconds spent waiting for space in the buffer")
+      public double enqueueLatencyMean;
+      @Schema(description="Maximum time in milliseconds spent waiting for space in the buffer (recent)")
+      public double enqueueLatencyMax;
+      @Schema(description="Messages queued by this instance")
+      public long queued;
+      @Schema(description="Messages processed by this instance")
+      public long processed;
+      @Schema(description="Jobs waiting in the database queue (from all instances)")
+      public long backlog;
+      @Schema(description="Creation time of the oldest job waiting in the database queue", example = "2024-05-06T12:00:00Z")
+      public Instant oldestJob;
+   }
+
    class DatastoreTestResponse {
       public String msg;
       public Boolean success;
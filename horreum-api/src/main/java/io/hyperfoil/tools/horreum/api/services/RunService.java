@@ -267,6 +267,12 @@ public interface RunService {
                             content = @Content(mediaType = MediaType.APPLICATION_JSON,
                                     schema = @Schema(type = SchemaType.INTEGER, implementation = Integer.class),
                                     example = "101")),
+                    @APIResponse(
+                            responseCode = "202",
+                            description = "id of the import job when the datastore returned more documents than horreum.upload.multi.batch-size; the runs are imported in background and the progress is available in /api/run/import/{id} (Location header)",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                                    schema = @Schema(type = SchemaType.INTEGER, implementation = Integer.class),
+                                    example = "1")),
                     @APIResponse(
                             responseCode = "400",
                             description = "Some fields are missing or invalid",
@@ -321,6 +327,21 @@ public interface RunService {
                             @RestForm("data") FileUpload data,
                             @RestForm("metadata") FileUpload metadata);
 
+    @GET
+    @Path("import/{id}")
+    @APIResponse(
+            responseCode = "404",
+            description = "If no import job has been found with the given id; jobs are kept in memory of the server that started them, so they are lost when it restarts, and finished jobs are dropped after an hour",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON))
+    @APIResponseSchema(value = RunImportStatus.class,
+            responseDescription = "Progress of the import",
+            responseCode = "200")
+    @Operation(description = "Get progress of an import of multiple Runs returned by a datastore")
+    @Parameters(value = {
+            @Parameter(name = "id", in = ParameterIn.PATH, description = "Import job ID", example = "1"),
+    })
+    RunImportStatus getImportStatus(@PathParam("id") int id);
+
     @GET
     @Path("autocomplete")
     @ApiIgnore
@@ -528,4 +549,31 @@ public interface RunService {
         @JsonProperty(required = true)
         public long trashed;
     }
+
+    class RunImportStatus {
+        @JsonProperty(required = true)
+        @Schema(description = "Import job ID", example = "1")
+        public int id;
+        @JsonProperty(required = true)
+        @Schema(description = "Test ID", example = "101")
+        public int testId;
+        @JsonProperty(required = true)
+        @Schema(description = "Number of Runs in the import", example = "5000")
+        public int total;
+        @JsonProperty(required = true)
+        @Schema(description = "Number of Runs persisted so far", example = "1200")
+        public int persisted;
+        @JsonProperty(required = true)
+        @Schema(description = "Number of Runs that failed to be persisted", example = "0")
+        public int failed;
+        @JsonProperty(required = true)
+        @Schema(description = "True when all Runs have been processed")
+        public boolean done;
+        @NotNull
+        @Schema(description = "IDs of the persisted Runs")
+        public List<Integer> runIds;
+        @NotNull
+        @Schema(description = "Errors of failed batches")
+        public List<String> errors;
+    }
 }
@@ -277,6 +277,39 @@ public interface TestService {
    })
    RecalculationStatus getRecalculationStatus(@PathParam("id") int testId);
 
+   @POST
+   @Path("{id}/recalculate/pause")
+   @Operation(description="Pause recalculation of Datasets for Test; the recalculation can be resumed later")
+   @Parameters(value = {
+           @Parameter(name = "id", description = "Test ID", example = "101"),
+   })
+   void pauseRecalculation(@PathParam("id") int testId);
+
+   @POST
+   @Path("{id}/recalculate/resume")
+   @Operation(description="Resume paused recalculation of Datasets for Test")
+   @Parameters(value = {
+           @Parameter(name = "id", description = "Test ID", example = "101"),
+   })
+   void resumeRecalculation(@PathParam("id") int testId);
+
+   @POST
+   @Path("{id}/recalculate/cancel")
+   @Operation(description="Cancel recalculation of Datasets for Test; Runs that were not processed yet are skipped")
+   @Parameters(value = {
+           @Parameter(name = "id", description = "Test ID", example = "101"),
+   })
+   void cancelRecalculation(@PathParam("id") int testId);
+
+   @POST
+   @Path("{id}/recalculate/throttle")
+   @Operation(description="Limit the rate of recalculation of Datasets for Test")
+   @Parameters(value = {
+           @Parameter(name = "id", description = "Test ID", example = "101"),
+           @Parameter(name = "runsPerMinute", description = "Maximum number of Runs recalculated per minute, 0 means unlimited", example = "60"),
+   })
+   void throttleRecalculation(@PathParam("id") int testId, @QueryParam("runsPerMinute") int runsPerMinute);
+
    @GET
    @Path("{id}/export")
    @Produces(MediaType.APPLICATION_JSON)
@@ -364,6 +397,10 @@ public interface TestService {
       @JsonProperty(required = true)
       @Schema(description = "Total number of generated datasets", example = "186")
       public long datasets;
+      @Schema(description = "State of the recalculation: RUNNING, PAUSED, CANCELLED or FINISHED", example = "RUNNING")
+      public String state;
+      @Schema(description = "Maximum number of Runs recalculated per minute, 0 means unlimited", example = "0")
+      public int throttle;
 
       public RecalculationStatus() {
       }
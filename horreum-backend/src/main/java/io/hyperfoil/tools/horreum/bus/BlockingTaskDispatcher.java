@@ -1,74 +1,277 @@
 package io.hyperfoil.tools.horreum.bus;
 
+import io.hyperfoil.tools.horreum.svc.ServiceException;
 import io.hyperfoil.tools.horreum.svc.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.Startup;
-import io.vertx.core.Vertx;
+import io.quarkus.scheduler.Scheduled;
+import io.vertx.core.Context;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Executes tasks for each test serially, in the order of submission, on a dedicated thread pool.
+ * Tasks for different tests run in parallel. The number of tasks waiting for a test is limited:
+ * <ul>
+ *    <li>{@link #submitForTest(int, Runnable)} is used by user-facing endpoints; when the queue is full
+ *    the request is rejected with <code>503 Service Unavailable</code> right away.</li>
+ *    <li>{@link #executeForTest(int, Runnable)} is used for internal work (often after the transaction commits)
+ *    that has nobody to report the rejection to. It waits for space in the queue up to
+ *    <code>horreum.tasks.submit-timeout</code> and then adds the task over the limit rather than losing it.
+ *    Submissions from the event loop and from the tasks themselves never wait.</li>
+ * </ul>
+ * Queues of tests without pending tasks are removed, metrics of tests are removed after a period without any tasks.
+ */
 @Startup
 @ApplicationScoped
 public class BlockingTaskDispatcher {
    private static final Logger log = Logger.getLogger(BlockingTaskDispatcher.class);
+   // test whose tasks are executed by current thread
+   private static final ThreadLocal<Integer> currentTest = new ThreadLocal<>();
+
+   @ConfigProperty(name = "horreum.tasks.concurrency", defaultValue = "8")
+   int concurrency;
+
+   @ConfigProperty(name = "horreum.tasks.queue-capacity", defaultValue = "1000")
+   int capacity;
+
+   @ConfigProperty(name = "horreum.tasks.submit-timeout", defaultValue = "PT30S")
+   Duration submitTimeout;
+
+   @ConfigProperty(name = "horreum.tasks.metrics-expiration", defaultValue = "PT10M")
+   Duration metricsExpiration;
+
+   // tasks executed for one test before the thread is yielded to other tests
+   @ConfigProperty(name = "horreum.tasks.batch-size", defaultValue = "16")
+   int batchSize;
+
    @Inject
-   Vertx vertx;
+   MeterRegistry registry;
 
    private final ConcurrentMap<Integer, TaskQueue> taskQueues = new ConcurrentHashMap<>();
+   private final ConcurrentMap<Integer, TestMetrics> metrics = new ConcurrentHashMap<>();
+   private ExecutorService executor;
+
+   @PostConstruct
+   void init() {
+      AtomicInteger counter = new AtomicInteger();
+      executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+         Thread thread = new Thread(r, "horreum-tasks-" + counter.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      });
+      registry.gaugeMapSize("horreum.tasks.tests", null, taskQueues);
+      registry.gauge("horreum.tasks.queued", taskQueues, queues -> queues.values().stream().mapToInt(TaskQueue::size).sum());
+   }
+
+   @PreDestroy
+   void destroy() {
+      executor.shutdownNow();
+   }
 
+   /**
+    * Executes internal work for the test; never fails because the queue is full.
+    */
    public void executeForTest(int testId, Runnable runnable) {
-      Runnable task = Util.wrapForBlockingExecution(runnable);
-      vertx.executeBlocking(promise -> {
-         try {
-            TaskQueue queue = taskQueues.computeIfAbsent(testId, TaskQueue::new);
-            queue.executeOrAdd(task);
-         } catch (Exception e) {
-            log.error("Failed to execute blocking task", e);
-         } finally {
-            promise.complete();
+      submit(testId, runnable, false);
+   }
+
+   /**
+    * Executes work requested by the user for the test.
+    * @throws ServiceException with status <code>503</code> if the queue for the test is full.
+    */
+   public void submitForTest(int testId, Runnable runnable) {
+      submit(testId, runnable, true);
+   }
+
+   private void submit(int testId, Runnable runnable, boolean mayReject) {
+      Task task = new Task(Util.wrapForBlockingExecution(runnable));
+      // the event loop must not block and a task waiting for its own queue would never get the space
+      boolean mayWait = !Context.isOnEventLoopThread() && currentTest.get() == null;
+      long deadline = System.nanoTime() + submitTimeout.toNanos();
+      for (;;) {
+         TaskQueue queue = taskQueues.computeIfAbsent(testId, id -> new TaskQueue(id, metrics(id)));
+         synchronized (queue) {
+            if (queue.retired) {
+               continue;
+            }
+            if (queue.tasks.size() >= capacity) {
+               if (mayReject) {
+                  log.warnf("Task queue for test %d is full (%d tasks), rejecting request", testId, queue.tasks.size());
+                  queue.metrics.rejected.increment();
+                  throw new ServiceException(Response.Status.SERVICE_UNAVAILABLE, "Too many pending tasks for test " + testId + ", retry later.");
+               }
+               long remaining = deadline - System.nanoTime();
+               if (mayWait && remaining > 0) {
+                  try {
+                     TimeUnit.NANOSECONDS.timedWait(queue, remaining);
+                     continue;
+                  } catch (InterruptedException e) {
+                     Thread.currentThread().interrupt();
+                  }
+               }
+               log.warnf("Task queue for test %d is full (%d tasks), adding task over the limit", testId, queue.tasks.size());
+               queue.metrics.overflow.increment();
+            }
+            queue.tasks.add(task);
+            queue.metrics.depth.incrementAndGet();
+            if (!queue.scheduled) {
+               queue.scheduled = true;
+               executor.execute(queue);
+            }
+            return;
          }
+      }
+   }
+
+   private TestMetrics metrics(int testId) {
+      TestMetrics testMetrics = metrics.computeIfAbsent(testId, id -> {
+         Tags tags = Tags.of("test", String.valueOf(id));
+         AtomicInteger depth = new AtomicInteger();
+         Gauge depthGauge = Gauge.builder("horreum.tasks.depth", depth, AtomicInteger::get).tags(tags)
+               .description("Tasks waiting for execution").register(registry);
+         Timer wait = Timer.builder("horreum.tasks.wait").tags(tags)
+               .description("Time between submission and start of the task").register(registry);
+         Timer run = Timer.builder("horreum.tasks.run").tags(tags)
+               .description("Execution time of the task").register(registry);
+         Counter rejected = Counter.builder("horreum.tasks.rejected").tags(tags)
+               .description("Requests rejected because the queue was full").register(registry);
+         Counter overflow = Counter.builder("horreum.tasks.overflow").tags(tags)
+               .description("Internal tasks added to a full queue after waiting for space").register(registry);
+         return new TestMetrics(depth, depthGauge, wait, run, rejected, overflow);
       });
+      testMetrics.touch();
+      return testMetrics;
    }
 
-}
+   /**
+    * Removes metrics of tests that had no tasks for <code>horreum.tasks.metrics-expiration</code>;
+    * otherwise the registry would keep meters of every test ever processed.
+    */
+   @Scheduled(every = "{horreum.tasks.metrics-expiration}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+   void evictIdleMetrics() {
+      long idleSince = System.nanoTime() - metricsExpiration.toNanos();
+      for (Integer testId : metrics.keySet()) {
+         metrics.computeIfPresent(testId, (id, testMetrics) -> {
+            if (taskQueues.containsKey(id) || testMetrics.lastUsed - idleSince > 0) {
+               return testMetrics;
+            }
+            testMetrics.remove(registry);
+            return null;
+         });
+      }
+   }
+
+   private static final class TestMetrics {
+      final AtomicInteger depth;
+      final Gauge depthGauge;
+      final Timer waitTime;
+      final Timer runTime;
+      final Counter rejected;
+      final Counter overflow;
+      volatile long lastUsed;
+
+      TestMetrics(AtomicInteger depth, Gauge depthGauge, Timer waitTime, Timer runTime, Counter rejected, Counter overflow) {
+         this.depth = depth;
+         this.depthGauge = depthGauge;
+         this.waitTime = waitTime;
+         this.runTime = runTime;
+         this.rejected = rejected;
+         this.overflow = overflow;
+      }
 
-class TaskQueue {
-   private static final Logger log = Logger.getLogger(TaskQueue.class);
-   private final int testId;
-   private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
-   private final ReentrantLock lock = new ReentrantLock();
+      void touch() {
+         lastUsed = System.nanoTime();
+      }
 
-   public TaskQueue(int testId) {
-      this.testId = testId;
+      void remove(MeterRegistry registry) {
+         registry.remove(depthGauge);
+         registry.remove(waitTime);
+         registry.remove(runTime);
+         registry.remove(rejected);
+         registry.remove(overflow);
+      }
    }
 
-   public void executeOrAdd(Runnable runnable) {
-      queue.add(runnable);
-      do {
-         if (lock.tryLock()) {
-            log.debugf("This thread is going to execute tasks (%d) for test %d, lock level %d", queue.size(), testId, lock.getHoldCount());
-            try {
-               while (!queue.isEmpty()) {
-                  Runnable task = queue.poll();
-                  task.run();
+   private record Task(Runnable runnable, long submitted) {
+      Task(Runnable runnable) {
+         this(runnable, System.nanoTime());
+      }
+   }
+
+   private class TaskQueue implements Runnable {
+      final int testId;
+      final TestMetrics metrics;
+      final Queue<Task> tasks = new ArrayDeque<>();
+      // guarded by this
+      boolean scheduled;
+      boolean retired;
+
+      TaskQueue(int testId, TestMetrics metrics) {
+         this.testId = testId;
+         this.metrics = metrics;
+      }
+
+      synchronized int size() {
+         return tasks.size();
+      }
+
+      @Override
+      public void run() {
+         currentTest.set(testId);
+         try {
+            for (int i = 0; i < batchSize; ++i) {
+               Task task;
+               synchronized (this) {
+                  task = tasks.poll();
+                  if (task == null) {
+                     // new submissions will create a new queue
+                     scheduled = false;
+                     retired = true;
+                     metrics.touch();
+                     taskQueues.remove(testId, this);
+                     return;
+                  }
+                  metrics.depth.decrementAndGet();
+                  // wake up submitters waiting for space
+                  notifyAll();
+               }
+               long start = System.nanoTime();
+               metrics.waitTime.record(start - task.submitted, TimeUnit.NANOSECONDS);
+               try {
+                  task.runnable.run();
+               } catch (Throwable t) {
+                  log.errorf(t, "Error executing task in the queue for test %d", testId);
+               } finally {
+                  metrics.runTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                }
-            } catch (Throwable t) {
-               log.errorf(t, "Error executing task in the queue for test %d", testId);
-            } finally {
-               log.debugf("Finished executing tasks for test %d", testId);
-               lock.unlock();
             }
-         } else {
-            log.debugf("There's another thread executing the tasks (%d) for test %d", queue.size(), testId);
-            return;
+            // let tasks of other tests run
+            log.debugf("Yielding execution of tasks for test %d", testId);
+            executor.execute(this);
+         } finally {
+            currentTest.remove();
          }
-      } while (!queue.isEmpty());
+      }
    }
 }
-
@@ -0,0 +1,108 @@
+package io.hyperfoil.tools.horreum.bus;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+
+/**
+ * Limits the number of messages buffered in an {@link Emitter}: a message occupies the buffer until it is acknowledged.
+ * When the buffer is full the sender is blocked until there's space or a timeout elapses; after the timeout
+ * (or immediately, on the event loop) the message is passed to the overflow handler that stores it durably.
+ */
+public class FlowControlledEmitter<T> {
+   private static final Logger log = Logger.getLogger(FlowControlledEmitter.class);
+
+   private final String channel;
+   private final Emitter<T> emitter;
+   private final int capacity;
+   private final Duration timeout;
+   private final Consumer<T> overflow;
+   private final Semaphore permits;
+   private final AtomicInteger buffered = new AtomicInteger();
+   private final Timer enqueueLatency;
+   private final Counter spilled;
+
+   public FlowControlledEmitter(String channel, Emitter<T> emitter, int capacity, Duration timeout, Consumer<T> overflow, MeterRegistry registry) {
+      this.channel = channel;
+      this.emitter = emitter;
+      this.capacity = capacity;
+      this.timeout = timeout;
+      this.overflow = overflow;
+      this.permits = new Semaphore(capacity);
+      Tags tags = Tags.of("lane", channel);
+      registry.gauge("horreum.lane.buffered", tags, buffered);
+      this.enqueueLatency = Timer.builder("horreum.lane.enqueue").tags(tags)
+            .description("Time spent waiting for space in the emitter buffer").register(registry);
+      this.spilled = Counter.builder("horreum.lane.spilled").tags(tags)
+            .description("Messages stored durably because the emitter buffer was full").register(registry);
+   }
+
+   public void send(T payload) {
+      long start = System.nanoTime();
+      boolean acquired = permits.tryAcquire();
+      if (!acquired && !Context.isOnEventLoopThread()) {
+         try {
+            acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+      enqueueLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      if (!acquired) {
+         log.debugf("Buffer for %s is full, storing message durably", channel);
+         spilled.increment();
+         overflow.accept(payload);
+         return;
+      }
+      buffered.incrementAndGet();
+      try {
+         emitter.send(payload).whenComplete((nil, throwable) -> {
+            release();
+            if (throwable != null) {
+               log.errorf(throwable, "Failed to send message to %s", channel);
+            }
+         });
+      } catch (RuntimeException e) {
+         release();
+         log.errorf(e, "Cannot send message to %s, storing it durably", channel);
+         spilled.increment();
+         overflow.accept(payload);
+      }
+   }
+
+   private void release() {
+      buffered.decrementAndGet();
+      permits.release();
+   }
+
+   public String channel() {
+      return channel;
+   }
+
+   public int buffered() {
+      return buffered.get();
+   }
+
+   public int capacity() {
+      return capacity;
+   }
+
+   public long spilled() {
+      return (long) spilled.count();
+   }
+
+   public Timer enqueueLatency() {
+      return enqueueLatency;
+   }
+}
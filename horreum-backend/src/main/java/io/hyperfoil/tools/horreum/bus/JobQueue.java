@@ -0,0 +1,376 @@
+package io.hyperfoil.tools.horreum.bus;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.server.RoleManager;
+import io.hyperfoil.tools.horreum.server.WithRoles;
+import io.hyperfoil.tools.horreum.svc.Roles;
+import io.hyperfoil.tools.horreum.svc.Util;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.runtime.ShutdownEvent;
+
+/**
+ * Durable job queue stored in PostgreSQL, an alternative to the AMQP broker for single-cluster deployments.
+ * Jobs are inserted as a part of the calling transaction, claimed in batches using <code>FOR UPDATE SKIP LOCKED</code>
+ * and workers are woken up using <code>LISTEN/NOTIFY</code>. Claimed jobs are hidden for the lease period so that jobs
+ * of a crashed node are retried; failed jobs are retried with exponential backoff and moved to
+ * <code>job_queue_dead</code> after exceeding the maximum number of attempts.
+ */
+@ApplicationScoped
+public class JobQueue {
+   private static final Logger log = Logger.getLogger(JobQueue.class);
+   public static final String TRANSPORT_POSTGRES = "postgres";
+   private static final String NOTIFY_CHANNEL = "horreum_jobs";
+   private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+   //@formatter:off
+   private static final String CLAIM = """
+         UPDATE job_queue SET attempts = attempts + 1, run_at = now() + make_interval(secs => ?2)
+         WHERE id IN (
+            SELECT id FROM job_queue WHERE channel = ?1 AND run_at <= now()
+            ORDER BY run_at, id LIMIT ?3 FOR UPDATE SKIP LOCKED
+         ) RETURNING id, payload::::text, attempts
+         """;
+   // Payload of a pending job with the same key is replaced (last writer wins); the job keeps its original schedule
+   // so that a steady stream of requests cannot postpone it indefinitely. Claimed jobs have attempts > 0 and are not
+   // matched: these are being processed and the new request needs a job of its own.
+   private static final String ENQUEUE_COALESCED = """
+         INSERT INTO job_queue(channel, dedup_key, payload, run_at) VALUES (?1, ?2, ?3::::jsonb, now() + make_interval(secs => ?4))
+         ON CONFLICT (channel, dedup_key) WHERE attempts = 0
+         DO UPDATE SET payload = EXCLUDED.payload
+         RETURNING xmax = 0
+         """;
+   private static final String RETRY = "UPDATE job_queue SET run_at = now() + make_interval(secs => ?2), last_error = ?3 WHERE id = ?1";
+   private static final String MOVE_TO_DEAD_LETTER = """
+         WITH dead AS (DELETE FROM job_queue WHERE id = ?1 RETURNING id, channel, payload, attempts, created)
+         INSERT INTO job_queue_dead(id, channel, payload, attempts, created, last_error)
+         SELECT id, channel, payload, attempts, created, ?2 FROM dead
+         """;
+   //@formatter:on
+
+   @ConfigProperty(name = "horreum.queue.transport", defaultValue = "amqp")
+   String transport;
+
+   @ConfigProperty(name = "horreum.queue.batch-size", defaultValue = "10")
+   int batchSize;
+
+   @ConfigProperty(name = "horreum.queue.max-attempts", defaultValue = "5")
+   int maxAttempts;
+
+   @ConfigProperty(name = "horreum.queue.backoff", defaultValue = "PT5S")
+   Duration backoff;
+
+   @ConfigProperty(name = "horreum.queue.lease", defaultValue = "PT10M")
+   Duration lease;
+
+   @ConfigProperty(name = "horreum.queue.poll-interval", defaultValue = "PT5S")
+   Duration pollInterval;
+
+   @Inject
+   EntityManager em;
+
+   @Inject
+   TransactionManager tm;
+
+   @Inject
+   RoleManager roleManager;
+
+   @Inject
+   DataSource dataSource;
+
+   private final Map<String, Worker<?>> workers = new ConcurrentHashMap<>();
+   private volatile boolean running = true;
+   private Thread listener;
+
+   public boolean isEnabled() {
+      return TRANSPORT_POSTGRES.equals(transport);
+   }
+
+   /**
+    * Adds the job to the queue; the job is visible to workers only after the current transaction commits.
+    */
+   @Transactional
+   @WithRoles(extras = Roles.HORREUM_MESSAGEBUS)
+   public void enqueue(String channel, Object payload) {
+      em.createNativeQuery("INSERT INTO job_queue(channel, payload) VALUES (?1, ?2::::jsonb)")
+            .setParameter(1, channel).setParameter(2, toJson(channel, payload)).executeUpdate();
+   }
+
+   /**
+    * Adds the job to the queue, delayed by the coalescing window, unless there is a pending job with the same key;
+    * in that case the payload of the pending job is replaced.
+    * @return <code>false</code> if the job was coalesced with a pending one.
+    */
+   @Transactional
+   @WithRoles(extras = Roles.HORREUM_MESSAGEBUS)
+   public boolean enqueue(String channel, String key, Object payload, Duration window) {
+      return (Boolean) em.createNativeQuery(ENQUEUE_COALESCED)
+            .setParameter(1, channel).setParameter(2, key).setParameter(3, toJson(channel, payload))
+            .setParameter(4, window.toMillis() / 1000.0)
+            .getSingleResult();
+   }
+
+   /**
+    * @return Number of jobs waiting in each channel and creation time of the oldest one.
+    */
+   @Transactional
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   public Map<String, Backlog> backlog() {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = em.createNativeQuery("SELECT channel, count(*), MIN(created) FROM job_queue GROUP BY channel").getResultList();
+      Map<String, Backlog> backlog = new HashMap<>();
+      for (Object[] row : rows) {
+         backlog.put((String) row[0], new Backlog(((Number) row[1]).longValue(), (Instant) row[2]));
+      }
+      return backlog;
+   }
+
+   public record Backlog(long jobs, Instant oldest) {}
+
+   private static String toJson(String channel, Object payload) {
+      try {
+         return Util.OBJECT_MAPPER.writeValueAsString(payload);
+      } catch (JsonProcessingException e) {
+         throw new IllegalArgumentException("Cannot serialize job for " + channel, e);
+      }
+   }
+
+   /**
+    * Starts processing jobs from given channel.
+    * @param pool Name of the worker pool; the concurrency is the same as for AMQP transport
+    *             (<code>smallrye.messaging.worker.&lt;pool&gt;.max-concurrency</code>)
+    */
+   public synchronized <T> void register(String channel, Class<T> type, String pool, Consumer<T> handler) {
+      int concurrency = ConfigProvider.getConfig()
+            .getOptionalValue("smallrye.messaging.worker." + pool + ".max-concurrency", Integer.class).orElse(1);
+      Worker<T> worker = new Worker<>(channel, type, handler, concurrency);
+      if (workers.putIfAbsent(channel, worker) != null) {
+         throw new IllegalStateException("Channel " + channel + " already has a handler");
+      }
+      if (listener == null) {
+         listener = new Thread(this::listen, "horreum-jobs-listener");
+         listener.setDaemon(true);
+         listener.start();
+      }
+      worker.start();
+      log.infof("Processing jobs for %s with concurrency %d", channel, concurrency);
+   }
+
+   void onShutdown(@Observes ShutdownEvent event) {
+      running = false;
+      workers.values().forEach(Worker::stop);
+   }
+
+   private void listen() {
+      while (running) {
+         try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + NOTIFY_CHANNEL);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            // jobs inserted while we were not listening
+            workers.values().forEach(Worker::wakeUp);
+            while (running) {
+               PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+               if (notifications != null) {
+                  for (PGNotification notification : notifications) {
+                     Worker<?> worker = workers.get(notification.getParameter());
+                     if (worker != null) {
+                        worker.wakeUp();
+                     }
+                  }
+               }
+            }
+         } catch (SQLException e) {
+            if (running) {
+               log.error("Failed to listen for job notifications, reconnecting", e);
+               sleep(pollInterval.toMillis());
+            }
+         }
+      }
+   }
+
+   private List<Object[]> claim(String channel, int limit) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singletonList(Roles.HORREUM_SYSTEM))) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> jobs = em.createNativeQuery(CLAIM)
+                  .setParameter(1, channel)
+                  .setParameter(2, (double) lease.toSeconds())
+                  .setParameter(3, limit)
+                  .getResultList();
+            return jobs;
+         }
+      });
+   }
+
+   private void complete(long id) {
+      Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singletonList(Roles.HORREUM_SYSTEM))) {
+            return em.createNativeQuery("DELETE FROM job_queue WHERE id = ?1").setParameter(1, id).executeUpdate();
+         }
+      });
+   }
+
+   private void fail(String channel, long id, int attempts, Throwable t) {
+      String error = String.valueOf(t.getMessage());
+      Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singletonList(Roles.HORREUM_SYSTEM))) {
+            if (attempts >= maxAttempts) {
+               log.errorf(t, "Job %d on %s failed %d times, moving to dead letter table", id, channel, attempts);
+               return em.createNativeQuery(MOVE_TO_DEAD_LETTER).setParameter(1, id).setParameter(2, error).executeUpdate();
+            }
+            long delay = Math.min(backoff.toSeconds() << Math.min(attempts - 1, 20), MAX_BACKOFF.toSeconds());
+            log.warnf(t, "Job %d on %s failed (attempt %d), retrying in %d seconds", id, channel, attempts, delay);
+            return em.createNativeQuery(RETRY).setParameter(1, id).setParameter(2, (double) delay).setParameter(3, error).executeUpdate();
+         }
+      });
+   }
+
+   private static void sleep(long millis) {
+      try {
+         Thread.sleep(millis);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private class Worker<T> implements Runnable {
+      final String channel;
+      final Class<T> type;
+      final Consumer<T> handler;
+      final int concurrency;
+      final Semaphore permits;
+      final ExecutorService executor;
+      final Object signal = new Object();
+      boolean wakeUp;
+      Thread thread;
+
+      Worker(String channel, Class<T> type, Consumer<T> handler, int concurrency) {
+         this.channel = channel;
+         this.type = type;
+         this.handler = handler;
+         this.concurrency = concurrency;
+         this.permits = new Semaphore(concurrency);
+         AtomicInteger counter = new AtomicInteger();
+         this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "horreum-jobs-" + channel + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+         });
+      }
+
+      void start() {
+         thread = new Thread(this, "horreum-jobs-" + channel);
+         thread.setDaemon(true);
+         thread.start();
+      }
+
+      void stop() {
+         wakeUp();
+         executor.shutdown();
+         try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+
+      void wakeUp() {
+         synchronized (signal) {
+            wakeUp = true;
+            signal.notifyAll();
+         }
+      }
+
+      private void await() {
+         synchronized (signal) {
+            if (!wakeUp) {
+               try {
+                  signal.wait(pollInterval.toMillis());
+               } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+               }
+            }
+            wakeUp = false;
+         }
+      }
+
+      @Override
+      public void run() {
+         while (running) {
+            int limit = Math.min(permits.availablePermits(), batchSize);
+            List<Object[]> jobs = Collections.emptyList();
+            if (limit > 0) {
+               try {
+                  jobs = claim(channel, limit);
+               } catch (Exception e) {
+                  log.errorf(e, "Failed to claim jobs for %s", channel);
+               }
+            }
+            for (Object[] job : jobs) {
+               permits.acquireUninterruptibly();
+               Runnable task = Util.wrapForBlockingExecution(() -> process(((Number) job[0]).longValue(), (String) job[1], ((Number) job[2]).intValue()));
+               executor.execute(() -> {
+                  try {
+                     task.run();
+                  } finally {
+                     permits.release();
+                     wakeUp();
+                  }
+               });
+            }
+            // full batch means there might be more jobs waiting
+            if (limit == 0 || jobs.size() < limit) {
+               await();
+            }
+         }
+      }
+
+      private void process(long id, String payload, int attempts) {
+         ManagedContext requestContext = Arc.container().requestContext();
+         requestContext.activate();
+         try {
+            handler.accept(Util.OBJECT_MAPPER.readValue(payload, type));
+         } catch (Throwable t) {
+            fail(channel, id, attempts, t);
+            return;
+         } finally {
+            requestContext.terminate();
+         }
+         complete(id);
+      }
+   }
+}
@@ -0,0 +1,61 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+/**
+ * Mean and standard deviation of the first datapoints after a change, estimated with Welford's algorithm.
+ * Once enough datapoints are collected the estimate is frozen and streaming models compare further datapoints
+ * against it.
+ */
+class Baseline {
+    // with constant baseline any difference would be reported as a change
+    private static final double MIN_RELATIVE_STDDEV = 0.01;
+
+    private final int size;
+    private int n;
+    private double mean;
+    private double m2;
+
+    Baseline(int size) {
+        this.size = Math.max(size, 2);
+    }
+
+    Baseline(Baseline other) {
+        this.size = other.size;
+        this.n = other.n;
+        this.mean = other.mean;
+        this.m2 = other.m2;
+    }
+
+    /**
+     * @return True if the value was used for the estimate, false if the baseline is already complete.
+     */
+    boolean add(double value) {
+        if (n >= size) {
+            return false;
+        }
+        ++n;
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+        return true;
+    }
+
+    boolean isComplete() {
+        return n >= size;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    double stddev() {
+        return n < 2 ? 0 : Math.sqrt(m2 / (n - 1));
+    }
+
+    /**
+     * @return Standard deviation used for normalization, never zero.
+     */
+    double scale() {
+        double scale = Math.max(stddev(), Math.abs(mean) * MIN_RELATIVE_STDDEV);
+        return scale > 0 ? scale : Double.MIN_NORMAL;
+    }
+}
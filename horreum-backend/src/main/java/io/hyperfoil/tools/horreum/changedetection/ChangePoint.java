@@ -0,0 +1,10 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+/**
+ * Change detected by a {@link SeriesChangeDetectionModel}.
+ *
+ * @param index Index of the first datapoint after the change in {@link DataPointSeries}.
+ * @param description Human-readable description of the change.
+ */
+public record ChangePoint(int index, String description) {
+}
@@ -0,0 +1,156 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.CusumDetectionConfig;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tabular CUSUM: accumulates deviations of datapoints from the baseline mean (minus the allowed slack)
+ * and reports a change when the cumulative sum in either direction exceeds the threshold.
+ */
+@ApplicationScoped
+public class CusumModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
+    private static final Logger log = Logger.getLogger(CusumModel.class);
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Override
+    public ConditionConfig config() {
+        ConditionConfig conditionConfig = new ConditionConfig(ChangeDetectionModelType.names.CUSUM, "Cumulative sum (CUSUM)",
+                "This model estimates mean and standard deviation of the first datapoints after the last change " +
+                        "(the baseline) and accumulates the deviations of following datapoints from the baseline mean. " +
+                        "Deviations smaller than the slack are ignored; when the cumulative sum of deviations in either " +
+                        "direction exceeds the threshold the change is emitted. This detects small persistent shifts " +
+                        "and keeps constant-size state regardless of the length of the series.")
+                .addComponent("threshold", new ConditionConfig.LogSliderComponent(1, 1, 100, 5, false, " σ"),
+                        "Decision threshold",
+                        "Cumulative deviation from the baseline mean, in multiples of baseline standard deviation, that is reported as a change.")
+                .addComponent("slack", new ConditionConfig.LogSliderComponent(1, 0.1, 10, 0.5, false, " σ"),
+                        "Slack",
+                        "Deviation from the baseline mean tolerated in each datapoint; usually half of the shift that should be detected.")
+                .addComponent("minPrevious", new ConditionConfig.LogSliderComponent(1, 2, 1000, 5, true, " "),
+                        "Baseline datapoints",
+                        "Number of datapoints after the last change used to estimate the baseline.");
+        conditionConfig.defaults.put("model", new TextNode(ChangeDetectionModelType.names.CUSUM));
+        return conditionConfig;
+    }
+
+    @Override
+    public ChangeDetectionModelType type() {
+        return ChangeDetectionModelType.CUSUM;
+    }
+
+    @Override
+    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        analyzeDataPoints(dataPoints, configuration, changeConsumer);
+    }
+
+    @Override
+    public int recentDatapoints(JsonNode configuration) {
+        return 1;
+    }
+
+    @Override
+    public Map<String, SeriesAccumulator> accumulators(JsonNode configuration) {
+        return Map.of(key(configuration), new Cusum(configuration.path("minPrevious").asInt(5), configuration.path("slack").asDouble(0.5)));
+    }
+
+    @Override
+    public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException {
+        try {
+            CusumDetectionConfig config = mapper.treeToValue(configuration, CusumDetectionConfig.class);
+            if (!(series.accumulator(key(configuration)) instanceof Cusum cusum)) {
+                String errMsg = "Series does not maintain the state of CUSUM model, skipping analysis.";
+                log.error(errMsg);
+                throw new ChangeDetectionException(errMsg);
+            }
+            for (int i = series.recentSize() - 1; i >= 0; --i) {
+                cusum.add(series.value(i));
+            }
+            if (!cusum.baseline.isComplete()) {
+                log.debugf("Too few (%d) datapoints for baseline, skipping analysis", series.size());
+                return List.of();
+            }
+            log.tracef("Baseline mean %f (stddev %f), upper sum %f, lower sum %f", cusum.baseline.mean(), cusum.baseline.stddev(), cusum.upper, cusum.lower);
+            if (cusum.upper <= config.threshold && cusum.lower <= config.threshold) {
+                return List.of();
+            }
+            boolean increase = cusum.upper > config.threshold;
+            String description = String.format("Dataset %d/%d (%s): value %f, baseline mean %f (stddev %f), cumulative %s %.2f σ exceeds threshold %.2f σ, shift started %d datapoint(s) ago",
+                    series.runId(0), series.ordinal(0), series.timestamp(0), series.value(0),
+                    cusum.baseline.mean(), cusum.baseline.stddev(), increase ? "increase" : "decrease",
+                    increase ? cusum.upper : cusum.lower, config.threshold, increase ? cusum.upperLength : cusum.lowerLength);
+            log.debug(description);
+            return List.of(new ChangePoint(0, description));
+        } catch (JsonProcessingException e) {
+            String errMsg = String.format("Failed to parse configuration of CUSUM model: %s", configuration);
+            log.error(errMsg, e);
+            throw new ChangeDetectionException(errMsg, e);
+        }
+    }
+
+    @Override
+    public ModelType getType() {
+        return ModelType.CONTINOUS;
+    }
+
+    private static String key(JsonNode configuration) {
+        return ChangeDetectionModelType.names.CUSUM + configuration;
+    }
+
+    static class Cusum implements SeriesAccumulator {
+        final Baseline baseline;
+        final double slack;
+        // cumulative sums of normalized deviations above and below the baseline mean
+        double upper;
+        double lower;
+        // number of datapoints since the sums were last zero
+        int upperLength;
+        int lowerLength;
+
+        Cusum(int minPrevious, double slack) {
+            this.baseline = new Baseline(minPrevious);
+            this.slack = slack;
+        }
+
+        private Cusum(Cusum other) {
+            this.baseline = new Baseline(other.baseline);
+            this.slack = other.slack;
+            this.upper = other.upper;
+            this.lower = other.lower;
+            this.upperLength = other.upperLength;
+            this.lowerLength = other.lowerLength;
+        }
+
+        @Override
+        public void add(double value) {
+            if (baseline.add(value)) {
+                return;
+            }
+            double deviation = (value - baseline.mean()) / baseline.scale();
+            upper = Math.max(0, upper + deviation - slack);
+            lower = Math.max(0, lower - deviation - slack);
+            upperLength = upper > 0 ? upperLength + 1 : 0;
+            lowerLength = lower > 0 ? lowerLength + 1 : 0;
+        }
+
+        @Override
+        public Cusum copy() {
+            return new Cusum(this);
+        }
+    }
+}
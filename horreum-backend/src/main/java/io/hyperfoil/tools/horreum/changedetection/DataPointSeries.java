@@ -0,0 +1,217 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+
+/**
+ * Compact representation of datapoints in a series since the last change. Only the most recent datapoints
+ * are kept (newest first, index 0 is the latest datapoint), older datapoints are summarized in running statistics
+ * and {@link SeriesAccumulator accumulators} of streaming models. Instances are immutable.
+ */
+public class DataPointSeries {
+    private final int[] ids;
+    private final int[] datasetIds;
+    private final int[] runIds;
+    private final int[] ordinals;
+    // microseconds since epoch, the precision of PostgreSQL timestamps
+    private final long[] timestamps;
+    private final double[] values;
+    private final SummaryStatistics older;
+    private final Map<String, SeriesAccumulator> accumulators;
+
+    private DataPointSeries(Builder builder, int length, SummaryStatistics older, Map<String, SeriesAccumulator> accumulators) {
+        this.ids = Arrays.copyOf(builder.ids, length);
+        this.datasetIds = Arrays.copyOf(builder.datasetIds, length);
+        this.runIds = Arrays.copyOf(builder.runIds, length);
+        this.ordinals = Arrays.copyOf(builder.ordinals, length);
+        this.timestamps = Arrays.copyOf(builder.timestamps, length);
+        this.values = Arrays.copyOf(builder.values, length);
+        this.older = older;
+        this.accumulators = accumulators;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Converts entities (newest first); this loads the datasets of the datapoints.
+     */
+    public static DataPointSeries of(List<DataPointDAO> dataPoints, Map<String, SeriesAccumulator> accumulators, int capacity) {
+        Builder builder = builder();
+        for (DataPointDAO dp : dataPoints) {
+            builder.add(dp.id, dp.dataset.id, dp.dataset.run.id, dp.dataset.ordinal, dp.timestamp, dp.value);
+        }
+        return builder.build(new SummaryStatistics(), accumulators, capacity);
+    }
+
+    /**
+     * @return New series with given datapoints (newest first) following the datapoints in this series.
+     */
+    public DataPointSeries append(Builder newest, int capacity) {
+        for (int i = 0; i < values.length; ++i) {
+            newest.add(ids[i], datasetIds[i], runIds[i], ordinals[i], timestamps[i], values[i]);
+        }
+        return newest.build(older, accumulators, capacity);
+    }
+
+    /**
+     * @return Total number of datapoints in the series.
+     */
+    public long size() {
+        return older.getN() + values.length;
+    }
+
+    /**
+     * @return Number of datapoints retained individually.
+     */
+    public int recentSize() {
+        return values.length;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public int datasetId(int index) {
+        return datasetIds[index];
+    }
+
+    public int runId(int index) {
+        return runIds[index];
+    }
+
+    public int ordinal(int index) {
+        return ordinals[index];
+    }
+
+    public Instant timestamp(int index) {
+        long micros = timestamps[index];
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1000L);
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return Statistics of all datapoints except the <code>skip</code> most recent ones.
+     */
+    public SummaryStatistics statistics(int skip) {
+        if (skip > values.length) {
+            throw new IllegalArgumentException("Only " + values.length + " recent datapoints are available");
+        }
+        SummaryStatistics stats = older.copy();
+        for (int i = values.length - 1; i >= skip; --i) {
+            stats.addValue(values[i]);
+        }
+        return stats;
+    }
+
+    /**
+     * @return Copy of the accumulator with the state of all datapoints that are not retained individually,
+     * or null if the series does not maintain it.
+     */
+    public SeriesAccumulator accumulator(String key) {
+        SeriesAccumulator accumulator = accumulators.get(key);
+        return accumulator == null ? null : accumulator.copy();
+    }
+
+    public boolean hasAccumulators(Collection<String> keys) {
+        return accumulators.keySet().containsAll(keys);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        int limit = Math.min(values.length, 20);
+        if (limit < size()) {
+            sb.append("..., ");
+        }
+        for (int i = limit - 1; i >= 0; --i) {
+            sb.append(ids[i]).append('|').append(datasetIds[i]).append('@').append(timestamp(i)).append(": ").append(values[i]);
+            if (i != 0) sb.append(", ");
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Collects datapoints ordered from the newest.
+     */
+    public static class Builder {
+        private int[] ids = new int[16];
+        private int[] datasetIds = new int[16];
+        private int[] runIds = new int[16];
+        private int[] ordinals = new int[16];
+        private long[] timestamps = new long[16];
+        private double[] values = new double[16];
+        private int length;
+
+        private Builder() {
+        }
+
+        public Builder add(int id, int datasetId, int runId, int ordinal, Instant timestamp, double value) {
+            return add(id, datasetId, runId, ordinal, Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), 1_000_000L), timestamp.getNano() / 1000), value);
+        }
+
+        private Builder add(int id, int datasetId, int runId, int ordinal, long timestamp, double value) {
+            if (length == values.length) {
+                int capacity = length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                datasetIds = Arrays.copyOf(datasetIds, capacity);
+                runIds = Arrays.copyOf(runIds, capacity);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            ids[length] = id;
+            datasetIds[length] = datasetId;
+            runIds[length] = runId;
+            ordinals[length] = ordinal;
+            timestamps[length] = timestamp;
+            values[length] = value;
+            ++length;
+            return this;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /**
+         * @param older Statistics of datapoints preceding the collected ones; the instance is not modified.
+         * @param capacity Maximum number of datapoints retained, older ones are added to the statistics.
+         */
+        public DataPointSeries build(SummaryStatistics older, int capacity) {
+            return build(older, Map.of(), capacity);
+        }
+
+        /**
+         * @param older Statistics of datapoints preceding the collected ones; the instance is not modified.
+         * @param accumulators Accumulators with the state of datapoints preceding the collected ones; the instances are not modified.
+         * @param capacity Maximum number of datapoints retained, older ones are added to the statistics and accumulators.
+         */
+        public DataPointSeries build(SummaryStatistics older, Map<String, SeriesAccumulator> accumulators, int capacity) {
+            SummaryStatistics stats = older.copy();
+            Map<String, SeriesAccumulator> copies = new HashMap<>(accumulators.size());
+            accumulators.forEach((key, accumulator) -> copies.put(key, accumulator.copy()));
+            int retained = Math.min(length, Math.max(capacity, 0));
+            // oldest first
+            for (int i = length - 1; i >= retained; --i) {
+                stats.addValue(values[i]);
+                for (SeriesAccumulator accumulator : copies.values()) {
+                    accumulator.add(values[i]);
+                }
+            }
+            return new DataPointSeries(this, retained, stats, copies);
+        }
+    }
+}
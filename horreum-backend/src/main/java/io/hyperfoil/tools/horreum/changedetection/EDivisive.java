@@ -0,0 +1,332 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+/**
+ * E-Divisive means change point detection with the modifications used by Hunter: the series is split into
+ * overlapping windows of limited length, candidates are tested with Student's t-test instead of permutations,
+ * and weak change points are merged afterwards.
+ * <p>
+ * Windows are analyzed one after another, as the start of the next window depends on the change points found
+ * in the previous one. For long series the windows at regular offsets are analyzed speculatively in parallel
+ * and only windows shifted by a change point are recomputed.
+ */
+public class EDivisive {
+    public static final int DEFAULT_WINDOW = 50;
+    public static final double DEFAULT_MAX_PVALUE = 0.001;
+    public static final double DEFAULT_MIN_MAGNITUDE = 0.0;
+    // Minimum number of windows ahead that are worth analyzing in parallel
+    private static final int PARALLEL_WINDOWS = 16;
+    // Number of windows analyzed by single fork/join task
+    private static final int WINDOWS_PER_TASK = 4;
+    // Maximum number of windows analyzed speculatively at once
+    private static final int MAX_SPECULATIVE_WINDOWS = Math.max(PARALLEL_WINDOWS, 4 * WINDOWS_PER_TASK * ForkJoinPool.getCommonPoolParallelism());
+
+    private final int window;
+    private final double maxPvalue;
+    private final double minMagnitude;
+
+    public EDivisive() {
+        this(DEFAULT_WINDOW, DEFAULT_MAX_PVALUE, DEFAULT_MIN_MAGNITUDE);
+    }
+
+    public EDivisive(int window, double maxPvalue, double minMagnitude) {
+        if (window < 2) {
+            throw new IllegalArgumentException("Window must contain at least 2 datapoints");
+        }
+        this.window = window;
+        this.maxPvalue = maxPvalue;
+        this.minMagnitude = minMagnitude;
+    }
+
+    /**
+     * @param series Values ordered from the oldest.
+     * @return Significant change points ordered from the oldest.
+     */
+    public List<Result> changePoints(double[] series) {
+        if (series.length < 2) {
+            return List.of();
+        }
+        // the first pass is more permissive, weak change points are removed when merging
+        return merge(series, split(series, maxPvalue * 10));
+    }
+
+    private List<Result> split(double[] series, double pvalue) {
+        int step = Math.max(window / 2, 1);
+        Map<Integer, int[]> analyzed = new HashMap<>();
+        List<Integer> indices = new ArrayList<>();
+        int start = 0;
+        while (start < series.length) {
+            int[] found = analyzed.get(start);
+            if (found == null) {
+                found = analyzeWindows(series, start, step, pvalue, analyzed);
+            }
+            for (int index : found) {
+                if (!indices.contains(index)) {
+                    indices.add(index);
+                }
+            }
+            int last = found.length == 0 ? 0 : found[found.length - 1];
+            start = Math.max(last, start + step);
+        }
+        int[] endpoints = endpoints(series, indices);
+        List<Result> changePoints = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            changePoints.add(changePoint(series, index, endpoints));
+        }
+        return changePoints;
+    }
+
+    private int[] analyzeWindows(double[] series, int start, int step, double pvalue, Map<Integer, int[]> analyzed) {
+        int windows = Math.min((series.length - start + step - 1) / step, MAX_SPECULATIVE_WINDOWS);
+        if (windows < PARALLEL_WINDOWS) {
+            int[] found = analyzeWindow(series, start, Math.min(start + window, series.length), pvalue);
+            analyzed.put(start, found);
+            return found;
+        }
+        int[][] results = new int[windows][];
+        ForkJoinPool.commonPool().invoke(new WindowsTask(series, start, step, pvalue, results, 0, windows));
+        for (int i = 0; i < windows; ++i) {
+            analyzed.put(start + i * step, results[i]);
+        }
+        return results[0];
+    }
+
+    /**
+     * Original E-Divisive: repeatedly bisect the segment with the best candidate until it is not significant.
+     *
+     * @return Sorted indices of change points in the window.
+     */
+    private int[] analyzeWindow(double[] series, int from, int to, double pvalue) {
+        int[] bounds = { from, to };
+        while (true) {
+            int candidate = -1;
+            double bestQ = Double.NEGATIVE_INFINITY;
+            for (int i = 1; i < bounds.length; ++i) {
+                Split split = bestSplit(series, bounds[i - 1], bounds[i]);
+                if (split.q() > bestQ) {
+                    bestQ = split.q();
+                    candidate = split.index();
+                }
+            }
+            if (candidate < 0 || changePoint(series, candidate, bounds).pvalue() > pvalue) {
+                break;
+            }
+            int[] next = Arrays.copyOf(bounds, bounds.length + 1);
+            next[bounds.length] = candidate;
+            Arrays.sort(next);
+            bounds = next;
+        }
+        return Arrays.copyOfRange(bounds, 1, bounds.length - 1);
+    }
+
+    /**
+     * Finds the split of <code>series[from, to)</code> maximizing the divergence between the two parts
+     * (Matteson &amp; James, 2014, with alpha = 1). The newest datapoint may form the right part alone so that
+     * a change is reported as soon as the first datapoint after it arrives.
+     */
+    static Split bestSplit(double[] series, int from, int to) {
+        int length = to - from;
+        if (length < 3) {
+            return new Split(-1, Double.NEGATIVE_INFINITY);
+        }
+        // sums of distances from each point to the preceding and following points in the window
+        double[] before = new double[length];
+        double[] after = new double[length];
+        double total = 0;
+        for (int i = 0; i < length; ++i) {
+            double x = series[from + i];
+            for (int j = i + 1; j < length; ++j) {
+                double d = Math.abs(x - series[from + j]);
+                after[i] += d;
+                before[j] += d;
+            }
+            total += after[i];
+        }
+        // sums of distances between points in the left and right part, respectively
+        double left = before[0] + before[1];
+        double right = 0;
+        for (int i = 2; i < length; ++i) {
+            right += after[i];
+        }
+        double best = Double.NEGATIVE_INFINITY;
+        int bestOffset = 0;
+        for (int n = 2; n < length; ++n) {
+            int m = length - n;
+            double between = total - left - right;
+            double q = (double) m * n / (m + n) * (2 * between / ((double) m * n)
+                    - 2 * left / ((double) n * (n - 1))
+                    - (m > 1 ? 2 * right / ((double) m * (m - 1)) : 0));
+            if (q > best) {
+                best = q;
+                bestOffset = n;
+            }
+            left += before[n];
+            right -= after[n];
+        }
+        return new Split(from + bestOffset, best);
+    }
+
+    record Split(int index, double q) {
+    }
+
+    private List<Result> merge(double[] series, List<Result> changePoints) {
+        List<Result> merged = new ArrayList<>(changePoints);
+        while (!merged.isEmpty()) {
+            // remove the weakest change point with unacceptable p-value, or the one with the least relative change
+            int weakest = 0;
+            for (int i = 1; i < merged.size(); ++i) {
+                if (merged.get(i).pvalue() > merged.get(weakest).pvalue()) {
+                    weakest = i;
+                }
+            }
+            if (merged.get(weakest).pvalue() < maxPvalue) {
+                weakest = 0;
+                for (int i = 1; i < merged.size(); ++i) {
+                    if (merged.get(i).magnitude() < merged.get(weakest).magnitude()) {
+                        weakest = i;
+                    }
+                }
+                if (merged.get(weakest).magnitude() > minMagnitude) {
+                    return merged;
+                }
+            }
+            merged.remove(weakest);
+            // neighbours of the removed point now span longer segments
+            int[] endpoints = endpoints(series, merged.stream().map(Result::index).toList());
+            for (int i = Math.max(weakest - 1, 0); i <= weakest && i < merged.size(); ++i) {
+                merged.set(i, changePoint(series, merged.get(i).index(), endpoints));
+            }
+        }
+        return merged;
+    }
+
+    private static int[] endpoints(double[] series, List<Integer> indices) {
+        int[] endpoints = new int[indices.size() + 2];
+        endpoints[0] = 0;
+        for (int i = 0; i < indices.size(); ++i) {
+            endpoints[i + 1] = indices.get(i);
+        }
+        endpoints[endpoints.length - 1] = series.length;
+        Arrays.sort(endpoints);
+        return endpoints;
+    }
+
+    /**
+     * Compares the segments between the index and the nearest endpoints on either side.
+     */
+    static Result changePoint(double[] series, int index, int[] endpoints) {
+        int from = 0;
+        int to = series.length;
+        for (int endpoint : endpoints) {
+            if (endpoint < index) {
+                from = Math.max(from, endpoint);
+            } else if (endpoint > index) {
+                to = Math.min(to, endpoint);
+            }
+        }
+        Segment before = new Segment(series, from, index);
+        Segment after = new Segment(series, index, to);
+        return new Result(index, before.mean, after.mean, before.stddev, after.stddev, tTest(before, after));
+    }
+
+    /**
+     * Two-sided Student's t-test; same as Hunter this uses population standard deviations of the segments.
+     */
+    private static double tTest(Segment a, Segment b) {
+        if (a.n == 0 || b.n == 0 || a.n + b.n <= 2) {
+            return 1.0;
+        }
+        int df = a.n + b.n - 2;
+        double pooled = ((a.n - 1) * a.stddev * a.stddev + (b.n - 1) * b.stddev * b.stddev) / df;
+        double denominator = Math.sqrt(pooled * (1.0 / a.n + 1.0 / b.n));
+        if (denominator == 0) {
+            return a.mean == b.mean ? 1.0 : 0.0;
+        }
+        double t = Math.abs(a.mean - b.mean) / denominator;
+        return 2 * new TDistribution(null, df).cumulativeProbability(-t);
+    }
+
+    private static class Segment {
+        final int n;
+        final double mean;
+        final double stddev;
+
+        Segment(double[] series, int from, int to) {
+            n = to - from;
+            double sum = 0;
+            for (int i = from; i < to; ++i) {
+                sum += series[i];
+            }
+            mean = n == 0 ? Double.NaN : sum / n;
+            double squares = 0;
+            for (int i = from; i < to; ++i) {
+                squares += (series[i] - mean) * (series[i] - mean);
+            }
+            stddev = n < 2 ? 0 : Math.sqrt(squares / n);
+        }
+    }
+
+    private class WindowsTask extends RecursiveAction {
+        private final double[] series;
+        private final int start;
+        private final int step;
+        private final double pvalue;
+        private final int[][] results;
+        private final int from;
+        private final int to;
+
+        WindowsTask(double[] series, int start, int step, double pvalue, int[][] results, int from, int to) {
+            this.series = series;
+            this.start = start;
+            this.step = step;
+            this.pvalue = pvalue;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= WINDOWS_PER_TASK) {
+                for (int i = from; i < to; ++i) {
+                    int windowStart = start + i * step;
+                    results[i] = analyzeWindow(series, windowStart, Math.min(windowStart + window, series.length), pvalue);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new WindowsTask(series, start, step, pvalue, results, from, middle),
+                        new WindowsTask(series, start, step, pvalue, results, middle, to));
+            }
+        }
+    }
+
+    /**
+     * @param index Index of the first datapoint after the change.
+     * @param pvalue Probability that the segments before and after the change have the same mean.
+     */
+    public record Result(int index, double meanBefore, double meanAfter, double stddevBefore, double stddevAfter, double pvalue) {
+        public double forwardChangePercent() {
+            return 100 * (meanAfter - meanBefore) / meanBefore;
+        }
+
+        public double backwardChangePercent() {
+            return 100 * (meanBefore - meanAfter) / meanAfter;
+        }
+
+        /**
+         * @return The larger of relative changes in either direction.
+         */
+        public double magnitude() {
+            return Math.max(Math.abs(forwardChangePercent()), Math.abs(backwardChangePercent())) / 100;
+        }
+    }
+}
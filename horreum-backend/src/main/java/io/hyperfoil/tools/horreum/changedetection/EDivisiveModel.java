@@ -0,0 +1,82 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@ApplicationScoped
+public class EDivisiveModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
+    private static final Logger log = Logger.getLogger(EDivisiveModel.class);
+    // same format as in Hunter reports
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z").withZone(ZoneOffset.UTC);
+
+    // number of analysis windows retained in the series
+    private static final int RECENT_WINDOWS = 4;
+
+    private final EDivisive eDivisive = new EDivisive();
+
+    @Override
+    public ConditionConfig config() {
+        ConditionConfig conditionConfig = new ConditionConfig(ChangeDetectionModelType.names.EDIVISIVE, "eDivisive - Hunter", "This model uses the Hunter eDivisive algorithm to determine change points in a continual series.");
+        conditionConfig.defaults.put("model", new TextNode(ChangeDetectionModelType.names.EDIVISIVE));
+
+        return conditionConfig;
+    }
+
+    @Override
+    public ChangeDetectionModelType type() {
+        return ChangeDetectionModelType.EDIVISIVE;
+    }
+
+    @Override
+    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        analyzeDataPoints(dataPoints, configuration, changeConsumer);
+    }
+
+    @Override
+    public int recentDatapoints(JsonNode configuration) {
+        // Change points are searched in windows that start at the previous change point; the change points
+        // further in the past have been found when the series was analyzed before.
+        return RECENT_WINDOWS * EDivisive.DEFAULT_WINDOW;
+    }
+
+    @Override
+    public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) {
+        int size = series.recentSize();
+        if (size < series.size()) {
+            log.debugf("Analyzing %d most recent out of %d datapoints", size, series.size());
+        }
+        double[] values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = series.value(size - 1 - i);
+        }
+        List<ChangePoint> changePoints = new ArrayList<>();
+        for (EDivisive.Result result : eDivisive.changePoints(values)) {
+            int index = size - 1 - result.index();
+            String description = String.format("eDivisive change `%+.1f%%` at `%s` for dataset: %d",
+                    result.forwardChangePercent(), TIMESTAMP_FORMAT.format(series.timestamp(index)), series.datasetId(index));
+            log.trace(description);
+            changePoints.add(new ChangePoint(index, description));
+        }
+        if (changePoints.isEmpty()) {
+            log.debugf("No change points were detected in %d datapoints", size);
+        }
+        return changePoints;
+    }
+
+    @Override
+    public ModelType getType() {
+        return ModelType.BULK;
+    }
+}
@@ -0,0 +1,150 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.EwmaDetectionConfig;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * EWMA control chart: the exponentially weighted moving average of datapoints following the baseline
+ * is compared against control limits derived from the baseline standard deviation.
+ */
+@ApplicationScoped
+public class EwmaModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
+    private static final Logger log = Logger.getLogger(EwmaModel.class);
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Override
+    public ConditionConfig config() {
+        ConditionConfig conditionConfig = new ConditionConfig(ChangeDetectionModelType.names.EWMA, "Exponentially weighted moving average (EWMA)",
+                "This model estimates mean and standard deviation of the first datapoints after the last change " +
+                        "(the baseline) and tracks the exponentially weighted moving average of following datapoints. " +
+                        "When the average leaves the control limits around the baseline mean the change is emitted. " +
+                        "Lower smoothing factor detects smaller shifts with longer delay. The model keeps constant-size " +
+                        "state regardless of the length of the series.")
+                .addComponent("lambda", new ConditionConfig.LogSliderComponent(1, 0.01, 1, 0.2, false, " "),
+                        "Smoothing factor",
+                        "Weight of the most recent datapoint in the moving average.")
+                .addComponent("width", new ConditionConfig.LogSliderComponent(1, 1, 10, 3, false, " σ"),
+                        "Control limits width",
+                        "Width of the control limits in multiples of the standard deviation of the moving average.")
+                .addComponent("minPrevious", new ConditionConfig.LogSliderComponent(1, 2, 1000, 5, true, " "),
+                        "Baseline datapoints",
+                        "Number of datapoints after the last change used to estimate the baseline.");
+        conditionConfig.defaults.put("model", new TextNode(ChangeDetectionModelType.names.EWMA));
+        return conditionConfig;
+    }
+
+    @Override
+    public ChangeDetectionModelType type() {
+        return ChangeDetectionModelType.EWMA;
+    }
+
+    @Override
+    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        analyzeDataPoints(dataPoints, configuration, changeConsumer);
+    }
+
+    @Override
+    public int recentDatapoints(JsonNode configuration) {
+        return 1;
+    }
+
+    @Override
+    public Map<String, SeriesAccumulator> accumulators(JsonNode configuration) {
+        return Map.of(key(configuration), new Ewma(configuration.path("minPrevious").asInt(5), configuration.path("lambda").asDouble(0.2)));
+    }
+
+    @Override
+    public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException {
+        try {
+            EwmaDetectionConfig config = mapper.treeToValue(configuration, EwmaDetectionConfig.class);
+            if (!(series.accumulator(key(configuration)) instanceof Ewma ewma)) {
+                String errMsg = "Series does not maintain the state of EWMA model, skipping analysis.";
+                log.error(errMsg);
+                throw new ChangeDetectionException(errMsg);
+            }
+            for (int i = series.recentSize() - 1; i >= 0; --i) {
+                ewma.add(series.value(i));
+            }
+            if (!ewma.baseline.isComplete() || ewma.decay == 1) {
+                log.debugf("Too few (%d) datapoints for baseline, skipping analysis", series.size());
+                return List.of();
+            }
+            double mean = ewma.baseline.mean();
+            // standard deviation of the moving average after the same number of datapoints
+            double limit = config.width * ewma.baseline.scale() * Math.sqrt(ewma.lambda / (2 - ewma.lambda) * (1 - ewma.decay));
+            log.tracef("Baseline mean %f (stddev %f), average %f, limit %f", mean, ewma.baseline.stddev(), ewma.average, limit);
+            if (Math.abs(ewma.average - mean) <= limit) {
+                return List.of();
+            }
+            String description = String.format("Dataset %d/%d (%s): value %f, moving average %f outside of control limits %f ± %f (baseline stddev %f), relative change %.2f%%",
+                    series.runId(0), series.ordinal(0), series.timestamp(0), series.value(0),
+                    ewma.average, mean, limit, ewma.baseline.stddev(), 100 * (ewma.average - mean) / mean);
+            log.debug(description);
+            return List.of(new ChangePoint(0, description));
+        } catch (JsonProcessingException e) {
+            String errMsg = String.format("Failed to parse configuration of EWMA model: %s", configuration);
+            log.error(errMsg, e);
+            throw new ChangeDetectionException(errMsg, e);
+        }
+    }
+
+    @Override
+    public ModelType getType() {
+        return ModelType.CONTINOUS;
+    }
+
+    private static String key(JsonNode configuration) {
+        return ChangeDetectionModelType.names.EWMA + configuration;
+    }
+
+    static class Ewma implements SeriesAccumulator {
+        final Baseline baseline;
+        final double lambda;
+        double average;
+        // (1 - lambda)^(2n) for n datapoints after the baseline
+        double decay = 1;
+
+        Ewma(int minPrevious, double lambda) {
+            this.baseline = new Baseline(minPrevious);
+            this.lambda = Math.min(Math.max(lambda, Double.MIN_NORMAL), 1);
+        }
+
+        private Ewma(Ewma other) {
+            this.baseline = new Baseline(other.baseline);
+            this.lambda = other.lambda;
+            this.average = other.average;
+            this.decay = other.decay;
+        }
+
+        @Override
+        public void add(double value) {
+            if (baseline.add(value)) {
+                average = baseline.mean();
+                return;
+            }
+            average = lambda * value + (1 - lambda) * average;
+            decay *= (1 - lambda) * (1 - lambda);
+        }
+
+        @Override
+        public Ewma copy() {
+            return new Ewma(this);
+        }
+    }
+}
@@ -17,7 +17,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 @ApplicationScoped
-public class FixedThresholdModel implements ChangeDetectionModel {
+public class FixedThresholdModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
    private static final Logger log = Logger.getLogger(FixedThresholdModel.class);
 
    @Inject
@@ -40,35 +40,41 @@ public class FixedThresholdModel implements ChangeDetectionModel {
 
    @Override
    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException{
-      DataPointDAO dp = dataPoints.get(0);
+      analyzeDataPoints(dataPoints, configuration, changeConsumer);
+   }
+
+   @Override
+   public int recentDatapoints(JsonNode configuration) {
+      return 1;
+   }
+
+   @Override
+   public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException {
+      double value = series.value(0);
 
       try {
          FixedThresholdDetectionConfig config = mapper.treeToValue(configuration, FixedThresholdDetectionConfig.class);
 
          if (config.min.enabled) {
-            if ((!config.min.inclusive && dp.value <= config.min.value) || dp.value < config.min.value) {
-               ChangeDAO c = ChangeDAO.fromDatapoint(dp);
-               c.description = String.format("%f is below lower bound %f (%s)", dp.value, config.min.value, config.min.inclusive ? "inclusive" : "exclusive");
-               log.debug(c.description);
-               changeConsumer.accept(c);
-               return;
+            if ((!config.min.inclusive && value <= config.min.value) || value < config.min.value) {
+               String description = String.format("%f is below lower bound %f (%s)", value, config.min.value, config.min.inclusive ? "inclusive" : "exclusive");
+               log.debug(description);
+               return List.of(new ChangePoint(0, description));
             }
          }
          if (config.max.enabled) {
-            if ((!config.max.inclusive && dp.value >= config.max.value) || dp.value > config.max.value) {
-               ChangeDAO c = ChangeDAO.fromDatapoint(dp);
-               c.description = String.format("%f is above upper bound %f (%s)", dp.value, config.max.value, config.max.inclusive ? "inclusive" : "exclusive");
-               log.debug(c.description);
-               changeConsumer.accept(c);
+            if ((!config.max.inclusive && value >= config.max.value) || value > config.max.value) {
+               String description = String.format("%f is above upper bound %f (%s)", value, config.max.value, config.max.inclusive ? "inclusive" : "exclusive");
+               log.debug(description);
+               return List.of(new ChangePoint(0, description));
             }
          }
-
+         return List.of();
       } catch (JsonProcessingException e) {
-         String errMsg = String.format("Failed to parse configuration for variable %d", dp.variable.id);
+         String errMsg = String.format("Failed to parse configuration of fixed threshold model: %s", configuration);
          log.error(errMsg, e);
          throw new ChangeDetectionException(errMsg, e);
       }
-
    }
 
    @Override
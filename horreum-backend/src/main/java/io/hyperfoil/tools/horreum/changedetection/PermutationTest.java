@@ -0,0 +1,132 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Two-sample permutation test comparing the sum of the first group against its expected value. Applied to
+ * values this tests the difference of means, applied to {@link #ranks(double[]) ranks} it is the Mann-Whitney test.
+ * <p>
+ * Permutations are generated in batches of fixed size, each batch using its own generator derived from the seed,
+ * so the result depends only on the input and the seed, not on how the batches are distributed among
+ * fork/join workers.
+ */
+public class PermutationTest {
+    // Number of permutations generated by single fork/join task
+    private static final int BATCH_SIZE = 1000;
+    // Relative tolerance when comparing statistics as sums of the same values may differ in rounding
+    private static final double TOLERANCE = 1e-12;
+
+    private final int iterations;
+    private final long seed;
+
+    public PermutationTest(int iterations, long seed) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("At least one permutation is required");
+        }
+        this.iterations = iterations;
+        this.seed = seed;
+    }
+
+    /**
+     * @param sample Values of both groups, the first group are the first <code>size</code> values.
+     * @param size Size of the first group.
+     * @return Estimated probability that a random split of the sample gives at least as extreme statistic.
+     */
+    public double pvalue(double[] sample, int size) {
+        if (size <= 0 || size >= sample.length) {
+            throw new IllegalArgumentException("Both groups must be non-empty");
+        }
+        double mean = sum(sample, 0, sample.length) / sample.length;
+        // the statistic of the smaller group has the same magnitude and is cheaper to permute
+        int permuted = Math.min(size, sample.length - size);
+        double observed = Math.abs(sum(sample, 0, size) - size * mean);
+        double threshold = observed - Math.abs(observed) * TOLERANCE;
+        int batches = (iterations + BATCH_SIZE - 1) / BATCH_SIZE;
+        Batches task = new Batches(sample, permuted, permuted * mean, threshold, 0, batches);
+        long extreme = batches == 1 ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+        return (extreme + 1.0) / (iterations + 1.0);
+    }
+
+    /**
+     * @return Ranks of the values starting from 1, tied values get the average of their ranks.
+     */
+    public static double[] ranks(double[] values) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] ranks = new double[values.length];
+        for (int i = 0; i < order.length; ) {
+            int j = i + 1;
+            while (j < order.length && values[order[j]] == values[order[i]]) {
+                ++j;
+            }
+            double rank = (i + j + 1) / 2.0;
+            for (int k = i; k < j; ++k) {
+                ranks[order[k]] = rank;
+            }
+            i = j;
+        }
+        return ranks;
+    }
+
+    private static double sum(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    private class Batches extends RecursiveTask<Long> {
+        private final double[] sample;
+        private final int size;
+        private final double expected;
+        private final double threshold;
+        private final int from;
+        private final int to;
+
+        Batches(double[] sample, int size, double expected, double threshold, int from, int to) {
+            this.sample = sample;
+            this.size = size;
+            this.expected = expected;
+            this.threshold = threshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                Batches left = new Batches(sample, size, expected, threshold, from, middle);
+                left.fork();
+                long right = new Batches(sample, size, expected, threshold, middle, to).compute();
+                return left.join() + right;
+            }
+            double[] values = sample.clone();
+            SplittableRandom random = new SplittableRandom(seed + from);
+            int permutations = Math.min(BATCH_SIZE, iterations - from * BATCH_SIZE);
+            long extreme = 0;
+            for (int p = 0; p < permutations; ++p) {
+                // partial Fisher-Yates shuffle of the first group
+                double sum = 0;
+                for (int i = 0; i < size; ++i) {
+                    int j = i + random.nextInt(values.length - i);
+                    double tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    sum += values[i];
+                }
+                if (Math.abs(sum - expected) >= threshold) {
+                    ++extreme;
+                }
+            }
+            return extreme;
+        }
+    }
+}
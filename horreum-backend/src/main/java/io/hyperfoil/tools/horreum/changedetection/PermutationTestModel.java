@@ -0,0 +1,133 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.PermutationTestDetectionConfig;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@ApplicationScoped
+public class PermutationTestModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
+    private static final Logger log = Logger.getLogger(PermutationTestModel.class);
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Override
+    public ConditionConfig config() {
+        ConditionConfig conditionConfig = new ConditionConfig(ChangeDetectionModelType.names.PERMUTATION_TEST, "Permutation test",
+                "This model tests whether the 'window' of last datapoints comes from the same distribution as " +
+                        "the preceding datapoints, using a permutation test: the p-value is estimated as the fraction " +
+                        "of random splits of all these datapoints that differ at least as much as the actual split. " +
+                        "The change is emitted when the p-value is lower than the significance level. This is more " +
+                        "robust than a fixed threshold for noisy variables; the Mann-Whitney statistic compares ranks " +
+                        "and is not affected by outliers.")
+                .addComponent("statistic", new ConditionConfig.EnumComponent("mannWhitney").add("mannWhitney", "Mann-Whitney (ranks)").add("mean", "Difference of means"),
+                        "Test statistic",
+                        "Statistic compared between the window and the preceding datapoints.")
+                .addComponent("window", new ConditionConfig.LogSliderComponent(1, 1, 1000, 5, true, " "),
+                        "Window",
+                        "Number of most recent datapoints tested against the preceding ones.")
+                .addComponent("previous", new ConditionConfig.LogSliderComponent(1, 1, 1000, 20, true, " "),
+                        "Preceding datapoints",
+                        "Number of datapoints preceding the window; the test runs only when there are enough datapoints since the last change.")
+                .addComponent("pvalue", new ConditionConfig.LogSliderComponent(100, 0.01, 10, 0.01, false, "%"),
+                        "Significance level",
+                        "Maximum p-value of the test for the difference to be reported as a change.")
+                .addComponent("iterations", new ConditionConfig.LogSliderComponent(1, 100, 100000, 10000, true, " "),
+                        "Permutations",
+                        "Number of random permutations used to estimate the p-value; more permutations give more precise p-value at higher cost.");
+        conditionConfig.defaults.put("model", new TextNode(ChangeDetectionModelType.names.PERMUTATION_TEST));
+        conditionConfig.defaults.put("seed", new LongNode(0));
+        return conditionConfig;
+    }
+
+    @Override
+    public ChangeDetectionModelType type() {
+        return ChangeDetectionModelType.PERMUTATION_TEST;
+    }
+
+    @Override
+    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        analyzeDataPoints(dataPoints, configuration, changeConsumer);
+    }
+
+    @Override
+    public int recentDatapoints(JsonNode configuration) {
+        return Math.max(1, configuration.path("window").asInt(5)) + Math.max(1, configuration.path("previous").asInt(20));
+    }
+
+    @Override
+    public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException {
+        try {
+            PermutationTestDetectionConfig config = mapper.treeToValue(configuration, PermutationTestDetectionConfig.class);
+
+            int window = Math.max(1, config.window);
+            int previous = Math.max(1, config.previous);
+            if (series.recentSize() < window + previous) {
+                log.debugf("Too few (%d) previous datapoints, skipping analysis", series.recentSize() - window);
+                return List.of();
+            }
+            // newest first, the window forms the first group
+            double[] values = new double[window + previous];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = series.value(i);
+            }
+            double[] sample;
+            switch (config.statistic) {
+                case "mean":
+                    sample = values;
+                    break;
+                case "mannWhitney":
+                    sample = PermutationTest.ranks(values);
+                    break;
+                default:
+                    String errMsg = String.format("Unsupported option 'statistic'='%s', skipping analysis.", config.statistic);
+                    log.error(errMsg);
+                    throw new ChangeDetectionException(errMsg);
+            }
+            double pvalue = new PermutationTest(config.iterations, config.seed == null ? 0 : config.seed).pvalue(sample, window);
+            double windowMean = mean(values, 0, window);
+            double previousMean = mean(values, window, values.length);
+            log.tracef("Window mean %f, previous mean %f, p-value %f", windowMean, previousMean, pvalue);
+            if (pvalue > config.pvalue) {
+                return List.of();
+            }
+            int first = window - 1;
+            String description = String.format("Datasets %d/%d (%s) - %d/%d (%s): mean %f, previous mean %f, relative change %.2f%%, p-value %.4f (%s, %d permutations)",
+                    series.runId(first), series.ordinal(first), series.timestamp(first),
+                    series.runId(0), series.ordinal(0), series.timestamp(0),
+                    windowMean, previousMean, 100 * (windowMean - previousMean) / previousMean, pvalue, config.statistic, config.iterations);
+            log.debug(description);
+            return List.of(new ChangePoint(first, description));
+        } catch (JsonProcessingException e) {
+            String errMsg = String.format("Failed to parse configuration of permutation test model: %s", configuration);
+            log.error(errMsg, e);
+            throw new ChangeDetectionException(errMsg, e);
+        }
+    }
+
+    @Override
+    public ModelType getType() {
+        return ModelType.CONTINOUS;
+    }
+
+    private static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+}
@@ -18,7 +18,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 @ApplicationScoped
-public class RelativeDifferenceChangeDetectionModel implements ChangeDetectionModel {
+public class RelativeDifferenceChangeDetectionModel implements ChangeDetectionModel, SeriesChangeDetectionModel {
 
     private static final Logger log = Logger.getLogger(RelativeDifferenceChangeDetectionModel.class);
 
@@ -58,38 +58,51 @@ public class RelativeDifferenceChangeDetectionModel implements ChangeDetectionMo
 
     @Override
     public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
-        DataPointDAO dataPoint = dataPoints.get(0);
+        analyzeDataPoints(dataPoints, configuration, changeConsumer);
+    }
+
+    @Override
+    public int recentDatapoints(JsonNode configuration) {
+        return Math.max(1, configuration.path("window").asInt(1));
+    }
 
+    @Override
+    public List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException {
         try {
             RelativeDifferenceDetectionConfig config = mapper.treeToValue(configuration, RelativeDifferenceDetectionConfig.class);
 
             int window = Math.max(1, config.window);
             int minPrevious = Math.max(window, config.minPrevious);
 
-            if (dataPoints.size() < minPrevious + window) {
-                log.debugf("Too few (%d) previous datapoints for variable %d, skipping analysis", dataPoints.size() - window, dataPoint.variable.id);
-                return;
+            if (series.size() < minPrevious + window) {
+                log.debugf("Too few (%d) previous datapoints, skipping analysis", series.size() - window);
+                return List.of();
             }
-            SummaryStatistics previousStats = new SummaryStatistics();
-            dataPoints.stream().skip(window).mapToDouble(dp -> dp.value).forEach(previousStats::addValue);
+            SummaryStatistics previousStats = series.statistics(window);
 
             double filteredValue;
             switch (config.filter) {
                 case "min":
-                    //noinspection OptionalGetWithoutIsPresent
-                    filteredValue = dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).min().getAsDouble();
+                    filteredValue = Double.POSITIVE_INFINITY;
+                    for (int i = 0; i < window; ++i) {
+                        filteredValue = Math.min(filteredValue, series.value(i));
+                    }
                     break;
                 case "max":
-                    //noinspection OptionalGetWithoutIsPresent
-                    filteredValue = dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).max().getAsDouble();
+                    filteredValue = Double.NEGATIVE_INFINITY;
+                    for (int i = 0; i < window; ++i) {
+                        filteredValue = Math.max(filteredValue, series.value(i));
+                    }
                     break;
                 case "mean":
                     SummaryStatistics windowStats = new SummaryStatistics();
-                    dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).forEach(windowStats::addValue);
+                    for (int i = 0; i < window; ++i) {
+                        windowStats.addValue(series.value(i));
+                    }
                     filteredValue = windowStats.getMean();
                     break;
                 default:
-                    String errMsg = String.format("Unsupported option 'filter'='%s' for variable %d, skipping analysis.", config.filter, dataPoint.variable.id);
+                    String errMsg = String.format("Unsupported option 'filter'='%s', skipping analysis.", config.filter);
                     log.error(errMsg);
                     throw new ChangeDetectionException(errMsg);
             }
@@ -97,38 +110,33 @@ public class RelativeDifferenceChangeDetectionModel implements ChangeDetectionMo
             double ratio = filteredValue / previousStats.getMean();
             log.tracef("Previous mean %f, filtered value %f, ratio %f", previousStats.getMean(), filteredValue, ratio);
             if (ratio < 1 - config.threshold || ratio > 1 + config.threshold) {
-                DataPointDAO dp = null;
+                int index = 0;
                 // We cannot know which datapoint is first with the regression; as a heuristic approach
                 // we'll select first datapoint with value lower than mean (if this is a drop, e.g. throughput)
                 // or above the mean (if this is an increase, e.g. memory usage).
                 for (int i = window - 1; i >= 0; --i) {
-                    dp = dataPoints.get(i);
-                    if (ratio < 1 && dp.value < previousStats.getMean()) {
+                    index = i;
+                    if (ratio < 1 && series.value(i) < previousStats.getMean()) {
                         break;
-                    } else if (ratio > 1 && dp.value > previousStats.getMean()) {
+                    } else if (ratio > 1 && series.value(i) > previousStats.getMean()) {
                         break;
                     }
                 }
-                assert dp != null;
-                ChangeDAO change = ChangeDAO.fromDatapoint(dp);
-                DataPointDAO prevDataPoint = dataPoints.get(window - 1);
-                DataPointDAO lastDataPoint = dataPoints.get(0);
-                change.description = String.format("Datasets %d/%d (%s) - %d/%d (%s): %s %f, previous mean %f (stddev %f), relative change %.2f%%",
-                        prevDataPoint.dataset.run.id, prevDataPoint.dataset.ordinal, prevDataPoint.timestamp,
-                        lastDataPoint.dataset.run.id, lastDataPoint.dataset.ordinal, lastDataPoint.timestamp,
+                int prev = window - 1;
+                String description = String.format("Datasets %d/%d (%s) - %d/%d (%s): %s %f, previous mean %f (stddev %f), relative change %.2f%%",
+                        series.runId(prev), series.ordinal(prev), series.timestamp(prev),
+                        series.runId(0), series.ordinal(0), series.timestamp(0),
                         config.filter, filteredValue, previousStats.getMean(), previousStats.getStandardDeviation(), 100 * (ratio - 1));
 
-                log.debug(change.description);
-                changeConsumer.accept(change);
+                log.debug(description);
+                return List.of(new ChangePoint(index, description));
             }
-
+            return List.of();
         } catch (JsonProcessingException e) {
-            String errMsg = String.format("Failed to parse configuration for variable %d", dataPoint.variable.id);
+            String errMsg = String.format("Failed to parse configuration of relative difference model: %s", configuration);
             log.error(errMsg, e);
             throw new ChangeDetectionException(errMsg, e);
         }
-
-
     }
 
     @Override
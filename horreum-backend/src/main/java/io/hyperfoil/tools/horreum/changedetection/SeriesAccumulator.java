@@ -0,0 +1,15 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+/**
+ * Constant-size state of a streaming change detection model. {@link DataPointSeries} feeds the accumulator
+ * with datapoints (oldest first) as these stop being retained individually, therefore the state of the whole
+ * series is updated in O(1) per datapoint.
+ */
+public interface SeriesAccumulator {
+    void add(double value);
+
+    /**
+     * @return Independent instance with the same state; series are immutable so these never share accumulators.
+     */
+    SeriesAccumulator copy();
+}
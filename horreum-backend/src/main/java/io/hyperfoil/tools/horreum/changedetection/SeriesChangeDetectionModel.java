@@ -0,0 +1,45 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+
+/**
+ * Change detection model that analyzes a compact {@link DataPointSeries} instead of datapoint entities.
+ * The series contains only the most recent datapoints individually, so it can be maintained incrementally.
+ */
+public interface SeriesChangeDetectionModel {
+    /**
+     * @return Number of most recent datapoints the model inspects individually (at least 1).
+     */
+    int recentDatapoints(JsonNode configuration);
+
+    /**
+     * Streaming models keep the state of datapoints that are not retained individually in accumulators
+     * maintained by the series.
+     *
+     * @return New accumulators for the configuration, by key unique for the model and configuration.
+     */
+    default Map<String, SeriesAccumulator> accumulators(JsonNode configuration) {
+        return Map.of();
+    }
+
+    List<ChangePoint> analyze(DataPointSeries series, JsonNode configuration) throws ChangeDetectionException;
+
+    /**
+     * Implements {@link ChangeDetectionModel#analyze(List, JsonNode, Consumer)} on top of the series analysis.
+     */
+    default void analyzeDataPoints(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        DataPointSeries series = DataPointSeries.of(dataPoints, accumulators(configuration), recentDatapoints(configuration));
+        for (ChangePoint point : analyze(series, configuration)) {
+            ChangeDAO change = ChangeDAO.fromDatapoint(dataPoints.get(point.index()));
+            change.description = point.description();
+            changeConsumer.accept(change);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Keeps the state of change detection for each series (variable and fingerprint) so that a new datapoint
+ * can be analyzed without loading all datapoints since the last change. The state is valid only as long as
+ * it matches the progress recorded in the database; entries are evicted when the cache is full or expired.
+ */
+@ApplicationScoped
+public class SeriesStateCache {
+    @ConfigProperty(name = "horreum.changedetection.cache.size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "horreum.changedetection.cache.ttl", defaultValue = "PT10M")
+    Duration ttl;
+
+    private Map<Key, State> states;
+
+    @PostConstruct
+    void init() {
+        states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, State> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized State get(Key key) {
+        State state = states.get(key);
+        if (state != null && state.created + ttl.toMillis() < System.currentTimeMillis()) {
+            states.remove(key);
+            return null;
+        }
+        return state;
+    }
+
+    public synchronized void put(Key key, State state) {
+        states.put(key, state);
+    }
+
+    /**
+     * Called when datapoints are removed: cached states could include them.
+     */
+    public synchronized void clear() {
+        states.clear();
+    }
+
+    public record Key(int variableId, String fingerprint) {}
+
+    /**
+     * @param since Timestamp of the last change (start of the series).
+     * @param upTo Timestamp of the last analyzed datapoints.
+     * @param series Analyzed datapoints.
+     * @param capacity Number of recent datapoints the series retains.
+     */
+    public record State(Instant since, Instant upTo, DataPointSeries series, int capacity, long created) {
+        public State(Instant since, Instant upTo, DataPointSeries series, int capacity) {
+            this(since, upTo, series, capacity, System.currentTimeMillis());
+        }
+    }
+}
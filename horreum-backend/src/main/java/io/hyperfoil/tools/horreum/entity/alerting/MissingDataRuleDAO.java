@@ -58,9 +58,13 @@ public class MissingDataRuleDAO extends PanacheEntityBase {
    @NotNull
    public long maxStaleness;
 
-   @Column(name = "last_notification", columnDefinition = "timestamp")
+   @Column(name = "last_notification", columnDefinition = "timestamptz")
    public Instant lastNotification;
 
+   // Timestamp of the most recent dataset matching this rule, maintained along with the rule results
+   @Column(name = "last_match", columnDefinition = "timestamptz", insertable = false, updatable = false)
+   public Instant lastMatch;
+
    public int testId() {
       return test.id;
    }
@@ -5,15 +5,21 @@ import io.hyperfoil.tools.horreum.entity.ValidationErrorDAO;
 
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.PrimaryKeyJoinColumn;
+import jakarta.persistence.SecondaryTable;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
@@ -23,6 +29,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.hibernate.annotations.Type;
 
 @Entity(name = "run")
+@SecondaryTable(name = "run_payload", pkJoinColumns = @PrimaryKeyJoinColumn(name = "runid"))
 @JsonIgnoreType
 public class RunDAO extends ProtectedBaseEntity {
 
@@ -47,15 +54,26 @@ public class RunDAO extends ProtectedBaseEntity {
    @NotNull
    public Integer testid;
 
+   // The payload lives in a separate table so that queries on run headers do not touch the (possibly large) JSON
    @NotNull
+   @Basic(fetch = FetchType.LAZY)
    @Type(JsonBinaryType.class)
-   @Column(columnDefinition = "jsonb")
+   @Column(table = "run_payload", columnDefinition = "jsonb")
    public JsonNode data;
 
+   @Basic(fetch = FetchType.LAZY)
    @Type(JsonBinaryType.class)
-   @Column(columnDefinition = "jsonb")
+   @Column(table = "run_payload", columnDefinition = "jsonb")
    public JsonNode metadata;
 
+   @NotNull
+   @Column(name = "has_metadata")
+   public boolean hasMetadata;
+
+   // When set the data column holds only a stub and the full payload is kept in external PayloadStore
+   @Column(name = "payload_ref")
+   public String payloadRef;
+
    @NotNull
    @Column(columnDefinition = "boolean default false")
    public boolean trashed;
@@ -67,6 +85,12 @@ public class RunDAO extends ProtectedBaseEntity {
    @ElementCollection
    public Collection<ValidationErrorDAO> validationErrors;
 
+   @PrePersist
+   @PreUpdate
+   void updateFlags() {
+      hasMetadata = metadata != null;
+   }
+
    @Override
    public String toString() {
       return "RunDAO{" +
@@ -75,8 +99,8 @@ public class RunDAO extends ProtectedBaseEntity {
               ", stop=" + stop +
               ", description='" + description + '\'' +
               ", testid=" + testid +
-              ", data=" + data +
-              ", metadata=" + metadata +
+              ", hasMetadata=" + hasMetadata +
+              ", payloadRef=" + payloadRef +
               ", trashed=" + trashed +
               ", datasets=" + datasets +
               ", validationErrors=" + validationErrors +
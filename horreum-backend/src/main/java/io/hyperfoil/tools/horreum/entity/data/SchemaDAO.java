@@ -30,18 +30,28 @@ import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
       query = "SELECT te.name, (" +
             "CASE WHEN te.isarray THEN jsonb_path_query_array(r.data, te.jsonpath::::jsonpath) " +
             "ELSE jsonb_path_query_first(r.data,te.jsonpath::::jsonpath) END) AS value " +
-            "FROM run r, transformer t " +
+            "FROM run_payload r, transformer t " +
             "JOIN transformer_extractors te ON te.transformer_id = t.id " +
-            "WHERE r.id = ?1 AND t.id = ?2"
+            "WHERE r.runid = ?1 AND t.id = ?2"
    ),
    @NamedNativeQuery(
       name = SchemaDAO.QUERY_2ND_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID,
       query = "SELECT te.name, (" +
             "CASE WHEN te.isarray THEN jsonb_path_query_array((CASE WHEN ?4 = 0 THEN r.data ELSE r.metadata END)->?3, te.jsonpath::::jsonpath) " +
             "ELSE jsonb_path_query_first((CASE WHEN ?4 = 0 THEN r.data ELSE r.metadata END)->?3, te.jsonpath::::jsonpath) END) AS value " +
-            "FROM run r, transformer t " +
+            "FROM run_payload r, transformer t " +
             "JOIN transformer_extractors te ON te.transformer_id = t.id " +
-            "WHERE r.id = ?1 AND t.id = ?2"
+            "WHERE r.runid = ?1 AND t.id = ?2"
+   ),
+   @NamedNativeQuery(
+      // used when run data are stored outside the database and staged in a temporary table for the transaction
+      name = SchemaDAO.QUERY_BY_TRANSFORMERID_ON_PAYLOAD,
+      query = "SELECT te.name, (" +
+            "CASE WHEN te.isarray THEN jsonb_path_query_array(p.data, te.jsonpath::::jsonpath) " +
+            "ELSE jsonb_path_query_first(p.data, te.jsonpath::::jsonpath) END) AS value " +
+            "FROM (SELECT (CASE WHEN ?2 = 0 THEN data WHEN ?2 = 1 THEN data->?3 ELSE data->?4 END) AS data " +
+            "FROM external_payload WHERE runid = ?1) p, transformer_extractors te " +
+            "WHERE te.transformer_id = ?5"
    ),
    @NamedNativeQuery(
          name = SchemaDAO.QUERY_TRANSFORMER_TARGETS,
@@ -61,6 +71,7 @@ public class SchemaDAO extends ProtectedBaseEntity {
 
    public static final String QUERY_1ST_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID = "Schema.getFirstLevelExtractorsByRunIDTransIDSchemaID";
    public static final String QUERY_2ND_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID = "Schema.getSecondLevelExtractorsByRunIDTransIDSchemaID";
+   public static final String QUERY_BY_TRANSFORMERID_ON_PAYLOAD = "Schema.getExtractorsByTransIDOnPayload";
    public static final String QUERY_TRANSFORMER_TARGETS = "Schema.queryTransformerTargets";
    public static final int TYPE_1ST_LEVEL = 0;
    public static final int TYPE_2ND_LEVEL = 1;
@@ -11,7 +11,7 @@ import io.hyperfoil.tools.horreum.api.data.Dataset;
 public class DatasetChanges {
    public static final String EVENT_NEW = "datasetChanges/new";
 
-   private static final long EMIT_DELAY = 1000;
+   public static final long EMIT_DELAY = 1000;
    public Dataset.Info dataset;
    public String fingerprint;
    public String testName;
@@ -28,6 +28,11 @@ public class DatasetChanges {
       this.notify = notify;
    }
 
+   public DatasetChanges(Dataset.Info dataset, String fingerprint, String testName, boolean notify, List<Change> changes) {
+      this(dataset, fingerprint, testName, notify);
+      this.changes.addAll(changes);
+   }
+
    public synchronized void addChange(Change.Event event) {
       if (!event.dataset.equals(dataset) || !event.testName.equals(testName)) {
          throw new IllegalStateException();
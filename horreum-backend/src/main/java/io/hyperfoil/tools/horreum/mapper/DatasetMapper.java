@@ -1,5 +1,6 @@
 package io.hyperfoil.tools.horreum.mapper;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.api.data.Dataset;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
@@ -9,6 +10,10 @@ import java.util.stream.Collectors;
 public class DatasetMapper {
 
     public static Dataset from(DatasetDAO ds) {
+        return from(ds, ds.data);
+    }
+
+    public static Dataset from(DatasetDAO ds, JsonNode data) {
 
         Dataset dto = new Dataset();
         dto.id = ds.id;
@@ -20,7 +25,7 @@ public class DatasetMapper {
         dto.access = ds.access;
         dto.ordinal = ds.ordinal;
         dto.description = ds.description;
-        dto.data = ds.data;
+        dto.data = data;
 
         if(ds.validationErrors != null)
             dto.validationErrors = ds.validationErrors.stream().map(ValidationErrorMapper::fromValidationError).collect(Collectors.toList());
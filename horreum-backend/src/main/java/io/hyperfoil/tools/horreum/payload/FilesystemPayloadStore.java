@@ -0,0 +1,94 @@
+package io.hyperfoil.tools.horreum.payload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/*
+* Stores payloads on local (or network-mounted) filesystem as <directory>/<2 hex digits>/<sha-256>.
+* Reads are memory-mapped so that large payloads are not copied onto the heap.
+*/
+@ApplicationScoped
+public class FilesystemPayloadStore implements PayloadStore {
+    public static final String TYPE = "filesystem";
+    private static final Logger log = Logger.getLogger(FilesystemPayloadStore.class);
+
+    @ConfigProperty(name = "horreum.run.payload.store.directory")
+    Optional<Path> directory;
+
+    @Override
+    public String reference(byte[] content) {
+        return sha256(content);
+    }
+
+    @Override
+    public boolean store(String reference, byte[] content) throws IOException {
+        Path target = path(reference);
+        if (Files.exists(target)) {
+            log.debugf("Payload %s is already stored", reference);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        // write to a temporary file first so that concurrent readers never see a partial payload
+        Path tmp = Files.createTempFile(target.getParent(), reference, ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return true;
+    }
+
+    @Override
+    public ByteBuffer read(String reference) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(reference), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public boolean exists(String reference) {
+        return Files.exists(path(reference));
+    }
+
+    @Override
+    public void delete(String reference) throws IOException {
+        Files.deleteIfExists(path(reference));
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    private Path path(String reference) {
+        if (!reference.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid payload reference: " + reference);
+        }
+        Path root = directory.orElseThrow(() -> new IllegalStateException("Payload store directory is not set; please configure horreum.run.payload.store.directory"));
+        return root.resolve(reference.substring(0, 2)).resolve(reference);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
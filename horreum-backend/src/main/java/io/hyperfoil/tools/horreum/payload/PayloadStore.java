@@ -0,0 +1,34 @@
+package io.hyperfoil.tools.horreum.payload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/*
+* A PayloadStore keeps raw run payloads outside of the database. Payloads are
+* content-addressed: the returned reference is derived from the content, so storing
+* the same payload twice yields the same reference and a single copy.
+*/
+public interface PayloadStore {
+
+    /**
+     * @return Reference that can be later passed to {@link #read(String)}.
+     */
+    String reference(byte[] content);
+
+    /**
+     * @param reference Reference computed by {@link #reference(byte[])}.
+     * @return <code>true</code> if the payload was written, <code>false</code> if it was stored already.
+     */
+    boolean store(String reference, byte[] content) throws IOException;
+
+    /**
+     * @return Read-only view of the payload. The buffer might be backed by a memory-mapped file.
+     */
+    ByteBuffer read(String reference) throws IOException;
+
+    boolean exists(String reference);
+
+    void delete(String reference) throws IOException;
+
+    String type();
+}
@@ -0,0 +1,193 @@
+package io.hyperfoil.tools.horreum.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.hyperfoil.tools.horreum.entity.data.RunDAO;
+import io.hyperfoil.tools.horreum.entity.data.SchemaDAO;
+import io.hyperfoil.tools.horreum.svc.ServiceException;
+import io.hyperfoil.tools.horreum.svc.Util;
+import io.quarkus.arc.All;
+
+/*
+* Decides whether run data is kept in the database or in an external PayloadStore.
+* When the data is stored externally the database keeps only a stub that preserves
+* the $schema annotations (so that run_schemas are maintained as usual) and RunDAO.payloadRef
+* points to the full payload.
+*/
+@ApplicationScoped
+public class RunPayloadStorage {
+    private static final Logger log = Logger.getLogger(RunPayloadStorage.class);
+
+    @ConfigProperty(name = "horreum.run.payload.external.threshold")
+    Optional<Integer> threshold;
+
+    @ConfigProperty(name = "horreum.run.payload.store.type", defaultValue = FilesystemPayloadStore.TYPE)
+    String storeType;
+
+    @Inject
+    @All
+    List<PayloadStore> stores;
+
+    @Inject
+    TransactionManager tm;
+
+    PayloadStore store;
+
+    @PostConstruct
+    void init() {
+        store = stores.stream()
+                .filter(s -> s.type().equals(storeType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown payload store type: " + storeType));
+    }
+
+    public boolean isEnabled() {
+        return threshold.isPresent() && threshold.get() >= 0;
+    }
+
+    /**
+     * Moves the data to external store if it exceeds configured threshold.
+     * @return Reference to the stored payload or <code>null</code> if the data should stay in the database.
+     */
+    public String offload(JsonNode data) {
+        if (!isEnabled() || data == null) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Util.OBJECT_MAPPER.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw ServiceException.serverError("Cannot serialize run data: " + e.getMessage());
+        }
+        if (bytes.length <= threshold.get()) {
+            return null;
+        }
+        String reference = store.reference(bytes);
+        try {
+            if (store.store(reference, bytes)) {
+                log.debugf("Stored run payload of %d bytes as %s", bytes.length, reference);
+                // the payload written by this transaction is not referenced by any run if it does not commit
+                Util.registerTxSynchronization(tm, txStatus -> {
+                    if (txStatus == Status.STATUS_ROLLEDBACK) {
+                        delete(reference);
+                    }
+                });
+            }
+            return reference;
+        } catch (IOException e) {
+            log.error("Failed to store run payload", e);
+            throw ServiceException.serverError("Failed to store run payload");
+        }
+    }
+
+    private void delete(String reference) {
+        try {
+            store.delete(reference);
+            log.debugf("Removed run payload %s after rollback", reference);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to remove run payload %s", reference);
+        }
+    }
+
+    /**
+     * @return Full run data, loading it from the external store if needed.
+     */
+    public JsonNode data(RunDAO run) {
+        return run.payloadRef == null ? run.data : load(run.payloadRef);
+    }
+
+    public JsonNode load(String reference) {
+        try (InputStream stream = new ByteBufferBackedInputStream(read(reference))) {
+            return Util.OBJECT_MAPPER.readTree(stream);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to parse run payload %s", reference);
+            throw ServiceException.serverError("Failed to read run payload");
+        }
+    }
+
+    /**
+     * Writes the stored payload to the response without parsing it.
+     */
+    public StreamingOutput stream(String reference) {
+        ByteBuffer buffer = read(reference);
+        return output -> {
+            WritableByteChannel channel = Channels.newChannel(output);
+            ByteBuffer view = buffer.duplicate();
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        };
+    }
+
+    private ByteBuffer read(String reference) {
+        try {
+            return store.read(reference);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to read run payload %s", reference);
+            throw ServiceException.serverError("Failed to read run payload");
+        }
+    }
+
+    /**
+     * Selects part of the data the same way as run_schemas do.
+     */
+    public static JsonNode select(JsonNode data, int type, String key) {
+        return switch (type) {
+            case SchemaDAO.TYPE_1ST_LEVEL -> data;
+            case SchemaDAO.TYPE_2ND_LEVEL -> data.path(key);
+            default -> data.path(Integer.parseInt(key));
+        };
+    }
+
+    /**
+     * @return Skeleton of the data containing only the <code>$schema</code> annotations
+     * on the top level, second level (object members) and array elements.
+     */
+    public static JsonNode stub(JsonNode data) {
+        if (data.isObject()) {
+            ObjectNode stub = JsonNodeFactory.instance.objectNode();
+            data.fields().forEachRemaining(entry -> {
+                if (entry.getKey().equals("$schema")) {
+                    stub.set("$schema", entry.getValue());
+                } else if (entry.getValue().isObject() && entry.getValue().has("$schema")) {
+                    stub.putObject(entry.getKey()).set("$schema", entry.getValue().get("$schema"));
+                }
+            });
+            return stub;
+        } else if (data.isArray()) {
+            ArrayNode stub = JsonNodeFactory.instance.arrayNode(data.size());
+            for (JsonNode item : data) {
+                ObjectNode itemStub = stub.addObject();
+                if (item.isObject() && item.has("$schema")) {
+                    itemStub.set("$schema", item.get("$schema"));
+                }
+            }
+            return stub;
+        } else {
+            return JsonNodeFactory.instance.objectNode();
+        }
+    }
+}
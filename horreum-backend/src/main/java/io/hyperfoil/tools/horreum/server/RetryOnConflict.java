@@ -0,0 +1,42 @@
+package io.hyperfoil.tools.horreum.server;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+/**
+ * Runs the method in a new transaction and retries it when the transaction fails on a serialization failure,
+ * deadlock or optimistic lock. If the method is invoked within an existing transaction it is executed as-is,
+ * the retry is up to the outermost operation.
+ * <p>
+ * The isolation level can be overridden for each operation with <code>horreum.retry.&lt;operation&gt;.isolation</code>.
+ */
+@Inherited
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+   /**
+    * Name of the operation used in configuration and metrics.
+    */
+   @Nonbinding String value() default "";
+   @Nonbinding Isolation isolation() default Isolation.DEFAULT;
+
+   enum Isolation {
+      DEFAULT(null),
+      READ_COMMITTED("READ COMMITTED"),
+      REPEATABLE_READ("REPEATABLE READ"),
+      SERIALIZABLE("SERIALIZABLE");
+
+      final String sql;
+
+      Isolation(String sql) {
+         this.sql = sql;
+      }
+   }
+}
@@ -0,0 +1,146 @@
+package io.hyperfoil.tools.horreum.server;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.hyperfoil.tools.horreum.svc.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Context;
+
+// Must be applied before the transaction is started by @Transactional (PLATFORM_BEFORE + 200)
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+@RetryOnConflict
+public class RetryOnConflictInterceptor {
+   private static final Logger log = Logger.getLogger(RetryOnConflictInterceptor.class);
+
+   @ConfigProperty(name = "horreum.retry.max-attempts", defaultValue = "" + Util.MAX_TRANSACTION_RETRIES)
+   int maxAttempts;
+
+   @ConfigProperty(name = "horreum.retry.backoff", defaultValue = "PT0.01S")
+   Duration backoff;
+
+   @ConfigProperty(name = "horreum.retry.max-backoff", defaultValue = "PT1S")
+   Duration maxBackoff;
+
+   @Inject
+   TransactionManager tm;
+
+   @Inject
+   EntityManager em;
+
+   @Inject
+   MeterRegistry registry;
+
+   private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+   @AroundInvoke
+   public Object intercept(InvocationContext ctx) throws Exception {
+      if (tm.getStatus() != Status.STATUS_NO_TRANSACTION) {
+         return ctx.proceed();
+      }
+      RetryOnConflict annotation = Util.getAnnotation(ctx.getMethod(), RetryOnConflict.class);
+      String name = annotation.value().isEmpty() ? ctx.getMethod().getName() : annotation.value();
+      Operation operation = operations.computeIfAbsent(name, n -> new Operation(n, annotation.isolation()));
+      operation.invocations.increment();
+      for (int attempt = 1;; ++attempt) {
+         Object result = null;
+         Throwable failure = null;
+         tm.begin();
+         try {
+            if (operation.isolation.sql != null) {
+               em.createNativeQuery("SET TRANSACTION ISOLATION LEVEL " + operation.isolation.sql).executeUpdate();
+            }
+            result = ctx.proceed();
+         } catch (Throwable t) {
+            failure = t;
+         }
+         try {
+            if (failure == null && tm.getStatus() == Status.STATUS_ACTIVE) {
+               tm.commit();
+            } else {
+               tm.rollback();
+            }
+         } catch (Exception e) {
+            if (failure == null) {
+               failure = e;
+            } else {
+               failure.addSuppressed(e);
+            }
+         }
+         if (failure == null) {
+            return result;
+         }
+         if (!Util.lookupRetryHint(failure, new HashSet<>())) {
+            throw rethrow(failure);
+         }
+         if (attempt >= maxAttempts) {
+            operation.exhausted.increment();
+            log.errorf("Operation %s failed after %d attempts", name, attempt);
+            throw rethrow(failure);
+         }
+         operation.conflicts.increment();
+         log.debugf("Retrying %s after a conflict, attempt %d/%d", name, attempt, maxAttempts);
+         log.trace("This is the exception that caused retry: ", failure);
+         delay(attempt);
+      }
+   }
+
+   // exponential backoff with full jitter
+   private void delay(int attempt) {
+      long cap = Math.min(maxBackoff.toMillis(), backoff.toMillis() << Math.min(attempt - 1, 20));
+      if (cap <= 0 || Context.isOnEventLoopThread()) {
+         Thread.yield();
+         return;
+      }
+      try {
+         Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private static Exception rethrow(Throwable t) {
+      if (t instanceof Error) {
+         throw (Error) t;
+      }
+      return (Exception) t;
+   }
+
+   private class Operation {
+      final RetryOnConflict.Isolation isolation;
+      final Counter invocations;
+      final Counter conflicts;
+      final Counter exhausted;
+
+      Operation(String name, RetryOnConflict.Isolation defaultIsolation) {
+         this.isolation = ConfigProvider.getConfig().getOptionalValue("horreum.retry." + name + ".isolation", String.class)
+               .map(value -> RetryOnConflict.Isolation.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_')))
+               .orElse(defaultIsolation);
+         this.invocations = Counter.builder("horreum.tx.invocations").tag("operation", name)
+               .description("Invocations of the operation").register(registry);
+         this.conflicts = Counter.builder("horreum.tx.conflicts").tag("operation", name)
+               .description("Transactions of the operation retried after a conflict").register(registry);
+         this.exhausted = Counter.builder("horreum.tx.conflicts.exhausted").tag("operation", name)
+               .description("Invocations of the operation that failed after exhausting retries").register(registry);
+      }
+   }
+}
@@ -0,0 +1,110 @@
+package io.hyperfoil.tools.horreum.server;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.hyperfoil.tools.horreum.api.services.ConfigService;
+import io.hyperfoil.tools.horreum.svc.Roles;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.ScheduledExecution;
+
+/**
+ * Makes sure that a scheduled job runs only in one Horreum instance. Use as
+ * <code>@Scheduled(identity = "...", skipExecutionIf = SchedulerLeases.class)</code>.
+ * The instance that executes the job holds a lease until the next scheduled execution (plus a grace period);
+ * it renews the lease on each execution. When the holder stops, another instance takes over the job
+ * once the lease expires.
+ */
+@ApplicationScoped
+public class SchedulerLeases implements Scheduled.SkipPredicate {
+   private static final Logger log = Logger.getLogger(SchedulerLeases.class);
+
+   //@formatter:off
+   private static final String ACQUIRE = """
+         INSERT INTO scheduler_lease(name, holder, acquired, expires) VALUES (?1, ?2, now(), now() + make_interval(secs => ?3))
+         ON CONFLICT (name) DO UPDATE SET holder = EXCLUDED.holder, expires = EXCLUDED.expires,
+            acquired = CASE WHEN scheduler_lease.holder = EXCLUDED.holder THEN scheduler_lease.acquired ELSE now() END
+         WHERE scheduler_lease.holder = EXCLUDED.holder OR scheduler_lease.expires < now()
+         """;
+   //@formatter:on
+
+   @ConfigProperty(name = "horreum.instance.id")
+   Optional<String> instanceId;
+
+   @ConfigProperty(name = "horreum.scheduler.lease.grace", defaultValue = "PT1M")
+   Duration grace;
+
+   @Inject
+   EntityManager em;
+
+   private String holder;
+
+   @PostConstruct
+   void init() {
+      holder = instanceId.orElseGet(() -> {
+         String host;
+         try {
+            host = InetAddress.getLocalHost().getHostName();
+         } catch (UnknownHostException e) {
+            host = "unknown";
+         }
+         return host + "-" + ProcessHandle.current().pid();
+      });
+   }
+
+   @Override
+   public boolean test(ScheduledExecution execution) {
+      String name = execution.getTrigger().getId();
+      Instant next = execution.getTrigger().getNextFireTime();
+      Duration duration = (next == null ? Duration.ZERO : Duration.between(Instant.now(), next)).plus(grace);
+      boolean acquired = tryAcquire(name, duration);
+      if (!acquired) {
+         log.debugf("Skipping %s, the lease is held by another instance", name);
+      }
+      return !acquired;
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   boolean tryAcquire(String name, Duration duration) {
+      return em.createNativeQuery(ACQUIRE).setParameter(1, name).setParameter(2, holder)
+            .setParameter(3, duration.toMillis() / 1000.0).executeUpdate() > 0;
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   public List<ConfigService.SchedulerLease> list() {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = em.createNativeQuery("SELECT name, holder, acquired, expires FROM scheduler_lease ORDER BY name").getResultList();
+      return rows.stream().map(row -> {
+         ConfigService.SchedulerLease lease = new ConfigService.SchedulerLease();
+         lease.name = (String) row[0];
+         lease.holder = (String) row[1];
+         lease.acquired = (Instant) row[2];
+         lease.expires = (Instant) row[3];
+         return lease;
+      }).toList();
+   }
+
+   // let other instances take over immediately
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void onShutdown(@Observes ShutdownEvent event) {
+      em.createNativeQuery("DELETE FROM scheduler_lease WHERE holder = ?1").setParameter(1, holder).executeUpdate();
+   }
+}
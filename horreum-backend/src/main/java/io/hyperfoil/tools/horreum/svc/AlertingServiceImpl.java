@@ -1,6 +1,9 @@
 package io.hyperfoil.tools.horreum.svc;
 
+import java.sql.PreparedStatement;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,15 +17,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import io.hyperfoil.tools.horreum.api.data.*;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
@@ -30,7 +36,12 @@ import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
 import io.hyperfoil.tools.horreum.changedetection.ChangeDetectionException;
 import io.hyperfoil.tools.horreum.changedetection.ChangeDetectionModel;
 import io.hyperfoil.tools.horreum.changedetection.ChangeDetectionModelResolver;
+import io.hyperfoil.tools.horreum.changedetection.DataPointSeries;
+import io.hyperfoil.tools.horreum.changedetection.ChangePoint;
 import io.hyperfoil.tools.horreum.changedetection.ModelType;
+import io.hyperfoil.tools.horreum.changedetection.SeriesAccumulator;
+import io.hyperfoil.tools.horreum.changedetection.SeriesChangeDetectionModel;
+import io.hyperfoil.tools.horreum.changedetection.SeriesStateCache;
 import io.hyperfoil.tools.horreum.entity.changeDetection.ChangeDetectionLogDAO;
 import io.hyperfoil.tools.horreum.hibernate.IntArrayType;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
@@ -61,6 +72,7 @@ import io.hyperfoil.tools.horreum.entity.alerting.*;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.entity.data.TestDAO;
 import io.hyperfoil.tools.horreum.mapper.*;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
@@ -68,11 +80,15 @@ import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
 import org.jboss.logging.Logger;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.hyperfoil.tools.horreum.server.RetryOnConflict;
+import io.hyperfoil.tools.horreum.server.SchedulerLeases;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.runtime.Startup;
@@ -140,34 +156,48 @@ public class AlertingServiceImpl implements AlertingService {
          GROUP BY rule_id, mdr.condition
          """;
 
-   private static final String LOOKUP_LABEL_VALUE_FOR_RULE =
+   private static final String LOOKUP_LABEL_VALUES_FOR_RULE =
          """
-            SELECT
-             (CASE
+         SELECT
+            dataset.id AS dataset_id,
+            (CASE
                WHEN mdr.labels IS NULL OR jsonb_array_length(mdr.labels) = 0 THEN NULL
                WHEN jsonb_array_length(mdr.labels) = 1 THEN jsonb_agg(lv.value)->0
                ELSE COALESCE(jsonb_object_agg(label.name, lv.value) FILTER (WHERE label.name IS NOT NULL), '{}'::::jsonb)
-             END) as value
-         FROM missingdata_rule mdr
+            END) as value
+         FROM dataset
+         JOIN missingdata_rule mdr ON mdr.id = ?1
          LEFT JOIN label ON json_contains(mdr.labels, label.name)
-         LEFT JOIN label_values lv ON label.id = lv.label_id AND lv.dataset_id = ?1
-         WHERE mdr.id = ?2
-         GROUP BY mdr.labels
+         LEFT JOIN label_values lv ON label.id = lv.label_id AND lv.dataset_id = dataset.id
+         WHERE dataset.testid = ?2
+         GROUP BY dataset.id, mdr.labels
+         ORDER BY dataset.id
          """;
 
+   // last_match is maintained whenever rule results change so this does not need to look at the results
    private static final String LOOKUP_RECENT =
          """
          SELECT
-            DISTINCT ON(mdr.id) mdr.id,
+            mdr.id,
             mdr.test_id,
             mdr.name,
             mdr.maxstaleness,
-            rr.timestamp
+            mdr.last_match
          FROM missingdata_rule mdr
-         LEFT JOIN missingdata_ruleresult rr ON mdr.id = rr.rule_id
          WHERE last_notification IS NULL
             OR EXTRACT(EPOCH FROM last_notification) * 1000 < EXTRACT(EPOCH FROM current_timestamp) * 1000 - mdr.maxstaleness
-         ORDER BY mdr.id, timestamp DESC
+         """;
+
+   private static final String UPDATE_LAST_MATCH =
+         "UPDATE missingdata_rule mdr SET last_match = GREATEST(mdr.last_match, dataset.start) FROM dataset WHERE dataset.id = ?1 AND mdr.id = ANY(?2)";
+   // Rules (other than those in ?1) that had the last match set by dataset ?2 while its results are removed
+   private static final String RECALCULATE_LAST_MATCH =
+         """
+         UPDATE missingdata_rule mdr SET last_match = (
+            SELECT max(rr.timestamp) FROM missingdata_ruleresult rr WHERE rr.rule_id = mdr.id AND rr.dataset_id <> ?2
+         )
+         WHERE EXISTS (SELECT 1 FROM missingdata_ruleresult rr WHERE rr.rule_id = mdr.id AND rr.dataset_id = ?2 AND rr.timestamp = mdr.last_match)
+            AND NOT mdr.id = ANY(?1)
          """;
 
    private static final String FIND_LAST_DATAPOINTS =
@@ -182,9 +212,77 @@ public class AlertingServiceImpl implements AlertingService {
             AND variable_id = ANY(?2)
          ORDER BY variable_id, timestamp DESC
          """;
+   // A new datapoint invalidates anything past its timestamp. Any attempt to recalculate starts at the timestamp.
+   private static final String INVALIDATE_UP_TO = """
+         INSERT INTO change_detection_progress(variable_id, fingerprint, valid_up_to, inclusive)
+         SELECT variable_id, ?2, ?3::::timestamptz, false FROM unnest(?1) AS variable_id
+         ON CONFLICT (variable_id, fingerprint) DO UPDATE SET valid_up_to = EXCLUDED.valid_up_to, inclusive = false
+         WHERE change_detection_progress.valid_up_to >= EXCLUDED.valid_up_to
+         """;
+   // Executed through JDBC batch, therefore without parameter indices
+   private static final String VALIDATE_UP_TO = """
+         INSERT INTO change_detection_progress(variable_id, fingerprint, valid_up_to, inclusive) VALUES (?, ?, ?, true)
+         ON CONFLICT (variable_id, fingerprint) DO UPDATE SET valid_up_to = EXCLUDED.valid_up_to, inclusive = true
+         WHERE change_detection_progress.valid_up_to <= EXCLUDED.valid_up_to
+         """;
+   // Locks are acquired in the order of variable IDs to prevent deadlocks
+   private static final String LOCK_SERIES = """
+         SELECT count(*) FROM unnest(?1) AS v(id), LATERAL pg_advisory_xact_lock(v.id, ?2)
+         """;
+   // For each series (variable and fingerprint) finds the range that was already analyzed, the first datapoint
+   // that was not analyzed yet and the last change before it
+   private static final String SERIES_STATE = """
+         SELECT v.id AS variable_id, p.valid_up_to, p.inclusive, next.timestamp AS next_timestamp,
+            coalesce(last_change.timestamp, TIMESTAMPTZ 'epoch') AS change_timestamp
+         FROM unnest(?1) AS v(id)
+         LEFT JOIN change_detection_progress p ON p.variable_id = v.id AND p.fingerprint = ?2
+         LEFT JOIN LATERAL (
+            SELECT MIN(dp.timestamp) AS timestamp FROM datapoint dp LEFT JOIN fingerprint fp ON dp.dataset_id = fp.dataset_id
+            WHERE dp.variable_id = v.id AND json_equals(fp.fingerprint, ?3) AND (p.valid_up_to IS NULL
+               OR dp.timestamp > p.valid_up_to OR (dp.timestamp = p.valid_up_to AND NOT p.inclusive))
+         ) next ON TRUE
+         LEFT JOIN LATERAL (
+            SELECT c.timestamp FROM change c LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id
+            WHERE c.variable_id = v.id AND json_equals(fp.fingerprint, ?3) AND (p.valid_up_to IS NULL
+               OR c.timestamp < p.valid_up_to OR (c.timestamp = p.valid_up_to AND p.inclusive))
+            ORDER BY c.timestamp DESC LIMIT 1
+         ) last_change ON TRUE
+         """;
+   // Unconfirmed changes past the valid range will be detected again
+   private static final String DELETE_INVALID_CHANGES = """
+         DELETE FROM change WHERE id IN (
+            SELECT c.id FROM change c
+            JOIN change_detection_progress p ON p.variable_id = c.variable_id AND p.fingerprint = ?2
+            LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id
+            WHERE NOT c.confirmed AND c.variable_id = ANY(?1) AND json_equals(fp.fingerprint, ?3)
+               AND (c.timestamp > p.valid_up_to OR (c.timestamp = p.valid_up_to AND NOT p.inclusive))
+         )
+         """;
+   // Datapoints since the last change up to the next datapoint, newest first; series in ?4 continue
+   // from a cached state and load only datapoints at the next timestamp
+   private static final String LOAD_SERIES = "WITH state AS (" + SERIES_STATE + """
+         )
+         SELECT dp.variable_id, dp.id, dp.dataset_id, ds.runid, ds.ordinal, dp.timestamp, dp.value FROM state
+         JOIN datapoint dp ON dp.variable_id = state.variable_id AND dp.timestamp BETWEEN
+            (CASE WHEN state.variable_id = ANY(?4) THEN state.next_timestamp ELSE state.change_timestamp END) AND state.next_timestamp
+         JOIN dataset ds ON dp.dataset_id = ds.id
+         LEFT JOIN fingerprint fp ON dp.dataset_id = fp.dataset_id
+         WHERE json_equals(fp.fingerprint, ?3)
+         ORDER BY dp.variable_id, dp.timestamp DESC, dp.dataset_id DESC
+         """;
+   // Recalculation that was not updated for a long time was abandoned (e.g. the instance was stopped) and can be restarted
+   private static final String CLAIM_RECALCULATION = """
+         INSERT INTO datapoint_recalculation(testid) VALUES (?1)
+         ON CONFLICT (testid) DO UPDATE SET total_datasets = 0, progress = 0, done = false, errors = 0, datasets_without_value = '[]', updated = now()
+         WHERE datapoint_recalculation.done OR datapoint_recalculation.updated < now() - make_interval(secs => ?2)
+         """;
    //@formatter:on
    private static final Instant LONG_TIME_AGO = Instant.ofEpochSecond(0);
    private static final Instant VERY_DISTANT_FUTURE = Instant.parse("2666-06-06T06:06:06.00Z");
+   // Minimum number of series analyses that are worth running in parallel
+   private static final int PARALLEL_DETECTIONS = 16;
+   // Number of datasets evaluated by a missing data rule in single JavaScript context
+   private static final int MISSING_DATA_BATCH = 1000;
 
    @Inject
    TestServiceImpl testService;
@@ -201,6 +299,12 @@ public class AlertingServiceImpl implements AlertingService {
    @ConfigProperty(name = "horreum.alerting.updateLabel.retries", defaultValue = "5")
    Integer labelCalcRetries;
 
+   @ConfigProperty(name = "horreum.alerting.recalculation.parallelism", defaultValue = "4")
+   int recalculationParallelism;
+
+   @ConfigProperty(name = "horreum.alerting.recalculation.abandoned-after", defaultValue = "PT10M")
+   Duration recalculationAbandonedAfter;
+
    @Inject
    TransactionManager tm;
 
@@ -222,44 +326,40 @@ public class AlertingServiceImpl implements AlertingService {
    @Inject
    ChangeDetectionModelResolver modelResolver;
 
-   static ConcurrentHashMap<Integer, AtomicInteger> retryCounterSet = new ConcurrentHashMap<>();
-
-   // entries can be removed from timer thread while normally this is updated from one of blocking threads
-   private final ConcurrentMap<Integer, Recalculation> recalcProgress = new ConcurrentHashMap<>();
+   @Inject
+   SeriesStateCache seriesStates;
 
-   // A new datapoint invalidates anything past its timestamp. Any attempt to recalculate starts
-   // at the timestamp.
-   private final ConcurrentMap<VarAndFingerprint, UpTo> validUpTo = new ConcurrentHashMap<>();
+   @Inject
+   FingerprintFilterCache fingerprintFilterResults;
 
    static {
       System.setProperty("polyglot.engine.WarnInterpreterOnly", "false");
    }
 
+   public void onLabelsUpdated(Dataset.LabelsUpdatedEvent event) {
+      onLabelsUpdated(event, 0);
+   }
+
+   // The attempt is passed along with the event rather than counted in this instance,
+   // the retry can be executed by another Horreum instance.
+   @RetryOnConflict("createDataPoint")
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
-   public void onLabelsUpdated(Dataset.LabelsUpdatedEvent event) {
+   void onLabelsUpdated(Dataset.LabelsUpdatedEvent event, int attempt) {
       boolean sendNotifications;
       DataPointDAO.delete("dataset.id", event.datasetId);
       DatasetDAO dataset = DatasetDAO.findById(event.datasetId);
       if (dataset == null) {
          // The run is not committed yet?
          // Retry `horreum.alerting.updateLabel.retries` times before logging a warning
-         retryCounterSet.putIfAbsent(event.datasetId, new AtomicInteger(0));
-         int retryCounter = retryCounterSet.get(event.datasetId).getAndIncrement();
-         if (retryCounter < labelCalcRetries) {
-            log.infof("Retrying labels update for dataset %d, attempt %d/%d", event.datasetId, retryCounter, this.labelCalcRetries);
-            vertx.setTimer(1000, timerId -> messageBus.executeForTest(event.datasetId, () -> Util.withTx(tm, () -> {
-                       onLabelsUpdated(event);
-                       return null;
-                    })
-            ));
-            return;
+         if (attempt < labelCalcRetries) {
+            log.infof("Retrying labels update for dataset %d, attempt %d/%d", event.datasetId, attempt, this.labelCalcRetries);
+            vertx.setTimer(1000, timerId -> messageBus.executeForTest(event.datasetId, () -> onLabelsUpdated(event, attempt + 1)));
          } else {
             //we have retried `horreum.alerting.updateLabel.retries` number of times, log a warning and stop retrying
             log.warnf("Unsuccessfully retried updating labels %d times for dataset %d. Stopping", this.labelCalcRetries, event.datasetId);
-            retryCounterSet.remove(event.datasetId);
-            return;
          }
+         return;
       }
       if (event.isRecalculation) {
          sendNotifications = false;
@@ -280,7 +380,7 @@ public class AlertingServiceImpl implements AlertingService {
    }
 
    private void recalculateMissingDataRules(DatasetDAO dataset) {
-      MissingDataRuleResultDAO.deleteForDataset(dataset.id);
+      List<Integer> matchingRules = new ArrayList<>();
       List<Object[]> ruleValues = session
               .createNativeQuery(LOOKUP_RULE_LABEL_VALUES, Object[].class)
               .setParameter(1, dataset.id).setParameter(2, dataset.testid)
@@ -293,7 +393,7 @@ public class AlertingServiceImpl implements AlertingService {
                  int ruleId = (int) row[0];
                  if (result.isBoolean()) {
                     if (result.asBoolean()) {
-                       createMissingDataRuleResult(dataset, ruleId);
+                       matchingRules.add(ruleId);
                     }
                  } else {
                     logMissingDataMessage(dataset, PersistentLogDAO.ERROR,
@@ -301,13 +401,23 @@ public class AlertingServiceImpl implements AlertingService {
                  }
               },
               // Absence of condition means that this dataset is taken into account. This happens e.g. when value == NULL
-              row -> createMissingDataRuleResult(dataset, (int) row[0]),
+              row -> matchingRules.add((int) row[0]),
               (row, exception, code) -> logMissingDataMessage(dataset, PersistentLogDAO.ERROR, "Exception evaluating missing data rule %d, dataset %d: '%s' Code: <pre>%s</pre>", row[0], dataset.id, exception.getMessage(), code),
               output -> logMissingDataMessage(dataset, PersistentLogDAO.DEBUG, "Output while evaluating missing data rules for dataset %d: '%s'", dataset.id, output));
-   }
-
-   private void createMissingDataRuleResult(DatasetDAO dataset, int ruleId) {
-      new MissingDataRuleResultDAO(ruleId, dataset.id, dataset.start).persist();
+      int[] ruleIds = matchingRules.stream().mapToInt(Integer::intValue).toArray();
+      // rules that don't match the dataset anymore could have the last match set by it
+      session.createNativeQuery(RECALCULATE_LAST_MATCH)
+            .setParameter(1, ruleIds, IntArrayType.INSTANCE).setParameter(2, dataset.id)
+            .executeUpdate();
+      MissingDataRuleResultDAO.deleteForDataset(dataset.id);
+      for (int ruleId : ruleIds) {
+         new MissingDataRuleResultDAO(ruleId, dataset.id, dataset.start).persist();
+      }
+      if (ruleIds.length > 0) {
+         session.createNativeQuery(UPDATE_LAST_MATCH)
+               .setParameter(1, dataset.id).setParameter(2, ruleIds, IntArrayType.INSTANCE)
+               .executeUpdate();
+      }
    }
 
    private void recalculateDatapointsForDataset(DatasetDAO dataset, boolean notify, boolean debug, Recalculation recalculation) {
@@ -342,13 +452,28 @@ public class AlertingServiceImpl implements AlertingService {
       } else {
          fingerprint = JsonNodeFactory.instance.nullNode();
       }
-      boolean testResult = Util.evaluateTest(filter, fingerprint,
-              value -> {
-                 logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of fingerprint failed: '%s' is not a boolean", value);
-                 return false;
-              },
-              (code, e) -> logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of fingerprint filter failed: '%s' Code:<pre>%s</pre>", e.getMessage(), code),
-              output -> logCalculationMessage(dataset, PersistentLogDAO.DEBUG, "Output while evaluating fingerprint filter: <pre>%s</pre>", output));
+      Boolean cached = fingerprintFilterResults.get(dataset.testid, filter, fingerprint);
+      boolean testResult;
+      if (cached != null) {
+         testResult = cached;
+      } else {
+         boolean[] failed = new boolean[1];
+         testResult = Util.evaluateTest(filter, fingerprint,
+                 value -> {
+                    failed[0] = true;
+                    logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of fingerprint failed: '%s' is not a boolean", value);
+                    return false;
+                 },
+                 (code, e) -> {
+                    failed[0] = true;
+                    logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of fingerprint filter failed: '%s' Code:<pre>%s</pre>", e.getMessage(), code);
+                 },
+                 output -> logCalculationMessage(dataset, PersistentLogDAO.DEBUG, "Output while evaluating fingerprint filter: <pre>%s</pre>", output));
+         // failures are not cached so that these are logged for each dataset
+         if (!failed[0]) {
+            fingerprintFilterResults.put(dataset.testid, filter, fingerprint, testResult);
+         }
+      }
       if (!testResult) {
          logCalculationMessage(dataset, PersistentLogDAO.DEBUG, "Fingerprint %s was filtered out.", fingerprint);
       }
@@ -450,13 +575,14 @@ public class AlertingServiceImpl implements AlertingService {
          }
       }
       Instant finalTimestamp = timestamp;
+      DataPointBatch batch = new DataPointBatch(dataset.id, finalTimestamp);
       Util.evaluateWithCombinationFunction(values, data -> data.calculation, data -> data.value,
             (data, result) -> {
                Double value = Util.toDoubleOrNull(result,
                      error -> logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of variable %s failed: %s", data.fullName(), error),
                      info -> logCalculationMessage(dataset, PersistentLogDAO.INFO, "Evaluation of variable %s: %s", data.fullName(), info));
                if (value != null) {
-                  createDataPoint(dataset, finalTimestamp, data.variableId, value, notify, recalculation);
+                  batch.add(data.variableId, value);
                } else {
                   if (recalculation != null) {
                      recalculation.datasetsWithoutValue.put(dataset.id, dataset.getInfo());
@@ -490,16 +616,21 @@ public class AlertingServiceImpl implements AlertingService {
                if (value == null) {
                   logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Cannot turn %s into a floating-point value for variable %s", data.value, data.fullName());
                   if (recalculation != null) {
-                     recalculation.errors++;
+                     recalculation.errors.incrementAndGet();
                   }
                   missingValueVariables.add(data.fullName());
                } else {
-                  createDataPoint(dataset, finalTimestamp, data.variableId, value, notify, recalculation);
+                  batch.add(data.variableId, value);
                }
             },
             (data, exception, code) -> logCalculationMessage(dataset, PersistentLogDAO.ERROR, "Evaluation of variable %s failed: '%s' Code:<pre>%s</pre>", data.fullName(), exception.getMessage(), code),
             output -> logCalculationMessage(dataset, PersistentLogDAO.DEBUG, "Output while calculating variable: <pre>%s</pre>", output)
       );
+      int[] dataPointVariables = createDataPoints(dataset, batch, notify, recalculation);
+      if (dataPointVariables.length > 0) {
+         // all series of the dataset share the fingerprint and are processed together
+         onNewDataPoints(dataset.id, finalTimestamp, dataPointVariables, notify, recalculation != null && recalculation.lastDatapoint);
+      }
       if (!missingValueVariables.isEmpty()) {
          MissingValuesEvent event = new MissingValuesEvent(dataset.getInfo(), missingValueVariables, notify);
          if(mediator.testMode())
@@ -508,33 +639,54 @@ public class AlertingServiceImpl implements AlertingService {
       }
       DataPoint.DatasetProcessedEvent event = new DataPoint.DatasetProcessedEvent( DatasetMapper.fromInfo( dataset.getInfo()), notify);
       if(mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATAPOINT_PROCESSED, dataset.testid, event));
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.DATAPOINT_PROCESSED, dataset.testid, event));
       mediator.dataPointsProcessed(event);
    }
 
+   // always invoked within the transaction of the caller; conflicts are retried by the caller's transaction
    @Transactional
-   void createDataPoint(DatasetDAO dataset, Instant timestamp, int variableId, double value, boolean notify, Recalculation recalculation) {
-      DataPointDAO dataPoint = null;
-      VariableDAO variableDAO = VariableDAO.findById(variableId);
-      if ( recalculation.clearDatapoints ) {
-         dataPoint = new DataPointDAO();
-         dataPoint.variable = variableDAO;
-         dataPoint.dataset = dataset;
-         dataPoint.timestamp = timestamp;
-         dataPoint.value = value;
-         dataPoint.persistAndFlush();
+   int[] createDataPoints(DatasetDAO dataset, DataPointBatch batch, boolean notify, Recalculation recalculation) {
+      List<DataPointDAO> dataPoints;
+      if (recalculation.clearDatapoints) {
+         // datapoints of all variables are written at once, replacing those from previous calculation
+         Map<Integer, Integer> ids = batch.write(em.unwrap(Session.class));
+         if (!mediator.testMode()) {
+            return ids.keySet().stream().mapToInt(Integer::intValue).toArray();
+         }
+         dataPoints = new ArrayList<>(ids.size());
+         Map<Integer, VariableDAO> variables = batch.isEmpty() ? Map.of() : VariableDAO.<VariableDAO>list("id in ?1", batch.variableIds())
+               .stream().collect(Collectors.toMap(v -> v.id, Function.identity()));
+         for (int i = 0; i < batch.variableIds().size(); ++i) {
+            int variableId = batch.variableIds().get(i);
+            DataPointDAO dataPoint = new DataPointDAO();
+            dataPoint.id = ids.get(variableId);
+            dataPoint.variable = variables.get(variableId);
+            dataPoint.dataset = dataset;
+            dataPoint.timestamp = batch.timestamp;
+            dataPoint.value = batch.value(i);
+            dataPoints.add(dataPoint);
+         }
+      } else if (batch.isEmpty()) {
+         return new int[0];
       } else {
-         dataPoint = DataPointDAO.find("dataset = :dataset and variable = :variable", Parameters.with("dataset", dataset).and("variable", variableDAO)).firstResult();
+         dataPoints = DataPointDAO.list("dataset.id = ?1 and variable.id in ?2", dataset.id, batch.variableIds());
+         if (dataPoints.size() < batch.variableIds().size()) {
+            Set<Integer> found = dataPoints.stream().map(dp -> dp.variable.id).collect(Collectors.toSet());
+            for (int i = 0; i < batch.variableIds().size(); ++i) {
+               if (!found.contains(batch.variableIds().get(i))) {
+                  log.debugf("DataPoint for dataset %d, variable %d, timestamp %s, value %f not found",
+                        dataset.id, batch.variableIds().get(i), batch.timestamp, batch.value(i));
+               }
+            }
+         }
       }
-      if ( dataPoint != null  ) {
-         DataPoint.Event event = new DataPoint.Event(DataPointMapper.from(dataPoint), dataset.testid, notify);
-         onNewDataPoint(event, recalculation.lastDatapoint); //Test failure if we do not start a new thread and new tx
-
-         if (mediator.testMode())
-            Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATAPOINT_NEW, dataset.testid, event));
-      } else {
-            log.debugf("DataPoint for dataset %d, variable %d, timestamp %s, value %f not found", dataset.id, variableId, timestamp, value);
+      if (mediator.testMode()) {
+         for (DataPointDAO dataPoint : dataPoints) {
+            DataPoint.Event event = new DataPoint.Event(DataPointMapper.from(dataPoint), dataset.testid, notify);
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.DATAPOINT_NEW, dataset.testid, event));
+         }
       }
+      return dataPoints.stream().mapToInt(dp -> dp.variable.id).toArray();
    }
 
    private void logCalculationMessage(DatasetDAO dataSet, int level, String format, Object... args) {
@@ -566,109 +718,151 @@ public class AlertingServiceImpl implements AlertingService {
             level, "changes", msg).persist();
    }
 
+   // invoked within the transaction creating the datapoints
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
-   void onNewDataPoint(DataPoint.Event event, boolean lastDatapoint) {
-      DataPoint dataPoint = event.dataPoint;
-      if (dataPoint.variable != null && dataPoint.variable.id != null) {
-         VariableDAO variable = VariableDAO.findById(dataPoint.variable.id);
-         if (variable != null) {
-            log.debugf("Processing new datapoint for dataset %d at %s, variable %d (%s), value %f",
-                dataPoint.datasetId, dataPoint.timestamp,
-                variable.id, variable.name, dataPoint.value);
-            JsonNode fingerprint = FingerprintDAO.<FingerprintDAO>findByIdOptional(dataPoint.datasetId).map(fp -> fp.fingerprint).orElse(null);
-
-            VarAndFingerprint key = new VarAndFingerprint(variable.id, fingerprint);
-            log.debugf("Invalidating variable %d FP %s timestamp %s, current value is %s", variable.id, fingerprint, dataPoint.timestamp, validUpTo.get(key));
-            validUpTo.compute(key, (ignored, current) -> {
-               if (current == null || !dataPoint.timestamp.isAfter(current.timestamp)) {
-                  return new UpTo(dataPoint.timestamp, false);
-               } else {
-                  return current;
-               }
-            });
-            runChangeDetection(VariableDAO.findById(variable.id), fingerprint, event.notify, true, lastDatapoint);
-         } else {
-            log.warnf("Could not process new datapoint for dataset %d at %s, could not find variable by id %d ",
-                dataPoint.datasetId, dataPoint.timestamp, dataPoint.variable == null ? -1 : dataPoint.variable.id);
-         }
-      } else {
-         log.warnf( "Could not process new datapoint for dataset %d when the supplied variable or id reference is null ",
-             dataPoint.datasetId);
-      }
+   void onNewDataPoints(int datasetId, Instant timestamp, int[] variableIds, boolean notify, boolean lastDatapoint) {
+      JsonNode fingerprint = FingerprintDAO.<FingerprintDAO>findByIdOptional(datasetId).map(fp -> fp.fingerprint).orElse(null);
+      log.debugf("Invalidating variables %s FP %s timestamp %s", Arrays.toString(variableIds), fingerprint, timestamp);
+      // invalidation must not interleave with change detection of the same series in another transaction
+      lockSeries(variableIds, fingerprintKey(fingerprint));
+      session.createNativeQuery(INVALIDATE_UP_TO, int.class)
+            .setParameter(1, variableIds, IntArrayType.INSTANCE)
+            .setParameter(2, fingerprintKey(fingerprint))
+            .setParameter(3, timestamp, StandardBasicTypes.INSTANT)
+            .executeUpdate();
+      runChangeDetection(variableIds, fingerprint, notify, true, lastDatapoint);
    }
 
+   @RetryOnConflict("runChangeDetection")
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
-   void tryRunChangeDetection(VariableDAO variable, JsonNode fingerprint, boolean notify, boolean lastDatapoint) {
-      runChangeDetection(variable, fingerprint, notify, false, lastDatapoint);
-   }
-
-   private void runChangeDetection(VariableDAO variable, JsonNode fingerprint, boolean notify, boolean expectExists, boolean lastDatapoint) {
-      UpTo valid = validUpTo.get(new VarAndFingerprint(variable.id, fingerprint));
-      Instant nextTimestamp = session.createNativeQuery(
-            "SELECT MIN(timestamp) FROM datapoint dp LEFT JOIN fingerprint fp ON dp.dataset_id = fp.dataset_id " +
-                  "WHERE dp.variable_id = ?1 AND (timestamp > ?2 OR (timestamp = ?2 AND ?3)) AND json_equals(fp.fingerprint, ?4)", Instant.class)
-            .setParameter(1, variable.id)
-            .setParameter(2, valid != null ? valid.timestamp : LONG_TIME_AGO, StandardBasicTypes.INSTANT)
-            .setParameter(3, valid == null || !valid.inclusive)
-            .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-            .getResultStream().filter(Objects::nonNull).findFirst().orElse(null);
-      if (nextTimestamp == null) {
+   void tryRunChangeDetection(int[] variableIds, JsonNode fingerprint, boolean notify, boolean lastDatapoint) {
+      runChangeDetection(variableIds, fingerprint, notify, false, lastDatapoint);
+   }
+
+   /**
+    * Runs change detection on series of all given variables with the same fingerprint, processing the first datapoint
+    * that has not been analyzed yet in each series. The state and windows of all series are loaded in bulk,
+    * the series are analyzed in parallel and the changes are inserted in a single batch.
+    */
+   private void runChangeDetection(int[] variableIds, JsonNode fingerprint, boolean notify, boolean expectExists, boolean lastDatapoint) {
+      String fingerprintKey = fingerprintKey(fingerprint);
+      int[] ids = lockSeries(variableIds, fingerprintKey);
+      List<SeriesState> states = session.createNativeQuery(SERIES_STATE, Tuple.class)
+            .setParameter(1, ids, IntArrayType.INSTANCE)
+            .setParameter(2, fingerprintKey)
+            .setParameter(3, fingerprint, JsonBinaryType.INSTANCE)
+            .addScalar("variable_id", StandardBasicTypes.INTEGER)
+            .addScalar("valid_up_to", StandardBasicTypes.INSTANT)
+            .addScalar("inclusive", StandardBasicTypes.BOOLEAN)
+            .addScalar("next_timestamp", StandardBasicTypes.INSTANT)
+            .addScalar("change_timestamp", StandardBasicTypes.INSTANT)
+            .setTupleTransformer((tuples, aliases) -> new SeriesState((int) tuples[0],
+                  tuples[1] == null ? null : new UpTo((Instant) tuples[1], (boolean) tuples[2]), (Instant) tuples[3], (Instant) tuples[4]))
+            .getResultList();
+      List<SeriesState> pending = states.stream().filter(state -> state.next() != null).toList();
+      if (pending.isEmpty()) {
          log.debugf("No further datapoints for change detection");
          return;
       }
-
+      int[] pendingIds = pending.stream().mapToInt(SeriesState::variableId).toArray();
       // this should happen only after reboot, let's start with last change
-      if (valid != null) {
-         int numDeleted = session.createNativeQuery("DELETE FROM change cc WHERE cc.id IN (" +
-               "SELECT id FROM change c LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id " +
-               "WHERE NOT c.confirmed AND c.variable_id = ?1 AND (c.timestamp > ?2 OR (c.timestamp = ?2 AND ?3)) " +
-               "AND json_equals(fp.fingerprint, ?4))", int.class)
-               .setParameter(1, variable.id)
-               .setParameter(2, valid.timestamp, StandardBasicTypes.INSTANT)
-               .setParameter(3, !valid.inclusive)
-               .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-               .executeUpdate();
-         log.debugf("Deleted %d changes %s %s for variable %d, fingerprint %s", numDeleted, valid.inclusive ? ">" : ">=", valid.timestamp, variable.id, fingerprint);
-      }
-
-      var changeQuery = session.createQuery("SELECT c FROM Change c LEFT JOIN Fingerprint fp ON c.dataset.id = fp.dataset.id " +
-            "WHERE c.variable = ?1 AND (c.timestamp < ?2 OR (c.timestamp = ?2 AND ?3 = TRUE)) AND " +
-            "TRUE = function('json_equals', fp.fingerprint, ?4) " +
-            "ORDER by c.timestamp DESC", ChangeDAO.class);
-      changeQuery
-            .setParameter(1, variable)
-            .setParameter(2, valid != null ? valid.timestamp : VERY_DISTANT_FUTURE)
-            .setParameter(3, valid == null || valid.inclusive)
-            .setParameter(4, fingerprint, JsonBinaryType.INSTANCE);
-      ChangeDAO lastChange = changeQuery.setMaxResults(1).getResultStream().findFirst().orElse(null);
-
-      Instant changeTimestamp = LONG_TIME_AGO;
-      if (lastChange != null) {
-         log.debugf("Filtering DP between %s (change %d) and %s", lastChange.timestamp, lastChange.id, nextTimestamp);
-         changeTimestamp = lastChange.timestamp;
-      }
-
-      List<DataPointDAO> dataPoints = session.createQuery(
-            "SELECT dp FROM DataPoint dp LEFT JOIN Fingerprint fp ON dp.dataset.id = fp.dataset.id " +
-            "JOIN dp.dataset " + // ignore datapoints (that were not deleted yet) from deleted datasets
-            "WHERE dp.variable = ?1 AND dp.timestamp BETWEEN ?2 AND ?3 " +
-            "AND TRUE = function('json_equals', fp.fingerprint, ?4) " +
-            "ORDER BY dp.timestamp DESC, dp.dataset.id DESC", DataPointDAO.class)
-            .setParameter(1, variable)
-            .setParameter(2, changeTimestamp)
-            .setParameter(3, nextTimestamp)
-            .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-            .getResultList();
-      // Last datapoint is already in the list
-      if (dataPoints.isEmpty()) {
-         if (expectExists) {
-            log.warn("The published datapoint should be already in the list");
+      int numDeleted = session.createNativeQuery(DELETE_INVALID_CHANGES, int.class)
+            .setParameter(1, pendingIds, IntArrayType.INSTANCE)
+            .setParameter(2, fingerprintKey)
+            .setParameter(3, fingerprint, JsonBinaryType.INSTANCE)
+            .executeUpdate();
+      log.debugf("Deleted %d changes past valid range for variables %s, fingerprint %s", numDeleted, Arrays.toString(pendingIds), fingerprint);
+
+      List<Integer> pendingList = IntStream.of(pendingIds).boxed().toList();
+      Map<Integer, VariableDAO> variables = VariableDAO.<VariableDAO>list("id in ?1", pendingList).stream()
+            .collect(Collectors.toMap(variable -> variable.id, Function.identity()));
+      Map<Integer, List<ChangeDetectionDAO>> detections = ChangeDetectionDAO.<ChangeDetectionDAO>list("variable.id in ?1", pendingList).stream()
+            .collect(Collectors.groupingBy(detection -> detection.variable.id));
+
+      List<SeriesAnalysis> analyses = new ArrayList<>(pending.size());
+      for (SeriesState state : pending) {
+         VariableDAO variable = variables.get(state.variableId());
+         if (variable == null) {
+            log.warnf("Could not run change detection, could not find variable by id %d", state.variableId());
+            continue;
          }
-      } else {
-         int datasetId = dataPoints.get(0).getDatasetId();
-         for (ChangeDetectionDAO detection : ChangeDetectionDAO.<ChangeDetectionDAO>find("variable", variable).list()) {
+         SeriesAnalysis analysis = new SeriesAnalysis(variable, state, detections.getOrDefault(variable.id, List.of()), fingerprintKey);
+         log.debugf("Filtering DP of variable %d between %s and %s", variable.id, state.since(), state.next());
+         // Series models inspect only recent datapoints and can use the cached state of the series,
+         // other models need entities of all datapoints since the last change.
+         for (ChangeDetectionDAO detection : analysis.detections) {
+            ChangeDetectionModel model = modelResolver.getModel(ChangeDetectionModelType.fromString(detection.model));
+            if (model == null || (model.getType() == ModelType.BULK && !lastDatapoint)) {
+               continue;
+            }
+            if (model instanceof SeriesChangeDetectionModel seriesModel) {
+               analysis.capacity = Math.max(analysis.capacity, seriesModel.recentDatapoints(detection.config));
+               analysis.accumulators.putAll(seriesModel.accumulators(detection.config));
+            } else {
+               analysis.needsEntities = true;
+            }
+         }
+         // The cached state can be used only if the series was analyzed up to the last valid timestamp (the datapoints
+         // at next timestamp are the only ones missing) and no new change was found in the meantime.
+         UpTo valid = state.valid();
+         SeriesStateCache.State cached = analysis.capacity > 0 && valid != null && valid.inclusive ? seriesStates.get(analysis.key) : null;
+         if (cached != null && cached.since().equals(state.since()) && cached.upTo().equals(valid.timestamp) && cached.capacity() >= analysis.capacity
+               && cached.series().hasAccumulators(analysis.accumulators.keySet())) {
+            log.debugf("Using cached state of variable %d FP %s", variable.id, fingerprint);
+            analysis.cached = cached;
+         }
+         analyses.add(analysis);
+      }
+      if (analyses.isEmpty()) {
+         return;
+      }
+
+      int[] seriesIds = analyses.stream().filter(analysis -> analysis.capacity > 0).mapToInt(analysis -> analysis.variable.id).toArray();
+      if (seriesIds.length > 0) {
+         int[] incrementalIds = analyses.stream().filter(analysis -> analysis.cached != null).mapToInt(analysis -> analysis.variable.id).toArray();
+         Map<Integer, DataPointSeries.Builder> builders = loadSeries(seriesIds, incrementalIds, fingerprintKey, fingerprint);
+         for (SeriesAnalysis analysis : analyses) {
+            if (analysis.capacity > 0) {
+               DataPointSeries.Builder builder = builders.getOrDefault(analysis.variable.id, DataPointSeries.builder());
+               analysis.series = analysis.cached != null ? analysis.cached.series().append(builder, analysis.capacity)
+                     : builder.build(new SummaryStatistics(), analysis.accumulators, analysis.capacity);
+            }
+         }
+      }
+
+      List<DetectedChange> detected = new ArrayList<>();
+      List<SeriesDetection> seriesDetections = new ArrayList<>();
+      for (SeriesAnalysis analysis : analyses) {
+         VariableDAO variable = analysis.variable;
+         if (analysis.needsEntities) {
+            analysis.dataPoints = session.createQuery(
+                  "SELECT dp FROM DataPoint dp LEFT JOIN Fingerprint fp ON dp.dataset.id = fp.dataset.id " +
+                  "JOIN dp.dataset " + // ignore datapoints (that were not deleted yet) from deleted datasets
+                  "WHERE dp.variable = ?1 AND dp.timestamp BETWEEN ?2 AND ?3 " +
+                  "AND TRUE = function('json_equals', fp.fingerprint, ?4) " +
+                  "ORDER BY dp.timestamp DESC, dp.dataset.id DESC", DataPointDAO.class)
+                  .setParameter(1, variable)
+                  .setParameter(2, analysis.state.since())
+                  .setParameter(3, analysis.state.next())
+                  .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
+                  .getResultList();
+         }
+         int datasetId = -1;
+         if (analysis.series != null && analysis.series.recentSize() > 0) {
+            datasetId = analysis.series.datasetId(0);
+         } else if (analysis.dataPoints != null && !analysis.dataPoints.isEmpty()) {
+            datasetId = analysis.dataPoints.get(0).getDatasetId();
+         }
+         // Last datapoint is already in the list
+         if (datasetId < 0) {
+            if (expectExists && (analysis.series != null || analysis.dataPoints != null)) {
+               log.warn("The published datapoint should be already in the list");
+            }
+            continue;
+         }
+         for (ChangeDetectionDAO detection : analysis.detections) {
             ChangeDetectionModel model = modelResolver.getModel(ChangeDetectionModelType.fromString(detection.model));
             if (model == null) {
                logChangeDetectionMessage(variable.testId, datasetId, PersistentLogDAO.ERROR, "Cannot find change detection model %s", detection.model);
@@ -676,54 +870,158 @@ public class AlertingServiceImpl implements AlertingService {
             }
             //Only run bulk models on the last datapoint, otherwise run on every datapoint
             if (model.getType() == ModelType.CONTINOUS || (model.getType() == ModelType.BULK && lastDatapoint)) {
-               try {
-                  model.analyze(dataPoints, detection.config, change -> {
-                     logChangeDetectionMessage(variable.testId, datasetId, PersistentLogDAO.DEBUG,
-                             "Change %s detected using datapoints %s", change, reversedAndLimited(dataPoints));
-                     DatasetDAO.Info info = session
-                             .createNativeQuery("SELECT id, runid as \"runId\", ordinal, testid as \"testId\" FROM dataset WHERE id = ?1", Tuple.class)
-                             .setParameter(1, change.dataset.id)
-                             .setTupleTransformer((tuples, aliases) -> {
-                                DatasetDAO.Info i = new DatasetDAO.Info();
-                                i.id = (int) tuples[0];
-                                i.runId = (int) tuples[1];
-                                i.ordinal = (int) tuples[2];
-                                i.testId = (int) tuples[3];
-                                return i;
-                             }).getSingleResult();
-                     em.persist(change);
-                     Hibernate.initialize(change.dataset.run.id);
-                     String testName = TestDAO.<TestDAO>findByIdOptional(variable.testId).map(test -> test.name).orElse("<unknown>");
-                     Change.Event event = new Change.Event(ChangeMapper.from(change), testName, DatasetMapper.fromInfo(info), notify);
-                     if (mediator.testMode())
-                        Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.CHANGE_NEW, change.dataset.testid, event));
-                     mediator.executeBlocking(() -> mediator.newChange(event));
-                  });
-               } catch (ChangeDetectionException e) {
-                  new ChangeDetectionLogDAO(variable, fingerprint, PersistentLogDAO.ERROR, e.getLocalizedMessage()).persist();
-                  log.error("An error occurred while running change detection!", e);
+               if (model instanceof SeriesChangeDetectionModel seriesModel) {
+                  seriesDetections.add(new SeriesDetection(analysis, datasetId, detection.config, seriesModel));
+               } else {
+                  try {
+                     int finalDatasetId = datasetId;
+                     model.analyze(analysis.dataPoints, detection.config,
+                           change -> detected.add(new DetectedChange(variable, finalDatasetId, change, reversedAndLimited(analysis.dataPoints))));
+                  } catch (ChangeDetectionException e) {
+                     new ChangeDetectionLogDAO(variable, fingerprint, PersistentLogDAO.ERROR, e.getLocalizedMessage()).persist();
+                     log.error("An error occurred while running change detection!", e);
+                  }
                }
             }
          }
       }
+      // series are independent, therefore these can be analyzed in parallel
+      (seriesDetections.size() >= PARALLEL_DETECTIONS ? seriesDetections.parallelStream() : seriesDetections.stream())
+            .forEach(SeriesDetection::run);
+      for (SeriesDetection seriesDetection : seriesDetections) {
+         SeriesAnalysis analysis = seriesDetection.analysis;
+         if (seriesDetection.error != null) {
+            new ChangeDetectionLogDAO(analysis.variable, fingerprint, PersistentLogDAO.ERROR, seriesDetection.error.getLocalizedMessage()).persist();
+            log.error("An error occurred while running change detection!", seriesDetection.error);
+            continue;
+         }
+         // entities are created only for detected changes
+         for (ChangePoint point : seriesDetection.changePoints) {
+            ChangeDAO change = new ChangeDAO();
+            change.variable = analysis.variable;
+            change.dataset = em.getReference(DatasetDAO.class, analysis.series.datasetId(point.index()));
+            change.timestamp = analysis.series.timestamp(point.index());
+            change.description = point.description();
+            detected.add(new DetectedChange(analysis.variable, seriesDetection.datasetId, change, analysis.series.toString()));
+         }
+      }
+      emitChanges(detected, notify);
+
+      Map<Integer, Instant> validUpTo = new HashMap<>();
+      for (SeriesAnalysis analysis : analyses) {
+         validUpTo.put(analysis.variable.id, analysis.state.next());
+      }
+      Map<Integer, int[]> variablesByTest = analyses.stream().collect(Collectors.groupingBy(analysis -> analysis.variable.testId,
+            Collectors.collectingAndThen(Collectors.toList(), list -> list.stream().mapToInt(analysis -> analysis.variable.id).toArray())));
+      // the progress is committed atomically with the detected changes; otherwise another instance could analyze
+      // the same datapoints again before the progress is stored
+      validateUpTo(fingerprint, validUpTo);
       Util.doAfterCommit(tm, () -> {
-         validateUpTo(variable, fingerprint, nextTimestamp);
+         for (SeriesAnalysis analysis : analyses) {
+            if (analysis.series != null) {
+               seriesStates.put(analysis.key, new SeriesStateCache.State(analysis.state.since(), analysis.state.next(), analysis.series, analysis.capacity));
+            }
+         }
          //assume not last datapoint if we have found more
-         messageBus.executeForTest(variable.testId, () -> tryRunChangeDetection(variable, fingerprint, notify, false));
+         variablesByTest.forEach((testId, testVariableIds) ->
+               messageBus.executeForTest(testId, () -> tryRunChangeDetection(testVariableIds, fingerprint, notify, false)));
       });
    }
 
-   private void validateUpTo(VariableDAO variable, JsonNode fingerprint, Instant timestamp) {
-      validUpTo.compute(new VarAndFingerprint(variable.id, fingerprint), (ignored, current) -> {
-         log.debugf("Attempt %s, valid up to %s, ", timestamp, current);
-         if (current == null || !current.timestamp.isAfter(timestamp)) {
-            return new UpTo(timestamp, true);
-         } else {
-            return current;
+   // All detected changes are inserted in a single batch
+   private void emitChanges(List<DetectedChange> detected, boolean notify) {
+      if (detected.isEmpty()) {
+         return;
+      }
+      Integer jdbcBatchSize = session.getJdbcBatchSize();
+      session.setJdbcBatchSize(detected.size());
+      try {
+         for (DetectedChange detectedChange : detected) {
+            logChangeDetectionMessage(detectedChange.variable().testId, detectedChange.datasetId(), PersistentLogDAO.DEBUG,
+                  "Change %s detected using datapoints %s", detectedChange.change(), detectedChange.dataPoints());
+         }
+         for (DetectedChange detectedChange : detected) {
+            em.persist(detectedChange.change());
+         }
+         em.flush();
+      } finally {
+         session.setJdbcBatchSize(jdbcBatchSize);
+      }
+      int[] datasetIds = detected.stream().mapToInt(detectedChange -> detectedChange.change().dataset.id).distinct().toArray();
+      List<DatasetDAO.Info> infoList = session
+              .createNativeQuery("SELECT id, runid, ordinal, testid FROM dataset WHERE id = ANY(?1)", Tuple.class)
+              .setParameter(1, datasetIds, IntArrayType.INSTANCE)
+              .setTupleTransformer((tuples, aliases) -> new DatasetDAO.Info((int) tuples[0], (int) tuples[1], (int) tuples[2], (int) tuples[3]))
+              .getResultList();
+      Map<Integer, DatasetDAO.Info> infos = infoList.stream().collect(Collectors.toMap(info -> info.id, Function.identity()));
+      Map<Integer, String> testNames = new HashMap<>();
+      for (DetectedChange detectedChange : detected) {
+         ChangeDAO change = detectedChange.change();
+         Hibernate.initialize(change.dataset.run.id);
+         String testName = testNames.computeIfAbsent(detectedChange.variable().testId,
+               testId -> TestDAO.<TestDAO>findByIdOptional(testId).map(test -> test.name).orElse("<unknown>"));
+         Change.Event event = new Change.Event(ChangeMapper.from(change), testName, DatasetMapper.fromInfo(infos.get(change.dataset.id)), notify);
+         if (mediator.testMode())
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.CHANGE_NEW, change.dataset.testid, event));
+         mediator.executeBlocking(() -> mediator.newChange(event));
+      }
+   }
+
+   // Datapoints of the series (newest first) by variable
+   private Map<Integer, DataPointSeries.Builder> loadSeries(int[] variableIds, int[] incrementalIds, String fingerprintKey, JsonNode fingerprint) {
+      List<Object[]> rows = session.createNativeQuery(LOAD_SERIES, Object[].class)
+            .setParameter(1, variableIds, IntArrayType.INSTANCE)
+            .setParameter(2, fingerprintKey)
+            .setParameter(3, fingerprint, JsonBinaryType.INSTANCE)
+            .setParameter(4, incrementalIds, IntArrayType.INSTANCE)
+            .addScalar("variable_id", StandardBasicTypes.INTEGER)
+            .addScalar("id", StandardBasicTypes.INTEGER)
+            .addScalar("dataset_id", StandardBasicTypes.INTEGER)
+            .addScalar("runid", StandardBasicTypes.INTEGER)
+            .addScalar("ordinal", StandardBasicTypes.INTEGER)
+            .addScalar("timestamp", StandardBasicTypes.INSTANT)
+            .addScalar("value", StandardBasicTypes.DOUBLE)
+            .getResultList();
+      Map<Integer, DataPointSeries.Builder> builders = new HashMap<>();
+      for (Object[] row : rows) {
+         builders.computeIfAbsent((Integer) row[0], variableId -> DataPointSeries.builder())
+               .add((int) row[1], (int) row[2], (int) row[3], (int) row[4], (Instant) row[5], (double) row[6]);
+      }
+      return builders;
+   }
+
+   /**
+    * Only one instance can run change detection for given series at a time; the lock is released when the transaction completes.
+    * @return Sorted IDs of the locked variables
+    */
+   private int[] lockSeries(int[] variableIds, String fingerprintKey) {
+      int[] ids = IntStream.of(variableIds).sorted().distinct().toArray();
+      session.createNativeQuery(LOCK_SERIES, Long.class)
+            .setParameter(1, ids, IntArrayType.INSTANCE).setParameter(2, fingerprintKey.hashCode()).getSingleResult();
+      return ids;
+   }
+
+   private void validateUpTo(JsonNode fingerprint, Map<Integer, Instant> timestamps) {
+      log.debugf("Variables FP %s valid up to %s", fingerprint, timestamps);
+      String fingerprintKey = fingerprintKey(fingerprint);
+      session.doWork(connection -> {
+         try (PreparedStatement statement = connection.prepareStatement(VALIDATE_UP_TO)) {
+            for (Map.Entry<Integer, Instant> entry : timestamps.entrySet()) {
+               statement.setInt(1, entry.getKey());
+               statement.setString(2, fingerprintKey);
+               statement.setObject(3, entry.getValue().atOffset(ZoneOffset.UTC));
+               statement.addBatch();
+            }
+            statement.executeBatch();
          }
       });
    }
 
+   // fingerprints are loaded from a JSONB column and therefore serialized with a stable order of properties
+   private static String fingerprintKey(JsonNode fingerprint) {
+      return fingerprint == null ? "" : fingerprint.toString();
+   }
+
    private String reversedAndLimited(List<DataPointDAO> list) {
       int maxIndex = Math.min(list.size() - 1, 20);
       StringBuilder sb = new StringBuilder("[");
@@ -799,6 +1097,8 @@ public class AlertingServiceImpl implements AlertingService {
             ChangeDAO.delete("variable.id", current.id);
             current.delete();
          });
+         // cached states were computed for the previous variables and models
+         Util.doAfterCommit(tm, seriesStates::clear);
 
          em.flush();
       } catch (PersistenceException e) {
@@ -964,57 +1264,119 @@ public class AlertingServiceImpl implements AlertingService {
          throw ServiceException.forbidden("This user cannot trigger the recalculation");
       }
 
-      messageBus.executeForTest(testId, () -> {
+      messageBus.submitForTest(testId, () -> {
          startRecalculation(testId, notify, debug, clearDatapoints == null ? true : clearDatapoints, from, to);
       });
    }
 
+   /**
+    * Starts recalculation of the test; the partitions are processed in a shared pool rather than in the thread
+    * of the caller and the recalculation is marked as done when all of them complete.
+    */
    void startRecalculation(int testId, boolean notify, boolean debug, boolean clearDatapoints, Long from, Long to) {
-      Recalculation recalculation = new Recalculation();
-      Recalculation previous = recalcProgress.putIfAbsent(testId, recalculation);
-      while (previous != null) {
-         if (!previous.done) {
-            log.debugf("Already started recalculation on test %d, ignoring.", testId);
-            return;
-         }
-         if (recalcProgress.replace(testId, previous, recalculation)) {
-            break;
-         }
-         previous = recalcProgress.putIfAbsent(testId, recalculation);
+      if (!claimRecalculation(testId)) {
+         log.debugf("Already started recalculation on test %d, ignoring.", testId);
+         return;
       }
+      Recalculation recalculation = new Recalculation();
       recalculation.clearDatapoints = clearDatapoints;
 
+      CompletableFuture<Void> partitionsCompleted;
       try {
          log.debugf("About to recalculate datapoints in test %d between %s and %s", testId, from, to);
          //TODO:: determine if we should clear datapoints
          recalculation.datasets = getDatasetsForRecalculation(testId, from, to, clearDatapoints);
          int numRuns = recalculation.datasets.size();
          log.debugf("Starting recalculation of test %d, %d runs", testId, numRuns);
-         int completed = 0;
-         recalcProgress.put(testId, recalculation);
-         //TODO:: this could be more streamlined
-         Map<String, Integer> lastDatapoints = new HashMap<>();
-         recalculation.datasets.entrySet().forEach( entry -> lastDatapoints.put(entry.getValue(), entry.getKey()));
-         Set<Integer> lastDatapointSet = lastDatapoints.values().stream().collect(Collectors.toSet());
-         for (int datasetId : recalculation.datasets.keySet()) {
-            // Since the evaluation might take few moments and we're dealing potentially with thousands
-            // of runs we'll process each run in a separate transaction
-            if ( lastDatapointSet.contains(datasetId) ) {
-               recalculation.lastDatapoint = true;
-            } else {
-               recalculation.lastDatapoint = false;
-            }
-            recalculateForDataset(datasetId, notify, debug, recalculation);
-            recalculation.progress = 100 * ++completed / numRuns;
-         }
-
+         updateRecalculation(testId, recalculation);
+         // Series with different fingerprints are independent: datasets are partitioned by fingerprint and
+         // the partitions are processed in parallel, datasets within each partition in the order of their start
+         Map<String, List<Integer>> partitions = new LinkedHashMap<>();
+         recalculation.datasets.forEach((datasetId, fingerprint) -> partitions.computeIfAbsent(fingerprint, fp -> new ArrayList<>()).add(datasetId));
+         // The pool is shared by all tests: partitions of this test wait in its own queue and at most
+         // horreum.alerting.recalculation.parallelism of them are submitted to the pool at any time
+         Queue<List<Integer>> pendingPartitions = new ConcurrentLinkedQueue<>(partitions.values());
+         int workers = Math.min(recalculationParallelism, partitions.size());
+         log.debugf("Recalculating test %d in %d partitions using %d workers", testId, partitions.size(), workers);
+         AtomicInteger completed = new AtomicInteger();
+         partitionsCompleted = CompletableFuture.allOf(IntStream.range(0, workers)
+               .mapToObj(worker -> recalculatePartitions(testId, pendingPartitions, notify, debug, recalculation, completed))
+               .toArray(CompletableFuture[]::new));
       } catch (Throwable t) {
-         log.error("Recalculation failed", t);
-         throw t;
-      } finally {
+         partitionsCompleted = CompletableFuture.failedFuture(t);
+      }
+      // The caller (the serial executor of the test) does not wait for the partitions; completion is chained instead
+      partitionsCompleted.whenComplete((nil, t) -> mediator.executeBlocking(() -> {
+         if (t != null) {
+            recalculation.failed = true;
+            log.error("Recalculation failed", t);
+         }
          recalculation.done = true;
-         vertx.setTimer(30_000, timerId -> recalcProgress.remove(testId, recalculation));
+         updateRecalculation(testId, recalculation);
+      }));
+   }
+
+   // Each partition is submitted after the previous one completes, behind the partitions of other tests
+   private CompletableFuture<Void> recalculatePartitions(int testId, Queue<List<Integer>> pendingPartitions, boolean notify, boolean debug,
+                                                         Recalculation recalculation, AtomicInteger completed) {
+      List<Integer> datasetIds = recalculation.failed ? null : pendingPartitions.poll();
+      if (datasetIds == null) {
+         return CompletableFuture.completedFuture(null);
+      }
+      return mediator.executeDatapointRecalculation(() -> recalculatePartition(testId, datasetIds, notify, debug, recalculation, completed))
+            .thenCompose(nil -> recalculatePartitions(testId, pendingPartitions, notify, debug, recalculation, completed));
+   }
+
+   private void recalculatePartition(int testId, List<Integer> datasetIds, boolean notify, boolean debug, Recalculation recalculation, AtomicInteger completed) {
+      Recalculation partition = recalculation.partition();
+      for (int i = 0; i < datasetIds.size() && !recalculation.failed; ++i) {
+         // bulk models run on the last datapoint of each fingerprint
+         partition.lastDatapoint = i == datasetIds.size() - 1;
+         // Since the evaluation might take few moments and we're dealing potentially with thousands
+         // of runs we'll process each run in a separate transaction
+         try {
+            recalculateForDataset(datasetIds.get(i), notify, debug, partition);
+         } catch (Throwable t) {
+            // stop other partitions as well
+            recalculation.failed = true;
+            throw t;
+         }
+         // partitions may finish out of order, progress must not go back (neither in the database)
+         recalculation.progress.accumulateAndGet(100 * completed.incrementAndGet() / recalculation.datasets.size(), Math::max);
+         updateRecalculation(testId, recalculation);
+      }
+   }
+
+   /**
+    * @return <code>false</code> if there is a recalculation for this test in progress, possibly in another instance.
+    */
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional(Transactional.TxType.REQUIRES_NEW)
+   boolean claimRecalculation(int testId) {
+      return session.createNativeQuery(CLAIM_RECALCULATION, int.class).setParameter(1, testId)
+            .setParameter(2, recalculationAbandonedAfter.toMillis() / 1000.0).executeUpdate() > 0;
+   }
+
+   // Progress is stored in the database so that any instance can report the status
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional(Transactional.TxType.REQUIRES_NEW)
+   void updateRecalculation(int testId, Recalculation recalculation) {
+      String datasetsWithoutValue;
+      try {
+         datasetsWithoutValue = Util.OBJECT_MAPPER.writeValueAsString(
+               recalculation.datasetsWithoutValue.values().stream().map(DatasetMapper::fromInfo).collect(Collectors.toList()));
+      } catch (JsonProcessingException e) {
+         throw new IllegalStateException(e);
       }
+      session.createNativeQuery("UPDATE datapoint_recalculation SET total_datasets = ?2, progress = GREATEST(progress, ?3), done = ?4, errors = ?5, " +
+                  "datasets_without_value = ?6::::jsonb, updated = now() WHERE testid = ?1", int.class)
+            .setParameter(1, testId)
+            .setParameter(2, recalculation.datasets.size())
+            .setParameter(3, recalculation.progress.get())
+            .setParameter(4, recalculation.done)
+            .setParameter(5, recalculation.errors.get())
+            .setParameter(6, datasetsWithoutValue)
+            .executeUpdate();
    }
 
    // It doesn't make sense to limit access to particular user when doing the recalculation,
@@ -1036,10 +1398,15 @@ public class AlertingServiceImpl implements AlertingService {
                       )
               );
       List<Integer> datasetIDs = ids.keySet().stream().collect(Collectors.toList());
+      // bind the datasets as single array rather than expanding a parameter for each of them
+      int[] datasetArray = datasetIDs.stream().mapToInt(Integer::intValue).toArray();
       if( clearDatapoints ) {
-         DataPointDAO.delete("dataset.id in ?1", datasetIDs);
+         session.createNativeQuery("DELETE FROM datapoint WHERE dataset_id = ANY(?1)")
+               .setParameter(1, datasetArray, IntArrayType.INSTANCE).executeUpdate();
+         Util.doAfterCommit(tm, seriesStates::clear);
       }
-      ChangeDAO.delete("dataset.id in ?1 AND confirmed = false", datasetIDs);
+      session.createNativeQuery("DELETE FROM change WHERE dataset_id = ANY(?1) AND NOT confirmed")
+            .setParameter(1, datasetArray, IntArrayType.INSTANCE).executeUpdate();
       if (!ids.isEmpty()) {
          // Due to RLS policies we cannot add a record to a dataset we don't own
          logCalculationMessage(testId, datasetIDs.get(0) , PersistentLogDAO.INFO, "Starting recalculation of %d runs.", ids.size());
@@ -1060,22 +1427,30 @@ public class AlertingServiceImpl implements AlertingService {
 
    @Override
    @RolesAllowed(Roles.TESTER)
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
    public DatapointRecalculationStatus getRecalculationStatus(int testId) {
-      Recalculation recalculation = recalcProgress.get(testId);
+      Object[] row = session.createNativeQuery("SELECT progress, done, total_datasets, errors, datasets_without_value::::text " +
+                  "FROM datapoint_recalculation WHERE testid = ?1", Object[].class)
+            .setParameter(1, testId).getResultStream().findFirst().orElse(null);
       DatapointRecalculationStatus status = new DatapointRecalculationStatus();
-      status.percentage = recalculation == null ? 100 : recalculation.progress;
-      status.done = recalculation == null || recalculation.done;
-      if (recalculation != null) {
-         status.totalDatasets = recalculation.datasets.size();
-         status.errors = recalculation.errors;
-         status.datasetsWithoutValue = recalculation.datasetsWithoutValue.values().stream().map(DatasetMapper::fromInfo).collect(Collectors.toList());
+      status.percentage = row == null ? 100 : (int) row[0];
+      status.done = row == null || (boolean) row[1];
+      if (row != null) {
+         status.totalDatasets = (int) row[2];
+         status.errors = (int) row[3];
+         try {
+            status.datasetsWithoutValue = Util.OBJECT_MAPPER.readValue((String) row[4], new TypeReference<>() {});
+         } catch (JsonProcessingException e) {
+            throw ServiceException.serverError("Cannot read recalculation status");
+         }
       }
       return status;
    }
 
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
-   @Scheduled(every = "{horreum.alerting.missing.dataset.check}")
+   @Scheduled(identity = "missing-dataset-check", every = "{horreum.alerting.missing.dataset.check}", skipExecutionIf = SchedulerLeases.class)
    public void checkMissingDataset() {
       List<Object[]> results = session.createNativeQuery(LOOKUP_RECENT, Object[].class).getResultList();
       for (Object[] row : results) {
@@ -1152,6 +1527,10 @@ public class AlertingServiceImpl implements AlertingService {
       test.fingerprintFilter = "";
       test.fingerprintFilter = update.fingerprintFilter;
       test.persistAndFlush();
+      Util.doAfterCommit(tm, () -> {
+         fingerprintFilterResults.invalidate(testId);
+         seriesStates.clear();
+      });
    }
 
    private ArrayNode toJsonArray(List<String> labels) {
@@ -1233,38 +1612,56 @@ public class AlertingServiceImpl implements AlertingService {
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
    void recalculateMissingDataRules(int testId, MissingDataRuleDAO rule) {
-      List<Object[]> idsAndTimestamps = session
-              .createNativeQuery("SELECT id, start FROM dataset WHERE testid = ?1", Object[].class)
-              .setParameter(1, testId).getResultList();
-      for (Object[] row : idsAndTimestamps) {
-         recalculateMissingDataRule((int) row[0], (Instant) row[1], rule);
+      // previous results could be matched by different condition
+      MissingDataRuleResultDAO.deleteForDataRule(rule.id);
+      if (rule.condition == null || rule.condition.isBlank()) {
+         session.createNativeQuery("INSERT INTO missingdata_ruleresult(rule_id, dataset_id, timestamp) SELECT ?1, id, start FROM dataset WHERE testid = ?2")
+               .setParameter(1, rule.id).setParameter(2, testId).executeUpdate();
+      } else {
+         List<Object[]> values = session
+               .createNativeQuery(LOOKUP_LABEL_VALUES_FOR_RULE, Object[].class)
+               .setParameter(1, rule.id).setParameter(2, testId)
+               .addScalar("dataset_id", StandardBasicTypes.INTEGER)
+               .addScalar("value", JsonBinaryType.INSTANCE)
+               .getResultList();
+         for (int from = 0; from < values.size(); from += MISSING_DATA_BATCH) {
+            recalculateMissingDataRule(rule, values.subList(from, Math.min(from + MISSING_DATA_BATCH, values.size())));
+         }
       }
+      session.createNativeQuery("UPDATE missingdata_rule mdr SET last_match = (SELECT max(timestamp) FROM missingdata_ruleresult rr WHERE rr.rule_id = mdr.id) WHERE id = ?1")
+            .setParameter(1, rule.id).executeUpdate();
    }
 
-   @WithRoles(extras = Roles.HORREUM_SYSTEM)
-   @Transactional(Transactional.TxType.REQUIRES_NEW)
-   void recalculateMissingDataRule(int datasetId, Instant timestamp, MissingDataRuleDAO rule) {
-      JsonNode value = (JsonNode) em.createNativeQuery(LOOKUP_LABEL_VALUE_FOR_RULE)
-            .setParameter(1, datasetId).setParameter(2, rule.id)
-            .unwrap(NativeQuery.class)
-            .addScalar("value", JsonBinaryType.INSTANCE)
-            .getSingleResult();
-      boolean match = true;
-      if (rule.condition != null && !rule.condition.isBlank()) {
-         String ruleName = rule.name == null ? "#" + rule.id : rule.name;
-         match = Util.evaluateTest(rule.condition, value, notBoolean -> {
-            logMissingDataMessage(rule.testId(), datasetId, PersistentLogDAO.ERROR,
-                  "Missing data rule %s result is not a boolean: %s", ruleName, notBoolean);
-            return true;
-         },
-            (code, exception) -> logMissingDataMessage(rule.testId(), datasetId, PersistentLogDAO.ERROR,
-               "Error evaluating missing data rule %s: '%s' Code:<pre>%s</pre>", ruleName, exception.getMessage(), code),
-            output -> logMissingDataMessage(rule.testId(), datasetId, PersistentLogDAO.DEBUG,
-                  "Output while evaluating missing data rule %s: '%s'", ruleName, output)
-         );
-      }
-      if (match) {
-         new MissingDataRuleResultDAO(rule.id, datasetId, timestamp).persist();
+   private void recalculateMissingDataRule(MissingDataRuleDAO rule, List<Object[]> values) {
+      String ruleName = rule.name == null ? "#" + rule.id : rule.name;
+      List<Integer> matching = new ArrayList<>();
+      Util.evaluateMany(Util.makeFilter(rule.condition), values, row -> (JsonNode) row[1],
+            (row, result) -> {
+               if (result.isBoolean()) {
+                  if (result.asBoolean()) {
+                     matching.add((int) row[0]);
+                  }
+               } else {
+                  logMissingDataMessage(rule.testId(), (int) row[0], PersistentLogDAO.ERROR,
+                        "Missing data rule %s result is not a boolean: %s", ruleName, result);
+                  matching.add((int) row[0]);
+               }
+            },
+            (row, exception, code) -> {
+               if (row == null) {
+                  log.errorf(exception, "Cannot initialize context to evaluate missing data rule %s", ruleName);
+               } else {
+                  logMissingDataMessage(rule.testId(), (int) row[0], PersistentLogDAO.ERROR,
+                        "Error evaluating missing data rule %s: '%s' Code:<pre>%s</pre>", ruleName, exception.getMessage(), code);
+               }
+            },
+            (row, output) -> logMissingDataMessage(rule.testId(), (int) row[0], PersistentLogDAO.DEBUG,
+                  "Output while evaluating missing data rule %s: '%s'", ruleName, output));
+      if (!matching.isEmpty()) {
+         session.createNativeQuery("INSERT INTO missingdata_ruleresult(rule_id, dataset_id, timestamp) SELECT ?1, id, start FROM dataset WHERE id = ANY(?2)")
+               .setParameter(1, rule.id)
+               .setParameter(2, matching.stream().mapToInt(Integer::intValue).toArray(), IntArrayType.INSTANCE)
+               .executeUpdate();
       }
    }
 
@@ -1305,7 +1702,11 @@ public class AlertingServiceImpl implements AlertingService {
       log.debugf("Removing changes for dataset %d", datasetId);
       ChangeDAO.delete("dataset.id = ?1 AND confirmed = false", datasetId);
       DataPointDAO.delete("dataset.id", datasetId);
+      Util.doAfterCommit(tm, seriesStates::clear);
       //Need to make sure we delete MissingDataRuleResults when datasets are removed
+      session.createNativeQuery(RECALCULATE_LAST_MATCH)
+            .setParameter(1, new int[0], IntArrayType.INSTANCE).setParameter(2, datasetId)
+            .executeUpdate();
       MissingDataRuleResultDAO.deleteForDataset(datasetId);
    }
 
@@ -1320,11 +1721,15 @@ public class AlertingServiceImpl implements AlertingService {
       }
       MissingDataRuleDAO.delete("test.id", testId);
       em.flush();
+      Util.doAfterCommit(tm, () -> {
+         fingerprintFilterResults.invalidate(testId);
+         seriesStates.clear();
+      });
    }
 
    @Transactional
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
-   @Scheduled(every = "{horreum.alerting.expected.run.check}")
+   @Scheduled(identity = "expected-run-check", every = "{horreum.alerting.expected.run.check}", skipExecutionIf = SchedulerLeases.class)
    public void checkExpectedRuns() {
       for (RunExpectationDAO expectation : RunExpectationDAO.<RunExpectationDAO>find("expectedBefore < ?1", timeService.now()).list()) {
          boolean sendNotifications = (Boolean) em.createNativeQuery("SELECT notificationsenabled FROM test WHERE id = ?")
@@ -1344,36 +1749,72 @@ public class AlertingServiceImpl implements AlertingService {
    // a method in AlertingServiceImpl the interceptors would not be invoked.
    public static class Recalculation {
       Map<Integer, String> datasets = Collections.emptyMap();
-      int progress;
+      final AtomicInteger progress = new AtomicInteger();
       boolean done;
-      public int errors;
+      volatile boolean failed;
+      public AtomicInteger errors = new AtomicInteger();
 
       boolean lastDatapoint;
       boolean clearDatapoints;
 
-      Map<Integer, DatasetDAO.Info> datasetsWithoutValue = new HashMap<>();
-   }
+      Map<Integer, DatasetDAO.Info> datasetsWithoutValue = new ConcurrentHashMap<>();
 
-   static final class VarAndFingerprint {
-      final int varId;
-      final JsonNode fingerprint;
+      // Partitions processed in parallel share the aggregated results, each tracks its own last datapoint
+      Recalculation partition() {
+         Recalculation partition = new Recalculation();
+         partition.datasets = datasets;
+         partition.clearDatapoints = clearDatapoints;
+         partition.errors = errors;
+         partition.datasetsWithoutValue = datasetsWithoutValue;
+         return partition;
+      }
+   }
 
-      VarAndFingerprint(int varId, JsonNode fingerprint) {
-         this.varId = varId;
-         this.fingerprint = fingerprint;
+   private record SeriesState(int variableId, UpTo valid, Instant next, Instant since) {}
+
+   private record DetectedChange(VariableDAO variable, int datasetId, ChangeDAO change, String dataPoints) {}
+
+   private static class SeriesAnalysis {
+      final VariableDAO variable;
+      final SeriesState state;
+      final List<ChangeDetectionDAO> detections;
+      final SeriesStateCache.Key key;
+      final Map<String, SeriesAccumulator> accumulators = new HashMap<>();
+      int capacity;
+      boolean needsEntities;
+      SeriesStateCache.State cached;
+      DataPointSeries series;
+      List<DataPointDAO> dataPoints;
+
+      private SeriesAnalysis(VariableDAO variable, SeriesState state, List<ChangeDetectionDAO> detections, String fingerprintKey) {
+         this.variable = variable;
+         this.state = state;
+         this.detections = detections;
+         this.key = new SeriesStateCache.Key(variable.id, fingerprintKey);
       }
+   }
 
-      @Override
-      public boolean equals(Object o) {
-         if (this == o) return true;
-         if (o == null || getClass() != o.getClass()) return false;
-         VarAndFingerprint that = (VarAndFingerprint) o;
-         return varId == that.varId && Objects.equals(fingerprint, that.fingerprint);
+   private static class SeriesDetection {
+      final SeriesAnalysis analysis;
+      final int datasetId;
+      final JsonNode config;
+      final SeriesChangeDetectionModel model;
+      List<ChangePoint> changePoints = List.of();
+      ChangeDetectionException error;
+
+      private SeriesDetection(SeriesAnalysis analysis, int datasetId, JsonNode config, SeriesChangeDetectionModel model) {
+         this.analysis = analysis;
+         this.datasetId = datasetId;
+         this.config = config;
+         this.model = model;
       }
 
-      @Override
-      public int hashCode() {
-         return Objects.hash(varId, fingerprint);
+      void run() {
+         try {
+            changePoints = model.analyze(analysis.series, config);
+         } catch (ChangeDetectionException e) {
+            error = e;
+         }
       }
    }
 
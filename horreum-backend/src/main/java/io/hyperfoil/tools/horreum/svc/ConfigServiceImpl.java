@@ -7,6 +7,7 @@ import io.hyperfoil.tools.horreum.api.services.ConfigService;
 import io.hyperfoil.tools.horreum.datastore.BackendResolver;
 import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
 import io.hyperfoil.tools.horreum.mapper.DatasourceMapper;
+import io.hyperfoil.tools.horreum.server.SchedulerLeases;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.annotation.security.PermitAll;
@@ -42,6 +43,12 @@ public class ConfigServiceImpl implements ConfigService {
     @Inject
     BackendResolver backendResolver;
 
+    @Inject
+    SchedulerLeases schedulerLeases;
+
+    @Inject
+    ServiceMediator mediator;
+
 
     @Override
     public KeycloakConfig keycloak() {
@@ -172,6 +179,18 @@ public class ConfigServiceImpl implements ConfigService {
         DatastoreConfigDAO.deleteById(Integer.parseInt(datastoreId));
     }
 
+    @Override
+    @RolesAllowed(Roles.ADMIN)
+    public List<SchedulerLease> leases() {
+        return schedulerLeases.list();
+    }
+
+    @Override
+    @RolesAllowed(Roles.ADMIN)
+    public List<QueueStats> queues() {
+        return mediator.queueStats();
+    }
+
     private String getString(String propertyName) {
         return ConfigProvider.getConfig().getOptionalValue(propertyName, String.class).orElse("");
     }
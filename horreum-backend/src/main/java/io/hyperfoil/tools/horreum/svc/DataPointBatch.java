@@ -0,0 +1,123 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+
+/**
+ * Collects values of all variables in a dataset and writes them using set-based statements: datapoints are
+ * upserted with multi-row inserts, each inserting a bounded number of rows, and datapoints of variables
+ * that have no value anymore are deleted.
+ */
+class DataPointBatch {
+   // Maximum number of rows inserted by single statement
+   static final int CHUNK_SIZE = 1000;
+
+   //@formatter:off
+   private static final String UPSERT = """
+         INSERT INTO datapoint(id, dataset_id, variable_id, timestamp, value)
+         SELECT v.id, ?, v.variable_id, ?, v.value FROM unnest(?, ?, ?) AS v(id, variable_id, value)
+         ON CONFLICT (dataset_id, variable_id) DO UPDATE SET timestamp = EXCLUDED.timestamp, value = EXCLUDED.value
+         RETURNING id, variable_id
+         """;
+   private static final String DELETE_STALE = "DELETE FROM datapoint WHERE dataset_id = ? AND variable_id <> ALL(?)";
+   //@formatter:on
+
+   final int datasetId;
+   final Instant timestamp;
+   private final int chunkSize;
+   private final List<Integer> variableIds = new ArrayList<>();
+   private final List<Double> values = new ArrayList<>();
+
+   DataPointBatch(int datasetId, Instant timestamp) {
+      this(datasetId, timestamp, CHUNK_SIZE);
+   }
+
+   DataPointBatch(int datasetId, Instant timestamp, int chunkSize) {
+      this.datasetId = datasetId;
+      this.timestamp = timestamp;
+      this.chunkSize = chunkSize;
+   }
+
+   void add(int variableId, double value) {
+      variableIds.add(variableId);
+      values.add(value);
+   }
+
+   boolean isEmpty() {
+      return variableIds.isEmpty();
+   }
+
+   List<Integer> variableIds() {
+      return variableIds;
+   }
+
+   double value(int index) {
+      return values.get(index);
+   }
+
+   /**
+    * Replaces all datapoints of the dataset with the collected values.
+    *
+    * @return IDs of the datapoints by variable.
+    */
+   Map<Integer, Integer> write(Session session) {
+      // identifiers come from the same generator as for persisted entities
+      SharedSessionContractImplementor sessionImpl = session.unwrap(SharedSessionContractImplementor.class);
+      BeforeExecutionGenerator generator = (BeforeExecutionGenerator) sessionImpl.getFactory().getMappingMetamodel()
+            .getEntityDescriptor(DataPointDAO.class).getGenerator();
+      Integer[] ids = new Integer[variableIds.size()];
+      for (int i = 0; i < ids.length; ++i) {
+         ids[i] = ((Number) generator.generate(sessionImpl, null, null, EventType.INSERT)).intValue();
+      }
+      Integer[] allVariables = variableIds.toArray(new Integer[0]);
+      Double[] allValues = values.toArray(new Double[0]);
+      Map<Integer, Integer> dataPoints = new HashMap<>();
+      session.doWork(connection -> {
+         if (ids.length > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+               for (int from = 0; from < ids.length; from += chunkSize) {
+                  int to = Math.min(from + chunkSize, ids.length);
+                  statement.setInt(1, datasetId);
+                  statement.setObject(2, timestamp.atOffset(ZoneOffset.UTC));
+                  statement.setArray(3, array(connection, "integer", ids, from, to));
+                  statement.setArray(4, array(connection, "integer", allVariables, from, to));
+                  statement.setArray(5, array(connection, "float8", allValues, from, to));
+                  try (ResultSet rs = statement.executeQuery()) {
+                     while (rs.next()) {
+                        dataPoints.put(rs.getInt(2), rs.getInt(1));
+                     }
+                  }
+               }
+            }
+         }
+         try (PreparedStatement statement = connection.prepareStatement(DELETE_STALE)) {
+            statement.setInt(1, datasetId);
+            statement.setArray(2, connection.createArrayOf("integer", allVariables));
+            statement.executeUpdate();
+         }
+      });
+      return dataPoints;
+   }
+
+   private static Array array(Connection connection, String type, Object[] elements, int from, int to) throws SQLException {
+      Object[] chunk = from == 0 && to == elements.length ? elements : Arrays.copyOfRange(elements, from, to);
+      return connection.createArrayOf(type, chunk);
+   }
+}
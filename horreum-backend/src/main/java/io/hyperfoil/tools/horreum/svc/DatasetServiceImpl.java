@@ -1,9 +1,9 @@
 package io.hyperfoil.tools.horreum.svc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,7 +27,6 @@ import io.hyperfoil.tools.horreum.api.SortDirection;
 import io.hyperfoil.tools.horreum.entity.data.*;
 import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
 import jakarta.ws.rs.DefaultValue;
-import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
@@ -37,11 +36,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
 
 import io.hyperfoil.tools.horreum.api.services.DatasetService;
 import io.hyperfoil.tools.horreum.api.services.SchemaService;
 import io.hyperfoil.tools.horreum.entity.PersistentLogDAO;
 import io.hyperfoil.tools.horreum.entity.alerting.DatasetLogDAO;
+import io.hyperfoil.tools.horreum.server.RetryOnConflict;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.hyperfoil.tools.horreum.server.WithToken;
 import io.quarkus.runtime.Startup;
@@ -183,12 +184,6 @@ public class DatasetServiceImpl implements DatasetService {
    @Inject
    TransactionManager tm;
 
-   // This is a nasty hack that will serialize all run -> dataset transformations and label calculations
-   // The problem is that PostgreSQL's SSI will for some (unknown) reason rollback some transactions,
-   // probably due to false sharing of locks. For some reason even using advisory locks in DB does not
-   // solve the issue so we have to serialize this even outside the problematic transactions.
-   private final ReentrantLock recalculationLock = new ReentrantLock();
-
    @PermitAll
    @WithRoles
    @Override
@@ -395,17 +390,17 @@ public class DatasetServiceImpl implements DatasetService {
    @Override
    public Dataset getDataset(int datasetId) {
       DatasetDAO dataset = DatasetDAO.findById(datasetId);
-      if (dataset != null) {
-         Hibernate.initialize(dataset.data);
-      } else {
+      if (dataset == null) {
          log.warnf("Could not retrieve dataset: " + datasetId);
          throw ServiceException.notFound("Could not find Dataset: " + datasetId + ". If you have recently started a re-tranformation, please wait until datasets are available");
-
       }
-      return DatasetMapper.from(dataset);
+      // do not initialize the lazy data field; the JSON text is embedded into the response verbatim
+      byte[] data = Util.runRawJsonQuery(em, "SELECT data::text FROM dataset WHERE id = ?", datasetId);
+      return DatasetMapper.from(dataset, data == null ? null : JsonNodeFactory.instance.rawValueNode(new RawValue(new String(data, StandardCharsets.UTF_8))));
    }
 
 
+   @RetryOnConflict("calculateLabelValues")
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
    void calculateLabelValues(int testId, int datasetId, int queryLabelId, boolean isRecalculation) {
@@ -455,7 +450,7 @@ public class DatasetServiceImpl implements DatasetService {
       createFingerprint(datasetId, testId);
       mediator.updateLabels(new Dataset.LabelsUpdatedEvent(testId, datasetId, isRecalculation));
       if(mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATASET_UPDATED_LABELS, testId, new Dataset.LabelsUpdatedEvent(testId, datasetId, isRecalculation)));
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.DATASET_UPDATED_LABELS, testId, new Dataset.LabelsUpdatedEvent(testId, datasetId, isRecalculation)));
    }
 
    @Transactional
@@ -550,21 +545,8 @@ public class DatasetServiceImpl implements DatasetService {
       }
    }
 
-   void withRecalculationLock(Runnable runnable) {
-      recalculationLock.lock();
-      try {
-         runnable.run();
-      } finally {
-         recalculationLock.unlock();
-      }
-   }
-
    public void onNewDataset(Dataset.EventNew event) {
-      withRecalculationLock(() -> calculateLabelValues(event.testId, event.datasetId, event.labelId, event.isRecalculation));
-   }
-
-   public void onNewDatasetNoLock(Dataset.EventNew event) {
-      calculateLabelValues(event.testId, event.datasetId, event.labelId , event.isRecalculation);
+      calculateLabelValues(event.testId, event.datasetId, event.labelId, event.isRecalculation);
    }
 
    @Transactional(Transactional.TxType.REQUIRES_NEW)
@@ -1,65 +1,210 @@
 package io.hyperfoil.tools.horreum.svc;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import io.hyperfoil.tools.horreum.api.alerting.Change;
-import io.hyperfoil.tools.horreum.bus.BlockingTaskDispatcher;
+import io.hyperfoil.tools.horreum.api.data.Dataset;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.events.DatasetChanges;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
 import io.vertx.core.Vertx;
 
+/**
+ * Groups changes in a dataset into a single notification. Pending changes are stored in the database
+ * so that changes detected by different Horreum instances are aggregated together; the notification is emitted
+ * by whichever instance claims the changes first after the aggregation delay.
+ * <p>
+ * Locally the deadlines of datasets with pending changes are kept in a concurrent sorted set; a single periodic tick
+ * checks the earliest deadline and claims the changes from the database when any dataset is due. Both the deadlines
+ * stored in the database and the local ones use the clock of the application, so that a database clock offset
+ * cannot delay the notifications.
+ */
 @Startup
 @ApplicationScoped
 public class EventAggregator {
-   private final Map<Integer, DatasetChanges> datasetChanges = new HashMap<>();
+   private static final Logger log = Logger.getLogger(EventAggregator.class);
+   // Change deserialized from JSON contains also dataset info that does not map to any property
+   private static final ObjectReader CHANGE_READER = Util.OBJECT_MAPPER.readerFor(Change.class)
+         .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+   //@formatter:off
+   private static final String ADD_CHANGE = """
+         INSERT INTO dataset_changes_pending(dataset_id, testid, runid, ordinal, fingerprint, test_name, notify, changes, emit_at)
+         VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7, jsonb_build_array(?8::::jsonb), ?9)
+         ON CONFLICT (dataset_id) DO UPDATE SET notify = dataset_changes_pending.notify OR EXCLUDED.notify,
+            changes = dataset_changes_pending.changes || EXCLUDED.changes, emit_at = EXCLUDED.emit_at
+         """;
+   private static final String CLAIM_DUE = """
+         DELETE FROM dataset_changes_pending WHERE dataset_id IN (
+            SELECT dataset_id FROM dataset_changes_pending WHERE emit_at <= ?1 FOR UPDATE SKIP LOCKED
+         ) RETURNING dataset_id, runid, ordinal, testid, fingerprint, test_name, notify, changes::::text
+         """;
+   //@formatter:on
+
+   @ConfigProperty(name = "horreum.aggregation.tick", defaultValue = "PT0.1S")
+   Duration tick;
 
    @Inject
    Vertx vertx;
 
    @Inject
-   BlockingTaskDispatcher messageBus;
+   EntityManager em;
+
+   @Inject
+   TransactionManager tm;
 
    @Inject
    ServiceMediator mediator;
 
-   private long timerId = -1;
+   private volatile Clock clock = Clock.systemUTC();
+
+   private final ConcurrentSkipListSet<Due> due = new ConcurrentSkipListSet<>();
+   // latest deadline for each dataset, entries in the set with other deadlines are stale
+   private final ConcurrentMap<Integer, Long> deadlines = new ConcurrentHashMap<>();
+   // number of requests to claim due changes, only the first one starts the claiming task
+   private final AtomicInteger claimRequests = new AtomicInteger();
+   private long tickTimerId;
+
+   @PostConstruct
+   void init() {
+      tickTimerId = vertx.setPeriodic(Math.max(tick.toMillis(), 1), id -> tick());
+   }
+
+   @PreDestroy
+   void destroy() {
+      vertx.cancelTimer(tickTimerId);
+   }
 
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
-   public synchronized void onNewChange(Change.Event event) {
-      datasetChanges.computeIfAbsent(event.dataset.id, id -> {
-         String fingerprint = DatasetDAO.getEntityManager().getReference(DatasetDAO.class, event.dataset.id).getFingerprint();
-         return new DatasetChanges(event.dataset, fingerprint, event.testName, event.notify);
-      }).addChange(event);
-      handleDatasetChanges();
+   public void onNewChange(Change.Event event) {
+      String fingerprint = em.getReference(DatasetDAO.class, event.dataset.id).getFingerprint();
+      String change;
+      try {
+         change = Util.OBJECT_MAPPER.writeValueAsString(event.change);
+      } catch (JsonProcessingException e) {
+         throw new IllegalStateException("Cannot serialize change", e);
+      }
+      Instant emitAt = clock.instant().plusMillis(DatasetChanges.EMIT_DELAY);
+      em.createNativeQuery(ADD_CHANGE)
+            .setParameter(1, event.dataset.id)
+            .setParameter(2, event.dataset.testId)
+            .setParameter(3, event.dataset.runId)
+            .setParameter(4, event.dataset.ordinal)
+            .setParameter(5, fingerprint)
+            .setParameter(6, event.testName)
+            .setParameter(7, event.notify)
+            .setParameter(8, change)
+            .setParameter(9, emitAt.atOffset(ZoneOffset.UTC))
+            .executeUpdate();
+      int datasetId = event.dataset.id;
+      Util.doAfterCommit(tm, () -> {
+         long deadline = emitAt.toEpochMilli();
+         deadlines.put(datasetId, deadline);
+         due.add(new Due(deadline, datasetId));
+      });
+   }
+
+   /**
+    * Picks up changes that were not emitted by the instance that added them (e.g. because it was stopped).
+    */
+   @Scheduled(every = "{horreum.aggregation.check}", delayed = "{horreum.aggregation.check}")
+   void checkPending() {
+      requestClaim();
+   }
+
+   private void tick() {
+      long now = clock.millis();
+      boolean claim = false;
+      Due first;
+      while ((first = due.pollFirst()) != null) {
+         if (first.deadline > now) {
+            due.add(first);
+            break;
+         }
+         claim |= deadlines.remove(first.datasetId, first.deadline);
+      }
+      if (claim) {
+         requestClaim();
+      }
+   }
+
+   private void requestClaim() {
+      if (claimRequests.getAndIncrement() == 0) {
+         mediator.executeBlocking(() -> {
+            do {
+               claimRequests.set(1);
+               try {
+                  handleDatasetChanges();
+               } catch (Throwable t) {
+                  log.error("Failed to emit aggregated dataset changes", t);
+               }
+            } while (claimRequests.decrementAndGet() > 0);
+         });
+      }
    }
 
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
    void handleDatasetChanges() {
-      long now = System.currentTimeMillis();
-      while (true) {
-         DatasetChanges next = this.datasetChanges.values().stream().reduce((dc1, dc2) -> dc1.emitTimestamp() < dc2.emitTimestamp() ? dc1 : dc2).orElse(null);
-         if (next == null) {
-            return;
-         } else if (next.emitTimestamp() <= now) {
-            mediator.executeBlocking(() -> mediator.newDatasetChanges(next)) ;
-            datasetChanges.remove(next.dataset.id);
-         } else {
-            if (timerId >= 0) {
-               vertx.cancelTimer(timerId);
-            }
-            timerId = vertx.setTimer(next.emitTimestamp() - now,
-                  timerId -> messageBus.executeForTest(next.dataset.testId, this::handleDatasetChanges));
-            return;
-         }
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = em.createNativeQuery(CLAIM_DUE).setParameter(1, clock.instant().atOffset(ZoneOffset.UTC)).getResultList();
+      for (Object[] row : rows) {
+         DatasetChanges changes = toDatasetChanges(row);
+         Util.doAfterCommit(tm, () -> mediator.executeBlocking(() -> mediator.newDatasetChanges(changes)));
       }
    }
 
+   // allows to simulate clock offset between the application and the database
+   void setClock(Clock clock) {
+      this.clock = clock;
+   }
+
+   private record Due(long deadline, int datasetId) implements Comparable<Due> {
+      @Override
+      public int compareTo(Due other) {
+         int result = Long.compare(deadline, other.deadline);
+         return result != 0 ? result : Integer.compare(datasetId, other.datasetId);
+      }
+   }
+
+   private static DatasetChanges toDatasetChanges(Object[] row) {
+      Dataset.Info dataset = new Dataset.Info((int) row[0], (int) row[1], (int) row[2], (int) row[3]);
+      List<Change> changes = new ArrayList<>();
+      try {
+         for (JsonNode change : Util.OBJECT_MAPPER.readTree((String) row[7])) {
+            changes.add(CHANGE_READER.readValue(change));
+         }
+      } catch (Exception e) {
+         log.errorf(e, "Cannot read changes for dataset %d", dataset.id);
+      }
+      return new DatasetChanges(dataset, (String) row[4], (String) row[5], (boolean) row[6], changes);
+   }
 }
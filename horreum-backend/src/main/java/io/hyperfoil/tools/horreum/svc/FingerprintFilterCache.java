@@ -0,0 +1,56 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Remembers results of test's fingerprint filter for each distinct fingerprint. Datasets of a test usually
+ * share only a few fingerprints, so most datasets don't need to evaluate the filter in a new JavaScript context.
+ * Results are kept together with the filter that produced them; when the filter of the test changes
+ * (possibly on another instance) the results are discarded.
+ */
+@ApplicationScoped
+class FingerprintFilterCache {
+   @ConfigProperty(name = "horreum.alerting.fingerprint.cache.size", defaultValue = "1000")
+   int maxFingerprints;
+
+   private final Map<Integer, Results> tests = new ConcurrentHashMap<>();
+
+   /**
+    * @return Cached result or <code>null</code> if the filter was not evaluated for this fingerprint yet.
+    */
+   Boolean get(int testId, String filter, JsonNode fingerprint) {
+      Results results = tests.get(testId);
+      if (results == null || !results.filter.equals(filter)) {
+         return null;
+      }
+      return results.values.get(fingerprint);
+   }
+
+   void put(int testId, String filter, JsonNode fingerprint, boolean result) {
+      Results results = tests.compute(testId, (id, existing) -> existing == null || !existing.filter.equals(filter) ? new Results(filter) : existing);
+      // tests with too many distinct fingerprints would not benefit from the cache anyway
+      if (results.values.size() < maxFingerprints) {
+         results.values.put(fingerprint, result);
+      }
+   }
+
+   void invalidate(int testId) {
+      tests.remove(testId);
+   }
+
+   private static class Results {
+      final String filter;
+      final Map<JsonNode, Boolean> values = new ConcurrentHashMap<>();
+
+      Results(String filter) {
+         this.filter = filter;
+      }
+   }
+}
@@ -23,6 +23,7 @@ import io.hyperfoil.tools.horreum.api.internal.services.LogService;
 import io.hyperfoil.tools.horreum.entity.ActionLogDAO;
 import io.hyperfoil.tools.horreum.entity.alerting.DatasetLogDAO;
 import io.hyperfoil.tools.horreum.entity.alerting.TransformationLogDAO;
+import io.hyperfoil.tools.horreum.server.SchedulerLeases;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
@@ -171,7 +172,7 @@ public class LogServiceImpl implements LogService {
       TransformationLogDAO.delete("test.id", testId);
    }
 
-   @Scheduled(every = "{horreum.transformationlog.check}")
+   @Scheduled(identity = "transformation-log-expiration", every = "{horreum.transformationlog.check}", skipExecutionIf = SchedulerLeases.class)
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
    void checkExpiredTransformationLogs() {
@@ -0,0 +1,307 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.Transactional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.hyperfoil.tools.horreum.api.services.TestService;
+import io.hyperfoil.tools.horreum.server.WithRoles;
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Recalculates all datasets in a test. Runs of the test are split into partitions that are processed
+ * in parallel (limited by <code>horreum.recalculation.parallelism</code> on each node); each partition is processed
+ * sequentially and the progress is stored in the database after each run. When a partition is completed the node
+ * claims another one. Partitions are claimed with a lease so that the recalculation continues after restart
+ * (or on another node) when the lease expires.
+ */
+@ApplicationScoped
+public class RecalculationScheduler {
+   private static final Logger log = Logger.getLogger(RecalculationScheduler.class);
+   static final String RUNNING = "RUNNING";
+   static final String PAUSED = "PAUSED";
+   static final String CANCELLED = "CANCELLED";
+   static final String FINISHED = "FINISHED";
+
+   //@formatter:off
+   private static final String CLAIM = """
+         UPDATE recalculation_partition p SET lease_until = now() + make_interval(secs => ?1)
+         FROM (
+            SELECT rp.testid, rp.idx FROM recalculation_partition rp JOIN recalculation_job j ON j.testid = rp.testid
+            WHERE j.state = 'RUNNING' AND rp.position < cardinality(rp.runs) AND (rp.lease_until IS NULL OR rp.lease_until < now())
+            ORDER BY j.started, rp.idx LIMIT ?2 FOR UPDATE OF rp SKIP LOCKED
+         ) claimed
+         WHERE p.testid = claimed.testid AND p.idx = claimed.idx
+         RETURNING p.testid, p.idx
+         """;
+   private static final String NEXT = """
+         SELECT p.runs[p.position + 1], j.state, j.throttle FROM recalculation_partition p
+         JOIN recalculation_job j ON j.testid = p.testid
+         WHERE p.testid = ?1 AND p.idx = ?2
+         """;
+   private static final String COMPLETE = """
+         UPDATE recalculation_job SET state = 'FINISHED', updated = now() WHERE testid = ?1 AND state = 'RUNNING'
+         AND NOT EXISTS (SELECT 1 FROM recalculation_partition WHERE testid = ?1 AND position < cardinality(runs))
+         """;
+   //@formatter:on
+
+   @ConfigProperty(name = "horreum.recalculation.parallelism", defaultValue = "2")
+   int parallelism;
+
+   @ConfigProperty(name = "horreum.recalculation.partition-size", defaultValue = "100")
+   int partitionSize;
+
+   @ConfigProperty(name = "horreum.recalculation.lease", defaultValue = "PT2M")
+   Duration lease;
+
+   @Inject
+   EntityManager em;
+
+   @Inject
+   TransactionManager tm;
+
+   @Inject
+   ServiceMediator mediator;
+
+   private Semaphore slots;
+   // earliest time the next run of a throttled test may start
+   private final ConcurrentMap<Integer, Long> nextSlot = new ConcurrentHashMap<>();
+
+   private synchronized Semaphore slots() {
+      if (slots == null) {
+         slots = new Semaphore(parallelism);
+      }
+      return slots;
+   }
+
+   /**
+    * @return <code>false</code> if there's already a recalculation in progress (running or paused) for the test.
+    */
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   boolean start(int testId) {
+      Object state = em.createNativeQuery("SELECT state FROM recalculation_job WHERE testid = ?1 FOR UPDATE")
+            .setParameter(1, testId).getResultStream().findFirst().orElse(null);
+      if (RUNNING.equals(state) || PAUSED.equals(state)) {
+         return false;
+      }
+      em.createNativeQuery("DELETE FROM recalculation_job WHERE testid = ?1").setParameter(1, testId).executeUpdate();
+      @SuppressWarnings("unchecked")
+      List<Integer> runIds = em.createNativeQuery("SELECT id FROM run WHERE testid = ?1 AND NOT trashed ORDER BY start")
+            .setParameter(1, testId).getResultList();
+      em.createNativeQuery("INSERT INTO recalculation_job(testid, state, total_runs) VALUES (?1, ?2, ?3)")
+            .setParameter(1, testId).setParameter(2, runIds.isEmpty() ? FINISHED : RUNNING).setParameter(3, runIds.size())
+            .executeUpdate();
+      for (int from = 0, idx = 0; from < runIds.size(); from += partitionSize, ++idx) {
+         String partition = runIds.subList(from, Math.min(from + partitionSize, runIds.size())).stream()
+               .map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+         em.createNativeQuery("INSERT INTO recalculation_partition(testid, idx, runs) VALUES (?1, ?2, ?3::::integer[])")
+               .setParameter(1, testId).setParameter(2, idx).setParameter(3, partition).executeUpdate();
+      }
+      log.debugf("Recalculating %d runs in test %d", runIds.size(), testId);
+      dispatchAfterCommit();
+      return true;
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void pause(int testId) {
+      changeState(testId, RUNNING, PAUSED);
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void resume(int testId) {
+      changeState(testId, PAUSED, RUNNING);
+      dispatchAfterCommit();
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void cancel(int testId) {
+      if (em.createNativeQuery("UPDATE recalculation_job SET state = ?2, updated = now() WHERE testid = ?1 AND state IN (?3, ?4)")
+            .setParameter(1, testId).setParameter(2, CANCELLED).setParameter(3, RUNNING).setParameter(4, PAUSED)
+            .executeUpdate() == 0) {
+         throw ServiceException.badRequest("There is no recalculation in progress for test " + testId);
+      }
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void throttle(int testId, int runsPerMinute) {
+      if (runsPerMinute < 0) {
+         throw ServiceException.badRequest("Throttle must not be negative");
+      }
+      if (em.createNativeQuery("UPDATE recalculation_job SET throttle = ?2, updated = now() WHERE testid = ?1")
+            .setParameter(1, testId).setParameter(2, runsPerMinute).executeUpdate() == 0) {
+         throw ServiceException.badRequest("There is no recalculation for test " + testId);
+      }
+   }
+
+   private void changeState(int testId, String from, String to) {
+      if (em.createNativeQuery("UPDATE recalculation_job SET state = ?3, updated = now() WHERE testid = ?1 AND state = ?2")
+            .setParameter(1, testId).setParameter(2, from).setParameter(3, to).executeUpdate() == 0) {
+         throw ServiceException.badRequest("Recalculation for test " + testId + " is not " + from.toLowerCase());
+      }
+   }
+
+   /**
+    * @return Status of the last recalculation of the test or <code>null</code> if there was none.
+    */
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   TestService.RecalculationStatus status(int testId) {
+      List<?> rows = em.createNativeQuery("SELECT started, total_runs, finished, datasets, state, throttle FROM recalculation_job WHERE testid = ?1")
+            .setParameter(1, testId).getResultList();
+      if (rows.isEmpty()) {
+         return null;
+      }
+      Object[] row = (Object[]) rows.get(0);
+      TestService.RecalculationStatus status = new TestService.RecalculationStatus();
+      status.timestamp = ((Instant) row[0]).toEpochMilli();
+      status.totalRuns = ((Number) row[1]).longValue();
+      status.finished = ((Number) row[2]).longValue();
+      status.datasets = ((Number) row[3]).longValue();
+      status.state = (String) row[4];
+      status.throttle = ((Number) row[5]).intValue();
+      return status;
+   }
+
+   private void dispatchAfterCommit() {
+      Util.doAfterCommit(tm, () -> mediator.executeBulk(this::dispatch));
+   }
+
+   /**
+    * Claims partitions of running recalculations up to the number of free slots on this node.
+    * Partitions of crashed nodes are picked up after their lease expires.
+    */
+   @Scheduled(every = "{horreum.recalculation.check}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+   synchronized void dispatch() {
+      Semaphore slots = slots();
+      int free = slots.availablePermits();
+      if (free == 0) {
+         return;
+      }
+      for (Object[] partition : claim(free)) {
+         int testId = (int) partition[0];
+         int idx = (int) partition[1];
+         slots.acquireUninterruptibly();
+         mediator.executeBulk(() -> {
+            try {
+               process(testId, idx);
+            } finally {
+               slots.release();
+               // claim next partition right away rather than waiting for the periodic check
+               redispatch();
+            }
+         });
+      }
+   }
+
+   private void redispatch() {
+      try {
+         dispatch();
+      } catch (Exception e) {
+         log.error("Failed to claim recalculation partitions", e);
+      }
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   List<Object[]> claim(int limit) {
+      @SuppressWarnings("unchecked")
+      List<Object[]> claimed = em.createNativeQuery(CLAIM).setParameter(1, lease.toMillis() / 1000.0).setParameter(2, limit).getResultList();
+      return claimed;
+   }
+
+   private void process(int testId, int idx) {
+      log.debugf("Recalculating partition %d of test %d", idx, testId);
+      for (;;) {
+         Object[] next = next(testId, idx);
+         if (next == null) {
+            break;
+         }
+         int runId = (int) next[0];
+         awaitThrottle(testId, ((Number) next[2]).intValue());
+         int datasets = 0;
+         try {
+            datasets = mediator.transform(runId, true);
+         } catch (Throwable t) {
+            // the run is skipped, otherwise the recalculation would never finish
+            log.errorf(t, "Failed to recalculate datasets for run %d in test %d", runId, testId);
+         }
+         checkpoint(testId, idx, datasets);
+      }
+      if (complete(testId)) {
+         nextSlot.remove(testId);
+         log.debugf("Recalculation of test %d finished", testId);
+      }
+   }
+
+   /**
+    * @return Next run and throttle of the job, or <code>null</code> if the partition is completed or the job is not running.
+    */
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   Object[] next(int testId, int idx) {
+      List<?> rows = em.createNativeQuery(NEXT).setParameter(1, testId).setParameter(2, idx).getResultList();
+      Object[] row = rows.isEmpty() ? null : (Object[]) rows.get(0);
+      if (row == null || row[0] == null) {
+         return null;
+      }
+      if (!RUNNING.equals(row[1])) {
+         // release the lease so that the partition can be claimed as soon as the job is resumed
+         em.createNativeQuery("UPDATE recalculation_partition SET lease_until = NULL WHERE testid = ?1 AND idx = ?2")
+               .setParameter(1, testId).setParameter(2, idx).executeUpdate();
+         return null;
+      }
+      em.createNativeQuery("UPDATE recalculation_partition SET lease_until = now() + make_interval(secs => ?3) WHERE testid = ?1 AND idx = ?2")
+            .setParameter(1, testId).setParameter(2, idx).setParameter(3, lease.toMillis() / 1000.0).executeUpdate();
+      return row;
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   void checkpoint(int testId, int idx, int datasets) {
+      em.createNativeQuery("UPDATE recalculation_partition SET position = position + 1 WHERE testid = ?1 AND idx = ?2")
+            .setParameter(1, testId).setParameter(2, idx).executeUpdate();
+      em.createNativeQuery("UPDATE recalculation_job SET finished = finished + 1, datasets = datasets + ?2, updated = now() WHERE testid = ?1")
+            .setParameter(1, testId).setParameter(2, datasets).executeUpdate();
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM)
+   @Transactional
+   boolean complete(int testId) {
+      return em.createNativeQuery(COMPLETE).setParameter(1, testId).executeUpdate() > 0;
+   }
+
+   private void awaitThrottle(int testId, int runsPerMinute) {
+      if (runsPerMinute <= 0) {
+         return;
+      }
+      long interval = TimeUnit.MINUTES.toMillis(1) / runsPerMinute;
+      long now = System.currentTimeMillis();
+      long slot = nextSlot.compute(testId, (k, prev) -> Math.max(prev == null ? now : prev, now) + interval) - interval;
+      if (slot > now) {
+         try {
+            Thread.sleep(slot - now);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+}
@@ -23,6 +23,8 @@ public final class Roles {
    public static final String MY_ROLES = "__my";
    public static final String ALL_ROLES = "__all";
 
+   static final String TEAM_SUFFIX = "-team";
+
    private Roles() {}
 
    static boolean hasRolesParam(String roles) {
@@ -104,6 +106,19 @@ public final class Roles {
    }
 
    static boolean hasRoleWithSuffix(SecurityIdentity identity, String owner, String suffix) {
-      return identity.hasRole(owner.substring(0, owner.length() - 5) + suffix);
+      if (owner == null || !owner.endsWith(TEAM_SUFFIX)) {
+         return false;
+      }
+      return identity.hasRole(owner.substring(0, owner.length() - TEAM_SUFFIX.length()) + suffix);
+   }
+
+   /**
+    * @return Team role for a role like <code>foo-uploader</code>, e.g. <code>foo-team</code>.
+    */
+   static String teamOf(String role, String suffix) {
+      if (role == null || !role.endsWith(suffix)) {
+         throw ServiceException.badRequest("Role " + role + " does not end with " + suffix);
+      }
+      return role.substring(0, role.length() - suffix.length()) + TEAM_SUFFIX;
    }
 }
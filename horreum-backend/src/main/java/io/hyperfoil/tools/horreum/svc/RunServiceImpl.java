@@ -8,8 +8,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -17,7 +24,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.*;
 import io.hyperfoil.tools.horreum.api.data.*;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.bus.BlockingTaskDispatcher;
 import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import io.hyperfoil.tools.horreum.hibernate.IntArrayType;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 import io.hyperfoil.tools.horreum.hibernate.JsonbSetType;
 import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
@@ -32,6 +41,7 @@ import jakarta.persistence.Query;
 import jakarta.persistence.TransactionRequiredException;
 import jakarta.persistence.Tuple;
 import jakarta.transaction.InvalidTransactionException;
+import jakarta.transaction.Status;
 import jakarta.transaction.SystemException;
 import jakarta.transaction.Transaction;
 import jakarta.transaction.TransactionManager;
@@ -46,6 +56,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.hyperfoil.tools.horreum.api.SortDirection;
 import io.hyperfoil.tools.horreum.mapper.RunMapper;
+import io.hyperfoil.tools.horreum.payload.RunPayloadStorage;
 import io.hyperfoil.tools.horreum.api.services.RunService;
 import io.hyperfoil.tools.horreum.api.services.SchemaService;
 import io.hyperfoil.tools.horreum.datastore.BackendResolver;
@@ -58,12 +69,14 @@ import io.hyperfoil.tools.horreum.entity.data.RunDAO;
 import io.hyperfoil.tools.horreum.entity.data.SchemaDAO;
 import io.hyperfoil.tools.horreum.entity.data.TestDAO;
 import io.hyperfoil.tools.horreum.entity.data.TransformerDAO;
+import io.hyperfoil.tools.horreum.server.RetryOnConflict;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.hyperfoil.tools.horreum.server.WithToken;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import io.quarkus.runtime.Startup;
 import io.quarkus.security.identity.SecurityIdentity;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
@@ -75,6 +88,7 @@ import org.jboss.resteasy.reactive.multipart.FileUpload;
 import static com.fasterxml.jackson.databind.node.JsonNodeFactory.instance;
 import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_1ST_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID;
 import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_2ND_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID;
+import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_BY_TRANSFORMERID_ON_PAYLOAD;
 import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_TRANSFORMER_TARGETS;
 
 @ApplicationScoped
@@ -85,13 +99,22 @@ public class RunServiceImpl implements RunService {
    private static final String FIND_AUTOCOMPLETE = """
          SELECT * FROM (
             SELECT DISTINCT jsonb_object_keys(q) AS key
-            FROM run, jsonb_path_query(run.data, ? ::::jsonpath) q
+            FROM run_payload, jsonb_path_query(run_payload.data, ? ::::jsonpath) q
             WHERE jsonb_typeof(q) = 'object') AS keys
          WHERE keys.key LIKE CONCAT(?, '%');
          """;
+   private static final String FIND_AUTOCOMPLETE_ON_PAYLOAD = """
+         SELECT * FROM (
+            SELECT DISTINCT jsonb_object_keys(q) AS key
+            FROM jsonb_path_query(?1, ?2 ::::jsonpath) q
+            WHERE jsonb_typeof(q) = 'object') AS keys
+         WHERE keys.key LIKE CONCAT(?3, '%');
+         """;
+   // Suggestions from externally stored run data are taken only from a few most recent runs
+   private static final int AUTOCOMPLETE_EXTERNAL_RUNS = 10;
    protected static final String FIND_RUNS_WITH_URI = """
          SELECT id, testid
-         FROM run
+         FROM run JOIN run_payload rp ON rp.runid = run.id
          WHERE NOT trashed
             AND (data->>'$schema' = ?1
             OR (CASE
@@ -132,6 +155,18 @@ public class RunServiceImpl implements RunService {
    ServiceMediator mediator;
    @Inject
    BackendResolver backendResolver;
+   @Inject
+   RunPayloadStorage payloadStorage;
+   @Inject
+   BlockingTaskDispatcher messageBus;
+   @Inject
+   UploadAdmission admission;
+
+   @ConfigProperty(name = "horreum.upload.multi.batch-size", defaultValue = "100")
+   int importBatchSize;
+
+   private final AtomicInteger importCounter = new AtomicInteger();
+   private final ConcurrentMap<Integer, RunImport> imports = new ConcurrentHashMap<>();
 
 
    @Inject
@@ -209,7 +244,7 @@ public class RunServiceImpl implements RunService {
       em.createNativeQuery("DELETE FROM run_validationerrors WHERE schema_id = ?1")
               .setParameter(1, schemaId).executeUpdate();
 
-      Util.registerTxSynchronization(tm, txStatus -> mediator.queueRunRecalculation(runId));
+      mediator.queueBulkRunRecalculation(runId);
 //      transform(runId, true);
    }
 
@@ -221,14 +256,20 @@ public class RunServiceImpl implements RunService {
 
       RunExtended runExtended = null;
 
-      String extendedData = (String) Util.runQuery(em, "SELECT (to_jsonb(run) || jsonb_build_object(" +
+      String extendedData = (String) Util.runQuery(em, "SELECT ((to_jsonb(run) - 'has_metadata') || jsonb_build_object(" +
+              "'data', rp.data, 'metadata', rp.metadata, " +
               "'schemas', (SELECT " + SCHEMA_USAGE + " FROM run_schemas rs JOIN schema ON rs.schemaid = schema.id WHERE runid = run.id), " +
               "'testname', (SELECT name FROM test WHERE test.id = run.testid), " +
               "'datasets', (SELECT jsonb_agg(id ORDER BY id) FROM dataset WHERE runid = run.id), " +
               "'validationErrors', (SELECT jsonb_agg(jsonb_build_object('schemaId', schema_id, 'error', error)) FROM run_validationerrors WHERE run_id = ?1)" +
-              "))::::text FROM run WHERE id = ?1", id);
+              "))::::text FROM run JOIN run_payload rp ON rp.runid = run.id WHERE id = ?1", id);
       try {
-         runExtended = mapper.readValue(extendedData, RunExtended.class);
+         ObjectNode node = (ObjectNode) mapper.readTree(extendedData);
+         JsonNode payloadRef = node.remove("payload_ref");
+         if (payloadRef != null && payloadRef.isTextual()) {
+            node.set("data", payloadStorage.load(payloadRef.asText()));
+         }
+         runExtended = mapper.treeToValue(node, RunExtended.class);
       } catch (JsonProcessingException e) {
          throw ServiceException.serverError("Could not retrieve extended run");
       }
@@ -241,7 +282,7 @@ public class RunServiceImpl implements RunService {
    public RunSummary getRunSummary(int id, String token) {
       try {
          Query query = em.createNativeQuery("SELECT run.id, run.start, run.stop, run.testid, " +
-                 "run.owner, run.access, run.token, run.trashed, run.description, run.metadata IS NOT NULL as has_metadata, " +
+                 "run.owner, run.access, run.token, run.trashed, run.description, run.has_metadata, " +
                  "(SELECT name FROM test WHERE test.id = run.testid) as testname, " +
                  "(SELECT " + SCHEMA_USAGE + " FROM run_schemas rs JOIN schema ON schema.id = rs.schemaid WHERE rs.runid = run.id) as schemas, " +
                  "(SELECT json_agg(id ORDER BY id) FROM dataset WHERE runid = run.id) as datasets, " +
@@ -260,18 +301,36 @@ public class RunServiceImpl implements RunService {
    @WithToken
    @Override
    public Object getData(int id, String token, String schemaUri) {
+      String payloadRef = (String) Util.runQuery(em, "SELECT payload_ref FROM run WHERE id = ?1", id);
+      if (payloadRef != null) {
+         return getExternalData(id, payloadRef, schemaUri);
+      }
+      // the JSON text is passed through to the response as-is, without parsing it into a tree
       if (schemaUri == null || schemaUri.isEmpty()) {
-         return Util.runQuery(em, "SELECT data#>>'{}' from run where id = ?", id);
+         return Util.runRawJsonQuery(em, "SELECT data::text FROM run_payload WHERE runid = ?", id);
       } else {
          String sqlQuery = "SELECT (CASE " +
-               "WHEN rs.type = 0 THEN run.data " +
-               "WHEN rs.type = 1 THEN run.data->rs.key " +
-               "ELSE run.data->(rs.key::::integer) " +
-               "END)#>>'{}' FROM run JOIN run_schemas rs ON rs.runid = run.id WHERE id = ?1 AND rs.source = 0 AND rs.uri = ?2";
-         return Util.runQuery(em, sqlQuery, id, schemaUri);
+               "WHEN rs.type = 0 THEN rp.data " +
+               "WHEN rs.type = 1 THEN rp.data->rs.key " +
+               "ELSE rp.data->(rs.key::integer) " +
+               "END)::text FROM run_payload rp JOIN run_schemas rs ON rs.runid = rp.runid WHERE rp.runid = ? AND rs.source = 0 AND rs.uri = ?";
+         return Util.runRawJsonQuery(em, sqlQuery, id, schemaUri);
       }
    }
 
+   private Object getExternalData(int id, String payloadRef, String schemaUri) {
+      if (schemaUri == null || schemaUri.isEmpty()) {
+         return payloadStorage.stream(payloadRef);
+      }
+      List<Object[]> schemas = session.createNativeQuery("SELECT type, key FROM run_schemas WHERE runid = ?1 AND source = 0 AND uri = ?2", Object[].class)
+            .setParameter(1, id).setParameter(2, schemaUri).getResultList();
+      if (schemas.isEmpty()) {
+         throw ServiceException.notFound("No result");
+      }
+      Object[] schema = schemas.get(0);
+      return RunPayloadStorage.select(payloadStorage.load(payloadRef), (int) schema[0], (String) schema[1]);
+   }
+
    //this is nearly identical to TestServiceImpl.labelValues (except the return object)
    //this reads from the dataset table but provides data specific to the run...
    @Override
@@ -397,20 +456,13 @@ public class RunServiceImpl implements RunService {
    @WithRoles
    @WithToken
    @Override
-   public JsonNode getMetadata(int id, String token, String schemaUri) {
-      String result;
+   public Object getMetadata(int id, String token, String schemaUri) {
       if (schemaUri == null || schemaUri.isEmpty()) {
-         result = (String) Util.runQuery(em, "SELECT coalesce((metadata#>>'{}')::::jsonb, '{}'::::jsonb) from run where id = ?", id);
+         return Util.runRawJsonQuery(em, "SELECT coalesce(metadata, '{}'::jsonb)::text FROM run_payload WHERE runid = ?", id);
       } else {
-         String sqlQuery = "SELECT run.metadata->(rs.key::::integer)#>>'{}' FROM run " +
-               "JOIN run_schemas rs ON rs.runid = run.id WHERE id = ?1 AND rs.source = 1 AND rs.uri = ?2";
-         result = (String) Util.runQuery(em, sqlQuery, id, schemaUri);
-      }
-      try {
-
-         return Util.OBJECT_MAPPER.readTree(result);
-      } catch (JsonProcessingException e) {
-         throw ServiceException.serverError(e.getMessage());
+         String sqlQuery = "SELECT (rp.metadata->(rs.key::integer))::text FROM run_payload rp " +
+               "JOIN run_schemas rs ON rs.runid = rp.runid WHERE rp.runid = ? AND rs.source = 1 AND rs.uri = ?";
+         return Util.runRawJsonQuery(em, sqlQuery, id, schemaUri);
       }
    }
 
@@ -481,7 +533,11 @@ public class RunServiceImpl implements RunService {
 
       TestDAO test = testService.ensureTestExists(testNameOrId, token);
       run.testid = test.id;
-      Integer runId = addAuthenticated(RunMapper.to(run), test);
+      run.owner = checkOwner(run.owner, test);
+      Integer runId;
+      try (UploadAdmission.Permit permit = admission.admit(test.id, run.owner, token)) {
+         runId = addAuthenticated(RunMapper.to(run), test);
+      }
       return Response.status(Response.Status.OK).entity(String.valueOf(runId)).header(HttpHeaders.LOCATION, "/run/" + runId).build();
    }
 
@@ -565,24 +621,36 @@ public class RunServiceImpl implements RunService {
       }
 
       TestDAO testEntity = testService.ensureTestExists(testNameOrId, token);
+      String team = checkOwner(owner, testEntity);
+      try (UploadAdmission.Permit permit = admission.admit(testEntity.id, team, token)) {
+         return addRunFromData(start, stop, test, team, access, token, schemaUri, description, data, metadata, testEntity);
+      }
+   }
 
+   private Response addRunFromData(String start, String stop, String test,
+                                   String owner, Access access, String token,
+                                   String schemaUri, String description,
+                                   JsonNode data, JsonNode metadata, TestDAO testEntity) {
       Datastore datastore = backendResolver.getBackend(testEntity.backendConfig.type);
       DatastoreResponse response = datastore.handleRun(data, metadata, testEntity.backendConfig, Optional.ofNullable(schemaUri), mapper);
 
       List<Integer> runIds = new ArrayList<>();
       if (datastore.uploadType() == Datastore.UploadType.MUILTI && response.payload instanceof  ArrayNode){
+         if (response.payload.size() > importBatchSize) {
+            return importRuns(start, stop, test, owner, access, token, schemaUri, description, response.payload, testEntity);
+         }
          response.payload.forEach(jsonNode -> {
-            runIds.add(getPersistRun(start, stop, test, owner, access, token, schemaUri, description, null, jsonNode, testEntity));
+            runIds.add(addAuthenticated(createRun(start, stop, test, owner, access, token, schemaUri, description, null, jsonNode, testEntity), testEntity));
          });
       } else {
-         runIds.add(getPersistRun(start, stop, test, owner, access, token, schemaUri, description, metadata, response.payload, testEntity));
+         runIds.add(addAuthenticated(createRun(start, stop, test, owner, access, token, schemaUri, description, metadata, response.payload, testEntity), testEntity));
       }
 //      return Response.status(Response.Status.OK).entity(String.valueOf(runId)).header(HttpHeaders.LOCATION, "/run/" + runId).build();
       String reponseString = String.valueOf(runIds.stream().map(val -> Integer.toString(val)).collect(Collectors.joining(", ")));
       return Response.status(Response.Status.OK).entity(reponseString).build();
    }
 
-   private Integer getPersistRun(String start, String stop, String test, String owner, Access access, String token, String schemaUri, String description, JsonNode metadata, JsonNode data, TestDAO testEntity) {
+   private RunDAO createRun(String start, String stop, String test, String owner, Access access, String token, String schemaUri, String description, JsonNode metadata, JsonNode data, TestDAO testEntity) {
       Object foundStart = findIfNotSet(start, data);
       Object foundStop = findIfNotSet(stop, data);
       Object foundDescription = findIfNotSet(description, data);
@@ -622,14 +690,111 @@ public class RunServiceImpl implements RunService {
       run.owner = owner;
       run.access = access;
       // Some triggered functions in the database need to be able to read the just-inserted run
-      // otherwise RLS policies will fail. That's why we reuse the token for the test and later wipe it out.
+      // otherwise RLS policies will fail. That's why we reuse the token for the test; the token is kept
+      // so that the run stays accessible to the uploader using the same token.
       run.token = token;
+      return run;
+   }
+
+   /**
+    * Large multi-document responses are persisted in batches: the first batch is inserted in the request
+    * transaction (this verifies the permissions), remaining batches are inserted in background, each
+    * in its own transaction. Progress can be followed using {@link #getImportStatus(int)}.
+    */
+   private Response importRuns(String start, String stop, String test, String owner, Access access, String token, String schemaUri, String description, JsonNode documents, TestDAO testEntity) {
+      List<RunDAO> runs = new ArrayList<>(documents.size());
+      for (JsonNode document : documents) {
+         RunDAO run = createRun(start, stop, test, owner, access, token, schemaUri, description, null, document, testEntity);
+         checkOwnerAndAccess(run, testEntity);
+         runs.add(run);
+      }
+      long now = System.currentTimeMillis();
+      imports.values().removeIf(job -> job.isExpired(now));
+      RunImport job = new RunImport(importCounter.incrementAndGet(), testEntity.id, runs, identity.getRoles().toArray(new String[0]));
+      imports.put(job.id, job);
+      log.debugf("Importing %d runs for test %s(%d) as job %d", runs.size(), testEntity.name, testEntity.id, job.id);
+
+      // private method: this must not be intercepted to run in the request transaction and with request roles
+      persistBatch(job, 0);
+      Util.registerTxSynchronization(tm, txStatus -> {
+         if (txStatus != Status.STATUS_COMMITTED) {
+            imports.remove(job.id);
+            return;
+         }
+         mediator.executeBlocking(() -> {
+            for (int from = importBatchSize; from < job.total; from += importBatchSize) {
+               try {
+                  mediator.importRuns(job, from);
+               } catch (Throwable t) {
+                  int failed = Math.min(importBatchSize, job.total - from);
+                  log.errorf(t, "Import %d failed to persist runs %d - %d", job.id, from, from + failed);
+                  job.failed(failed, "Failed to persist runs " + from + " - " + (from + failed) + ": " + t.getMessage());
+               }
+            }
+            job.finish();
+            log.debugf("Import %d finished", job.id);
+         });
+      });
+      return Response.status(Response.Status.ACCEPTED).entity(String.valueOf(job.id))
+            .header(HttpHeaders.LOCATION, "/api/run/import/" + job.id).build();
+   }
+
+   @WithRoles(extras = Roles.HORREUM_SYSTEM, fromParams = RunImportRoles.class)
+   @Transactional(Transactional.TxType.REQUIRES_NEW)
+   void persistImportBatch(RunImport job, int from) {
+      persistBatch(job, from);
+   }
+
+   private void persistBatch(RunImport job, int from) {
+      List<RunDAO> batch = job.batch(from, Math.min(from + importBatchSize, job.total));
+      List<JsonNode> data = new ArrayList<>(batch.size());
+      Integer jdbcBatchSize = session.getJdbcBatchSize();
+      session.setJdbcBatchSize(batch.size());
+      try {
+         for (RunDAO run : batch) {
+            data.add(prepareData(run));
+            em.persist(run);
+         }
+         em.flush();
+      } catch (Exception e) {
+         log.errorf(e, "Import %d failed to persist runs.", job.id);
+         throw ServiceException.serverError("Failed to persist runs");
+      } finally {
+         session.setJdbcBatchSize(jdbcBatchSize);
+      }
+      List<Integer> runIds = new ArrayList<>(batch.size());
+      for (int i = 0; i < batch.size(); ++i) {
+         RunDAO run = batch.get(i);
+         runIds.add(run.id);
+         Run runDTO = RunMapper.from(run);
+         runDTO.data = data.get(i);
+         mediator.newRun(runDTO);
+         if (mediator.testMode())
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.RUN_NEW, job.testId, runDTO));
+      }
+      log.debugf("Import %d flushed runs %s", job.id, runIds);
+      Util.registerTxSynchronization(tm, txStatus -> {
+         if (txStatus == Status.STATUS_COMMITTED) {
+            job.persisted(runIds);
+            // transformations are not part of the import transaction
+            for (int runId : runIds) {
+               messageBus.executeForTest(job.testId, () -> mediator.transform(runId, false));
+            }
+         }
+      });
+   }
 
-      Integer runId = addAuthenticated(run, testEntity);
-      if (token != null) {
-         // TODO: remove the token
+   @PermitAll
+   @WithRoles
+   @WithToken
+   @Override
+   public RunImportStatus getImportStatus(int id) {
+      RunImport job = imports.get(id);
+      // the job is visible only to those who can see the test
+      if (job == null || TestDAO.findById(job.testId) == null) {
+         throw ServiceException.notFound("Import " + id + " not found");
       }
-      return runId;
+      return job.status();
    }
 
    private Object findIfNotSet(String value, JsonNode data) {
@@ -647,28 +812,8 @@ public class RunServiceImpl implements RunService {
 
 
    private Integer addAuthenticated(RunDAO run, TestDAO test) {
-      // Id will be always generated anew
-      run.id = null;
-      //if run.metadata is null on the client, it will be converted to a NullNode, not null...
-      if(run.metadata != null && run.metadata.isNull())
-         run.metadata = null;
-
-      if (run.owner == null) {
-         List<String> uploaders = identity.getRoles().stream().filter(role -> role.endsWith("-uploader")).collect(Collectors.toList());
-         if (uploaders.size() != 1) {
-            log.debugf("Failed to upload for test %s: no owner, available uploaders: %s", test.name, uploaders);
-            throw ServiceException.badRequest("Missing owner and cannot select single default owners; this user has these uploader roles: " + uploaders);
-         }
-         String uploader = uploaders.get(0);
-         run.owner = uploader.substring(0, uploader.length() - 9) + "-team";
-      } else if (!Objects.equals(test.owner, run.owner) && !identity.getRoles().contains(run.owner)) {
-         log.debugf("Failed to upload for test %s: requested owner %s, available roles: %s", test.name, run.owner, identity.getRoles());
-         throw ServiceException.badRequest("This user does not have permissions to upload run for owner=" + run.owner);
-      }
-      if (run.access == null) {
-         run.access = Access.PRIVATE;
-      }
-      log.debugf("Uploading with owner=%s and access=%s", run.owner, run.access);
+      checkOwnerAndAccess(run, test);
+      JsonNode data = prepareData(run);
 
       try {
          if (run.id == null) {
@@ -684,14 +829,61 @@ public class RunServiceImpl implements RunService {
       }
       log.debugf("Upload flushed, run ID %d", run.id);
 
-      mediator.newRun(RunMapper.from(run));
+      Run runDTO = RunMapper.from(run);
+      runDTO.data = data;
+      mediator.newRun(runDTO);
       transform(run.id, false);
       if(mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.RUN_NEW, test.id, RunMapper.from(run)));
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.RUN_NEW, test.id, runDTO));
 
       return run.id;
    }
 
+   private void checkOwnerAndAccess(RunDAO run, TestDAO test) {
+      run.owner = checkOwner(run.owner, test);
+      if (run.access == null) {
+         run.access = Access.PRIVATE;
+      }
+      log.debugf("Uploading with owner=%s and access=%s", run.owner, run.access);
+   }
+
+   /**
+    * @return Owner of the uploaded run; the default owner if none was requested.
+    */
+   private String checkOwner(String owner, TestDAO test) {
+      if (owner == null) {
+         List<String> uploaders = identity.getRoles().stream().filter(role -> role.endsWith("-uploader")).collect(Collectors.toList());
+         if (uploaders.size() != 1) {
+            log.debugf("Failed to upload for test %s: no owner, available uploaders: %s", test.name, uploaders);
+            throw ServiceException.badRequest("Missing owner and cannot select single default owners; this user has these uploader roles: " + uploaders);
+         }
+         return Roles.teamOf(uploaders.get(0), "-" + Roles.UPLOADER);
+      } else if (!Objects.equals(test.owner, owner) && !identity.getRoles().contains(owner)) {
+         log.debugf("Failed to upload for test %s: requested owner %s, available roles: %s", test.name, owner, identity.getRoles());
+         throw ServiceException.badRequest("This user does not have permissions to upload run for owner=" + owner);
+      }
+      return owner;
+   }
+
+   /**
+    * @return Full run data; the run itself might keep only a stub if the data was stored externally.
+    */
+   private JsonNode prepareData(RunDAO run) {
+      // Id will be always generated anew
+      run.id = null;
+      //if run.metadata is null on the client, it will be converted to a NullNode, not null...
+      if(run.metadata != null && run.metadata.isNull())
+         run.metadata = null;
+
+      JsonNode data = run.data;
+      run.payloadRef = payloadStorage.offload(data);
+      if (run.payloadRef != null) {
+         log.debugf("Run data stored externally as %s", run.payloadRef);
+         run.data = RunPayloadStorage.stub(data);
+      }
+      return data;
+   }
+
    @PermitAll
    @WithRoles
    @WithToken
@@ -745,7 +937,17 @@ public class RunServiceImpl implements RunService {
          NativeQuery<String> findAutocomplete = session.createNativeQuery(FIND_AUTOCOMPLETE, String.class);
          findAutocomplete.setParameter(1, jsonpath);
          findAutocomplete.setParameter(2, incomplete);
-         List<String> results = findAutocomplete.getResultList();
+         Set<String> results = new TreeSet<>(findAutocomplete.getResultList());
+         List<String> externalRefs = session.createNativeQuery(
+               "SELECT payload_ref FROM run WHERE payload_ref IS NOT NULL AND NOT trashed ORDER BY start DESC LIMIT ?1", String.class)
+               .setParameter(1, AUTOCOMPLETE_EXTERNAL_RUNS).getResultList();
+         for (String ref : externalRefs) {
+            results.addAll(session.createNativeQuery(FIND_AUTOCOMPLETE_ON_PAYLOAD, String.class)
+                  .setParameter(1, payloadStorage.load(ref), JsonBinaryType.INSTANCE)
+                  .setParameter(2, jsonpath)
+                  .setParameter(3, incomplete)
+                  .getResultList());
+         }
          return results.stream().map(option ->
                option.matches("^[a-zA-Z0-9_-]*$") ? option : "\"" + option + "\"")
                .collect(Collectors.toList());
@@ -762,11 +964,12 @@ public class RunServiceImpl implements RunService {
                                   Integer limit, Integer page, String sort, SortDirection direction) {
       StringBuilder sql = new StringBuilder("SELECT run.id, run.start, run.stop, run.testId, ")
          .append("run.owner, run.access, run.token, run.trashed, run.description, ")
-         .append("run.metadata IS NOT NULL AS has_metadata, test.name AS testname, ")
+         .append("run.has_metadata, test.name AS testname, ")
          .append("'[]'::::jsonb AS schemas, '[]'::::jsonb AS datasets, '[]'::::jsonb AS validationErrors ")
-         .append("FROM run JOIN test ON test.id = run.testId WHERE ");
+         .append("FROM run JOIN test ON test.id = run.testId ");
       String[] queryParts;
       boolean whereStarted = false;
+      int[] externalRuns = new int[0];
       if (query == null || query.isEmpty()) {
          queryParts = new String[0];
       } else {
@@ -776,12 +979,7 @@ public class RunServiceImpl implements RunService {
          } else {
             queryParts = query.split("([ \t\n,]+)|\\bOR\\b");
          }
-         sql.append("(");
          for (int i = 0; i < queryParts.length; ++i) {
-            if (i != 0) {
-               sql.append(matchAll ? " AND " : " OR ");
-            }
-            sql.append("jsonb_path_exists(data, ?").append(i + 1).append(" ::::jsonpath)");
             if (queryParts[i].startsWith("$")) {
                // no change
             } else if (queryParts[i].startsWith("@")) {
@@ -790,16 +988,32 @@ public class RunServiceImpl implements RunService {
                queryParts[i] = "$.**." + queryParts[i];
             }
          }
+         try {
+            externalRuns = matchingExternalRuns(queryParts, matchAll, trashed);
+         } catch (PersistenceException pe) {
+            throw invalidQuery(pe, queryParts);
+         }
+         // the payload is joined only when it is queried; for externally stored data it holds only a stub
+         sql.append("JOIN run_payload rp ON rp.runid = run.id WHERE ((run.payload_ref IS NULL AND (");
+         for (int i = 0; i < queryParts.length; ++i) {
+            if (i != 0) {
+               sql.append(matchAll ? " AND " : " OR ");
+            }
+            sql.append("jsonb_path_exists(rp.data, ?").append(i + 1).append(" ::::jsonpath)");
+         }
+         sql.append("))");
+         if (externalRuns.length > 0) {
+            sql.append(" OR run.id = ANY(?").append(queryParts.length + 1).append(")");
+         }
          sql.append(")");
          whereStarted = true;
       }
+      int rolesPosition = queryParts.length + (externalRuns.length > 0 ? 2 : 1);
 
-      whereStarted = Roles.addRolesSql(identity, "run", sql, roles, queryParts.length + 1, whereStarted ? " AND" : null) || whereStarted;
+      whereStarted = Roles.addRolesSql(identity, "run", sql, roles, rolesPosition, whereStarted ? " AND" : " WHERE") || whereStarted;
       if (!trashed) {
-         if (whereStarted) {
-            sql.append(" AND ");
-         }
-         sql.append(" trashed = false ");
+         sql.append(whereStarted ? " AND " : " WHERE ");
+         sql.append(" run.trashed = false ");
       }
       Util.addPaging(sql, limit, page, sort, direction);
 
@@ -807,8 +1021,11 @@ public class RunServiceImpl implements RunService {
       for (int i = 0; i < queryParts.length; ++i) {
          sqlQuery.setParameter(i + 1, queryParts[i]);
       }
+      if (externalRuns.length > 0) {
+         sqlQuery.setParameter(queryParts.length + 1, externalRuns, IntArrayType.INSTANCE);
+      }
 
-      Roles.addRolesParam(identity, sqlQuery, queryParts.length + 1, roles);
+      Roles.addRolesParam(identity, sqlQuery, rolesPosition, roles);
 
       try {
          List<Object[]> runs = sqlQuery.getResultList();
@@ -819,24 +1036,59 @@ public class RunServiceImpl implements RunService {
          summary.runs = runs.stream().map(this::createSummary).collect(Collectors.toList());
          return summary;
       } catch (PersistenceException pe) {
-         // In case of an error PostgreSQL won't let us execute another query in the same transaction
+         throw invalidQuery(pe, queryParts);
+      }
+   }
+
+   /**
+    * Run data stored externally cannot be queried in the database; the payloads are loaded one by one
+    * and tested with the same jsonpath expressions.
+    */
+   private int[] matchingExternalRuns(String[] queryParts, boolean matchAll, boolean trashed) {
+      List<Object[]> external = session.createNativeQuery("SELECT id, payload_ref FROM run WHERE payload_ref IS NOT NULL" +
+            (trashed ? "" : " AND NOT trashed"), Object[].class).getResultList();
+      if (external.isEmpty()) {
+         return new int[0];
+      }
+      StringBuilder sql = new StringBuilder("SELECT ");
+      for (int i = 0; i < queryParts.length; ++i) {
+         if (i != 0) {
+            sql.append(matchAll ? " AND " : " OR ");
+         }
+         sql.append("jsonb_path_exists(?1, ?").append(i + 2).append(" ::::jsonpath)");
+      }
+      List<Integer> matching = new ArrayList<>();
+      for (Object[] row : external) {
+         NativeQuery<Boolean> matchQuery = session.createNativeQuery(sql.toString(), Boolean.class);
+         matchQuery.setParameter(1, payloadStorage.load((String) row[1]), JsonBinaryType.INSTANCE);
+         for (int i = 0; i < queryParts.length; ++i) {
+            matchQuery.setParameter(i + 2, queryParts[i]);
+         }
+         if (matchQuery.getSingleResult()) {
+            matching.add((Integer) row[0]);
+         }
+      }
+      return matching.stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   private WebApplicationException invalidQuery(PersistenceException pe, String[] queryParts) {
+      // In case of an error PostgreSQL won't let us execute another query in the same transaction
+      try {
+         Transaction old = tm.suspend();
          try {
-            Transaction old = tm.suspend();
-            try {
-               for (String jsonpath : queryParts) {
-                  JsonpathValidation result = sqlService.testJsonPathInternal(jsonpath);
-                  if (!result.valid) {
-                     throw new WebApplicationException(Response.status(400).entity(result).build());
-                  }
+            for (String jsonpath : queryParts) {
+               JsonpathValidation result = sqlService.testJsonPathInternal(jsonpath);
+               if (!result.valid) {
+                  return new WebApplicationException(Response.status(400).entity(result).build());
                }
-            } finally {
-               tm.resume(old);
             }
-         } catch (InvalidTransactionException | SystemException e) {
-            // ignore
+         } finally {
+            tm.resume(old);
          }
-         throw new WebApplicationException(pe, 500);
+      } catch (InvalidTransactionException | SystemException e) {
+         // ignore
       }
+      return new WebApplicationException(pe, 500);
    }
 
    private void initTypes(Query query) {
@@ -924,7 +1176,7 @@ public class RunServiceImpl implements RunService {
             .append("), validation AS (")
             .append("    SELECT run_id, jsonb_agg(jsonb_build_object('schemaId', schema_id, 'error', error)) AS errors FROM run_validationerrors GROUP BY run_id")
             .append(") SELECT run.id, run.start, run.stop, run.testid, run.owner, run.access, run.token, run.trashed, run.description, ")
-            .append("run.metadata IS NOT NULL AS has_metadata, test.name AS testname, ")
+            .append("run.has_metadata, test.name AS testname, ")
             .append("schema_agg.schemas AS schemas, ")
             .append("COALESCE(dataset_agg.datasets, '[]') AS datasets, ")
             .append("COALESCE(validation.errors, '[]') AS validationErrors FROM run ")
@@ -962,7 +1214,7 @@ public class RunServiceImpl implements RunService {
       }
       StringBuilder sql = new StringBuilder("SELECT run.id, run.start, run.stop, run.testId, ")
             .append("run.owner, run.access, run.token, run.trashed, run.description, ")
-            .append("run.metadata IS NOT NULL AS has_metadata, test.name AS testname, ")
+            .append("run.has_metadata, test.name AS testname, ")
             .append("'[]'::::jsonb AS schemas, '[]'::::jsonb AS datasets, '[]'::::jsonb AS validationErrors ")
             .append("FROM run_schemas rs JOIN run ON rs.runid = run.id JOIN test ON rs.testid = test.id ")
             .append("WHERE uri = ? AND NOT run.trashed");
@@ -999,7 +1251,7 @@ public class RunServiceImpl implements RunService {
          run.trashed = trashed;
          run.persist();
          if(mediator.testMode())
-            Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.RUN_TRASHED, run.testid, id));
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.RUN_TRASHED, run.testid, id));
       }
       // if the run was trashed because of a deleted test we need to ensure that the test actually exist
       // before we try to recalculate the dataset
@@ -1055,7 +1307,7 @@ public class RunServiceImpl implements RunService {
       }
 
       // Triggering dirty property on Run
-      JsonNode updated = run.data.deepCopy();
+      JsonNode updated = payloadStorage.data(run).deepCopy();
       JsonNode item;
       if (updated.isObject()) {
          item = path == null ? updated : updated.path(path);
@@ -1076,7 +1328,10 @@ public class RunServiceImpl implements RunService {
       } else {
          throw ServiceException.badRequest("Cannot update schema at " + (path == null ? "<root>" : path) + " as the target is not an object");
       }
-      run.data = updated;
+      if (run.payloadRef != null) {
+         run.payloadRef = payloadStorage.offload(updated);
+      }
+      run.data = run.payloadRef != null ? RunPayloadStorage.stub(updated) : updated;
       trashConnectedDatasets(run.id, run.testid);
       run.persist();
       onNewOrUpdatedSchemaForRun(run.id, schemaOptional.get().id );
@@ -1116,10 +1371,12 @@ public class RunServiceImpl implements RunService {
       } else if (to.isBefore(from)) {
          throw ServiceException.badRequest("Time range is invalid (from > to)");
       }
-      long deleted = em.createNativeQuery("DELETE FROM dataset USING run WHERE run.id = dataset.runid AND run.trashed AND run.start BETWEEN ?1 AND ?2")
-            .setParameter(1, from).setParameter(2, to).executeUpdate();
-      if (deleted > 0) {
-         log.debugf("Deleted %d datasets for trashed runs between %s and %s", deleted, from, to);
+      // remove through the mediator so that datapoints and missing data rule results (and last_match) are updated, too
+      List<Integer> trashedDatasets = session.createNativeQuery("SELECT dataset.id FROM dataset JOIN run ON run.id = dataset.runid WHERE run.trashed AND run.start BETWEEN ?1 AND ?2", Integer.class)
+            .setParameter(1, from).setParameter(2, to).getResultList();
+      trashedDatasets.forEach(mediator::propagatedDatasetDelete);
+      if (!trashedDatasets.isEmpty()) {
+         log.debugf("Deleted %d datasets for trashed runs between %s and %s", trashedDatasets.size(), from, to);
       }
 
       ScrollableResults<Recalculate> results = session
@@ -1137,11 +1394,25 @@ public class RunServiceImpl implements RunService {
          Recalculate r = results.get();
          log.debugf("Recalculate Datasets for run %d - forcing recalculation of all between %s and %s", r.runId, from, to);
          // transform will add proper roles anyway
-//         messageBus.executeForTest(r.testId, () -> datasetService.withRecalculationLock(() -> transform(r.runId, true)));
-         Util.registerTxSynchronization(tm, txStatus -> mediator.queueRunRecalculation(r.runId));
+//         messageBus.executeForTest(r.testId, () -> transform(r.runId, true));
+         mediator.queueBulkRunRecalculation(r.runId);
       }
    }
 
+   /**
+    * Sends externally stored run data to the database once for all transformers of the run;
+    * the table lives only until the end of the transaction.
+    */
+   private void stageExternalPayload(int runId, JsonNode data) {
+      session.createNativeQuery("CREATE TEMPORARY TABLE IF NOT EXISTS external_payload (runid integer PRIMARY KEY, data jsonb NOT NULL) ON COMMIT DROP")
+            .executeUpdate();
+      session.createNativeQuery("INSERT INTO external_payload(runid, data) VALUES (?1, ?2) ON CONFLICT (runid) DO UPDATE SET data = EXCLUDED.data")
+            .setParameter(1, runId)
+            .setParameter(2, data, JsonBinaryType.INSTANCE)
+            .executeUpdate();
+   }
+
+   @RetryOnConflict("transform")
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
    @Transactional
    int transform(int runId, boolean isRecalculation) {
@@ -1164,6 +1435,8 @@ public class RunServiceImpl implements RunService {
          log.errorf("Cannot load run ID %d for transformation", runId);
          return 0;
       }
+      // data stored externally are loaded only once for all transformers
+      JsonNode runData = payloadStorage.data(run);
       int ordinal = 0;
       Map<Integer, JsonNode> transformerResults = new TreeMap<>();
       // naked nodes (those produced by implicit identity transformers) are all added to each dataset
@@ -1180,6 +1453,7 @@ public class RunServiceImpl implements RunService {
             .getResultList() );
 
       int schemasAndTransformers = relevantSchemas.size();
+      boolean externalPayloadStaged = false;
       for (Object[] relevantSchema : relevantSchemas) {
          int type = (int) relevantSchema[0];
          String key = (String) relevantSchema[1];
@@ -1202,7 +1476,23 @@ public class RunServiceImpl implements RunService {
             if (t.extractors != null && !t.extractors.isEmpty()) {
                List<Object[]> extractedData;
                try {
-                  if (type == SchemaDAO.TYPE_1ST_LEVEL) {
+                  if (run.payloadRef != null && source == 0) {
+                     // the extraction still runs in the database to keep PostgreSQL jsonpath semantics
+                     if (!externalPayloadStaged) {
+                        stageExternalPayload(run.id, runData);
+                        externalPayloadStaged = true;
+                     }
+                     extractedData = unchecked(em.createNamedQuery(QUERY_BY_TRANSFORMERID_ON_PAYLOAD)
+                           .setParameter(1, run.id)
+                           .setParameter(2, type)
+                           .setParameter(3, type == SchemaDAO.TYPE_2ND_LEVEL ? key : "")
+                           .setParameter(4, type == SchemaDAO.TYPE_ARRAY_ELEMENT ? Integer.parseInt(key) : 0)
+                           .setParameter(5, transformerId)
+                           .unwrap(NativeQuery.class)
+                           .addScalar("name", StandardBasicTypes.TEXT)
+                           .addScalar("value", JsonBinaryType.INSTANCE)
+                           .getResultList());
+                  } else if (type == SchemaDAO.TYPE_1ST_LEVEL) {
                      // note: metadata always follow the 2nd level format
                      extractedData = unchecked(em.createNamedQuery(QUERY_1ST_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID)
                            .setParameter(1, run.id).setParameter(2, transformerId)
@@ -1288,7 +1578,7 @@ public class RunServiceImpl implements RunService {
             }
          } else {
             JsonNode node;
-            JsonNode sourceNode = source == 0 ? run.data : run.metadata;
+            JsonNode sourceNode = source == 0 ? runData : run.metadata;
             switch (type) {
                case SchemaDAO.TYPE_1ST_LEVEL:
                   node = sourceNode;
@@ -1355,7 +1645,7 @@ public class RunServiceImpl implements RunService {
          mediator.newDataset(new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation));
          mediator.validateDataset(ds.id);
          if(mediator.testMode())
-            Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATASET_NEW, ds.testid, new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation)));
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.DATASET_NEW, ds.testid, new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation)));
       } catch (TransactionRequiredException tre) {
          log.error("Failed attempt to persist and send Dataset event during inactive Transaction. Likely due to prior error.", tre);
       }
@@ -1431,4 +1721,77 @@ public class RunServiceImpl implements RunService {
       private int id;
       private int testId;
    }
+
+   static final class RunImport {
+      private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
+      final int id;
+      final int testId;
+      final int total;
+      // roles of the request that started the import; the first batch verified these can insert the runs
+      final String[] roles;
+      // runs waiting to be persisted, released when the import finishes
+      private List<RunDAO> runs;
+      private final List<Integer> runIds = new ArrayList<>();
+      private final List<String> errors = new ArrayList<>();
+      private int failed;
+      private long finished;
+
+      RunImport(int id, int testId, List<RunDAO> runs, String[] roles) {
+         this.id = id;
+         this.testId = testId;
+         this.total = runs.size();
+         this.runs = runs;
+         this.roles = roles;
+      }
+
+      synchronized List<RunDAO> batch(int from, int to) {
+         if (runs == null) {
+            throw new IllegalStateException("Import " + id + " has already finished");
+         }
+         return new ArrayList<>(runs.subList(from, to));
+      }
+
+      synchronized void persisted(List<Integer> ids) {
+         runIds.addAll(ids);
+      }
+
+      synchronized void failed(int count, String error) {
+         failed += count;
+         errors.add(error);
+      }
+
+      synchronized void finish() {
+         finished = System.currentTimeMillis();
+         // only the status is kept for the retention period
+         runs = null;
+      }
+
+      synchronized boolean isExpired(long now) {
+         return finished > 0 && finished + RETENTION < now;
+      }
+
+      synchronized RunImportStatus status() {
+         RunImportStatus status = new RunImportStatus();
+         status.id = id;
+         status.testId = testId;
+         status.total = total;
+         status.persisted = runIds.size();
+         status.failed = failed;
+         status.done = finished > 0;
+         status.runIds = new ArrayList<>(runIds);
+         status.errors = new ArrayList<>(errors);
+         return status;
+      }
+   }
+
+   /**
+    * Background batches of an import are inserted with the roles of the request that started it;
+    * the permissions have been verified when the first batch was inserted.
+    */
+   public static final class RunImportRoles implements Function<Object[], String[]> {
+      @Override public String[] apply(Object[] objects) {
+         return ((RunImport) objects[0]).roles;
+      }
+   }
 }
@@ -39,6 +39,7 @@ import io.hyperfoil.tools.horreum.mapper.LabelMapper;
 import io.hyperfoil.tools.horreum.mapper.SchemaMapper;
 import io.hyperfoil.tools.horreum.mapper.TransformerMapper;
 import io.hyperfoil.tools.horreum.mapper.ValidationErrorMapper;
+import io.hyperfoil.tools.horreum.payload.RunPayloadStorage;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.hyperfoil.tools.horreum.server.WithToken;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
@@ -118,6 +119,8 @@ public class SchemaServiceImpl implements SchemaService {
    @Inject
    BlockingTaskDispatcher messageBus;
    @Inject
+   RunPayloadStorage payloadStorage;
+   @Inject
    Session session;
 
    @Inject
@@ -185,7 +188,7 @@ public class SchemaServiceImpl implements SchemaService {
 
    private void newOrUpdatedSchema(SchemaDAO schema) {
       log.debugf("Push schema event for async run schemas update: %d (%s)", schema.id, schema.uri);
-      Util.registerTxSynchronization(tm, txStatus -> mediator.queueSchemaSync(schema.id));
+      mediator.queueSchemaSync(schema.id);
    }
 
    private void verifyNewSchema(Schema schemaDTO) {
@@ -330,13 +333,13 @@ public class SchemaServiceImpl implements SchemaService {
          run.validationErrors.removeIf(e -> schemaFilter == null || schemaFilter.test(e.schema.uri));
       if (run.validationErrors == null)
          run.validationErrors = new ArrayList<>();
-      validateData(run.data, schemaFilter, run.validationErrors);
+      validateData(payloadStorage.data(run), schemaFilter, run.validationErrors);
       if (run.metadata != null) {
          validateData(run.metadata, schemaFilter, run.validationErrors);
       }
       run.persist();
       if (mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.RUN_VALIDATED, run.testid,
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.RUN_VALIDATED, run.testid,
                new Schema.ValidationEvent(run.id, run.validationErrors.stream().map(ValidationErrorMapper::fromValidationError).collect(Collectors.toList()))));
 
       ;
@@ -377,7 +380,7 @@ public class SchemaServiceImpl implements SchemaService {
       }
 
       if (mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATASET_VALIDATED, dataset.testid, new Schema.ValidationEvent(dataset.id, DatasetMapper.from(dataset).validationErrors)));
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.DATASET_VALIDATED, dataset.testid, new Schema.ValidationEvent(dataset.id, DatasetMapper.from(dataset).validationErrors)));
    }
 
    @WithRoles(extras = Roles.HORREUM_SYSTEM)
@@ -755,7 +758,7 @@ public class SchemaServiceImpl implements SchemaService {
          }
 
          for (var dataset : datasetIds) {
-            Util.registerTxSynchronization(tm, txStatus -> mediator.queueDatasetEvents(new Dataset.EventNew((Integer) dataset[0], (Integer) dataset[1], 0, labelId, true)));
+            mediator.queueDatasetEvents(new Dataset.EventNew((Integer) dataset[0], (Integer) dataset[1], 0, labelId, true));
          }
       } catch (NoResultException nre) {
          log.debug("Could not find datasetId/testId to recalculate labels: " + nre.getMessage());
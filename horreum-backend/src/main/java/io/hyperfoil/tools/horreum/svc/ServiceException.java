@@ -22,8 +22,18 @@ public class ServiceException extends WebApplicationException {
       return new ServiceException(Response.Status.INTERNAL_SERVER_ERROR, message);
    }
 
+   public static ServiceException tooManyRequests(String message, long retryAfterSeconds) {
+      return new ServiceException(Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds).entity(message).build(), message);
+   }
+
    public ServiceException(Response.Status status, String message) {
       super(message, Response.status(status)
            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN).entity(message).build());
    }
+
+   private ServiceException(Response response, String message) {
+      super(message, response);
+   }
 }
@@ -7,15 +7,27 @@ import io.hyperfoil.tools.horreum.api.data.Dataset;
 import io.hyperfoil.tools.horreum.api.data.Run;
 import io.hyperfoil.tools.horreum.api.data.Test;
 import io.hyperfoil.tools.horreum.api.data.TestExport;
+import io.hyperfoil.tools.horreum.api.services.ConfigService;
 import io.hyperfoil.tools.horreum.api.services.ExperimentService;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.bus.FlowControlledEmitter;
+import io.hyperfoil.tools.horreum.bus.JobQueue;
 import io.hyperfoil.tools.horreum.entity.data.ActionDAO;
 import io.hyperfoil.tools.horreum.events.DatasetChanges;
+import io.hyperfoil.tools.horreum.server.SchedulerLeases;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
@@ -24,15 +36,28 @@ import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @ApplicationScoped
 public class ServiceMediator {
     private static final Logger log = Logger.getLogger(ServiceMediator.class);
+    private static final String DATASET_EVENT = "dataset-event";
+    private static final String RUN_RECALC = "run-recalc";
+    private static final String RUN_RECALC_BULK = "run-recalc-bulk";
+    private static final String SCHEMA_SYNC = "schema-sync";
 
     @Inject
     private TestServiceImpl testService;
@@ -70,12 +95,43 @@ public class ServiceMediator {
     @Inject
     Vertx vertx;
     @Inject
+    TransactionManager tm;
+    @Inject
+    JobQueue jobQueue;
+    @Inject
+    MeterRegistry registry;
+    @Inject
     private SchemaServiceImpl schemaService;
 
     @Inject
     @ConfigProperty(name = "horreum.test-mode", defaultValue = "false")
     private Boolean testMode;
 
+    @ConfigProperty(name = "horreum.bulk.concurrency", defaultValue = "2")
+    int bulkConcurrency;
+
+    @ConfigProperty(name = "horreum.alerting.recalculation.parallelism", defaultValue = "4")
+    int datapointRecalculationParallelism;
+
+    @ConfigProperty(name = "horreum.queue.coalesce.window", defaultValue = "PT0S")
+    Duration coalesceWindow;
+
+    // Number of messages buffered in each emitter; the buffer of the emitters must not be smaller
+    @ConfigProperty(name = "horreum.queue.emitter.capacity", defaultValue = "5000")
+    int emitterCapacity;
+
+    // Time to wait for space in emitter buffer, after that the message is stored in the database queue
+    @ConfigProperty(name = "horreum.queue.emitter.overflow-timeout", defaultValue = "PT10S")
+    Duration overflowTimeout;
+
+    // With AMQP transport, store messages that did not fit into emitter buffers in the database queue
+    @ConfigProperty(name = "horreum.queue.emitter.spill", defaultValue = "true")
+    boolean spill;
+
+    // Period of counting the jobs waiting in the database queue
+    @ConfigProperty(name = "horreum.queue.depth.refresh", defaultValue = "15s")
+    Duration backlogRefresh;
+
     @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 10000)
     @Channel("dataset-event-out")
     Emitter<Dataset.EventNew> dataSetEmitter;
@@ -84,19 +140,130 @@ public class ServiceMediator {
     @Channel("run-recalc-out")
     Emitter<Integer> runEmitter;
 
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 10000)
+    @Channel("run-recalc-bulk-out")
+    Emitter<Integer> bulkRunEmitter;
+
     @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 10000)
     @Channel("schema-sync-out")
     Emitter<Integer> schemaEmitter;
 
     private Map<AsyncEventChannels, Map<Integer, BlockingQueue<Object>>> events =  new ConcurrentHashMap<>();
 
+    // Latest payload of requests waiting for the coalescing window to expire, keyed by lane and coalescing key
+    private final ConcurrentMap<String, Pending<?>> pending = new ConcurrentHashMap<>();
+
+    // Bulk work executed in this node uses a small dedicated pool rather than the shared worker pool
+    private ThreadPoolExecutor bulkExecutor;
+    // Partitions of datapoint recalculation from all tests share this pool
+    private ThreadPoolExecutor datapointRecalculationExecutor;
+
+    // Jobs waiting in the database queue, counted periodically by the instance holding the lease
+    private volatile Map<String, JobQueue.Backlog> backlog = Map.of();
+    private volatile long backlogRefreshed;
+
+    private final Map<String, FlowControlledEmitter<?>> emitters = new ConcurrentHashMap<>();
+    private FlowControlledEmitter<Dataset.EventNew> datasetEvents;
+    private FlowControlledEmitter<Integer> runRecalculations;
+    private FlowControlledEmitter<Integer> bulkRunRecalculations;
+    private FlowControlledEmitter<Integer> schemaSyncs;
+
     public ServiceMediator() {
     }
 
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        bulkExecutor = new ThreadPoolExecutor(bulkConcurrency, bulkConcurrency, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "horreum-bulk-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger datapointCounter = new AtomicInteger();
+        datapointRecalculationExecutor = new ThreadPoolExecutor(datapointRecalculationParallelism, datapointRecalculationParallelism,
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "horreum-datapoints-" + datapointCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        registry.gauge("horreum.bulk.queue", bulkExecutor, executor -> executor.getQueue().size());
+        datasetEvents = flowControlled(DATASET_EVENT, dataSetEmitter);
+        runRecalculations = flowControlled(RUN_RECALC, runEmitter);
+        bulkRunRecalculations = flowControlled(RUN_RECALC_BULK, bulkRunEmitter);
+        schemaSyncs = flowControlled(SCHEMA_SYNC, schemaEmitter);
+        // With PostgreSQL transport the database queue holds all jobs of a lane. With AMQP the depth of the lanes
+        // is reported by the broker; the database queue holds only the messages that did not fit into the emitters.
+        if (jobQueue.isEnabled() || spill) {
+            String backlogGauge = jobQueue.isEnabled() ? "horreum.lane.depth" : "horreum.lane.spill.backlog";
+            for (String lane : emitters.keySet()) {
+                registry.gauge(backlogGauge, Tags.of("lane", lane), this, mediator -> mediator.backlog(lane));
+            }
+        }
+    }
+
+    private <T> FlowControlledEmitter<T> flowControlled(String lane, Emitter<T> emitter) {
+        // Messages are sent after the transaction completes, overflowing ones are stored in the database queue in a new one
+        // Without spilling the message is passed to the emitter anyway, relying on its own buffer
+        Consumer<T> overflow = spill ? payload -> executeBlocking(() -> jobQueue.enqueue(lane, payload)) : payload -> emitter.send(payload);
+        FlowControlledEmitter<T> flowControlled = new FlowControlledEmitter<>(lane, emitter, emitterCapacity, overflowTimeout,
+                overflow, registry);
+        emitters.put(lane, flowControlled);
+        return flowControlled;
+    }
+
+    @PreDestroy
+    void destroy() {
+        // requests held for coalescing would be lost otherwise
+        for (String pendingKey : pending.keySet()) {
+            try {
+                sendPending(pendingKey);
+            } catch (Exception e) {
+                log.errorf(e, "Failed to send pending request %s", pendingKey);
+            }
+        }
+        bulkExecutor.shutdownNow();
+        datapointRecalculationExecutor.shutdownNow();
+    }
+
+    // With AMQP transport the database queue holds messages that did not fit into emitter buffers
+    void onStart(@Observes StartupEvent event) {
+        if (!jobQueue.isEnabled() && !spill) {
+            log.debug("Database queue is not used, not starting its workers");
+            return;
+        }
+        jobQueue.register(DATASET_EVENT, Dataset.EventNew.class, "horreum.dataset.pool", this::processDatasetEvents);
+        jobQueue.register(RUN_RECALC, Integer.class, "horreum.run.pool", this::processRunRecalculation);
+        jobQueue.register(RUN_RECALC_BULK, Integer.class, "horreum.run.bulk.pool", this::processBulkRunRecalculation);
+        jobQueue.register(SCHEMA_SYNC, Integer.class, "horreum.schema.pool", this::processSchemaSync);
+    }
+
     void executeBlocking(Runnable runnable) {
         Util.executeBlocking(vertx, runnable);
     }
 
+    /**
+     * Executes low-priority work (e.g. recalculation of all datasets in a test) without occupying
+     * the worker pool used for handling requests.
+     */
+    void executeBulk(Runnable runnable) {
+        Runnable wrapped = Util.wrapForBlockingExecution(runnable);
+        bulkExecutor.execute(() -> {
+            try {
+                wrapped.run();
+            } catch (Exception e) {
+                log.error("Failed to execute bulk task", e);
+            }
+        });
+    }
+
+    /**
+     * Executes a partition of datapoint recalculation; the number of partitions processed in parallel is limited
+     * by <code>horreum.alerting.recalculation.parallelism</code>.
+     */
+    CompletableFuture<Void> executeDatapointRecalculation(Runnable runnable) {
+        return CompletableFuture.runAsync(Util.wrapForBlockingExecution(runnable), datapointRecalculationExecutor);
+    }
+
     boolean testMode() {
         return testMode;
     }
@@ -137,7 +304,6 @@ public class ServiceMediator {
     }
 
     void newDataset(Dataset.EventNew eventNew) {
-        //Note: should we call onNewDataset which will enable a lock?
         datasetService.onNewDataset(eventNew);
     }
 
@@ -151,36 +317,158 @@ public class ServiceMediator {
     @Blocking(ordered = false, value = "horreum.dataset.pool")
     @ActivateRequestContext
     public void processDatasetEvents(Dataset.EventNew newEvent) {
-        datasetService.onNewDatasetNoLock(newEvent);
+        processed(DATASET_EVENT);
+        datasetService.onNewDataset(newEvent);
         validateDataset(newEvent.datasetId);
     }
 
-    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     void queueDatasetEvents(Dataset.EventNew event) {
-        dataSetEmitter.send(event);
+        // labelId < 0 means all labels, therefore it must not be coalesced with label-specific events;
+        // events of a recalculation must not replace those of a new dataset (these notify about changes) or vice versa
+        queue(DATASET_EVENT, event.datasetId + ":" + event.labelId + ":" + event.isRecalculation, event, datasetEvents);
     }
     @Incoming("run-recalc-in")
     @Blocking(ordered = false, value = "horreum.run.pool")
     @ActivateRequestContext
     public void processRunRecalculation(int runId) {
+        processed(RUN_RECALC);
         runService.transform(runId, true);
     }
 
-    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    /**
+     * Recalculation of a single run requested by user.
+     */
     void queueRunRecalculation(int runId) {
-        runEmitter.send(runId);
+        queue(RUN_RECALC, String.valueOf(runId), runId, runRecalculations);
+    }
+
+    @Incoming("run-recalc-bulk-in")
+    @Blocking(ordered = false, value = "horreum.run.bulk.pool")
+    @ActivateRequestContext
+    public void processBulkRunRecalculation(int runId) {
+        processed(RUN_RECALC_BULK);
+        runService.transform(runId, true);
+    }
+
+    /**
+     * Recalculation that is a part of a large batch (schema change, recalculation of all runs); these
+     * use a separate channel with lower concurrency so that they don't delay user-facing work.
+     */
+    void queueBulkRunRecalculation(int runId) {
+        queue(RUN_RECALC_BULK, String.valueOf(runId), runId, bulkRunRecalculations);
     }
 
     @Incoming("schema-sync-in")
     @Blocking(ordered = false, value = "horreum.schema.pool")
     @ActivateRequestContext
     public void processSchemaSync(int schemaId) {
+        processed(SCHEMA_SYNC);
         runService.onNewOrUpdatedSchema(schemaId);
     }
 
-    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     void queueSchemaSync(int schemaId) {
-        schemaEmitter.send(schemaId);
+        queue(SCHEMA_SYNC, String.valueOf(schemaId), schemaId, schemaSyncs);
+    }
+
+    /**
+     * Jobs are queued as a part of current transaction when using PostgreSQL transport,
+     * or sent to the broker after the transaction completes.
+     * Requests with the same key are coalesced: when there is already a pending request for the key
+     * that has not started processing, it is replaced by this one (the latest payload wins).
+     * With the broker the requests are held in this node for the coalescing window before being sent.
+     */
+    private <T> void queue(String lane, String key, T payload, FlowControlledEmitter<T> emitter) {
+        boolean coalesce = !coalesceWindow.isZero() && !coalesceWindow.isNegative();
+        if (jobQueue.isEnabled()) {
+            if (!coalesce) {
+                jobQueue.enqueue(lane, payload);
+                queued(lane);
+            } else if (jobQueue.enqueue(lane, key, payload, coalesceWindow)) {
+                queued(lane);
+            } else {
+                coalesced(lane);
+            }
+        } else if (!coalesce) {
+            Util.doAfterCommit(tm, () -> emitter.send(payload));
+            queued(lane);
+        } else {
+            Util.doAfterCommit(tm, () -> sendCoalesced(lane + ":" + key, lane, payload, emitter));
+        }
+    }
+
+    private <T> void sendCoalesced(String pendingKey, String lane, T payload, FlowControlledEmitter<T> emitter) {
+        if (pending.put(pendingKey, new Pending<>(payload, emitter)) != null) {
+            coalesced(lane);
+            return;
+        }
+        queued(lane);
+        vertx.setTimer(coalesceWindow.toMillis(), timerId -> sendPending(pendingKey));
+    }
+
+    private void sendPending(String pendingKey) {
+        Pending<?> request = pending.remove(pendingKey);
+        if (request != null) {
+            request.send();
+        }
+    }
+
+    private record Pending<T>(T payload, FlowControlledEmitter<T> emitter) {
+        void send() {
+            emitter.send(payload);
+        }
+    }
+
+    // These counters are local to this instance while the messages can be processed by any instance
+    private void queued(String lane) {
+        registry.counter("horreum.lane.queued", "lane", lane).increment();
+    }
+
+    private void coalesced(String lane) {
+        registry.counter("horreum.lane.coalesced", "lane", lane).increment();
+    }
+
+    private void processed(String lane) {
+        registry.counter("horreum.lane.processed", "lane", lane).increment();
+    }
+
+    // The database queue is shared by all instances, therefore only one of them counts the jobs
+    @Scheduled(identity = "queue-backlog", every = "{horreum.queue.depth.refresh}", skipExecutionIf = SchedulerLeases.class)
+    void refreshBacklog() {
+        backlog = jobQueue.backlog();
+        backlogRefreshed = System.nanoTime();
+    }
+
+    // Instances that did not count the jobs recently do not report the backlog
+    private double backlog(String lane) {
+        if (backlogRefreshed == 0 || System.nanoTime() - backlogRefreshed > 2 * backlogRefresh.toNanos()) {
+            return Double.NaN;
+        }
+        JobQueue.Backlog jobs = backlog.get(lane);
+        return jobs == null ? 0 : jobs.jobs();
+    }
+
+    List<ConfigService.QueueStats> queueStats() {
+        Map<String, JobQueue.Backlog> backlog = jobQueue.backlog();
+        List<ConfigService.QueueStats> stats = new ArrayList<>();
+        for (FlowControlledEmitter<?> emitter : emitters.values()) {
+            ConfigService.QueueStats lane = new ConfigService.QueueStats();
+            lane.lane = emitter.channel();
+            lane.capacity = emitter.capacity();
+            lane.buffered = emitter.buffered();
+            lane.spilled = emitter.spilled();
+            lane.enqueueLatencyMean = emitter.enqueueLatency().mean(TimeUnit.MILLISECONDS);
+            lane.enqueueLatencyMax = emitter.enqueueLatency().max(TimeUnit.MILLISECONDS);
+            lane.queued = (long) registry.counter("horreum.lane.queued", "lane", lane.lane).count();
+            lane.processed = (long) registry.counter("horreum.lane.processed", "lane", lane.lane).count();
+            JobQueue.Backlog jobs = backlog.get(lane.lane);
+            if (jobs != null) {
+                lane.backlog = jobs.jobs();
+                lane.oldestJob = jobs.oldest();
+            }
+            stats.add(lane);
+        }
+        stats.sort((s1, s2) -> s1.lane.compareTo(s2.lane));
+        return stats;
     }
 
     void dataPointsProcessed(DataPoint.DatasetProcessedEvent event) {
@@ -196,8 +484,9 @@ public class ServiceMediator {
     int transform(int runId, boolean isRecalculation) {
         return runService.transform(runId, isRecalculation);
     }
-    void withRecalculationLock(Runnable run) {
-        datasetService.withRecalculationLock(run);
+
+    void importRuns(RunServiceImpl.RunImport job, int from) {
+        runService.persistImportBatch(job, from);
     }
     void newExperimentResult(ExperimentService.ExperimentResult result) {
         actionService.onNewExperimentResult(result);
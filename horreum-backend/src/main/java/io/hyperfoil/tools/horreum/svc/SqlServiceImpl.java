@@ -3,6 +3,7 @@ package io.hyperfoil.tools.horreum.svc;
 import io.hyperfoil.tools.horreum.api.data.JsonpathValidation;
 import io.hyperfoil.tools.horreum.api.data.QueryResult;
 import io.hyperfoil.tools.horreum.api.internal.services.SqlService;
+import io.hyperfoil.tools.horreum.payload.RunPayloadStorage;
 import io.hyperfoil.tools.horreum.server.RoleManager;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.hyperfoil.tools.horreum.server.WithToken;
@@ -17,12 +18,15 @@ import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Query;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.JDBCException;
 import org.jboss.logging.Logger;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 @ApplicationScoped
 public class SqlServiceImpl implements SqlService {
    private static final Logger log = Logger.getLogger(SqlServiceImpl.class);
@@ -36,6 +40,9 @@ public class SqlServiceImpl implements SqlService {
    @Inject
    RoleManager roleManager;
 
+   @Inject
+   RunPayloadStorage payloadStorage;
+
    @ConfigProperty(name = "horreum.debug")
    Optional<Boolean> debug;
 
@@ -60,13 +67,31 @@ public class SqlServiceImpl implements SqlService {
       QueryResult result = new QueryResult();
       result.jsonpath = jsonpath;
       try {
-         if (schemaUri != null && !schemaUri.isEmpty()) {
+         String payloadRef = (String) Util.runQuery(em, "SELECT payload_ref FROM run WHERE id = ?1", id);
+         if (payloadRef != null) {
+            // data stored outside the database are passed to the query as a parameter
+            JsonNode data = payloadStorage.load(payloadRef);
+            if (schemaUri != null && !schemaUri.isEmpty()) {
+               @SuppressWarnings("unchecked")
+               List<Object[]> schemas = em.createNativeQuery("SELECT type, key FROM run_schemas WHERE runid = ?1 AND source = 0 AND uri = ?2 LIMIT 1")
+                     .setParameter(1, id).setParameter(2, schemaUri).getResultList();
+               if (schemas.isEmpty()) {
+                  result.valid = false;
+                  result.reason = "Run " + id + " does not contain schema " + schemaUri;
+                  return result;
+               }
+               Object[] schema = schemas.get(0);
+               data = RunPayloadStorage.select(data, (int) schema[0], (String) schema[1]);
+            }
+            String sqlQuery = "SELECT " + func + "((?2)::::jsonb, (?1)::::jsonpath)#>>'{}'";
+            result.value = String.valueOf(Util.runQuery(em, sqlQuery, jsonpath, data.toString()));
+         } else if (schemaUri != null && !schemaUri.isEmpty()) {
             String sqlQuery = "SELECT " + func + "((CASE " +
-                    "WHEN rs.type = 0 THEN run.data WHEN rs.type = 1 THEN run.data->rs.key ELSE run.data->(rs.key::::integer) END)" +
-                    ", (?1)::::jsonpath)#>>'{}' FROM run JOIN run_schemas rs ON rs.runid = run.id WHERE id = ?2 AND rs.uri = ?3";
+                    "WHEN rs.type = 0 THEN rp.data WHEN rs.type = 1 THEN rp.data->rs.key ELSE rp.data->(rs.key::::integer) END)" +
+                    ", (?1)::::jsonpath)#>>'{}' FROM run_payload rp JOIN run_schemas rs ON rs.runid = rp.runid WHERE rp.runid = ?2 AND rs.uri = ?3";
             result.value = String.valueOf(Util.runQuery(em, sqlQuery, jsonpath, id, schemaUri));
          } else {
-            String sqlQuery = "SELECT " + func + "(data, (?1)::::jsonpath)#>>'{}' FROM run WHERE id = ?2";
+            String sqlQuery = "SELECT " + func + "(data, (?1)::::jsonpath)#>>'{}' FROM run_payload WHERE runid = ?2";
             result.value = String.valueOf(Util.runQuery(em, sqlQuery, jsonpath, id));
          }
          result.valid = true;
@@ -49,8 +49,6 @@ import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.hibernate.Hibernate;
-import org.hibernate.ScrollMode;
-import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
@@ -58,8 +56,6 @@ import org.jboss.logging.Logger;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -124,7 +120,8 @@ public class TestServiceImpl implements TestService {
    @Inject
    TransactionManager tm;
 
-   private final ConcurrentHashMap<Integer, RecalculationStatus> recalculations = new ConcurrentHashMap<>();
+   @Inject
+   RecalculationScheduler recalculationScheduler;
 
    @RolesAllowed(Roles.TESTER)
    @WithRoles
@@ -141,7 +138,7 @@ public class TestServiceImpl implements TestService {
       mediator.deleteTest(test.id);
       test.delete();
       if(mediator.testMode())
-         Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.TEST_DELETED, test.id, TestMapper.from(test)));;
+         Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.TEST_DELETED, test.id, TestMapper.from(test)));;
    }
 
    @Override
@@ -266,7 +263,7 @@ public class TestServiceImpl implements TestService {
          if(mediator.testMode()) {
             int testId = test.id;
             Test testDTO = TestMapper.from(test);
-            Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.TEST_NEW, testId, testDTO));
+            Util.doAfterCommit(tm, () -> mediator.publishEvent(AsyncEventChannels.TEST_NEW, testId, testDTO));
          }
       }
       return test;
@@ -839,58 +836,51 @@ public class TestServiceImpl implements TestService {
    @Transactional
    public void recalculateDatasets(int testId) {
       TestDAO test = getTestForUpdate(testId);
-      RecalculationStatus status = new RecalculationStatus(RunDAO.count("testid = ?1 AND trashed = false", testId));
-      // we don't have to care about races with new runs
-      RecalculationStatus prev = recalculations.putIfAbsent(testId, status);
-      while (prev != null) {
+      // remove through the mediator so that datapoints and missing data rule results (and last_match) are updated, too
+      @SuppressWarnings("unchecked")
+      List<Integer> trashedDatasets = em.createNativeQuery("SELECT dataset.id FROM dataset JOIN run ON run.id = dataset.runid WHERE run.trashed AND dataset.testid = ?1")
+            .setParameter(1, testId).getResultList();
+      trashedDatasets.forEach(mediator::propagatedDatasetDelete);
+      if (!trashedDatasets.isEmpty()) {
+         log.debugf("Deleted %d datasets for trashed runs in test %s (%d)", trashedDatasets.size(), test.name, (Object)testId);
+      }
+      if (!recalculationScheduler.start(testId)) {
          log.debugf("Recalculation for test %d (%s) already in progress", testId, test.name);
-         if (prev.timestamp < System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10)) {
-            log.warnf("Recalculation for test %d (%s) from %s timed out after 10 minutes with %d/%d runs",
-                  testId, test.name, Instant.ofEpochMilli(prev.timestamp), prev.finished, prev.totalRuns);
-            if (recalculations.replace(testId, prev, status)) {
-               log.debug("Continuing with recalculation.");
-               break;
-            } else {
-               prev = recalculations.get(testId);
-            }
-         } else {
-            return;
-         }
-      }
-      long deleted = em.createNativeQuery("DELETE FROM dataset USING run WHERE run.id = dataset.runid AND run.trashed AND dataset.testid = ?1")
-            .setParameter(1, testId).executeUpdate();
-      if (deleted > 0) {
-         log.debugf("Deleted %d datasets for trashed runs in test %s (%d)", deleted, test.name, (Object)testId);
-      }
-
-      ScrollableResults results = em.createNativeQuery("SELECT id FROM run WHERE testid = ?1 AND NOT trashed ORDER BY start")
-            .setParameter(1, testId)
-            .unwrap(NativeQuery.class).setReadOnly(true).setFetchSize(100)
-            .scroll(ScrollMode.FORWARD_ONLY);
-      while (results.next()) {
-         int runId = (int) results.get();
-         log.debugf("Recalculate Datasets for run %d - forcing recalculation for test %d (%s)", runId, testId, test.name);
-         // transform will add proper roles anyway
-//         messageBus.executeForTest(testId, () -> datasetService.withRecalculationLock(() -> {
-//         mediator.executeBlocking(() -> mediator.transform(runId, true));
-         mediator.executeBlocking(() -> mediator.withRecalculationLock(() -> {
-            int newDatasets = 0;
-            try {
-               newDatasets = mediator.transform(runId, true);
-//               mediator.queueRunRecalculation(runId);
-            } finally {
-               synchronized (status) {
-                  status.finished++;
-                  status.datasets += newDatasets;
-                  if (status.finished == status.totalRuns) {
-                     recalculations.remove(testId, status);
-                  }
-               }
-            }
-         }));
       }
    }
 
+   @Override
+   @WithRoles
+   @Transactional
+   public void pauseRecalculation(int testId) {
+      getTestForUpdate(testId);
+      recalculationScheduler.pause(testId);
+   }
+
+   @Override
+   @WithRoles
+   @Transactional
+   public void resumeRecalculation(int testId) {
+      getTestForUpdate(testId);
+      recalculationScheduler.resume(testId);
+   }
+
+   @Override
+   @WithRoles
+   @Transactional
+   public void cancelRecalculation(int testId) {
+      getTestForUpdate(testId);
+      recalculationScheduler.cancel(testId);
+   }
+
+   @Override
+   @WithRoles
+   @Transactional
+   public void throttleRecalculation(int testId, int runsPerMinute) {
+      getTestForUpdate(testId);
+      recalculationScheduler.throttle(testId, runsPerMinute);
+   }
+
    @Override
    @WithRoles
    public RecalculationStatus getRecalculationStatus(int testId) {
@@ -898,7 +888,7 @@ public class TestServiceImpl implements TestService {
       if(test == null){
          throw ServiceException.serverError("Cannot find test "+testId);
       }
-      RecalculationStatus status = recalculations.get(test.id);
+      RecalculationStatus status = recalculationScheduler.status(test.id);
       if (status == null) {
          status = new RecalculationStatus(RunDAO.count("testid = ?1 AND trashed = false", test.id));
          status.finished = status.totalRuns;
@@ -0,0 +1,204 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the rate and number of concurrent uploads per test, team (owner of the uploaded run) and upload token.
+ * Uploads exceeding the limits are rejected with <code>429 Too Many Requests</code> and <code>Retry-After</code>
+ * header; this way a single misbehaving pipeline cannot flood the processing queues for everyone else.
+ */
+@ApplicationScoped
+class UploadAdmission {
+   private static final Logger log = Logger.getLogger(UploadAdmission.class);
+   // idle limits are purged when there are more keys than this
+   private static final int MAX_IDLE_KEYS = 10000;
+
+   @ConfigProperty(name = "horreum.upload.limit.test.rate")
+   OptionalDouble testRate;
+   @ConfigProperty(name = "horreum.upload.limit.test.concurrent")
+   OptionalInt testConcurrent;
+   @ConfigProperty(name = "horreum.upload.limit.team.rate")
+   OptionalDouble teamRate;
+   @ConfigProperty(name = "horreum.upload.limit.team.concurrent")
+   OptionalInt teamConcurrent;
+   @ConfigProperty(name = "horreum.upload.limit.token.rate")
+   OptionalDouble tokenRate;
+   @ConfigProperty(name = "horreum.upload.limit.token.concurrent")
+   OptionalInt tokenConcurrent;
+
+   @Inject
+   MeterRegistry registry;
+
+   private final AtomicInteger activeUploads = new AtomicInteger();
+   private Scope test;
+   private Scope team;
+   private Scope token;
+
+   @PostConstruct
+   void init() {
+      test = new Scope("test", testRate, testConcurrent);
+      team = new Scope("team", teamRate, teamConcurrent);
+      token = new Scope("token", tokenRate, tokenConcurrent);
+      registry.gauge("horreum.upload.active", activeUploads);
+   }
+
+   /**
+    * Charges the upload against the limits of its test, team and token. Must be called only after the caller
+    * has been authenticated and permitted to upload to the test and owner, so that nobody can consume the budget
+    * of others.
+    *
+    * @param testId Id of the test; tests referenced by name are resolved to the id before.
+    * @param owner Team owning the uploaded run.
+    * @param uploadToken Token used for the upload, if any.
+    * @return Permit that must be closed when the upload completes.
+    * @throws ServiceException with status <code>429</code> if any of the limits is exceeded.
+    */
+   Permit admit(int testId, String owner, String uploadToken) {
+      List<Limit> acquired = new ArrayList<>(3);
+      ServiceException rejection = tryAcquire(test, String.valueOf(testId), acquired);
+      if (rejection == null) {
+         rejection = tryAcquire(team, owner, acquired);
+      }
+      if (rejection == null) {
+         rejection = tryAcquire(token, uploadToken, acquired);
+      }
+      if (rejection != null) {
+         acquired.forEach(Limit::release);
+         throw rejection;
+      }
+      activeUploads.incrementAndGet();
+      return new Permit(acquired);
+   }
+
+   /**
+    * @return <code>null</code> if the upload is admitted, otherwise the exception rejecting the upload
+    */
+   private ServiceException tryAcquire(Scope scope, String key, List<Limit> acquired) {
+      if (!scope.isEnabled() || key == null || key.isBlank()) {
+         return null;
+      }
+      Limit limit = scope.limit(key);
+      long retryAfter = limit.tryAcquire();
+      if (retryAfter == 0) {
+         acquired.add(limit);
+         return null;
+      }
+      String reason = retryAfter < 0 ? "concurrent" : "rate";
+      scope.rejected(reason).increment();
+      // do not log the token itself
+      log.debugf("Rejecting upload: %s limit exceeded for %s", reason, scope == token ? "upload token" : scope.name + " " + key);
+      return ServiceException.tooManyRequests("Too many uploads for this " + scope.name + ", retry later.", Math.max(1, retryAfter));
+   }
+
+   class Permit implements AutoCloseable {
+      private List<Limit> acquired;
+
+      private Permit(List<Limit> acquired) {
+         this.acquired = acquired;
+      }
+
+      @Override
+      public synchronized void close() {
+         if (acquired != null) {
+            acquired.forEach(Limit::release);
+            acquired = null;
+            activeUploads.decrementAndGet();
+         }
+      }
+   }
+
+   private class Scope {
+      final String name;
+      final double ratePerMillis;
+      final int concurrent;
+      final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+      final ConcurrentMap<String, Counter> rejections = new ConcurrentHashMap<>();
+
+      Scope(String name, OptionalDouble ratePerMinute, OptionalInt concurrent) {
+         this.name = name;
+         this.ratePerMillis = ratePerMinute.orElse(0) / 60_000;
+         this.concurrent = concurrent.orElse(0);
+      }
+
+      boolean isEnabled() {
+         return ratePerMillis > 0 || concurrent > 0;
+      }
+
+      Limit limit(String key) {
+         if (limits.size() > MAX_IDLE_KEYS) {
+            limits.values().removeIf(Limit::isIdle);
+         }
+         return limits.computeIfAbsent(key, k -> new Limit(this));
+      }
+
+      Counter rejected(String reason) {
+         return rejections.computeIfAbsent(reason, r -> Counter.builder("horreum.upload.rejected")
+               .tag("scope", name).tag("reason", r)
+               .description("Uploads rejected by admission control").register(registry));
+      }
+   }
+
+   private static class Limit {
+      final Scope scope;
+      // token bucket holds up to one minute worth of uploads
+      final double capacity;
+      double tokens;
+      long lastRefill = System.currentTimeMillis();
+      int active;
+
+      Limit(Scope scope) {
+         this.scope = scope;
+         this.capacity = Math.max(1, scope.ratePerMillis * 60_000);
+         this.tokens = capacity;
+      }
+
+      /**
+       * @return 0 if admitted, seconds to retry after if the rate is exceeded, or -1 if there are too many concurrent uploads
+       */
+      synchronized long tryAcquire() {
+         if (scope.concurrent > 0 && active >= scope.concurrent) {
+            return -1;
+         }
+         if (scope.ratePerMillis > 0) {
+            refill();
+            if (tokens < 1) {
+               return (long) Math.ceil((1 - tokens) / scope.ratePerMillis / 1000);
+            }
+            tokens -= 1;
+         }
+         ++active;
+         return 0;
+      }
+
+      synchronized void release() {
+         --active;
+      }
+
+      synchronized boolean isIdle() {
+         refill();
+         return active == 0 && (scope.ratePerMillis == 0 || tokens >= capacity);
+      }
+
+      private void refill() {
+         long now = System.currentTimeMillis();
+         tokens = Math.min(capacity, tokens + (now - lastRefill) * scope.ratePerMillis);
+         lastRefill = now;
+      }
+   }
+}
@@ -9,6 +9,8 @@ import java.lang.annotation.Target;
 import java.lang.reflect.Method;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -37,6 +39,7 @@ import org.graalvm.polyglot.*;
 import org.graalvm.polyglot.io.IOAccess;
 import org.graalvm.polyglot.proxy.Proxy;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.jboss.logging.Logger;
 import org.postgresql.util.PSQLException;
@@ -73,6 +76,8 @@ public class Util {
 
    public static final int MAX_TRANSACTION_RETRIES = 10;
    private static final String RETRY_HINT = "The transaction might succeed if retried";
+   private static final String SERIALIZATION_FAILURE = "40001";
+   private static final String DEADLOCK_DETECTED = "40P01";
 
    static {
       OBJECT_MAPPER.registerModule(new JavaTimeModule());
@@ -214,8 +219,16 @@ public class Util {
       });
    }
 
+   /**
+    * Performs the action after the current transaction commits, or right away if there is no transaction.
+    * The action is not performed when the transaction rolls back, e.g. before it is retried on a conflict.
+    */
    public static void doAfterCommit(TransactionManager tm, Runnable runnable) {
       try {
+         if (tm.getStatus() == Status.STATUS_NO_TRANSACTION) {
+            runnable.run();
+            return;
+         }
          doAfterCommitThrowing(tm, runnable);
       } catch (RollbackException e) {
          log.debugf("Not performing %s as the transaction has been marked rollback-only", runnable);
@@ -559,7 +572,8 @@ public class Util {
    public static boolean lookupRetryHint(Throwable ex, Set<Throwable> causes) {
       while (ex != null && causes.add(ex)) {
          if (ex instanceof PSQLException) {
-            if (ex.getMessage().contains(RETRY_HINT)) {
+            String sqlState = ((PSQLException) ex).getSQLState();
+            if (SERIALIZATION_FAILURE.equals(sqlState) || DEADLOCK_DETECTED.equals(sqlState) || ex.getMessage().contains(RETRY_HINT)) {
                return true;
             }
          } else if (ex instanceof OptimisticLockException) {
@@ -721,6 +735,51 @@ public class Util {
       return res != null && res;
    }
 
+   /*
+    * Evaluates the same function for each of the inputs, sharing a single context rather than creating
+    * a new one for each input. Output is reported separately for each input.
+    * */
+   static <T> void evaluateMany(String function, List<T> inputs, Function<T, JsonNode> evaluationInput,
+                                BiConsumer<T, Value> onResult, ExecutionExceptionConsumer<T> onException, BiConsumer<T, String> onOutput) {
+      if (inputs.isEmpty()) {
+         return;
+      }
+      String funcCode = "const __func = " + function + ";\n";
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (Context context = createContext(out)) {
+         context.enter();
+         try {
+            setupContext(context);
+            try {
+               context.eval("js", funcCode);
+            } catch (PolyglotException e) {
+               for (T element : inputs) {
+                  onException.accept(element, e, funcCode);
+               }
+               return;
+            }
+            for (T element : inputs) {
+               String jsCode = "__func(" + evaluationInput.apply(element) + ")";
+               try {
+                  Value value = context.eval("js", jsCode);
+                  value = resolvePromise(value);
+                  onResult.accept(element, value);
+               } catch (PolyglotException e) {
+                  onException.accept(element, e, funcCode + jsCode);
+               }
+               if (out.size() > 0) {
+                  onOutput.accept(element, out.toString(StandardCharsets.UTF_8));
+                  out.reset();
+               }
+            }
+         } catch (IOException e) {
+            onException.accept(null, e, "<init>");
+         } finally {
+            context.leave();
+         }
+      }
+   }
+
    public static String makeFilter(String function) {
       return "__x => (!!(" + function + ")(__x))";
    }
@@ -745,6 +804,30 @@ public class Util {
          throw t;
       }
    }
+   /**
+    * Runs a native query returning a single text column (typically <code>jsonb::text</code>) and returns
+    * the raw UTF-8 bytes as sent by the database. This lets large JSON documents be written to the response
+    * without building a <code>JsonNode</code> tree or an intermediate {@link String}.
+    * Unlike {@link #runQuery(EntityManager, String, Object...)} the query uses plain JDBC syntax:
+    * <code>?</code> placeholders and unescaped <code>::</code> casts.
+    */
+   static byte[] runRawJsonQuery(EntityManager em, String query, Object... params) {
+      return em.unwrap(Session.class).doReturningWork(connection -> {
+         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < params.length; ++i) {
+               statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+               if (!rs.next()) {
+                  log.errorf("No results in %s with params: %s", query, Arrays.asList(params));
+                  throw ServiceException.notFound("No result");
+               }
+               return rs.getBytes(1);
+            }
+         }
+      });
+   }
+
    public static Instant toInstant(Object time) {
       if (time == null) {
          return null;
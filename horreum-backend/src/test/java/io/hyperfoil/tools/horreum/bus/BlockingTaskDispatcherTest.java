@@ -0,0 +1,159 @@
+package io.hyperfoil.tools.horreum.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hyperfoil.tools.horreum.svc.ServiceException;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(HorreumTestProfile.class)
+public class BlockingTaskDispatcherTest {
+   @Inject
+   BlockingTaskDispatcher dispatcher;
+
+   @Inject
+   MeterRegistry registry;
+
+   int capacity;
+   Duration submitTimeout;
+   Duration metricsExpiration;
+
+   @BeforeEach
+   public void limitQueue() {
+      // the limits are changed on the bean rather than through a test profile to share the Quarkus instance
+      BlockingTaskDispatcher impl = ClientProxy.unwrap(dispatcher);
+      capacity = impl.capacity;
+      submitTimeout = impl.submitTimeout;
+      metricsExpiration = impl.metricsExpiration;
+      impl.capacity = 2;
+      impl.submitTimeout = Duration.ofMillis(500);
+   }
+
+   @AfterEach
+   public void restoreLimits() {
+      BlockingTaskDispatcher impl = ClientProxy.unwrap(dispatcher);
+      impl.capacity = capacity;
+      impl.submitTimeout = submitTimeout;
+      impl.metricsExpiration = metricsExpiration;
+   }
+
+   @Test
+   public void testFullQueue() throws InterruptedException {
+      int testId = -1001;
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CountDownLatch completed = new CountDownLatch(4);
+      dispatcher.executeForTest(testId, () -> {
+         started.countDown();
+         await(release);
+         completed.countDown();
+      });
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      // capacity is 2 tasks waiting
+      dispatcher.executeForTest(testId, completed::countDown);
+      dispatcher.executeForTest(testId, completed::countDown);
+
+      // user requests are rejected right away
+      long start = System.nanoTime();
+      ServiceException rejection = assertThrows(ServiceException.class, () -> dispatcher.submitForTest(testId, () -> {}));
+      assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+      assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), rejection.getResponse().getStatus());
+      assertEquals(1, registry.get("horreum.tasks.rejected").tag("test", String.valueOf(testId)).counter().count());
+
+      // internal work waits for space and then exceeds the limit rather than being lost
+      start = System.nanoTime();
+      dispatcher.executeForTest(testId, completed::countDown);
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(500));
+      assertEquals(1, registry.get("horreum.tasks.overflow").tag("test", String.valueOf(testId)).counter().count());
+
+      // other tests are not affected
+      CountDownLatch other = new CountDownLatch(1);
+      dispatcher.submitForTest(testId - 1, other::countDown);
+      assertTrue(other.await(10, TimeUnit.SECONDS));
+
+      release.countDown();
+      assertTrue(completed.await(10, TimeUnit.SECONDS));
+   }
+
+   @Test
+   public void testSubmitterWaitsForSpace() throws InterruptedException {
+      int testId = -1002;
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CountDownLatch completed = new CountDownLatch(3);
+      ClientProxy.unwrap(dispatcher).submitTimeout = Duration.ofSeconds(30);
+      dispatcher.executeForTest(testId, () -> {
+         started.countDown();
+         await(release);
+      });
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      dispatcher.executeForTest(testId, completed::countDown);
+      dispatcher.executeForTest(testId, completed::countDown);
+
+      Thread releaser = new Thread(() -> {
+         try {
+            Thread.sleep(200);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         release.countDown();
+      });
+      releaser.start();
+      // returns as soon as the first task completes and makes space in the queue
+      long start = System.nanoTime();
+      dispatcher.executeForTest(testId, completed::countDown);
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+      assertTrue(completed.await(10, TimeUnit.SECONDS));
+      assertEquals(0, registry.get("horreum.tasks.overflow").tag("test", String.valueOf(testId)).counter().count());
+   }
+
+   @Test
+   public void testIdleMetricsAreRemoved() throws InterruptedException {
+      int testId = -1010;
+      CountDownLatch completed = new CountDownLatch(1);
+      dispatcher.executeForTest(testId, completed::countDown);
+      assertTrue(completed.await(10, TimeUnit.SECONDS));
+      assertNotNull(registry.find("horreum.tasks.run").tag("test", String.valueOf(testId)).timer());
+
+      BlockingTaskDispatcher impl = ClientProxy.unwrap(dispatcher);
+      impl.metricsExpiration = Duration.ZERO;
+      // the queue is removed right after the last task completes
+      Thread.sleep(100);
+      impl.evictIdleMetrics();
+      assertNull(registry.find("horreum.tasks.run").tag("test", String.valueOf(testId)).timer());
+      assertNull(registry.find("horreum.tasks.depth").tag("test", String.valueOf(testId)).gauge());
+
+      // metrics are registered again when the test has new tasks
+      CountDownLatch again = new CountDownLatch(1);
+      dispatcher.executeForTest(testId, again::countDown);
+      assertTrue(again.await(10, TimeUnit.SECONDS));
+      assertNotNull(registry.find("horreum.tasks.run").tag("test", String.valueOf(testId)).timer());
+   }
+
+   private static void await(CountDownLatch latch) {
+      try {
+         latch.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
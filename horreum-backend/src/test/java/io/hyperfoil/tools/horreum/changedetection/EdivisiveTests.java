@@ -7,10 +7,6 @@ import io.hyperfoil.tools.horreum.api.data.Label;
 import io.hyperfoil.tools.horreum.api.data.Schema;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
-import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
-import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
-import io.hyperfoil.tools.horreum.entity.alerting.VariableDAO;
-import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.svc.BaseServiceTest;
 import io.hyperfoil.tools.horreum.svc.ServiceMediator;
 import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
@@ -20,19 +16,16 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.oidc.server.OidcWiremockTestResource;
 import jakarta.inject.Inject;
-import org.jetbrains.annotations.NotNull;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -54,104 +47,81 @@ public class EdivisiveTests extends BaseServiceTest {
     ServiceMediator serviceMediator;
 
     @Test
-    public void testTemporaryFiles() {
-        try {
-            HunterEDivisiveModel.TmpFiles tmpFiles = HunterEDivisiveModel.TmpFiles.instance();
-            assertTrue(tmpFiles.tmpdir.exists());
-        } catch (IOException e) {
-            fail(e);
-        }
-    }
-
-    @Test
-    public void testFileStructures() {
-
-        HunterEDivisiveModel model = (HunterEDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
+    public void testDetectedChangePoints() throws Exception {
+        EDivisiveModel model = (EDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
         assertNotNull(model);
 
-        try {
-            //1. Valid File Structure
-            HunterEDivisiveModel.TmpFiles tmpFiles = getTmpFiles("change/eDivisive/valid/tests/resources/horreum.csv");
-
-            //cast ChangeDetectionModel to access protected methods
-            boolean valid = model.validateInputCsv(tmpFiles);
-
-            assertTrue(valid);
-
-            //2. Invalid File Structure
-            tmpFiles = getTmpFiles("change/eDivisive/invalid/tests/resources/horreum.csv");
-
-            //cast ChangeDetectionModel to access protected methods
-            valid = model.validateInputCsv(tmpFiles);
-
-            assertFalse(valid);
-
-            tmpFiles.cleanup();
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        List<String> lines;
+        try (InputStream csv = EdivisiveTests.class.getClassLoader().getResourceAsStream("change/eDivisive/horreum.csv")) {
+            assertNotNull(csv);
+            lines = new String(csv.readAllBytes(), StandardCharsets.UTF_8).lines().skip(1).toList();
+        }
+        // series is ordered from the newest datapoint
+        DataPointSeries.Builder builder = DataPointSeries.builder();
+        for (int i = lines.size() - 1; i >= 0; --i) {
+            String[] columns = lines.get(i).split(",");
+            int datasetId = Integer.parseInt(columns[2]);
+            builder.add(i, datasetId, datasetId, 0, Instant.ofEpochSecond(Long.parseLong(columns[1])), Double.parseDouble(columns[0]));
+        }
+        DataPointSeries series = builder.build(new SummaryStatistics(), model.recentDatapoints(null));
+
+        // The first change point was recorded from Hunter output; the rest of the list is the output of the same
+        // algorithm with Hunter defaults (window 50, p-value 0.001) that must not change.
+        List<String> expected = List.of(
+                "1535410 -5.4% 8.450e-05",
+                "1535455 +79.1% 4.518e-04",
+                "1535545 -21.1% 5.373e-05",
+                "1535695 -16.3% 6.083e-21",
+                "1535845 +78.5% 1.089e-19",
+                "1535890 +1.6% 1.079e-04");
+        double[] values = new double[lines.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = Double.parseDouble(lines.get(i).split(",")[0]);
+        }
+        List<String> results = new EDivisive().changePoints(values).stream()
+                .map(r -> String.format(Locale.ROOT, "%s %+.1f%% %.3e", lines.get(r.index()).split(",")[2], r.forwardChangePercent(), r.pvalue()))
+                .toList();
+        assertEquals(expected, results);
+        assertEquals(List.of(0.0575, 0.7913, 0.2676, 0.1947, 0.7847, 0.0156), new EDivisive().changePoints(values).stream()
+                .map(r -> Math.round(r.magnitude() * 10000) / 10000.0).toList());
+
+        // the model reports the same change points, with the dataset and change in the description
+        List<ChangePoint> changePoints = model.analyze(series, null);
+        assertEquals(expected.stream().map(e -> Integer.parseInt(e.split(" ")[0])).toList(),
+                changePoints.stream().map(cp -> series.datasetId(cp.index())).toList());
+        for (int i = 0; i < expected.size(); ++i) {
+            String[] parts = expected.get(i).split(" ");
+            assertTrue(changePoints.get(i).description().contains("`" + parts[1] + "`"), changePoints.get(i).description());
+            assertTrue(changePoints.get(i).description().endsWith("dataset: " + parts[0]), changePoints.get(i).description());
         }
-
     }
 
-    @NotNull
-    private static HunterEDivisiveModel.TmpFiles getTmpFiles(String resource) throws IOException {
-        HunterEDivisiveModel.TmpFiles tmpFiles = HunterEDivisiveModel.TmpFiles.instance();
-        assertTrue(tmpFiles.confFile.exists());
-
-        try (InputStream validCsvStream = EdivisiveTests.class.getClassLoader().getResourceAsStream(resource)) {
-            try( OutputStream confOut = new FileOutputStream(tmpFiles.inputFile)){
-                confOut.write(validCsvStream.readAllBytes());
-            } catch (IOException e){
-                fail("Could not extract Hunter configuration from archive");
-            }
-        } catch (IOException e) {
-            fail("Could not create temporary file for Hunter eDivisive algorithm", e);
+    @Test
+    public void testLongSeries() {
+        // long enough to analyze the windows in parallel
+        double[] values = new double[5000];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = 100 + 50 * (i / 1000) + i % 3;
         }
-        return tmpFiles;
+        List<EDivisive.Result> changePoints = new EDivisive().changePoints(values);
+        assertEquals(List.of(1000, 2000, 3000, 4000), changePoints.stream().map(EDivisive.Result::index).toList());
+        assertEquals(0.495, changePoints.get(0).forwardChangePercent() / 100, 0.001);
     }
 
     @Test
-    public void testDetectedChangePoints(){
-
-        HunterEDivisiveModel model = (HunterEDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
-        assertNotNull(model);
-
-        List<ChangeDAO> changePoints = new ArrayList<>();
-
-        try {
-            HunterEDivisiveModel.TmpFiles tmpFiles = getTmpFiles("change/eDivisive/valid/tests/resources/horreum.csv");
-
-            Instant sinceInstant = Instant.ofEpochSecond(1702002504);
-            //cast ChangeDetectionModel to access protected methods
-            boolean valid = model.validateInputCsv(tmpFiles);
-
-            assertTrue(valid);
-
-            model.processChangePoints(
-                    (datapointID) -> {
-                        DataPointDAO datapoint = new DataPointDAO();
-                        datapoint.id = datapointID;
-                        datapoint.timestamp = Instant.now();
-                        datapoint.variable = new VariableDAO();
-                        DatasetDAO datasetDAO = new DatasetDAO();
-                        datasetDAO.id = datapointID;
-                        datapoint.dataset = datasetDAO;
-                        return Optional.of(datapoint);
-                    },
-                    (changePoints::add),
-                    tmpFiles,
-                    sinceInstant
-                    );
-
-            assertNotEquals(0, changePoints.size());
-
-            assertEquals(1535410, changePoints.get(0).dataset.id);
-
-            tmpFiles.cleanup();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    public void testRecentDatapointsCapped() throws Exception {
+        EDivisiveModel model = (EDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
+        // series since the last change is long, with a shift 20 datapoints ago
+        DataPointSeries.Builder builder = DataPointSeries.builder();
+        for (int i = 0; i < 1000; ++i) {
+            builder.add(i, i, i, 0, Instant.ofEpochSecond(1000 - i), (i < 20 ? 150 : 100) + i % 3);
         }
+        DataPointSeries series = builder.build(new SummaryStatistics(), model.recentDatapoints(null));
+        assertEquals(1000, series.size());
+        assertEquals(4 * EDivisive.DEFAULT_WINDOW, series.recentSize());
+
+        List<ChangePoint> changePoints = model.analyze(series, null);
+        assertEquals(List.of(19), changePoints.stream().map(ChangePoint::index).toList());
     }
 
     @Test
@@ -0,0 +1,69 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.PostgresResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.oidc.server.OidcWiremockTestResource;
+import jakarta.inject.Inject;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@QuarkusTestResource(PostgresResource.class)
+@QuarkusTestResource(OidcWiremockTestResource.class)
+@TestProfile(HorreumTestProfile.class)
+@Tag("CiTests")
+public class PermutationTestTests {
+
+    @Inject
+    ChangeDetectionModelResolver resolver;
+
+    @Test
+    public void testNoisySeries() throws Exception {
+        PermutationTestModel model = (PermutationTestModel) resolver.getModel(ChangeDetectionModelType.PERMUTATION_TEST);
+        ObjectNode config = JsonNodeFactory.instance.objectNode().setAll(model.config().defaults);
+        for (String statistic : List.of("mannWhitney", "mean")) {
+            config.put("statistic", statistic);
+            assertEquals(List.of(), model.analyze(series(0, model.recentDatapoints(config)), config));
+            List<ChangePoint> changePoints = model.analyze(series(10, model.recentDatapoints(config)), config);
+            assertEquals(1, changePoints.size());
+            // first datapoint of the window
+            assertEquals(4, changePoints.get(0).index());
+        }
+    }
+
+    @Test
+    public void testDeterministic() {
+        double[] values = new double[25];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextGaussian() + (i < 5 ? 1 : 0);
+        }
+        // enough permutations to be computed in parallel
+        double pvalue = new PermutationTest(10000, 0).pvalue(values, 5);
+        assertEquals(pvalue, new PermutationTest(10000, 0).pvalue(values, 5));
+        assertEquals(pvalue, new PermutationTest(10000, 0).pvalue(values.clone(), 5));
+        assertArrayEquals(new double[] { 3.5, 1, 3.5, 2 }, PermutationTest.ranks(new double[] { 3, 1, 3, 2 }));
+    }
+
+    private static DataPointSeries series(double shift, int capacity) {
+        Random random = new Random(42);
+        DataPointSeries.Builder builder = DataPointSeries.builder();
+        for (int i = 0; i < 25; ++i) {
+            builder.add(i, i, i, 0, Instant.ofEpochSecond(100 - i), 100 + 5 * random.nextGaussian() + (i < 5 ? shift : 0));
+        }
+        return builder.build(new SummaryStatistics(), capacity);
+    }
+}
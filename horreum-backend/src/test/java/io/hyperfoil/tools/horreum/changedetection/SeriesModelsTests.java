@@ -0,0 +1,198 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.VariableDAO;
+import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
+import io.hyperfoil.tools.horreum.entity.data.RunDAO;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.PostgresResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.oidc.server.OidcWiremockTestResource;
+import jakarta.inject.Inject;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the models analyzing {@link DataPointSeries} with straightforward implementations working
+ * on the list of all datapoints (newest first), as these models were implemented before.
+ */
+@QuarkusTest
+@QuarkusTestResource(PostgresResource.class)
+@QuarkusTestResource(OidcWiremockTestResource.class)
+@TestProfile(HorreumTestProfile.class)
+@Tag("CiTests")
+public class SeriesModelsTests {
+
+    @Inject
+    ChangeDetectionModelResolver resolver;
+
+    @Test
+    public void testRelativeDifference() throws Exception {
+        for (String filter : List.of("mean", "min", "max")) {
+            for (int window : new int[] { 1, 3 }) {
+                ObjectNode config = JsonNodeFactory.instance.objectNode()
+                        .put("threshold", 0.05).put("window", window).put("minPrevious", 4).put("filter", filter);
+                compare(ChangeDetectionModelType.RELATIVE_DIFFERENCE, config, SeriesModelsTests::relativeDifference);
+            }
+        }
+    }
+
+    @Test
+    public void testFixedThreshold() throws Exception {
+        for (boolean inclusive : new boolean[] { true, false }) {
+            ObjectNode config = JsonNodeFactory.instance.objectNode();
+            config.putObject("min").put("value", 97).put("enabled", true).put("inclusive", inclusive);
+            config.putObject("max").put("value", 105).put("enabled", true).put("inclusive", inclusive);
+            compare(ChangeDetectionModelType.FIXED_THRESHOLD, config, SeriesModelsTests::fixedThreshold);
+            config.with("min").put("enabled", false);
+            compare(ChangeDetectionModelType.FIXED_THRESHOLD, config, SeriesModelsTests::fixedThreshold);
+        }
+    }
+
+    private void compare(ChangeDetectionModelType type, JsonNode config, ListModel reference) throws Exception {
+        ChangeDetectionModel model = resolver.getModel(type);
+        SeriesChangeDetectionModel seriesModel = (SeriesChangeDetectionModel) model;
+        int capacity = seriesModel.recentDatapoints(config);
+        List<DataPointDAO> dataPoints = dataPoints(200);
+        List<String> expected = new ArrayList<>();
+        List<String> fromList = new ArrayList<>();
+        List<String> fromSeries = new ArrayList<>();
+        DataPointSeries series = null;
+        // datapoints arrive one by one; the list holds all of them, newest first
+        List<DataPointDAO> list = new ArrayList<>();
+        for (DataPointDAO dp : dataPoints) {
+            list.add(0, dp);
+            ChangeDAO change = reference.analyze(list, config);
+            if (change != null) {
+                expected.add(describe(change.dataset.id, change.timestamp, change.description));
+            }
+            model.analyze(list, config, c -> fromList.add(describe(c.dataset.id, c.timestamp, c.description)));
+
+            DataPointSeries.Builder builder = DataPointSeries.builder()
+                    .add(dp.id, dp.dataset.id, dp.dataset.run.id, dp.dataset.ordinal, dp.timestamp, dp.value);
+            series = series == null ? builder.build(new SummaryStatistics(), seriesModel.accumulators(config), capacity)
+                    : series.append(builder, capacity);
+            for (ChangePoint point : seriesModel.analyze(series, config)) {
+                fromSeries.add(describe(series.datasetId(point.index()), series.timestamp(point.index()), point.description()));
+            }
+        }
+        assertFalse(expected.isEmpty(), "No changes detected with " + config);
+        assertEquals(expected, fromList, "Config " + config);
+        assertEquals(expected, fromSeries, "Config " + config);
+    }
+
+    private static String describe(int datasetId, Instant timestamp, String description) {
+        return datasetId + "@" + timestamp + ": " + description;
+    }
+
+    private static List<DataPointDAO> dataPoints(int count) {
+        Random random = new Random(42);
+        VariableDAO variable = new VariableDAO();
+        variable.id = 1;
+        List<DataPointDAO> dataPoints = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            RunDAO run = new RunDAO();
+            run.id = 1000 + i;
+            DatasetDAO dataset = new DatasetDAO();
+            dataset.id = 2000 + i;
+            dataset.run = run;
+            dataset.ordinal = i % 2;
+            DataPointDAO dp = new DataPointDAO();
+            dp.id = 3000 + i;
+            dp.variable = variable;
+            dp.dataset = dataset;
+            dp.timestamp = Instant.ofEpochSecond(i);
+            // shift in the mean every 40 datapoints
+            dp.value = (i / 40 % 2 == 0 ? 100 : 108) + random.nextInt(9) - 4;
+            dataPoints.add(dp);
+        }
+        return dataPoints;
+    }
+
+    @FunctionalInterface
+    private interface ListModel {
+        ChangeDAO analyze(List<DataPointDAO> dataPoints, JsonNode config);
+    }
+
+    private static ChangeDAO relativeDifference(List<DataPointDAO> dataPoints, JsonNode config) {
+        int window = Math.max(1, config.path("window").asInt());
+        int minPrevious = Math.max(window, config.path("minPrevious").asInt());
+        double threshold = config.path("threshold").asDouble();
+        String filter = config.path("filter").asText();
+        if (dataPoints.size() < minPrevious + window) {
+            return null;
+        }
+        // oldest first, in the same order as the series adds the values
+        SummaryStatistics previousStats = new SummaryStatistics();
+        for (int i = dataPoints.size() - 1; i >= window; --i) {
+            previousStats.addValue(dataPoints.get(i).value);
+        }
+        double filteredValue = switch (filter) {
+            case "min" -> dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).min().getAsDouble();
+            case "max" -> dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).max().getAsDouble();
+            default -> {
+                SummaryStatistics windowStats = new SummaryStatistics();
+                dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).forEach(windowStats::addValue);
+                yield windowStats.getMean();
+            }
+        };
+        double ratio = filteredValue / previousStats.getMean();
+        if (ratio >= 1 - threshold && ratio <= 1 + threshold) {
+            return null;
+        }
+        DataPointDAO dp = null;
+        for (int i = window - 1; i >= 0; --i) {
+            dp = dataPoints.get(i);
+            if (ratio < 1 && dp.value < previousStats.getMean()) {
+                break;
+            } else if (ratio > 1 && dp.value > previousStats.getMean()) {
+                break;
+            }
+        }
+        ChangeDAO change = ChangeDAO.fromDatapoint(dp);
+        DataPointDAO prevDataPoint = dataPoints.get(window - 1);
+        DataPointDAO lastDataPoint = dataPoints.get(0);
+        change.description = String.format("Datasets %d/%d (%s) - %d/%d (%s): %s %f, previous mean %f (stddev %f), relative change %.2f%%",
+                prevDataPoint.dataset.run.id, prevDataPoint.dataset.ordinal, prevDataPoint.timestamp,
+                lastDataPoint.dataset.run.id, lastDataPoint.dataset.ordinal, lastDataPoint.timestamp,
+                filter, filteredValue, previousStats.getMean(), previousStats.getStandardDeviation(), 100 * (ratio - 1));
+        return change;
+    }
+
+    private static ChangeDAO fixedThreshold(List<DataPointDAO> dataPoints, JsonNode config) {
+        DataPointDAO dp = dataPoints.get(0);
+        JsonNode min = config.path("min");
+        JsonNode max = config.path("max");
+        String description = null;
+        if (min.path("enabled").asBoolean() && (dp.value < min.path("value").asDouble()
+                || (!min.path("inclusive").asBoolean() && dp.value <= min.path("value").asDouble()))) {
+            description = String.format("%f is below lower bound %f (%s)", dp.value, min.path("value").asDouble(),
+                    min.path("inclusive").asBoolean() ? "inclusive" : "exclusive");
+        } else if (max.path("enabled").asBoolean() && (dp.value > max.path("value").asDouble()
+                || (!max.path("inclusive").asBoolean() && dp.value >= max.path("value").asDouble()))) {
+            description = String.format("%f is above upper bound %f (%s)", dp.value, max.path("value").asDouble(),
+                    max.path("inclusive").asBoolean() ? "inclusive" : "exclusive");
+        }
+        if (description == null) {
+            return null;
+        }
+        ChangeDAO change = ChangeDAO.fromDatapoint(dp);
+        change.description = description;
+        return change;
+    }
+}
@@ -0,0 +1,72 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.PostgresResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.oidc.server.OidcWiremockTestResource;
+import jakarta.inject.Inject;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@QuarkusTestResource(PostgresResource.class)
+@QuarkusTestResource(OidcWiremockTestResource.class)
+@TestProfile(HorreumTestProfile.class)
+@Tag("CiTests")
+public class StreamingModelsTests {
+
+    @Inject
+    ChangeDetectionModelResolver resolver;
+
+    @Test
+    public void testCusum() throws Exception {
+        testShiftDetected(ChangeDetectionModelType.CUSUM);
+    }
+
+    @Test
+    public void testEwma() throws Exception {
+        testShiftDetected(ChangeDetectionModelType.EWMA);
+    }
+
+    private void testShiftDetected(ChangeDetectionModelType type) throws Exception {
+        SeriesChangeDetectionModel model = (SeriesChangeDetectionModel) resolver.getModel(type);
+        JsonNode config = JsonNodeFactory.instance.objectNode().setAll(resolver.getModel(type).config().defaults);
+        double[] values = new double[100];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = (i < 50 ? 100 : 110) + i % 5 - 2;
+        }
+        // datapoints arrive one by one and the series retains only the newest
+        DataPointSeries series = null;
+        int detected = -1;
+        for (int i = 0; i < values.length && detected < 0; ++i) {
+            DataPointSeries.Builder builder = DataPointSeries.builder().add(i, i, i, 0, Instant.ofEpochSecond(i), values[i]);
+            series = series == null ? builder.build(new SummaryStatistics(), model.accumulators(config), model.recentDatapoints(config))
+                    : series.append(builder, model.recentDatapoints(config));
+            List<ChangePoint> changePoints = model.analyze(series, config);
+            if (!changePoints.isEmpty()) {
+                assertEquals(0, changePoints.get(0).index());
+                detected = i;
+            }
+        }
+        assertTrue(detected >= 50 && detected < 55, "Detected at " + detected);
+
+        // the state does not depend on how the series was built
+        DataPointSeries.Builder builder = DataPointSeries.builder();
+        for (int i = detected; i >= 0; --i) {
+            builder.add(i, i, i, 0, Instant.ofEpochSecond(i), values[i]);
+        }
+        assertEquals(1, model.analyze(builder.build(new SummaryStatistics(), model.accumulators(config), values.length), config).size());
+        assertEquals(1, model.analyze(builder.build(new SummaryStatistics(), model.accumulators(config), 1), config).size());
+    }
+}
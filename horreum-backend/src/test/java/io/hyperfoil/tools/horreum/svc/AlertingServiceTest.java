@@ -4,6 +4,10 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -15,6 +19,7 @@ import io.hyperfoil.tools.horreum.api.data.Fingerprints;
 import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
 import io.hyperfoil.tools.horreum.changedetection.RelativeDifferenceChangeDetectionModel;
+import io.hyperfoil.tools.horreum.changedetection.SeriesStateCache;
 import io.restassured.common.mapper.TypeRef;
 import jakarta.inject.Inject;
 
@@ -44,6 +49,7 @@ import io.hyperfoil.tools.horreum.server.CloseMe;
 import io.hyperfoil.tools.horreum.server.RoleManager;
 import io.hyperfoil.tools.horreum.test.PostgresResource;
 import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.quarkus.arc.ClientProxy;
 import io.quarkus.arc.impl.ParameterizedTypeImpl;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusMock;
@@ -70,6 +76,9 @@ public class AlertingServiceTest extends BaseServiceTest {
    @Inject
    ServiceMediator serviceMediator;
 
+   @Inject
+   SeriesStateCache seriesStates;
+
    @org.junit.jupiter.api.Test
    public void testNotifications(TestInfo info) throws InterruptedException {
       Test test = createTest(createExampleTest(getTestName(info)));
@@ -382,6 +391,8 @@ public class AlertingServiceTest extends BaseServiceTest {
       Util.withTx(tm, () -> {
          try (@SuppressWarnings("unused") CloseMe h = roleManager.withRoles(SYSTEM_ROLES)) {
             MissingDataRuleDAO currentRule = MissingDataRuleDAO.findById(firstRuleId);
+            assertNotNull(currentRule.lastMatch);
+            assertEquals(DatasetDAO.<DatasetDAO>findById(firstEvent.datasetId).start, currentRule.lastMatch);
             assertNotNull(currentRule.lastNotification);
             assertTrue(currentRule.lastNotification.isAfter(Instant.ofEpochMilli(now - 1)));
             // remove the last notification
@@ -445,6 +456,46 @@ public class AlertingServiceTest extends BaseServiceTest {
       assertEquals(0, MissingDataRuleResultDAO.find("pk.ruleId", otherRuleId).count());
    }
 
+   @org.junit.jupiter.api.Test
+   public void testMissingRulesTrashedDatasetsRemoved(TestInfo info) throws InterruptedException {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      int ruleId = addMissingDataRule(test, "my rule", jsonArray("value"), "value => value > 2", 10000);
+
+      BlockingQueue<Dataset.EventNew> newDatasetQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
+      long now = System.currentTimeMillis();
+      uploadRun(now - 20000, runWithValue(3, schema), test.name);
+      Dataset.EventNew firstEvent = newDatasetQueue.poll(10, TimeUnit.SECONDS);
+      assertNotNull(firstEvent);
+      int secondRunId = uploadRun(now - 5000, runWithValue(3, schema), test.name);
+      Dataset.EventNew secondEvent = newDatasetQueue.poll(10, TimeUnit.SECONDS);
+      assertNotNull(secondEvent);
+      pollMissingDataRuleResultsByRule(ruleId, firstEvent.datasetId, secondEvent.datasetId);
+
+      // flag the run as trashed without going through the service; its dataset is left behind
+      Instant firstStart = Util.withTx(tm, () -> {
+         try (@SuppressWarnings("unused") CloseMe h = roleManager.withRoles(SYSTEM_ROLES)) {
+            assertEquals(DatasetDAO.<DatasetDAO>findById(secondEvent.datasetId).start, MissingDataRuleDAO.<MissingDataRuleDAO>findById(ruleId).lastMatch);
+            em.createNativeQuery("UPDATE run SET trashed = true WHERE id = ?1").setParameter(1, secondRunId).executeUpdate();
+            return DatasetDAO.<DatasetDAO>findById(firstEvent.datasetId).start;
+         }
+      });
+      em.clear();
+
+      // recalculation removes datasets of trashed runs along with the rule results
+      recalculateDatasets(test.id, true);
+      pollMissingDataRuleResultsByDataset(secondEvent.datasetId, 0);
+      // the dataset of the first run is recreated asynchronously
+      TestUtil.eventually(() -> Util.withTx(tm, () -> {
+         try (@SuppressWarnings("unused") CloseMe h = roleManager.withRoles(SYSTEM_ROLES)) {
+            em.clear();
+            assertNull(DatasetDAO.findById(secondEvent.datasetId));
+            assertEquals(firstStart, MissingDataRuleDAO.<MissingDataRuleDAO>findById(ruleId).lastMatch);
+            return null;
+         }
+      }));
+   }
+
    private void pollMissingDataRuleResultsByRule(int ruleId, int... datasetIds) throws InterruptedException {
       try (CloseMe h = roleManager.withRoles(SYSTEM_ROLES)) {
          for (int i = 0; i < 1000; ++i) {
@@ -789,6 +840,215 @@ public class AlertingServiceTest extends BaseServiceTest {
       assertNotEquals(-1, updatedChangeDetection.id);
    }
 
+   @org.junit.jupiter.api.Test
+   public void testRecalculationClaims(TestInfo info) throws Exception {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      // two claimers (e.g. two instances) race for the same recalculation
+      CountDownLatch ready = new CountDownLatch(2);
+      List<CompletableFuture<Boolean>> claims = new ArrayList<>();
+      for (int i = 0; i < 2; ++i) {
+         CompletableFuture<Boolean> claim = new CompletableFuture<>();
+         claims.add(claim);
+         new Thread(Util.wrapForBlockingExecution(() -> {
+            ready.countDown();
+            try {
+               ready.await();
+               claim.complete(alertingService.claimRecalculation(test.id));
+            } catch (Throwable t) {
+               claim.completeExceptionally(t);
+            }
+         })).start();
+      }
+      assertEquals(1, claims.stream().filter(claim -> claim.join()).count());
+      // claim in progress is not taken over
+      assertFalse(alertingService.claimRecalculation(test.id));
+
+      // claim without progress for longer than horreum.alerting.recalculation.abandoned-after is taken over
+      Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            return em.createNativeQuery("UPDATE datapoint_recalculation SET updated = now() - interval '1 hour' WHERE testid = ?1")
+                  .setParameter(1, test.id).executeUpdate();
+         }
+      });
+      assertTrue(alertingService.claimRecalculation(test.id));
+      assertFalse(alertingService.claimRecalculation(test.id));
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testSeriesLock() throws Exception {
+      int variableId = -4242;
+      // series without fingerprint use lock key "".hashCode()
+      int lockKey = 0;
+      CompletableFuture<Void> detection = Util.withTx(tm, () -> {
+         // another instance holds the lock of the series
+         em.createNativeQuery("SELECT count(*) FROM (SELECT pg_advisory_xact_lock(?1, ?2)) AS l")
+               .setParameter(1, variableId).setParameter(2, lockKey).getSingleResult();
+         CompletableFuture<Void> future = CompletableFuture.runAsync(Util.wrapForBlockingExecution(
+               () -> alertingService.tryRunChangeDetection(new int[] { variableId }, null, false, false)));
+         try {
+            future.get(500, TimeUnit.MILLISECONDS);
+            fail("Change detection should wait for the lock");
+         } catch (TimeoutException e) {
+            // expected
+         } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+         }
+         return future;
+      });
+      // the lock is released on commit
+      detection.get(10, TimeUnit.SECONDS);
+      // and change detection releases the lock when its transaction completes
+      assertTrue(Util.withTx(tm, () -> (Boolean) em.createNativeQuery("SELECT pg_try_advisory_xact_lock(?1, ?2)")
+            .setParameter(1, variableId).setParameter(2, lockKey).getSingleResult()));
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testIncrementalChangeDetection(TestInfo info) throws InterruptedException {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      addChangeDetectionVariable(test, schema.id);
+      int variableId = variables(test.id).get(0).id;
+      SeriesStateCache.Key key = new SeriesStateCache.Key(variableId, "");
+
+      BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW, test.id);
+      double[] values = new double[] { 1, 1, 1, 2, 2, 2, 2, 1, 1, 1, 3, 3, 3 };
+      long ts = System.currentTimeMillis();
+      for (int i = 0; i < values.length; ++i) {
+         uploadRun(ts + i, ts + i, runWithValue(values[i], schema), test.name);
+         assertValue(datapointQueue, values[i]);
+         // each datapoint is analyzed using the state of the series cached after the previous one
+         Instant timestamp = Instant.ofEpochMilli(ts + i);
+         TestUtil.eventually(() -> {
+            SeriesStateCache.State state = seriesStates.get(key);
+            assertNotNull(state);
+            assertEquals(timestamp, state.upTo());
+         });
+      }
+      List<String> incremental = changes(variableId);
+      assertFalse(incremental.isEmpty());
+
+      // full recomputation of the series without the cache finds the same changes
+      QuarkusMock.installMockForType(Mockito.mock(SeriesStateCache.class), SeriesStateCache.class);
+      recalculateDatapoints(test.id);
+      drainQueue(datapointQueue, values.length);
+      TestUtil.eventually(() -> assertEquals(incremental, changes(variableId)));
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testSeriesStateInvalidation(TestInfo info) throws InterruptedException {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      addChangeDetectionVariable(test, schema.id);
+      Variable variable = variables(test.id).get(0);
+      SeriesStateCache.Key key = new SeriesStateCache.Key(variable.id, "");
+
+      BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW, test.id);
+      long ts = System.currentTimeMillis();
+      uploadRun(ts, ts, runWithValue(1, schema), test.name);
+      assertValue(datapointQueue, 1);
+      int runId = uploadRun(ts + 1, ts + 1, runWithValue(1, schema), test.name);
+      assertValue(datapointQueue, 1);
+      TestUtil.eventually(() -> assertNotNull(seriesStates.get(key)));
+
+      // change of the model configuration
+      variable.changeDetection.iterator().next().config.put("threshold", 0.2);
+      updateVariables(test.id, List.of(variable));
+      assertNull(seriesStates.get(key));
+
+      uploadRun(ts + 2, ts + 2, runWithValue(1, schema), test.name);
+      assertValue(datapointQueue, 1);
+      TestUtil.eventually(() -> assertNotNull(seriesStates.get(key)));
+
+      // deleted datapoints
+      trashRun(runId, test.id);
+      TestUtil.eventually(() -> assertNull(seriesStates.get(key)));
+
+      uploadRun(ts + 3, ts + 3, runWithValue(1, schema), test.name);
+      assertValue(datapointQueue, 1);
+      TestUtil.eventually(() -> assertNotNull(seriesStates.get(key)));
+
+      // changed datapoints: the recalculation removes them before creating new ones
+      SeriesStateCache spy = Mockito.spy(ClientProxy.unwrap(seriesStates));
+      QuarkusMock.installMockForType(spy, SeriesStateCache.class);
+      recalculateDatapoints(test.id);
+      drainQueue(datapointQueue, 3);
+      Mockito.verify(spy, Mockito.atLeastOnce()).clear();
+      TestUtil.eventually(() -> {
+         SeriesStateCache.State state = seriesStates.get(key);
+         assertNotNull(state);
+         assertEquals(Instant.ofEpochMilli(ts + 3), state.upTo());
+      });
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testRecalculationPartitions(TestInfo info) throws InterruptedException {
+      Test test = createExampleTest(getTestName(info));
+      test.fingerprintLabels = jsonArray("config");
+      test = createTest(test);
+      Schema schema = createExampleSchema(info);
+      addLabel(schema, "config", null, new Extractor("config", "$.config", false));
+      addChangeDetectionVariable(test, 0.1, 1, schema.id);
+      int variableId = variables(test.id).get(0).id;
+
+      // more fingerprints than horreum.alerting.recalculation.parallelism, datasets of all fingerprints interleaved
+      String[] configs = new String[] { "a", "b", "c", "d", "e", "f" };
+      double[] values = new double[] { 1, 1, 1, 2 };
+      BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW, test.id);
+      List<Integer> lastRuns = new ArrayList<>();
+      long ts = System.currentTimeMillis();
+      for (int i = 0; i < values.length; ++i) {
+         for (int j = 0; j < configs.length; ++j) {
+            int runId = uploadRun(ts + i * configs.length + j, ts + i * configs.length + j, runWithValue(values[i], schema).put("config", configs[j]), test.name);
+            assertValue(datapointQueue, values[i]);
+            if (i == values.length - 1) {
+               lastRuns.add(runId);
+            }
+         }
+      }
+
+      jsonRequest().queryParam("test", test.id).queryParam("notify", false).queryParam("debug", false)
+            .post("/api/alerting/recalculate").then().statusCode(204);
+      List<Integer> percentages = new ArrayList<>();
+      AlertingService.DatapointRecalculationStatus status = null;
+      for (int i = 0; i < 500 && (status == null || !status.done); ++i) {
+         status = jsonRequest().queryParam("test", test.id).get("/api/alerting/recalculate")
+               .then().statusCode(200).extract().body().as(AlertingService.DatapointRecalculationStatus.class);
+         percentages.add(status.percentage);
+         Thread.sleep(20);
+      }
+      assertNotNull(status);
+      assertTrue(status.done);
+      assertEquals(values.length * configs.length, status.totalDatasets);
+      assertEquals(100, status.percentage);
+      // the progress of partitions finishing out of order does not go back
+      for (int i = 1; i < percentages.size(); ++i) {
+         assertTrue(percentages.get(i - 1) <= percentages.get(i), percentages.toString());
+      }
+      drainQueue(datapointQueue, values.length * configs.length);
+
+      // each fingerprint is recalculated in the order of datasets, finding the change at its last dataset
+      TestUtil.eventually(() -> Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            @SuppressWarnings("unchecked")
+            List<Integer> changedRuns = em.createNativeQuery("SELECT ds.runid FROM change c JOIN dataset ds ON ds.id = c.dataset_id WHERE c.variable_id = ?1 ORDER BY ds.runid")
+                  .setParameter(1, variableId).getResultList();
+            assertEquals(lastRuns, changedRuns);
+            return null;
+         }
+      }));
+   }
+
+   @SuppressWarnings("unchecked")
+   private List<String> changes(int variableId) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            List<Object[]> rows = em.createNativeQuery("SELECT dataset_id, timestamp FROM change WHERE variable_id = ?1 ORDER BY timestamp, dataset_id")
+                  .setParameter(1, variableId).getResultList();
+            return rows.stream().map(row -> row[0] + "@" + row[1]).collect(Collectors.toList());
+         }
+      });
+   }
+
    private void checkChanges(Test test) {
       List<ChangeDAO> list = ChangeDAO.list("variable.testId", test.id);
       assertEquals(Arrays.asList(1L, 4L, 6L, 7L, 9L),
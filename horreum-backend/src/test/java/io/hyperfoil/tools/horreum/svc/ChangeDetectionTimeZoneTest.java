@@ -0,0 +1,68 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.TestInfo;
+
+import io.hyperfoil.tools.horreum.api.alerting.Change;
+import io.hyperfoil.tools.horreum.api.alerting.DataPoint;
+import io.hyperfoil.tools.horreum.api.data.Schema;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.hyperfoil.tools.horreum.test.NonDefaultConfigTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NonDefaultConfigTestProfile.class)
+public class ChangeDetectionTimeZoneTest extends BaseServiceTest {
+
+   @org.junit.jupiter.api.Test
+   public void testChangeDetectionInNonUtcSession(TestInfo info) throws InterruptedException {
+      assertEquals("Asia/Kolkata", Util.withTx(tm, () -> em.createNativeQuery("SHOW TIME ZONE").getSingleResult()));
+
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      addChangeDetectionVariable(test, schema.id);
+      int variableId = variables(test.id).get(0).id;
+
+      BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW, test.id);
+      BlockingQueue<Change.Event> changeQueue = serviceMediator.getEventQueue(AsyncEventChannels.CHANGE_NEW, test.id);
+
+      long ts = System.currentTimeMillis();
+      double[] values = new double[] { 1, 1, 1, 1, 2 };
+      int lastRun = -1;
+      for (int i = 0; i < values.length; ++i) {
+         lastRun = uploadRun(ts + i, ts + i, runWithValue(values[i], schema), test.name);
+         assertValue(datapointQueue, values[i]);
+      }
+      Change.Event changeEvent = changeQueue.poll(10, TimeUnit.SECONDS);
+      assertNotNull(changeEvent);
+      assertEquals(lastRun, changeEvent.change.dataset.runId);
+      // datapoints are analyzed only once and the change is not detected again
+      assertNull(changeQueue.poll(500, TimeUnit.MILLISECONDS));
+
+      Instant last = Instant.ofEpochMilli(ts + values.length - 1);
+      TestUtil.eventually(() -> Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            Object[] progress = (Object[]) em.createNativeQuery(
+                  "SELECT EXTRACT(EPOCH FROM valid_up_to) * 1000, inclusive FROM change_detection_progress WHERE variable_id = ?1")
+                  .setParameter(1, variableId).getSingleResult();
+            assertEquals(last.toEpochMilli(), ((Number) progress[0]).longValue());
+            assertEquals(Boolean.TRUE, progress[1]);
+            assertEquals(1L, ((Number) em.createNativeQuery("SELECT count(*) FROM change WHERE variable_id = ?1")
+                  .setParameter(1, variableId).getSingleResult()).longValue());
+            return null;
+         }
+      }));
+   }
+}
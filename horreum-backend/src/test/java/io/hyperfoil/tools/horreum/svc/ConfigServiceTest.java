@@ -7,6 +7,7 @@ import io.hyperfoil.tools.horreum.api.data.datastore.Datastore;
 import io.hyperfoil.tools.horreum.api.data.datastore.ElasticsearchDatastoreConfig;
 import io.hyperfoil.tools.horreum.api.data.datastore.PostgresDatastoreConfig;
 import io.hyperfoil.tools.horreum.api.services.ConfigService;
+import io.hyperfoil.tools.horreum.server.CloseMe;
 import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
 import io.hyperfoil.tools.horreum.test.PostgresResource;
 import io.quarkus.test.common.QuarkusTestResource;
@@ -18,6 +19,7 @@ import jakarta.inject.Inject;
 import org.junit.Assert;
 import org.junit.jupiter.api.TestInfo;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +46,35 @@ public class ConfigServiceTest extends BaseServiceTest {
     }
 
 
+    @org.junit.jupiter.api.Test
+    public void listLeases() {
+        Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+                em.createNativeQuery("INSERT INTO scheduler_lease(name, holder, acquired, expires) VALUES ('test-job', 'other-instance', now(), now() + interval '1 hour')")
+                        .executeUpdate();
+                return null;
+            }
+        });
+        RestAssured.given().auth().oauth2(getTesterToken()).get("/api/config/leases").then().statusCode(403);
+        List<ConfigService.SchedulerLease> leases = RestAssured.given().auth().oauth2(getAdminToken())
+                .get("/api/config/leases")
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", ConfigService.SchedulerLease.class);
+        assertTrue(leases.stream().anyMatch(lease -> lease.name.equals("test-job") && lease.holder.equals("other-instance")));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void listQueues() {
+        RestAssured.given().auth().oauth2(getTesterToken()).get("/api/config/queues").then().statusCode(403);
+        List<ConfigService.QueueStats> queues = RestAssured.given().auth().oauth2(getAdminToken())
+                .get("/api/config/queues")
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", ConfigService.QueueStats.class);
+        assertTrue(queues.stream().anyMatch(queue -> queue.lane.equals("run-recalc") && queue.capacity > 0));
+    }
+
     @org.junit.jupiter.api.Test
     public void parseDynamicConfig(TestInfo testInfo) {
         String elasticDatastore = """
@@ -0,0 +1,43 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.TransactionManager;
+
+import io.hyperfoil.tools.horreum.server.RetryOnConflict;
+
+/**
+ * Operation failing on a conflict for the given number of attempts, used to test {@link RetryOnConflict}.
+ */
+@ApplicationScoped
+public class ConflictingOperation {
+   final AtomicInteger attempts = new AtomicInteger();
+   final AtomicInteger committed = new AtomicInteger();
+
+   @Inject
+   TransactionManager tm;
+
+   void reset() {
+      attempts.set(0);
+      committed.set(0);
+   }
+
+   @RetryOnConflict("test-conflict")
+   public void conflicting(int failures) {
+      int attempt = attempts.incrementAndGet();
+      Util.doAfterCommit(tm, committed::incrementAndGet);
+      if (attempt <= failures) {
+         throw new OptimisticLockException("Conflict in attempt " + attempt);
+      }
+   }
+
+   @RetryOnConflict("test-failure")
+   public void failing() {
+      attempts.incrementAndGet();
+      Util.doAfterCommit(tm, committed::incrementAndGet);
+      throw new IllegalStateException("Not a conflict");
+   }
+}
@@ -0,0 +1,113 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.TestInfo;
+
+import io.hyperfoil.tools.horreum.api.alerting.Variable;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(HorreumTestProfile.class)
+public class DataPointBatchTest extends BaseServiceTest {
+
+   @org.junit.jupiter.api.Test
+   public void testChunksAndStaleDatapoints(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      // the variables use a label that is not present in the dataset so the pipeline does not create any datapoints
+      List<Variable> variables = new ArrayList<>();
+      for (int i = 0; i < 5; ++i) {
+         Variable variable = new Variable();
+         variable.testId = test.id;
+         variable.name = "Variable " + i;
+         variable.labels = List.of("missing");
+         variable.changeDetection = Collections.emptySet();
+         variables.add(variable);
+      }
+      updateVariables(test.id, variables);
+      int[] variableIds = variables(test.id).stream().mapToInt(v -> v.id).sorted().toArray();
+      assertEquals(5, variableIds.length);
+
+      int runId = uploadRun(runWithValue(42), test.name);
+      TestUtil.eventually(() -> assertFalse(datasetIds(runId).isEmpty()));
+      int datasetId = datasetIds(runId).get(0);
+
+      // all values are written in chunks of 2 rows; the session time zone does not affect the timestamp
+      Instant timestamp = Instant.parse("2024-01-02T03:04:05.678Z");
+      Map<Integer, Integer> inserted = write(datasetId, timestamp, variableIds, new double[] { 0, 1, 2, 3, 4 });
+      assertEquals(5, inserted.size());
+      Map<Integer, String> expected = new TreeMap<>();
+      for (int i = 0; i < variableIds.length; ++i) {
+         expected.put(variableIds[i], inserted.get(variableIds[i]) + ":" + (double) i + "@" + timestamp.toEpochMilli());
+      }
+      assertEquals(expected, datapoints(datasetId));
+
+      // existing datapoints are updated in place, datapoints of variables without a value are deleted
+      Instant updatedTimestamp = timestamp.plusSeconds(60);
+      int[] remaining = new int[] { variableIds[0], variableIds[2], variableIds[4] };
+      Map<Integer, Integer> updated = write(datasetId, updatedTimestamp, remaining, new double[] { 10, 12, 14 });
+      assertEquals(3, updated.size());
+      expected.clear();
+      for (int i = 0; i < remaining.length; ++i) {
+         assertEquals(inserted.get(remaining[i]), updated.get(remaining[i]));
+         expected.put(remaining[i], updated.get(remaining[i]) + ":" + (10.0 + 2 * i) + "@" + updatedTimestamp.toEpochMilli());
+      }
+      assertEquals(expected, datapoints(datasetId));
+
+      // no values at all remove all datapoints of the dataset
+      assertEquals(0, write(datasetId, updatedTimestamp, new int[0], new double[0]).size());
+      assertEquals(Map.of(), datapoints(datasetId));
+   }
+
+   private Map<Integer, Integer> write(int datasetId, Instant timestamp, int[] variableIds, double[] values) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            em.createNativeQuery("SET LOCAL TIME ZONE 'America/New_York'").executeUpdate();
+            DataPointBatch batch = new DataPointBatch(datasetId, timestamp, 2);
+            for (int i = 0; i < variableIds.length; ++i) {
+               batch.add(variableIds[i], values[i]);
+            }
+            return batch.write(em.unwrap(Session.class));
+         }
+      });
+   }
+
+   @SuppressWarnings("unchecked")
+   private Map<Integer, String> datapoints(int datasetId) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            Map<Integer, String> datapoints = new TreeMap<>();
+            List<Object[]> rows = em.createNativeQuery(
+                  "SELECT variable_id, id, value, (EXTRACT(EPOCH FROM timestamp) * 1000)::::bigint FROM datapoint WHERE dataset_id = ?1")
+                  .setParameter(1, datasetId).getResultList();
+            for (Object[] row : rows) {
+               datapoints.put((Integer) row[0], row[1] + ":" + row[2] + "@" + row[3]);
+            }
+            return datapoints;
+         }
+      });
+   }
+
+   @SuppressWarnings("unchecked")
+   private List<Integer> datasetIds(int runId) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            return (List<Integer>) em.createNativeQuery("SELECT id FROM dataset WHERE runid = ?1").setParameter(1, runId).getResultList();
+         }
+      });
+   }
+}
@@ -0,0 +1,64 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.TestInfo;
+
+import io.hyperfoil.tools.horreum.api.alerting.Change;
+import io.hyperfoil.tools.horreum.api.data.Dataset;
+import io.hyperfoil.tools.horreum.api.data.Schema;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(HorreumTestProfile.class)
+public class EventAggregatorTest extends BaseServiceTest {
+   @Inject
+   EventAggregator aggregator;
+
+   @org.junit.jupiter.api.Test
+   public void testClockOffsetFromDatabase(TestInfo info) throws InterruptedException {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      BlockingQueue<Dataset.EventNew> datasets = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
+      uploadRun(runWithValue(1, schema), test.name);
+      Dataset.EventNew dataset = datasets.poll(10, TimeUnit.SECONDS);
+      assertNotNull(dataset);
+
+      // clock of the application is one hour ahead of the database
+      aggregator.setClock(Clock.offset(Clock.systemUTC(), Duration.ofHours(1)));
+      try {
+         Change change = new Change();
+         change.timestamp = Instant.now();
+         change.description = "Clock offset";
+         aggregator.onNewChange(new Change.Event(change, test.name, new Dataset.Info(dataset.datasetId, dataset.runId, 0, test.id), false));
+         // changes are claimed once the aggregation delay elapses, not when the database clock catches up
+         TestUtil.eventually(() -> pendingChanges(dataset.datasetId) == 0);
+      } finally {
+         aggregator.setClock(Clock.systemUTC());
+      }
+   }
+
+   private long pendingChanges(int datasetId) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            return ((Number) em.createNativeQuery("SELECT count(*) FROM dataset_changes_pending WHERE dataset_id = ?1")
+                  .setParameter(1, datasetId).getSingleResult()).longValue();
+         }
+      });
+   }
+}
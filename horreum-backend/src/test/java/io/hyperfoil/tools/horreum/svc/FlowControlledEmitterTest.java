@@ -0,0 +1,161 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.hyperfoil.tools.horreum.bus.FlowControlledEmitter;
+import io.hyperfoil.tools.horreum.bus.JobQueue;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(HorreumTestProfile.class)
+public class FlowControlledEmitterTest extends BaseServiceTest {
+   @Inject
+   JobQueue jobQueue;
+
+   @Inject
+   MeterRegistry registry;
+
+   @Test
+   public void testSpillWhenBufferIsFull() {
+      PendingEmitter<Integer> emitter = new PendingEmitter<>();
+      List<Integer> spilled = new CopyOnWriteArrayList<>();
+      FlowControlledEmitter<Integer> flowControlled = new FlowControlledEmitter<>("spill-full", emitter, 2,
+            Duration.ofMillis(100), spilled::add, registry);
+
+      flowControlled.send(1);
+      flowControlled.send(2);
+      assertEquals(2, flowControlled.buffered());
+      long start = System.nanoTime();
+      flowControlled.send(3);
+      // the sender waits for space up to the timeout
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+      assertEquals(List.of(1, 2), emitter.sent);
+      assertEquals(List.of(3), spilled);
+      assertEquals(1, flowControlled.spilled());
+
+      // acknowledged message frees space in the buffer
+      emitter.acks.get(0).complete(null);
+      assertEquals(1, flowControlled.buffered());
+      flowControlled.send(4);
+      assertEquals(List.of(1, 2, 4), emitter.sent);
+      assertEquals(List.of(3), spilled);
+
+      // failed delivery frees space as well
+      emitter.acks.get(1).completeExceptionally(new RuntimeException("Nacked"));
+      emitter.acks.get(2).complete(null);
+      assertEquals(0, flowControlled.buffered());
+   }
+
+   @Test
+   public void testSpillWhenEmitterFails() {
+      PendingEmitter<Integer> emitter = new PendingEmitter<>();
+      emitter.failure = new IllegalStateException("Emitter is closed");
+      List<Integer> spilled = new CopyOnWriteArrayList<>();
+      FlowControlledEmitter<Integer> flowControlled = new FlowControlledEmitter<>("spill-failure", emitter, 1,
+            Duration.ofMinutes(1), spilled::add, registry);
+
+      flowControlled.send(1);
+      flowControlled.send(2);
+      // the permit is released so the second message does not wait for the timeout
+      assertEquals(List.of(1, 2), spilled);
+      assertEquals(0, flowControlled.buffered());
+      assertEquals(2, flowControlled.spilled());
+   }
+
+   @Test
+   public void testSpilledMessagesAreProcessed(TestInfo info) {
+      io.hyperfoil.tools.horreum.api.data.Test test = createTest(createExampleTest(getTestName(info)));
+      int runId = uploadRun(runWithValue(42), test.name);
+      TestUtil.eventually(() -> assertFalse(datasetIds(runId).isEmpty()));
+      List<Integer> before = datasetIds(runId);
+
+      // with AMQP transport the database queue is still processed
+      PendingEmitter<Integer> emitter = new PendingEmitter<>();
+      FlowControlledEmitter<Integer> flowControlled = new FlowControlledEmitter<>("spill-processed", emitter, 0,
+            Duration.ZERO, payload -> jobQueue.enqueue("run-recalc", payload), registry);
+      flowControlled.send(runId);
+      assertEquals(1, flowControlled.spilled());
+      assertTrue(emitter.sent.isEmpty());
+
+      // the run is transformed again, creating new datasets
+      TestUtil.eventually(() -> {
+         List<Integer> after = datasetIds(runId);
+         assertFalse(after.isEmpty());
+         assertNotEquals(before, after);
+      });
+   }
+
+   @SuppressWarnings("unchecked")
+   private List<Integer> datasetIds(int runId) {
+      return Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            return (List<Integer>) em.createNativeQuery("SELECT id FROM dataset WHERE runid = ?1 ORDER BY id")
+                  .setParameter(1, runId).getResultList();
+         }
+      });
+   }
+
+   // Emitter holding the messages until they are acknowledged by the test
+   private static class PendingEmitter<T> implements Emitter<T> {
+      final List<T> sent = new CopyOnWriteArrayList<>();
+      final List<CompletableFuture<Void>> acks = new CopyOnWriteArrayList<>();
+      volatile RuntimeException failure;
+
+      @Override
+      public CompletionStage<Void> send(T msg) {
+         if (failure != null) {
+            throw failure;
+         }
+         sent.add(msg);
+         CompletableFuture<Void> ack = new CompletableFuture<>();
+         acks.add(ack);
+         return ack;
+      }
+
+      @Override
+      public <M extends Message<? extends T>> void send(M msg) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void complete() {
+      }
+
+      @Override
+      public void error(Exception e) {
+      }
+
+      @Override
+      public boolean isCancelled() {
+         return false;
+      }
+
+      @Override
+      public boolean hasRequests() {
+         return true;
+      }
+   }
+}
@@ -0,0 +1,107 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import jakarta.inject.Inject;
+
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.bus.JobQueue;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.PostgresQueueTestProfile;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(PostgresQueueTestProfile.class)
+public class JobQueueTest extends BaseServiceTest {
+   @Inject
+   JobQueue jobQueue;
+
+   @Inject
+   ServiceMediator mediator;
+
+   @Inject
+   MeterRegistry registry;
+
+   @org.junit.jupiter.api.Test
+   public void testSchemaSyncThroughJobQueue() {
+      String schemaUri = "urn:queued:schema";
+      Test test = createTest(createExampleTest("queued-test"));
+
+      ArrayNode data = JsonNodeFactory.instance.arrayNode();
+      data.addObject().put("$schema", schemaUri).put("foo", "bar");
+      int runId = uploadRun(data.toString(), test.name);
+      assertTrue(runId > 0);
+
+      // schema sync and run recalculation are processed from job_queue
+      createSchema("Queued schema", schemaUri);
+
+      TestUtil.eventually(() -> {
+         Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+               List<?> runSchemas = em.createNativeQuery("SELECT * FROM run_schemas WHERE runid = ?1").setParameter(1, runId).getResultList();
+               assertEquals(1, runSchemas.size());
+               assertEquals(0L, em.createNativeQuery("SELECT COUNT(*) FROM job_queue").getSingleResult());
+               assertEquals(0L, em.createNativeQuery("SELECT COUNT(*) FROM job_queue_dead").getSingleResult());
+               return null;
+            }
+         });
+      });
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testCoalescing() {
+      // no worker is registered for this channel so the jobs stay pending
+      String channel = "coalesce-test";
+      Duration window = Duration.ofMinutes(1);
+      assertTrue(jobQueue.enqueue(channel, "1", 1, window));
+      assertFalse(jobQueue.enqueue(channel, "1", 2, window));
+      assertTrue(jobQueue.enqueue(channel, "2", 3, window));
+
+      Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            @SuppressWarnings("unchecked")
+            List<String> payloads = em.createNativeQuery("SELECT payload::::text FROM job_queue WHERE channel = ?1 ORDER BY dedup_key")
+                  .setParameter(1, channel).getResultList();
+            assertEquals(List.of("2", "3"), payloads);
+            em.createNativeQuery("DELETE FROM job_queue WHERE channel = ?1").setParameter(1, channel).executeUpdate();
+            return null;
+         }
+      });
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testLaneDepthFromDatabase() {
+      // jobs inserted by another instance are not reflected in local counters, but are included in the depth
+      Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            em.createNativeQuery("INSERT INTO job_queue(channel, payload, run_at) VALUES ('schema-sync', '-1', now() + interval '1 hour'), ('schema-sync', '-2', now() + interval '1 hour')")
+                  .executeUpdate();
+            return null;
+         }
+      });
+      try {
+         mediator.refreshBacklog();
+         assertEquals(2, registry.get("horreum.lane.depth").tag("lane", "schema-sync").gauge().value());
+      } finally {
+         Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+               return em.createNativeQuery("DELETE FROM job_queue WHERE channel = 'schema-sync' AND payload::::text IN ('-1', '-2')").executeUpdate();
+            }
+         });
+      }
+      mediator.refreshBacklog();
+      assertEquals(0, registry.get("horreum.lane.depth").tag("lane", "schema-sync").gauge().value());
+   }
+}
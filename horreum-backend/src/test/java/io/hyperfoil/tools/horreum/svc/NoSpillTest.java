@@ -0,0 +1,20 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.hyperfoil.tools.horreum.test.NonDefaultConfigTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NonDefaultConfigTestProfile.class)
+public class NoSpillTest extends BaseServiceTest {
+
+   @Test
+   public void testJobQueueWorkersNotStarted() {
+      // with AMQP transport and spilling disabled nothing is ever stored in the database queue
+      assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().startsWith("horreum-jobs-")));
+   }
+}
@@ -0,0 +1,35 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.TestInfo;
+
+import io.hyperfoil.tools.horreum.api.data.Schema;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.api.services.TestService;
+import io.hyperfoil.tools.horreum.test.NonDefaultConfigTestProfile;
+import io.hyperfoil.tools.horreum.test.TestUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NonDefaultConfigTestProfile.class)
+public class RecalculationSchedulerTest extends BaseServiceTest {
+
+   @org.junit.jupiter.api.Test
+   public void testNextPartitionClaimedOnCompletion(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      for (int i = 0; i < 3; ++i) {
+         uploadRun(runWithValue(i, schema), test.name);
+      }
+      // with a single slot the partitions are processed one after another without waiting for the periodic check
+      jsonRequest().post("/api/test/" + test.id + "/recalculate").then().statusCode(204);
+      TestUtil.eventually(() -> {
+         TestService.RecalculationStatus status = jsonRequest().get("/api/test/" + test.id + "/recalculate")
+               .then().statusCode(200).extract().body().as(TestService.RecalculationStatus.class);
+         assertEquals(3, status.totalRuns);
+         return "FINISHED".equals(status.state) && status.finished == status.totalRuns;
+      });
+   }
+}
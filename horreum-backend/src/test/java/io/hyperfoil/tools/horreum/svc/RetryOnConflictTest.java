@@ -0,0 +1,78 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hyperfoil.tools.horreum.test.NonDefaultConfigTestProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NonDefaultConfigTestProfile.class)
+public class RetryOnConflictTest extends BaseServiceTest {
+   @Inject
+   ConflictingOperation operation;
+
+   @Inject
+   MeterRegistry registry;
+
+   @BeforeEach
+   public void resetOperation() {
+      operation.reset();
+   }
+
+   @Test
+   public void testRetryCommitsOnce() {
+      double invocations = count("horreum.tx.invocations", "test-conflict");
+      double conflicts = count("horreum.tx.conflicts", "test-conflict");
+      double exhausted = count("horreum.tx.conflicts.exhausted", "test-conflict");
+
+      operation.conflicting(3);
+      assertEquals(4, operation.attempts.get());
+      // the actions registered by the rolled back attempts are not performed
+      assertEquals(1, operation.committed.get());
+
+      assertEquals(invocations + 1, count("horreum.tx.invocations", "test-conflict"));
+      assertEquals(conflicts + 3, count("horreum.tx.conflicts", "test-conflict"));
+      assertEquals(exhausted, count("horreum.tx.conflicts.exhausted", "test-conflict"));
+   }
+
+   @Test
+   public void testRetriesExhausted() {
+      double conflicts = count("horreum.tx.conflicts", "test-conflict");
+      double exhausted = count("horreum.tx.conflicts.exhausted", "test-conflict");
+
+      long start = System.nanoTime();
+      assertThrows(OptimisticLockException.class, () -> operation.conflicting(Integer.MAX_VALUE));
+      // without the cap the backoff would exceed the initial 1 second on the first retry already
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+      assertEquals(10, operation.attempts.get());
+      assertEquals(0, operation.committed.get());
+
+      assertEquals(conflicts + 9, count("horreum.tx.conflicts", "test-conflict"));
+      assertEquals(exhausted + 1, count("horreum.tx.conflicts.exhausted", "test-conflict"));
+   }
+
+   @Test
+   public void testOtherFailuresAreNotRetried() {
+      assertThrows(IllegalStateException.class, () -> operation.failing());
+      assertEquals(1, operation.attempts.get());
+      assertEquals(0, operation.committed.get());
+      assertEquals(0, count("horreum.tx.conflicts", "test-failure"));
+   }
+
+   private double count(String name, String operation) {
+      var counter = registry.find(name).tag("operation", operation).counter();
+      return counter == null ? 0 : counter.count();
+   }
+}
@@ -0,0 +1,136 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestInstance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hyperfoil.tools.horreum.api.data.Access;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.api.data.datastore.Datastore;
+import io.hyperfoil.tools.horreum.api.data.datastore.DatastoreType;
+import io.hyperfoil.tools.horreum.api.data.datastore.ElasticsearchDatastoreConfig;
+import io.hyperfoil.tools.horreum.api.services.RunService;
+import io.hyperfoil.tools.horreum.test.ElasticsearchTestProfile;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+
+@QuarkusTest
+@TestProfile(ElasticsearchTestProfile.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RunImportTest extends BaseServiceTest {
+   @ConfigProperty(name = "quarkus.elasticsearch.hosts")
+   Optional<List<String>> hosts;
+
+   @ConfigProperty(name = "quarkus.elasticsearch.apiKey")
+   Optional<String> apiKey;
+
+   @Inject
+   ObjectMapper mapper;
+
+   @Inject
+   RestClient elasticRestClient;
+
+   @Inject
+   RunServiceImpl runService;
+
+   int importBatchSize;
+
+   @BeforeAll
+   public void uploadDocuments() throws IOException, InterruptedException {
+      // every document beyond the first one is imported in background; the setting is changed on the bean
+      // rather than through a test profile to share the Quarkus instance with the other Elasticsearch tests
+      RunServiceImpl impl = ClientProxy.unwrap(runService);
+      importBatchSize = impl.importBatchSize;
+      impl.importBatchSize = 1;
+      for (String resource : List.of("data/experiment-ds1.json", "data/experiment-ds2.json", "data/experiment-ds3.json", "data/config-quickstart.jvm.json")) {
+         JsonNode payload = mapper.readTree(resourceToString(resource));
+         Request request = new Request("PUT", "/tfb/_doc/" + payload.get("uid").textValue());
+         request.addParameter("refresh", "true");
+         request.setJsonEntity(payload.toString());
+         Response response = elasticRestClient.performRequest(request);
+         assertEquals(2, response.getStatusLine().getStatusCode() / 100);
+      }
+   }
+
+   @AfterAll
+   public void restoreBatchSize() {
+      ClientProxy.unwrap(runService).importBatchSize = importBatchSize;
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testBatchImport(TestInfo info) throws InterruptedException {
+      Datastore datastore = new Datastore();
+      datastore.name = getTestName(info);
+      datastore.type = DatastoreType.ELASTICSEARCH;
+      datastore.builtIn = false;
+      datastore.access = Access.PRIVATE;
+      datastore.owner = TESTER_ROLES[0];
+      ElasticsearchDatastoreConfig elasticConfig = new ElasticsearchDatastoreConfig();
+      elasticConfig.url = hosts.get().get(0);
+      elasticConfig.apiKey = apiKey.orElse("");
+      datastore.config = mapper.valueToTree(elasticConfig);
+      datastore.id = jsonRequest().body(mapper.valueToTree(datastore).toString()).post("/api/config/datastore")
+            .then().statusCode(200).extract().as(Integer.class);
+      Test test = createTest(createExampleTest(getTestName(info), datastore.id));
+
+      String payload = """
+            {
+               "index": "tfb",
+               "type": "SEARCH",
+               "query": { "query": { "bool": { "must": [ { "term": { "job": "dummy" } } ] } } }
+            }
+            """;
+      long now = System.currentTimeMillis();
+      io.restassured.response.Response response = RestAssured.given().auth().oauth2(getUploaderToken())
+            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+            .body(payload)
+            .post("/api/run/data?start=" + now + "&stop=" + now + "&test=" + test.name + "&owner=" + UPLOADER_ROLES[0] + "&access=" + Access.PUBLIC);
+      response.then().statusCode(202);
+      int importId = Integer.parseInt(response.asString());
+      assertEquals("/api/run/import/" + importId, URI.create(response.header(HttpHeaders.LOCATION)).getPath());
+
+      RunService.RunImportStatus status = null;
+      for (int i = 0; i < 100; ++i) {
+         status = jsonRequest().get("/api/run/import/" + importId).then().statusCode(200).extract().as(RunService.RunImportStatus.class);
+         if (status.done) {
+            break;
+         }
+         Thread.sleep(100);
+      }
+      if (status == null || !status.done) {
+         fail("Import did not finish: " + status);
+      }
+      assertEquals(test.id, status.testId);
+      assertEquals(4, status.total);
+      assertEquals(4, status.persisted);
+      assertEquals(0, status.failed);
+      assertEquals(4, status.runIds.size());
+      assertTrue(status.errors.isEmpty());
+      RunService.RunsSummary runs = jsonRequest().get("/api/run/list").then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(4, runs.runs.size());
+
+      jsonRequest().get("/api/run/import/" + (importId + 1000)).then().statusCode(404);
+   }
+}
@@ -0,0 +1,133 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.TestInfo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.hyperfoil.tools.horreum.api.data.Dataset;
+import io.hyperfoil.tools.horreum.api.data.Extractor;
+import io.hyperfoil.tools.horreum.api.data.QueryResult;
+import io.hyperfoil.tools.horreum.api.data.Schema;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.api.data.Transformer;
+import io.hyperfoil.tools.horreum.api.services.RunService;
+import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
+import io.hyperfoil.tools.horreum.payload.FilesystemPayloadStore;
+import io.hyperfoil.tools.horreum.payload.RunPayloadStorage;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.test.NonDefaultConfigTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NonDefaultConfigTestProfile.class)
+public class RunPayloadStorageTest extends BaseServiceTest {
+   @Inject
+   RunPayloadStorage payloadStorage;
+
+   @Inject
+   FilesystemPayloadStore payloadStore;
+
+   @org.junit.jupiter.api.Test
+   public void testExternalPayload(TestInfo info) throws Exception {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createSchema("Foo", "urn:foo");
+      Transformer transformer = createTransformer("ext", schema, "values => ({ sum: values.reduce((a, b) => a + b, 0) })", new Extractor("value", "$.samples[*].value", true));
+      addTransformer(test, transformer);
+
+      BlockingQueue<Dataset.EventNew> dsQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
+
+      ObjectNode data = JsonNodeFactory.instance.objectNode().put("$schema", schema.uri);
+      data.putArray("samples").addObject().put("value", 1).put("other", "x");
+      data.withArray("samples").addObject().put("value", 2).put("other", "y");
+      int runId = uploadRun(data, test.name);
+
+      // the database holds only a stub
+      Object[] row = Util.withTx(tm, () -> {
+         try (CloseMe ignored = roleManager.withRoles(Collections.singleton(Roles.HORREUM_SYSTEM))) {
+            return (Object[]) em.createNativeQuery("SELECT r.payload_ref, rp.data::::text FROM run r JOIN run_payload rp ON rp.runid = r.id WHERE r.id = ?1")
+                  .setParameter(1, runId).getSingleResult();
+         }
+      });
+      assertNotNull(row[0]);
+      assertEquals(JsonNodeFactory.instance.objectNode().put("$schema", schema.uri), Util.OBJECT_MAPPER.readTree((String) row[1]));
+
+      JsonNode retrieved = jsonRequest().get("/api/run/" + runId + "/data").then().statusCode(200).extract().body().as(JsonNode.class);
+      assertEquals(data, retrieved);
+
+      Dataset.EventNew event = dsQueue.poll(10, TimeUnit.SECONDS);
+      assertNotNull(event);
+      DatasetDAO dataset = DatasetDAO.findById(event.datasetId);
+      assertEquals(1, dataset.data.size());
+      assertEquals(3, dataset.data.get(0).path("sum").asInt());
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testQueryExternalPayload(TestInfo info) throws Exception {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createSchema("Foo", "urn:foo");
+      // both transformers read the payload staged once in the transaction
+      addTransformer(test, createTransformer("first", schema, null, new Extractor("value", "$.samples[0].value", false)),
+            createTransformer("second", schema, null, new Extractor("other", "$.samples[1].other", false)));
+
+      BlockingQueue<Dataset.EventNew> dsQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
+
+      ObjectNode data = JsonNodeFactory.instance.objectNode().put("$schema", schema.uri);
+      data.putArray("samples").addObject().put("value", 1).put("other", "x");
+      data.withArray("samples").addObject().put("value", 2).put("other", "y");
+      int runId = uploadRun(data, test.name);
+      Dataset.EventNew event = dsQueue.poll(10, TimeUnit.SECONDS);
+      assertNotNull(event);
+      DatasetDAO dataset = DatasetDAO.findById(event.datasetId);
+      assertEquals(2, dataset.data.size());
+
+      RunService.RunsSummary runs = jsonRequest().get("/api/run/list?query=$.samples[*] ? (@.other == \"y\")")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(1, runs.runs.size());
+      assertEquals(runId, runs.runs.get(0).id);
+      runs = jsonRequest().get("/api/run/list?query=$.samples[*] ? (@.other == \"z\")")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(0, runs.runs.size());
+
+      List<String> options = jsonRequest().get("/api/run/autocomplete?query=$.sam")
+            .then().statusCode(200).extract().body().jsonPath().getList(".", String.class);
+      assertTrue(options.contains("samples"), options.toString());
+
+      jsonRequest().get("/api/run/" + runId + "/data?schemaUri=urn:unknown").then().statusCode(404);
+      QueryResult result = jsonRequest().get("/api/sql/" + runId + "/queryrun?query=$.samples&uri=urn:unknown")
+            .then().statusCode(200).extract().as(QueryResult.class);
+      assertFalse(result.valid);
+      assertNotNull(result.reason);
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testPayloadRemovedOnRollback() throws Exception {
+      ObjectNode data = JsonNodeFactory.instance.objectNode().put("rollback", System.nanoTime());
+      String reference;
+      tm.begin();
+      try {
+         reference = payloadStorage.offload(data);
+         assertNotNull(reference);
+         assertTrue(payloadStore.exists(reference));
+      } finally {
+         tm.rollback();
+      }
+      // no run refers to the payload
+      assertFalse(payloadStore.exists(reference));
+   }
+}
@@ -826,6 +826,8 @@ public class RunServiceTest extends BaseServiceTest {
       BlockingQueue<Dataset.EventNew> dsQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
 
       int run1 = uploadRun(now, data, metadata, test.name);
+      assertEquals(metadata, getMetadata(run1, null));
+      assertEquals(metadata.get(0), getMetadata(run1, "urn:bar"));
 
       Dataset.EventNew event1 = dsQueue.poll(10, TimeUnit.SECONDS);
       assertNotNull(event1);
@@ -935,6 +937,40 @@ public class RunServiceTest extends BaseServiceTest {
       assertEquals(test.name, runs.runs.get(0).testname);
    }
 
+   @org.junit.jupiter.api.Test
+   public void testListAndQueryRunsWithPayload(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      long now = System.currentTimeMillis();
+      ArrayNode metadata = JsonNodeFactory.instance.arrayNode();
+      metadata.add(simpleObject("urn:bar", "bar", "yyy"));
+      uploadRun(now, simpleObject("urn:foo", "foo", "xxx"), metadata, test.name);
+      uploadRun(now + 1, simpleObject("urn:foo", "foo", "zzz"), test.name);
+
+      RunService.RunsSummary runs = jsonRequest().get("/api/run/list?limit=10&page=1")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(2, runs.runs.size());
+      // sorted by start, newest first
+      assertFalse(runs.runs.get(0).hasMetadata);
+      assertTrue(runs.runs.get(1).hasMetadata);
+
+      runs = jsonRequest().get("/api/run/list?limit=10&page=1&query=$.foo ? (@ == \"xxx\")")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(1, runs.runs.size());
+      assertTrue(runs.runs.get(0).hasMetadata);
+
+      runs = jsonRequest().get("/api/run/list?limit=10&page=1&query=foo")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(2, runs.runs.size());
+
+      runs = jsonRequest().get("/api/run/list?limit=10&page=1&query=nonexistent")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(0, runs.runs.size());
+
+      runs = jsonRequest().get("/api/run/list?limit=10&page=1&trashed=true&query=foo")
+            .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+      assertEquals(2, runs.runs.size());
+   }
+
    @org.junit.jupiter.api.Test
    public void testListAllRunsFromFiles() throws IOException {
       populateDataFromFiles();
@@ -1237,4 +1273,12 @@ public class RunServiceTest extends BaseServiceTest {
       }
       return request.get("/api/run/" + runId + "/data").then().extract().body().as(JsonNode.class);
    }
+
+   private JsonNode getMetadata(int runId, String schemaUri) {
+      RequestSpecification request = jsonRequest();
+      if (schemaUri != null) {
+         request = request.queryParam("schemaUri", schemaUri);
+      }
+      return request.get("/api/run/" + runId + "/metadata").then().statusCode(200).extract().body().as(JsonNode.class);
+   }
 }
@@ -128,6 +128,31 @@ class TestServiceTest extends BaseServiceTest {
       }
    }
 
+   @org.junit.jupiter.api.Test
+   public void testRecalculationControl(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Schema schema = createExampleSchema(info);
+      for (int i = 0; i < 3; ++i) {
+         uploadRun(runWithValue(i, schema), test.name);
+      }
+      // nothing to control before the first recalculation
+      jsonRequest().post("/api/test/" + test.id + "/recalculate/pause").then().statusCode(400);
+      jsonRequest().post("/api/test/" + test.id + "/recalculate/cancel").then().statusCode(400);
+
+      jsonRequest().post("/api/test/" + test.id + "/recalculate").then().statusCode(204);
+      jsonRequest().queryParam("runsPerMinute", 6000).post("/api/test/" + test.id + "/recalculate/throttle").then().statusCode(204);
+      TestUtil.eventually(() -> {
+         TestService.RecalculationStatus status = jsonRequest().get("/api/test/" + test.id + "/recalculate")
+               .then().statusCode(200).extract().body().as(TestService.RecalculationStatus.class);
+         assertEquals(3, status.totalRuns);
+         assertEquals(6000, status.throttle);
+         return "FINISHED".equals(status.state) && status.finished == status.totalRuns;
+      });
+      // finished recalculation cannot be resumed or cancelled
+      jsonRequest().post("/api/test/" + test.id + "/recalculate/resume").then().statusCode(400);
+      jsonRequest().post("/api/test/" + test.id + "/recalculate/cancel").then().statusCode(400);
+   }
+
    @org.junit.jupiter.api.Test
    public void testRecalculate(TestInfo info) throws InterruptedException {
       Test test = createTest(createExampleTest(getTestName(info)));
@@ -0,0 +1,90 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.OptionalDouble;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestInstance;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.hyperfoil.tools.horreum.api.data.Access;
+import io.hyperfoil.tools.horreum.api.data.Test;
+import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+
+@QuarkusTest
+@TestProfile(HorreumTestProfile.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class UploadAdmissionTest extends BaseServiceTest {
+   @Inject
+   UploadAdmission admission;
+
+   OptionalDouble testRate;
+
+   @BeforeAll
+   public void enableLimits() {
+      // the limits are changed on the bean rather than through a test profile to share the Quarkus instance
+      UploadAdmission impl = ClientProxy.unwrap(admission);
+      testRate = impl.testRate;
+      impl.testRate = OptionalDouble.of(2);
+      impl.init();
+   }
+
+   @AfterAll
+   public void disableLimits() {
+      UploadAdmission impl = ClientProxy.unwrap(admission);
+      impl.testRate = testRate;
+      impl.init();
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testRateLimitPerTest(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      Test other = createTest(createExampleTest(getTestName(info) + "-other"));
+      ObjectNode data = JsonNodeFactory.instance.objectNode().put("foo", "bar");
+
+      // the test is charged the same whether it is referenced by name or by id
+      uploadRun(data, test.name);
+      uploadRun(data, String.valueOf(test.id));
+      String retryAfter = RestAssured.given().auth().oauth2(getUploaderToken())
+            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+            .body(data)
+            .post("/api/run/data?start=1&stop=2&test=" + test.name + "&owner=" + UPLOADER_ROLES[0] + "&access=" + Access.PUBLIC)
+            .then()
+            .statusCode(429)
+            .extract().header(HttpHeaders.RETRY_AFTER);
+      assertNotNull(retryAfter);
+
+      // other tests are not affected
+      uploadRun(data, other.name);
+   }
+
+   @org.junit.jupiter.api.Test
+   public void testUnauthorizedUploadsAreNotCharged(TestInfo info) {
+      Test test = createTest(createExampleTest(getTestName(info)));
+      ObjectNode data = JsonNodeFactory.instance.objectNode().put("foo", "bar");
+
+      for (int i = 0; i < 3; ++i) {
+         RestAssured.given()
+               .header(HttpHeaders.CONTENT_TYPE, "application/json")
+               .body(data)
+               .post("/api/run/data?start=1&stop=2&test=" + test.name + "&owner=" + UPLOADER_ROLES[0] + "&access=" + Access.PUBLIC)
+               .then()
+               .statusCode(400);
+      }
+      // anonymous requests did not consume the budget of the uploader
+      uploadRun(data, test.name);
+      uploadRun(data, test.name);
+   }
+}
@@ -16,6 +16,8 @@ public class HorreumTestProfile implements QuarkusTestProfile {
             "smallrye.jwt.sign.key.location", "/privateKey.jwk",
             "horreum.url", "http://localhost:8081",
             "horreum.test-mode", "true",
+            // tests expect the recalculations to be processed without delay
+            "horreum.queue.coalesce.window", "PT0S",
             "horreum.privacy", "/path/to/privacy/statement/link");
    }
    @Override
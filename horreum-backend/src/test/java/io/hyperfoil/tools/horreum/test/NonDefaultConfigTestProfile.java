@@ -0,0 +1,34 @@
+package io.hyperfoil.tools.horreum.test;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings that differ from defaults are grouped in this profile so that their tests share one Quarkus instance.
+ * An override must not change the behavior other tests using this profile rely on.
+ */
+public class NonDefaultConfigTestProfile extends HorreumTestProfile {
+
+    @Override public Map<String, String> getConfigOverrides() {
+        Map<String, String> configOverrides = new HashMap<>(super.getConfigOverrides());
+        // all run payloads are stored externally
+        configOverrides.put("horreum.run.payload.external.threshold", "0");
+        configOverrides.put("horreum.run.payload.store.directory",
+              Path.of(System.getProperty("java.io.tmpdir"), "horreum-payloads").toString());
+        // recalculation of a test processes one partition at a time, each with a single run;
+        // the periodic check does not kick in during the test
+        configOverrides.put("horreum.recalculation.parallelism", "1");
+        configOverrides.put("horreum.recalculation.partition-size", "1");
+        configOverrides.put("horreum.recalculation.check", "1h");
+        // the initial retry backoff is above the cap so that the cap bounds all delays
+        configOverrides.put("horreum.retry.backoff", "PT1S");
+        configOverrides.put("horreum.retry.max-backoff", "PT0.05S");
+        // requests that do not fit into the AMQP emitters are not stored in the database queue
+        configOverrides.put("horreum.queue.emitter.spill", "false");
+        // timestamps must not depend on the time zone of the database session
+        configOverrides.put("quarkus.datasource.jdbc.new-connection-sql", "SET TIME ZONE 'Asia/Kolkata'");
+        return configOverrides;
+    }
+
+}
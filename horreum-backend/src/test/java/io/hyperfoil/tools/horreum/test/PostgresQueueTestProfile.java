@@ -0,0 +1,16 @@
+package io.hyperfoil.tools.horreum.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PostgresQueueTestProfile extends HorreumTestProfile {
+
+    @Override public Map<String, String> getConfigOverrides() {
+        Map<String, String> configOverrides = new HashMap<>(super.getConfigOverrides());
+        configOverrides.put("horreum.queue.transport", "postgres");
+        // coalescing enqueues jobs with the horreum.messagebus role
+        configOverrides.put("horreum.queue.coalesce.window", "PT0.5S");
+        return configOverrides;
+    }
+
+}
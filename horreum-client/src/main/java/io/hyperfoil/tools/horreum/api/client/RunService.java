@@ -8,6 +8,7 @@ import io.hyperfoil.tools.horreum.api.data.Run;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunsSummary;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunSummary;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunCount;
+import io.hyperfoil.tools.horreum.api.services.RunService.RunImportStatus;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
@@ -95,6 +96,10 @@ public interface RunService {
                          @QueryParam("description") String description,
                          JsonNode data);
 
+   @GET
+   @Path("import/{id}")
+   RunImportStatus getImportStatus(@PathParam("id") int id);
+
    @GET
    @Path("autocomplete")
    List<String> autocomplete(@QueryParam("query") String query);
@@ -0,0 +1,1126 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  Access,
+  ExportedLabelValues,
+  Run,
+  RunCount,
+  RunExtended,
+  RunImportStatus,
+  RunSummary,
+  RunsSummary,
+  SortDirection,
+} from '../models/index';
+import {
+    AccessFromJSON,
+    AccessToJSON,
+    ExportedLabelValuesFromJSON,
+    ExportedLabelValuesToJSON,
+    RunFromJSON,
+    RunToJSON,
+    RunCountFromJSON,
+    RunCountToJSON,
+    RunExtendedFromJSON,
+    RunExtendedToJSON,
+    RunImportStatusFromJSON,
+    RunImportStatusToJSON,
+    RunSummaryFromJSON,
+    RunSummaryToJSON,
+    RunsSummaryFromJSON,
+    RunsSummaryToJSON,
+    SortDirectionFromJSON,
+    SortDirectionToJSON,
+} from '../models/index';
+
+export interface RunApiAddRequest {
+    run: Run;
+    test?: string;
+    owner?: string;
+    access?: Access;
+    token?: string;
+}
+
+export interface RunApiAddRunFromDataRequest {
+    start: string;
+    stop: string;
+    test: string;
+    owner?: string;
+    access?: Access;
+    token?: string;
+    schema?: string;
+    description?: string;
+    body?: string;
+}
+
+export interface RunApiAutocompleteRequest {
+    query: string;
+}
+
+export interface RunApiDropTokenRequest {
+    id: number;
+}
+
+export interface RunApiGetDataRequest {
+    id: number;
+    token?: string;
+    schemaUri?: string;
+}
+
+export interface RunApiGetImportStatusRequest {
+    id: number;
+}
+
+export interface RunApiGetMetadataRequest {
+    id: number;
+    token?: string;
+    schemaUri?: string;
+}
+
+export interface RunApiGetRunRequest {
+    id: number;
+    token?: string;
+}
+
+export interface RunApiGetRunSummaryRequest {
+    id: number;
+    token?: string;
+}
+
+export interface RunApiLabelValuesRequest {
+    id: number;
+    filter?: string;
+    sort?: string;
+    direction?: string;
+    limit?: number;
+    page?: number;
+    include?: Array<string>;
+    exclude?: Array<string>;
+    multiFilter?: boolean;
+}
+
+export interface RunApiListAllRunsRequest {
+    query?: string;
+    matchAll?: boolean;
+    roles?: string;
+    trashed?: boolean;
+    limit?: number;
+    page?: number;
+    sort?: string;
+    direction?: SortDirection;
+}
+
+export interface RunApiListBySchemaRequest {
+    uri: string;
+    limit?: number;
+    page?: number;
+    sort?: string;
+    direction?: SortDirection;
+}
+
+export interface RunApiListTestRunsRequest {
+    testId: number;
+    trashed?: boolean;
+    limit?: number;
+    page?: number;
+    sort?: string;
+    direction?: SortDirection;
+}
+
+export interface RunApiRecalculateAllRequest {
+    from?: string;
+    to?: string;
+}
+
+export interface RunApiRecalculateDatasetsRequest {
+    id: number;
+}
+
+export interface RunApiResetTokenRequest {
+    id: number;
+}
+
+export interface RunApiRunCountRequest {
+    testId: number;
+}
+
+export interface RunApiTrashRequest {
+    id: number;
+    isTrashed?: boolean;
+}
+
+export interface RunApiUpdateAccessRequest {
+    id: number;
+    owner: string;
+    access: Access;
+}
+
+export interface RunApiUpdateDescriptionRequest {
+    id: number;
+    body: string;
+}
+
+export interface RunApiUpdateSchemaRequest {
+    id: number;
+    path?: string;
+    body?: string;
+}
+
+/**
+ * 
+ */
+export class RunApi extends runtime.BaseAPI {
+
+    /**
+     * Upload a new Run
+     */
+    async addRaw(requestParameters: RunApiAddRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['run'] == null) {
+            throw new runtime.RequiredError(
+                'run',
+                'Required parameter "run" was null or undefined when calling add().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['test'] != null) {
+            queryParameters['test'] = requestParameters['test'];
+        }
+
+        if (requestParameters['owner'] != null) {
+            queryParameters['owner'] = requestParameters['owner'];
+        }
+
+        if (requestParameters['access'] != null) {
+            queryParameters['access'] = requestParameters['access'];
+        }
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/run/test`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: RunToJSON(requestParameters['run']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Upload a new Run
+     */
+    async add(run: Run, test?: string, owner?: string, access?: Access, token?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.addRaw({ run: run, test: test, owner: owner, access: access, token: token }, initOverrides);
+    }
+
+    /**
+     * Upload a new Run
+     */
+    async addRunFromDataRaw(requestParameters: RunApiAddRunFromDataRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['start'] == null) {
+            throw new runtime.RequiredError(
+                'start',
+                'Required parameter "start" was null or undefined when calling addRunFromData().'
+            );
+        }
+
+        if (requestParameters['stop'] == null) {
+            throw new runtime.RequiredError(
+                'stop',
+                'Required parameter "stop" was null or undefined when calling addRunFromData().'
+            );
+        }
+
+        if (requestParameters['test'] == null) {
+            throw new runtime.RequiredError(
+                'test',
+                'Required parameter "test" was null or undefined when calling addRunFromData().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['start'] != null) {
+            queryParameters['start'] = requestParameters['start'];
+        }
+
+        if (requestParameters['stop'] != null) {
+            queryParameters['stop'] = requestParameters['stop'];
+        }
+
+        if (requestParameters['test'] != null) {
+            queryParameters['test'] = requestParameters['test'];
+        }
+
+        if (requestParameters['owner'] != null) {
+            queryParameters['owner'] = requestParameters['owner'];
+        }
+
+        if (requestParameters['access'] != null) {
+            queryParameters['access'] = requestParameters['access'];
+        }
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        if (requestParameters['schema'] != null) {
+            queryParameters['schema'] = requestParameters['schema'];
+        }
+
+        if (requestParameters['description'] != null) {
+            queryParameters['description'] = requestParameters['description'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/run/data`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Upload a new Run
+     */
+    async addRunFromData(start: string, stop: string, test: string, owner?: string, access?: Access, token?: string, schema?: string, description?: string, body?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.addRunFromDataRaw({ start: start, stop: stop, test: test, owner: owner, access: access, token: token, schema: schema, description: description, body: body }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async autocompleteRaw(requestParameters: RunApiAutocompleteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        if (requestParameters['query'] == null) {
+            throw new runtime.RequiredError(
+                'query',
+                'Required parameter "query" was null or undefined when calling autocomplete().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/autocomplete`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async autocomplete(query: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.autocompleteRaw({ query: query }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Remove access token for Run
+     */
+    async dropTokenRaw(requestParameters: RunApiDropTokenRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling dropToken().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/dropToken`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Remove access token for Run
+     */
+    async dropToken(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.dropTokenRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get Run data by Run ID
+     */
+    async getDataRaw(requestParameters: RunApiGetDataRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<object>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getData().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        if (requestParameters['schemaUri'] != null) {
+            queryParameters['schemaUri'] = requestParameters['schemaUri'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/data`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get Run data by Run ID
+     */
+    async getData(id: number, token?: string, schemaUri?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<object> {
+        const response = await this.getDataRaw({ id: id, token: token, schemaUri: schemaUri }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get progress of an import of multiple Runs returned by a datastore
+     */
+    async getImportStatusRaw(requestParameters: RunApiGetImportStatusRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunImportStatus>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getImportStatus().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/import/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunImportStatusFromJSON(jsonValue));
+    }
+
+    /**
+     * Get progress of an import of multiple Runs returned by a datastore
+     */
+    async getImportStatus(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunImportStatus> {
+        const response = await this.getImportStatusRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get Run  meta data by Run ID
+     */
+    async getMetadataRaw(requestParameters: RunApiGetMetadataRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<object>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getMetadata().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        if (requestParameters['schemaUri'] != null) {
+            queryParameters['schemaUri'] = requestParameters['schemaUri'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/metadata`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get Run  meta data by Run ID
+     */
+    async getMetadata(id: number, token?: string, schemaUri?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<object> {
+        const response = await this.getMetadataRaw({ id: id, token: token, schemaUri: schemaUri }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get extended Run information by Run ID
+     */
+    async getRunRaw(requestParameters: RunApiGetRunRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunExtended>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getRun().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunExtendedFromJSON(jsonValue));
+    }
+
+    /**
+     * Get extended Run information by Run ID
+     */
+    async getRun(id: number, token?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunExtended> {
+        const response = await this.getRunRaw({ id: id, token: token }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get Run Summary information by Run ID
+     */
+    async getRunSummaryRaw(requestParameters: RunApiGetRunSummaryRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunSummary>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getRunSummary().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['token'] != null) {
+            queryParameters['token'] = requestParameters['token'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/summary`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunSummaryFromJSON(jsonValue));
+    }
+
+    /**
+     * Get Run Summary information by Run ID
+     */
+    async getRunSummary(id: number, token?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunSummary> {
+        const response = await this.getRunSummaryRaw({ id: id, token: token }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get all the label values for the run
+     */
+    async labelValuesRaw(requestParameters: RunApiLabelValuesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<ExportedLabelValues>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling labelValues().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['filter'] != null) {
+            queryParameters['filter'] = requestParameters['filter'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['include'] != null) {
+            queryParameters['include'] = requestParameters['include'];
+        }
+
+        if (requestParameters['exclude'] != null) {
+            queryParameters['exclude'] = requestParameters['exclude'];
+        }
+
+        if (requestParameters['multiFilter'] != null) {
+            queryParameters['multiFilter'] = requestParameters['multiFilter'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/labelValues`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ExportedLabelValuesFromJSON));
+    }
+
+    /**
+     * Get all the label values for the run
+     */
+    async labelValues(id: number, filter?: string, sort?: string, direction?: string, limit?: number, page?: number, include?: Array<string>, exclude?: Array<string>, multiFilter?: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<ExportedLabelValues>> {
+        const response = await this.labelValuesRaw({ id: id, filter: filter, sort: sort, direction: direction, limit: limit, page: page, include: include, exclude: exclude, multiFilter: multiFilter }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count
+     */
+    async listAllRunsRaw(requestParameters: RunApiListAllRunsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunsSummary>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        if (requestParameters['matchAll'] != null) {
+            queryParameters['matchAll'] = requestParameters['matchAll'];
+        }
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        if (requestParameters['trashed'] != null) {
+            queryParameters['trashed'] = requestParameters['trashed'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/list`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunsSummaryFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count
+     */
+    async listAllRuns(query?: string, matchAll?: boolean, roles?: string, trashed?: boolean, limit?: number, page?: number, sort?: string, direction?: SortDirection, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunsSummary> {
+        const response = await this.listAllRunsRaw({ query: query, matchAll: matchAll, roles: roles, trashed: trashed, limit: limit, page: page, sort: sort, direction: direction }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count for a given Schema URI
+     */
+    async listBySchemaRaw(requestParameters: RunApiListBySchemaRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunsSummary>> {
+        if (requestParameters['uri'] == null) {
+            throw new runtime.RequiredError(
+                'uri',
+                'Required parameter "uri" was null or undefined when calling listBySchema().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['uri'] != null) {
+            queryParameters['uri'] = requestParameters['uri'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/bySchema`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunsSummaryFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count for a given Schema URI
+     */
+    async listBySchema(uri: string, limit?: number, page?: number, sort?: string, direction?: SortDirection, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunsSummary> {
+        const response = await this.listBySchemaRaw({ uri: uri, limit: limit, page: page, sort: sort, direction: direction }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count for a given Test ID
+     */
+    async listTestRunsRaw(requestParameters: RunApiListTestRunsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunsSummary>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling listTestRuns().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['trashed'] != null) {
+            queryParameters['trashed'] = requestParameters['trashed'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/list/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunsSummaryFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a paginated list of Runs with available count for a given Test ID
+     */
+    async listTestRuns(testId: number, trashed?: boolean, limit?: number, page?: number, sort?: string, direction?: SortDirection, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunsSummary> {
+        const response = await this.listTestRunsRaw({ testId: testId, trashed: trashed, limit: limit, page: page, sort: sort, direction: direction }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Recalculate Datasets for Runs between two dates
+     */
+    async recalculateAllRaw(requestParameters: RunApiRecalculateAllRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['from'] != null) {
+            queryParameters['from'] = requestParameters['from'];
+        }
+
+        if (requestParameters['to'] != null) {
+            queryParameters['to'] = requestParameters['to'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/recalculateAll`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Recalculate Datasets for Runs between two dates
+     */
+    async recalculateAll(from?: string, to?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.recalculateAllRaw({ from: from, to: to }, initOverrides);
+    }
+
+    /**
+     * Recalculate Datasets for Run
+     */
+    async recalculateDatasetsRaw(requestParameters: RunApiRecalculateDatasetsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<number>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling recalculateDatasets().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/recalculate`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Recalculate Datasets for Run
+     */
+    async recalculateDatasets(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<number>> {
+        const response = await this.recalculateDatasetsRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Regenerate access token for Run
+     */
+    async resetTokenRaw(requestParameters: RunApiResetTokenRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling resetToken().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/resetToken`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Regenerate access token for Run
+     */
+    async resetToken(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.resetTokenRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Run count summary for given Test ID
+     */
+    async runCountRaw(requestParameters: RunApiRunCountRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RunCount>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling runCount().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['testId'] != null) {
+            queryParameters['testId'] = requestParameters['testId'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/count`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RunCountFromJSON(jsonValue));
+    }
+
+    /**
+     * Run count summary for given Test ID
+     */
+    async runCount(testId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RunCount> {
+        const response = await this.runCountRaw({ testId: testId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Trash a Run with a given ID
+     */
+    async trashRaw(requestParameters: RunApiTrashRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling trash().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['isTrashed'] != null) {
+            queryParameters['isTrashed'] = requestParameters['isTrashed'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/trash`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Trash a Run with a given ID
+     */
+    async trash(id: number, isTrashed?: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.trashRaw({ id: id, isTrashed: isTrashed }, initOverrides);
+    }
+
+    /**
+     * Update the Access configuration for a Run
+     */
+    async updateAccessRaw(requestParameters: RunApiUpdateAccessRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['owner'] == null) {
+            throw new runtime.RequiredError(
+                'owner',
+                'Required parameter "owner" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['access'] == null) {
+            throw new runtime.RequiredError(
+                'access',
+                'Required parameter "access" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['owner'] != null) {
+            queryParameters['owner'] = requestParameters['owner'];
+        }
+
+        if (requestParameters['access'] != null) {
+            queryParameters['access'] = requestParameters['access'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/run/{id}/updateAccess`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update the Access configuration for a Run
+     */
+    async updateAccess(id: number, owner: string, access: Access, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateAccessRaw({ id: id, owner: owner, access: access }, initOverrides);
+    }
+
+    /**
+     * Update Run description
+     */
+    async updateDescriptionRaw(requestParameters: RunApiUpdateDescriptionRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateDescription().'
+            );
+        }
+
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling updateDescription().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/run/{id}/description`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update Run description
+     */
+    async updateDescription(id: number, body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateDescriptionRaw({ id: id, body: body }, initOverrides);
+    }
+
+    /**
+     * Update Run schema for part of JSON data
+     */
+    async updateSchemaRaw(requestParameters: RunApiUpdateSchemaRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<{ [key: string]: string; }>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateSchema().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['path'] != null) {
+            queryParameters['path'] = requestParameters['path'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/run/{id}/schema`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Update Run schema for part of JSON data
+     */
+    async updateSchema(id: number, path?: string, body?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<{ [key: string]: string; }> {
+        const response = await this.updateSchemaRaw({ id: id, path: path, body: body }, initOverrides);
+        return await response.value();
+    }
+
+}
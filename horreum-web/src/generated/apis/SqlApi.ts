@@ -0,0 +1,224 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  JsonpathValidation,
+  QueryResult,
+} from '../models/index';
+import {
+    JsonpathValidationFromJSON,
+    JsonpathValidationToJSON,
+    QueryResultFromJSON,
+    QueryResultToJSON,
+} from '../models/index';
+
+export interface SqlApiQueryDatasetDataRequest {
+    id: number;
+    query: string;
+    array?: boolean;
+    schemaUri?: string;
+}
+
+export interface SqlApiQueryRunDataRequest {
+    id: number;
+    query: string;
+    array?: boolean;
+    uri?: string;
+}
+
+export interface SqlApiRolesRequest {
+    system?: boolean;
+}
+
+export interface SqlApiTestJsonPathRequest {
+    testjsonpath: string;
+}
+
+/**
+ * 
+ */
+export class SqlApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async queryDatasetDataRaw(requestParameters: SqlApiQueryDatasetDataRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<QueryResult>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling queryDatasetData().'
+            );
+        }
+
+        if (requestParameters['query'] == null) {
+            throw new runtime.RequiredError(
+                'query',
+                'Required parameter "query" was null or undefined when calling queryDatasetData().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['array'] != null) {
+            queryParameters['array'] = requestParameters['array'];
+        }
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        if (requestParameters['schemaUri'] != null) {
+            queryParameters['schemaUri'] = requestParameters['schemaUri'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/sql/{id}/querydataset`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => QueryResultFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async queryDatasetData(id: number, query: string, array?: boolean, schemaUri?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<QueryResult> {
+        const response = await this.queryDatasetDataRaw({ id: id, query: query, array: array, schemaUri: schemaUri }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async queryRunDataRaw(requestParameters: SqlApiQueryRunDataRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<QueryResult>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling queryRunData().'
+            );
+        }
+
+        if (requestParameters['query'] == null) {
+            throw new runtime.RequiredError(
+                'query',
+                'Required parameter "query" was null or undefined when calling queryRunData().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['array'] != null) {
+            queryParameters['array'] = requestParameters['array'];
+        }
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        if (requestParameters['uri'] != null) {
+            queryParameters['uri'] = requestParameters['uri'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/sql/{id}/queryrun`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => QueryResultFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async queryRunData(id: number, query: string, array?: boolean, uri?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<QueryResult> {
+        const response = await this.queryRunDataRaw({ id: id, query: query, array: array, uri: uri }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async rolesRaw(requestParameters: SqlApiRolesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['system'] != null) {
+            queryParameters['system'] = requestParameters['system'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/sql/roles`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     */
+    async roles(system?: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.rolesRaw({ system: system }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Test a JSONPath for syntax errors using database
+     */
+    async testJsonPathRaw(requestParameters: SqlApiTestJsonPathRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<JsonpathValidation>> {
+        if (requestParameters['testjsonpath'] == null) {
+            throw new runtime.RequiredError(
+                'testjsonpath',
+                'Required parameter "testjsonpath" was null or undefined when calling testJsonPath().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['testjsonpath'] != null) {
+            queryParameters['testjsonpath'] = requestParameters['testjsonpath'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/sql/testjsonpath`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => JsonpathValidationFromJSON(jsonValue));
+    }
+
+    /**
+     * Test a JSONPath for syntax errors using database
+     */
+    async testJsonPath(testjsonpath: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<JsonpathValidation> {
+        const response = await this.testJsonPathRaw({ testjsonpath: testjsonpath }, initOverrides);
+        return await response.value();
+    }
+
+}
@@ -0,0 +1,202 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  Watch,
+} from '../models/index';
+import {
+    WatchFromJSON,
+    WatchToJSON,
+} from '../models/index';
+
+export interface SubscriptionsApiAddUserOrTeamRequest {
+    testid: number;
+    body: string;
+}
+
+export interface SubscriptionsApiGetRequest {
+    testId: number;
+}
+
+export interface SubscriptionsApiRemoveUserOrTeamRequest {
+    testid: number;
+    body: string;
+}
+
+export interface SubscriptionsApiUpdateRequest {
+    testid: number;
+    watch: Watch;
+}
+
+/**
+ * 
+ */
+export class SubscriptionsApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async addUserOrTeamRaw(requestParameters: SubscriptionsApiAddUserOrTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        if (requestParameters['testid'] == null) {
+            throw new runtime.RequiredError(
+                'testid',
+                'Required parameter "testid" was null or undefined when calling addUserOrTeam().'
+            );
+        }
+
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling addUserOrTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/subscriptions/{testid}/add`.replace(`{${"testid"}}`, encodeURIComponent(String(requestParameters['testid']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async addUserOrTeam(testid: number, body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.addUserOrTeamRaw({ testid: testid, body: body }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getRaw(requestParameters: SubscriptionsApiGetRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Watch>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling get().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/subscriptions/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => WatchFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async get(testId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Watch> {
+        const response = await this.getRaw({ testId: testId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async removeUserOrTeamRaw(requestParameters: SubscriptionsApiRemoveUserOrTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        if (requestParameters['testid'] == null) {
+            throw new runtime.RequiredError(
+                'testid',
+                'Required parameter "testid" was null or undefined when calling removeUserOrTeam().'
+            );
+        }
+
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling removeUserOrTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/subscriptions/{testid}/remove`.replace(`{${"testid"}}`, encodeURIComponent(String(requestParameters['testid']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async removeUserOrTeam(testid: number, body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.removeUserOrTeamRaw({ testid: testid, body: body }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateRaw(requestParameters: SubscriptionsApiUpdateRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['testid'] == null) {
+            throw new runtime.RequiredError(
+                'testid',
+                'Required parameter "testid" was null or undefined when calling update().'
+            );
+        }
+
+        if (requestParameters['watch'] == null) {
+            throw new runtime.RequiredError(
+                'watch',
+                'Required parameter "watch" was null or undefined when calling update().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/subscriptions/{testid}`.replace(`{${"testid"}}`, encodeURIComponent(String(requestParameters['testid']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: WatchToJSON(requestParameters['watch']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async update(testid: number, watch: Watch, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateRaw({ testid: testid, watch: watch }, initOverrides);
+    }
+
+}
@@ -0,0 +1,182 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  View,
+} from '../models/index';
+import {
+    ViewFromJSON,
+    ViewToJSON,
+} from '../models/index';
+
+export interface UiApiCreateViewsRequest {
+    view: Array<View>;
+}
+
+export interface UiApiDeleteViewRequest {
+    testId: number;
+    viewId: number;
+}
+
+export interface UiApiGetViewsRequest {
+    testId: number;
+}
+
+export interface UiApiUpdateViewRequest {
+    view: View;
+}
+
+/**
+ * 
+ */
+export class UiApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async createViewsRaw(requestParameters: UiApiCreateViewsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['view'] == null) {
+            throw new runtime.RequiredError(
+                'view',
+                'Required parameter "view" was null or undefined when calling createViews().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/ui/views`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['view']!.map(ViewToJSON),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async createViews(view: Array<View>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.createViewsRaw({ view: view }, initOverrides);
+    }
+
+    /**
+     */
+    async deleteViewRaw(requestParameters: UiApiDeleteViewRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling deleteView().'
+            );
+        }
+
+        if (requestParameters['viewId'] == null) {
+            throw new runtime.RequiredError(
+                'viewId',
+                'Required parameter "viewId" was null or undefined when calling deleteView().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/ui/{testId}/view/{viewId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))).replace(`{${"viewId"}}`, encodeURIComponent(String(requestParameters['viewId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteView(testId: number, viewId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteViewRaw({ testId: testId, viewId: viewId }, initOverrides);
+    }
+
+    /**
+     */
+    async getViewsRaw(requestParameters: UiApiGetViewsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<View>>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getViews().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/ui/{testId}/views`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ViewFromJSON));
+    }
+
+    /**
+     */
+    async getViews(testId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<View>> {
+        const response = await this.getViewsRaw({ testId: testId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateViewRaw(requestParameters: UiApiUpdateViewRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<View>> {
+        if (requestParameters['view'] == null) {
+            throw new runtime.RequiredError(
+                'view',
+                'Required parameter "view" was null or undefined when calling updateView().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/ui/view`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: ViewToJSON(requestParameters['view']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ViewFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async updateView(view: View, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<View> {
+        const response = await this.updateViewRaw({ view: view }, initOverrides);
+        return await response.value();
+    }
+
+}
@@ -0,0 +1,495 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  NewUser,
+  UserData,
+} from '../models/index';
+import {
+    NewUserFromJSON,
+    NewUserToJSON,
+    UserDataFromJSON,
+    UserDataToJSON,
+} from '../models/index';
+
+export interface UserApiAddTeamRequest {
+    team: string;
+}
+
+export interface UserApiCreateUserRequest {
+    newUser: NewUser;
+}
+
+export interface UserApiDeleteTeamRequest {
+    team: string;
+}
+
+export interface UserApiInfoRequest {
+    requestBody: Array<string>;
+}
+
+export interface UserApiSearchUsersRequest {
+    query: string;
+}
+
+export interface UserApiSetDefaultTeamRequest {
+    body: string;
+}
+
+export interface UserApiTeamMembersRequest {
+    team: string;
+}
+
+export interface UserApiUpdateAdministratorsRequest {
+    requestBody: Array<string>;
+}
+
+export interface UserApiUpdateTeamMembersRequest {
+    team: string;
+    requestBody: { [key: string]: Array<string>; };
+}
+
+/**
+ * 
+ */
+export class UserApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async addTeamRaw(requestParameters: UserApiAddTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling addTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async addTeam(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.addTeamRaw({ team: team }, initOverrides);
+    }
+
+    /**
+     */
+    async administratorsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/administrators`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     */
+    async administrators(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.administratorsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async createUserRaw(requestParameters: UserApiCreateUserRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['newUser'] == null) {
+            throw new runtime.RequiredError(
+                'newUser',
+                'Required parameter "newUser" was null or undefined when calling createUser().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/createUser`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: NewUserToJSON(requestParameters['newUser']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async createUser(newUser: NewUser, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.createUserRaw({ newUser: newUser }, initOverrides);
+    }
+
+    /**
+     */
+    async defaultTeamRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/defaultTeam`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     */
+    async defaultTeam(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.defaultTeamRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async deleteTeamRaw(requestParameters: UserApiDeleteTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling deleteTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteTeam(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteTeamRaw({ team: team }, initOverrides);
+    }
+
+    /**
+     */
+    async getAllTeamsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/allTeams`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async getAllTeams(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getAllTeamsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getRolesRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/roles`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async getRoles(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getRolesRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTeamsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/teams`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async getTeams(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getTeamsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async infoRaw(requestParameters: UserApiInfoRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling info().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/info`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     */
+    async info(requestBody: Array<string>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.infoRaw({ requestBody: requestBody }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Search for user(s) with an optional query condition.
+     */
+    async searchUsersRaw(requestParameters: UserApiSearchUsersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        if (requestParameters['query'] == null) {
+            throw new runtime.RequiredError(
+                'query',
+                'Required parameter "query" was null or undefined when calling searchUsers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/search`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     * Search for user(s) with an optional query condition.
+     */
+    async searchUsers(query: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.searchUsersRaw({ query: query }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async setDefaultTeamRaw(requestParameters: UserApiSetDefaultTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling setDefaultTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/user/defaultTeam`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async setDefaultTeam(body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.setDefaultTeamRaw({ body: body }, initOverrides);
+    }
+
+    /**
+     */
+    async teamMembersRaw(requestParameters: UserApiTeamMembersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<{ [key: string]: Array<string>; }>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling teamMembers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}/members`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async teamMembers(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<{ [key: string]: Array<string>; }> {
+        const response = await this.teamMembersRaw({ team: team }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateAdministratorsRaw(requestParameters: UserApiUpdateAdministratorsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling updateAdministrators().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/administrators`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async updateAdministrators(requestBody: Array<string>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateAdministratorsRaw({ requestBody: requestBody }, initOverrides);
+    }
+
+    /**
+     */
+    async updateTeamMembersRaw(requestParameters: UserApiUpdateTeamMembersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling updateTeamMembers().'
+            );
+        }
+
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling updateTeamMembers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/team/{team}/members`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async updateTeamMembers(team: string, requestBody: { [key: string]: Array<string>; }, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateTeamMembersRaw({ team: team, requestBody: requestBody }, initOverrides);
+    }
+
+}
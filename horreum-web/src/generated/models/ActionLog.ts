@@ -0,0 +1,114 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Action Log
+ * @export
+ * @interface ActionLog
+ */
+export interface ActionLog {
+    /**
+     * 
+     * @type {number}
+     * @memberof ActionLog
+     */
+    testId: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof ActionLog
+     */
+    event: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof ActionLog
+     */
+    type?: string;
+    /**
+     * 
+     * @type {number}
+     * @memberof ActionLog
+     */
+    id: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof ActionLog
+     */
+    level: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof ActionLog
+     */
+    timestamp: Date;
+    /**
+     * 
+     * @type {string}
+     * @memberof ActionLog
+     */
+    message: string;
+}
+
+/**
+ * Check if a given object implements the ActionLog interface.
+ */
+export function instanceOfActionLog(value: object): boolean {
+    if (!('testId' in value)) return false;
+    if (!('event' in value)) return false;
+    if (!('id' in value)) return false;
+    if (!('level' in value)) return false;
+    if (!('timestamp' in value)) return false;
+    if (!('message' in value)) return false;
+    return true;
+}
+
+export function ActionLogFromJSON(json: any): ActionLog {
+    return ActionLogFromJSONTyped(json, false);
+}
+
+export function ActionLogFromJSONTyped(json: any, ignoreDiscriminator: boolean): ActionLog {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'testId': json['testId'],
+        'event': json['event'],
+        'type': json['type'] == null ? undefined : json['type'],
+        'id': json['id'],
+        'level': json['level'],
+        'timestamp': (new Date(json['timestamp'])),
+        'message': json['message'],
+    };
+}
+
+export function ActionLogToJSON(value?: ActionLog | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'testId': value['testId'],
+        'event': value['event'],
+        'type': value['type'],
+        'id': value['id'],
+        'level': value['level'],
+        'timestamp': ((value['timestamp']).toISOString()),
+        'message': value['message'],
+    };
+}
+
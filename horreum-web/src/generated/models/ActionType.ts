@@ -0,0 +1,40 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * Type of Action
+ * @export
+ */
+export const ActionType = {
+    Http: 'HTTP',
+    GithubIssueComment: 'GITHUB_ISSUE_COMMENT',
+    GithubIssueCreate: 'GITHUB_ISSUE_CREATE',
+    SlackMessage: 'SLACK_MESSAGE'
+} as const;
+export type ActionType = typeof ActionType[keyof typeof ActionType];
+
+
+export function ActionTypeFromJSON(json: any): ActionType {
+    return ActionTypeFromJSONTyped(json, false);
+}
+
+export function ActionTypeFromJSONTyped(json: any, ignoreDiscriminator: boolean): ActionType {
+    return json as ActionType;
+}
+
+export function ActionTypeToJSON(value?: ActionType | null): any {
+    return value as any;
+}
+
@@ -0,0 +1,113 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import type { CusumDetectionConfig } from './CusumDetectionConfig';
+import {
+    instanceOfCusumDetectionConfig,
+    CusumDetectionConfigFromJSON,
+    CusumDetectionConfigFromJSONTyped,
+    CusumDetectionConfigToJSON,
+} from './CusumDetectionConfig';
+import type { EDivisiveDetectionConfig } from './EDivisiveDetectionConfig';
+import {
+    instanceOfEDivisiveDetectionConfig,
+    EDivisiveDetectionConfigFromJSON,
+    EDivisiveDetectionConfigFromJSONTyped,
+    EDivisiveDetectionConfigToJSON,
+} from './EDivisiveDetectionConfig';
+import type { EwmaDetectionConfig } from './EwmaDetectionConfig';
+import {
+    instanceOfEwmaDetectionConfig,
+    EwmaDetectionConfigFromJSON,
+    EwmaDetectionConfigFromJSONTyped,
+    EwmaDetectionConfigToJSON,
+} from './EwmaDetectionConfig';
+import type { FixedThresholdDetectionConfig } from './FixedThresholdDetectionConfig';
+import {
+    instanceOfFixedThresholdDetectionConfig,
+    FixedThresholdDetectionConfigFromJSON,
+    FixedThresholdDetectionConfigFromJSONTyped,
+    FixedThresholdDetectionConfigToJSON,
+} from './FixedThresholdDetectionConfig';
+import type { PermutationTestDetectionConfig } from './PermutationTestDetectionConfig';
+import {
+    instanceOfPermutationTestDetectionConfig,
+    PermutationTestDetectionConfigFromJSON,
+    PermutationTestDetectionConfigFromJSONTyped,
+    PermutationTestDetectionConfigToJSON,
+} from './PermutationTestDetectionConfig';
+import type { RelativeDifferenceDetectionConfig } from './RelativeDifferenceDetectionConfig';
+import {
+    instanceOfRelativeDifferenceDetectionConfig,
+    RelativeDifferenceDetectionConfigFromJSON,
+    RelativeDifferenceDetectionConfigFromJSONTyped,
+    RelativeDifferenceDetectionConfigToJSON,
+} from './RelativeDifferenceDetectionConfig';
+
+/**
+ * @type ChangeDetectionConfig
+ * 
+ * @export
+ */
+export type ChangeDetectionConfig = { model: 'cusum' } & CusumDetectionConfig | { model: 'eDivisive' } & EDivisiveDetectionConfig | { model: 'ewma' } & EwmaDetectionConfig | { model: 'fixedThreshold' } & FixedThresholdDetectionConfig | { model: 'permutationTest' } & PermutationTestDetectionConfig | { model: 'relativeDifference' } & RelativeDifferenceDetectionConfig;
+
+export function ChangeDetectionConfigFromJSON(json: any): ChangeDetectionConfig {
+    return ChangeDetectionConfigFromJSONTyped(json, false);
+}
+
+export function ChangeDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): ChangeDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    switch (json['model']) {
+        case 'cusum':
+            return {...CusumDetectionConfigFromJSONTyped(json, true), model: 'cusum'};
+        case 'eDivisive':
+            return {...EDivisiveDetectionConfigFromJSONTyped(json, true), model: 'eDivisive'};
+        case 'ewma':
+            return {...EwmaDetectionConfigFromJSONTyped(json, true), model: 'ewma'};
+        case 'fixedThreshold':
+            return {...FixedThresholdDetectionConfigFromJSONTyped(json, true), model: 'fixedThreshold'};
+        case 'permutationTest':
+            return {...PermutationTestDetectionConfigFromJSONTyped(json, true), model: 'permutationTest'};
+        case 'relativeDifference':
+            return {...RelativeDifferenceDetectionConfigFromJSONTyped(json, true), model: 'relativeDifference'};
+        default:
+            throw new Error(`No variant of ChangeDetectionConfig exists with 'model=${json['model']}'`);
+    }
+}
+
+export function ChangeDetectionConfigToJSON(value?: ChangeDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    switch (value['model']) {
+        case 'cusum':
+            return CusumDetectionConfigToJSON(value);
+        case 'eDivisive':
+            return EDivisiveDetectionConfigToJSON(value);
+        case 'ewma':
+            return EwmaDetectionConfigToJSON(value);
+        case 'fixedThreshold':
+            return FixedThresholdDetectionConfigToJSON(value);
+        case 'permutationTest':
+            return PermutationTestDetectionConfigToJSON(value);
+        case 'relativeDifference':
+            return RelativeDifferenceDetectionConfigToJSON(value);
+        default:
+            throw new Error(`No variant of ChangeDetectionConfig exists with 'model=${value['model']}'`);
+    }
+
+}
+
@@ -0,0 +1,84 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface ChangeDetectionUpdate
+ */
+export interface ChangeDetectionUpdate {
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof ChangeDetectionUpdate
+     */
+    timelineLabels?: Array<string>;
+    /**
+     * 
+     * @type {string}
+     * @memberof ChangeDetectionUpdate
+     */
+    timelineFunction?: string;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof ChangeDetectionUpdate
+     */
+    fingerprintLabels?: Array<string>;
+    /**
+     * 
+     * @type {string}
+     * @memberof ChangeDetectionUpdate
+     */
+    fingerprintFilter?: string;
+}
+
+/**
+ * Check if a given object implements the ChangeDetectionUpdate interface.
+ */
+export function instanceOfChangeDetectionUpdate(value: object): boolean {
+    return true;
+}
+
+export function ChangeDetectionUpdateFromJSON(json: any): ChangeDetectionUpdate {
+    return ChangeDetectionUpdateFromJSONTyped(json, false);
+}
+
+export function ChangeDetectionUpdateFromJSONTyped(json: any, ignoreDiscriminator: boolean): ChangeDetectionUpdate {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'timelineLabels': json['timelineLabels'] == null ? undefined : json['timelineLabels'],
+        'timelineFunction': json['timelineFunction'] == null ? undefined : json['timelineFunction'],
+        'fingerprintLabels': json['fingerprintLabels'] == null ? undefined : json['fingerprintLabels'],
+        'fingerprintFilter': json['fingerprintFilter'] == null ? undefined : json['fingerprintFilter'],
+    };
+}
+
+export function ChangeDetectionUpdateToJSON(value?: ChangeDetectionUpdate | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'timelineLabels': value['timelineLabels'],
+        'timelineFunction': value['timelineFunction'],
+        'fingerprintLabels': value['fingerprintLabels'],
+        'fingerprintFilter': value['fingerprintFilter'],
+    };
+}
+
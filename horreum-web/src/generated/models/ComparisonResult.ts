@@ -0,0 +1,91 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { BetterOrWorse } from './BetterOrWorse';
+import {
+    BetterOrWorseFromJSON,
+    BetterOrWorseFromJSONTyped,
+    BetterOrWorseToJSON,
+} from './BetterOrWorse';
+
+/**
+ * Result of performing a Comparison
+ * @export
+ * @interface ComparisonResult
+ */
+export interface ComparisonResult {
+    /**
+     * Was the Experiment dataset better or worse than the baseline dataset
+     * @type {BetterOrWorse}
+     * @memberof ComparisonResult
+     */
+    overall?: BetterOrWorse;
+    /**
+     * Experiment value
+     * @type {number}
+     * @memberof ComparisonResult
+     */
+    experimentValue?: number;
+    /**
+     * Baseline value
+     * @type {number}
+     * @memberof ComparisonResult
+     */
+    baselineValue?: number;
+    /**
+     * The relative difference between the Experiment and Baseline Datasets
+     * @type {string}
+     * @memberof ComparisonResult
+     */
+    result?: string;
+}
+
+/**
+ * Check if a given object implements the ComparisonResult interface.
+ */
+export function instanceOfComparisonResult(value: object): boolean {
+    return true;
+}
+
+export function ComparisonResultFromJSON(json: any): ComparisonResult {
+    return ComparisonResultFromJSONTyped(json, false);
+}
+
+export function ComparisonResultFromJSONTyped(json: any, ignoreDiscriminator: boolean): ComparisonResult {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'overall': json['overall'] == null ? undefined : BetterOrWorseFromJSON(json['overall']),
+        'experimentValue': json['experimentValue'] == null ? undefined : json['experimentValue'],
+        'baselineValue': json['baselineValue'] == null ? undefined : json['baselineValue'],
+        'result': json['result'] == null ? undefined : json['result'],
+    };
+}
+
+export function ComparisonResultToJSON(value?: ComparisonResult | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'overall': BetterOrWorseToJSON(value['overall']),
+        'experimentValue': value['experimentValue'],
+        'baselineValue': value['baselineValue'],
+        'result': value['result'],
+    };
+}
+
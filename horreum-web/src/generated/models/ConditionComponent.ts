@@ -0,0 +1,110 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface ConditionComponent
+ */
+export interface ConditionComponent {
+    /**
+     * Change detection model component name
+     * @type {string}
+     * @memberof ConditionComponent
+     */
+    name: string;
+    /**
+     * Change detection model component title
+     * @type {string}
+     * @memberof ConditionComponent
+     */
+    title: string;
+    /**
+     * Change detection model component description
+     * @type {string}
+     * @memberof ConditionComponent
+     */
+    description: string;
+    /**
+     * UI Component type
+     * @type {object}
+     * @memberof ConditionComponent
+     */
+    type: ConditionComponentTypeEnum;
+    /**
+     * Map of properties for component
+     * @type {{ [key: string]: any; }}
+     * @memberof ConditionComponent
+     */
+    properties: { [key: string]: any; };
+}
+
+
+/**
+ * @export
+ */
+export const ConditionComponentTypeEnum = {
+    LogSlider: 'LOG_SLIDER',
+    Enum: 'ENUM',
+    NumberBound: 'NUMBER_BOUND',
+    Switch: 'SWITCH'
+} as const;
+export type ConditionComponentTypeEnum = typeof ConditionComponentTypeEnum[keyof typeof ConditionComponentTypeEnum];
+
+
+/**
+ * Check if a given object implements the ConditionComponent interface.
+ */
+export function instanceOfConditionComponent(value: object): boolean {
+    if (!('name' in value)) return false;
+    if (!('title' in value)) return false;
+    if (!('description' in value)) return false;
+    if (!('type' in value)) return false;
+    if (!('properties' in value)) return false;
+    return true;
+}
+
+export function ConditionComponentFromJSON(json: any): ConditionComponent {
+    return ConditionComponentFromJSONTyped(json, false);
+}
+
+export function ConditionComponentFromJSONTyped(json: any, ignoreDiscriminator: boolean): ConditionComponent {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'name': json['name'],
+        'title': json['title'],
+        'description': json['description'],
+        'type': json['type'],
+        'properties': json['properties'],
+    };
+}
+
+export function ConditionComponentToJSON(value?: ConditionComponent | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'name': value['name'],
+        'title': value['title'],
+        'description': value['description'],
+        'type': value['type'],
+        'properties': value['properties'],
+    };
+}
+
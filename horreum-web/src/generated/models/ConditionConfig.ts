@@ -0,0 +1,103 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ConditionComponent } from './ConditionComponent';
+import {
+    ConditionComponentFromJSON,
+    ConditionComponentFromJSONTyped,
+    ConditionComponentToJSON,
+} from './ConditionComponent';
+
+/**
+ * A configuration object for Change detection models
+ * @export
+ * @interface ConditionConfig
+ */
+export interface ConditionConfig {
+    /**
+     * Name of Change detection model
+     * @type {string}
+     * @memberof ConditionConfig
+     */
+    name: string;
+    /**
+     * UI name for change detection model
+     * @type {string}
+     * @memberof ConditionConfig
+     */
+    title: string;
+    /**
+     * Change detection model description
+     * @type {string}
+     * @memberof ConditionConfig
+     */
+    description: string;
+    /**
+     * A list of UI components for dynamically building the UI components
+     * @type {Array<ConditionComponent>}
+     * @memberof ConditionConfig
+     */
+    ui: Array<ConditionComponent>;
+    /**
+     * A dictionary of UI default configuration items for dynamically building the UI components
+     * @type {{ [key: string]: any; }}
+     * @memberof ConditionConfig
+     */
+    defaults?: { [key: string]: any; };
+}
+
+/**
+ * Check if a given object implements the ConditionConfig interface.
+ */
+export function instanceOfConditionConfig(value: object): boolean {
+    if (!('name' in value)) return false;
+    if (!('title' in value)) return false;
+    if (!('description' in value)) return false;
+    if (!('ui' in value)) return false;
+    return true;
+}
+
+export function ConditionConfigFromJSON(json: any): ConditionConfig {
+    return ConditionConfigFromJSONTyped(json, false);
+}
+
+export function ConditionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): ConditionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'name': json['name'],
+        'title': json['title'],
+        'description': json['description'],
+        'ui': ((json['ui'] as Array<any>).map(ConditionComponentFromJSON)),
+        'defaults': json['defaults'] == null ? undefined : json['defaults'],
+    };
+}
+
+export function ConditionConfigToJSON(value?: ConditionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'name': value['name'],
+        'title': value['title'],
+        'description': value['description'],
+        'ui': ((value['ui'] as Array<any>).map(ConditionComponentToJSON)),
+        'defaults': value['defaults'],
+    };
+}
+
@@ -0,0 +1,107 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface CusumDetectionConfig
+ */
+export interface CusumDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof CusumDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof CusumDetectionConfig
+     */
+    model: CusumDetectionConfigModelEnum;
+    /**
+     * Cumulative deviation from the baseline mean, in multiples of baseline standard deviation, that is reported as a change.
+     * @type {number}
+     * @memberof CusumDetectionConfig
+     */
+    threshold: number;
+    /**
+     * Deviation from the baseline mean, in multiples of baseline standard deviation, tolerated in each datapoint.
+     * @type {number}
+     * @memberof CusumDetectionConfig
+     */
+    slack: number;
+    /**
+     * Number of datapoints after the last change used to estimate the baseline
+     * @type {number}
+     * @memberof CusumDetectionConfig
+     */
+    minPrevious: number;
+}
+
+
+/**
+ * @export
+ */
+export const CusumDetectionConfigModelEnum = {
+    Cusum: 'cusum'
+} as const;
+export type CusumDetectionConfigModelEnum = typeof CusumDetectionConfigModelEnum[keyof typeof CusumDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the CusumDetectionConfig interface.
+ */
+export function instanceOfCusumDetectionConfig(value: object): boolean {
+    if (!('builtIn' in value)) return false;
+    if (!('model' in value)) return false;
+    if (!('threshold' in value)) return false;
+    if (!('slack' in value)) return false;
+    if (!('minPrevious' in value)) return false;
+    return true;
+}
+
+export function CusumDetectionConfigFromJSON(json: any): CusumDetectionConfig {
+    return CusumDetectionConfigFromJSONTyped(json, false);
+}
+
+export function CusumDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): CusumDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+        'threshold': json['threshold'],
+        'slack': json['slack'],
+        'minPrevious': json['minPrevious'],
+    };
+}
+
+export function CusumDetectionConfigToJSON(value?: CusumDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+        'threshold': value['threshold'],
+        'slack': value['slack'],
+        'minPrevious': value['minPrevious'],
+    };
+}
+
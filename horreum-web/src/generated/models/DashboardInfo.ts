@@ -0,0 +1,95 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { PanelInfo } from './PanelInfo';
+import {
+    PanelInfoFromJSON,
+    PanelInfoFromJSONTyped,
+    PanelInfoToJSON,
+} from './PanelInfo';
+
+/**
+ * 
+ * @export
+ * @interface DashboardInfo
+ */
+export interface DashboardInfo {
+    /**
+     * 
+     * @type {number}
+     * @memberof DashboardInfo
+     */
+    testId: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof DashboardInfo
+     */
+    uid: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof DashboardInfo
+     */
+    url: string;
+    /**
+     * 
+     * @type {Array<PanelInfo>}
+     * @memberof DashboardInfo
+     */
+    panels: Array<PanelInfo>;
+}
+
+/**
+ * Check if a given object implements the DashboardInfo interface.
+ */
+export function instanceOfDashboardInfo(value: object): boolean {
+    if (!('testId' in value)) return false;
+    if (!('uid' in value)) return false;
+    if (!('url' in value)) return false;
+    if (!('panels' in value)) return false;
+    return true;
+}
+
+export function DashboardInfoFromJSON(json: any): DashboardInfo {
+    return DashboardInfoFromJSONTyped(json, false);
+}
+
+export function DashboardInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): DashboardInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'testId': json['testId'],
+        'uid': json['uid'],
+        'url': json['url'],
+        'panels': ((json['panels'] as Array<any>).map(PanelInfoFromJSON)),
+    };
+}
+
+export function DashboardInfoToJSON(value?: DashboardInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'testId': value['testId'],
+        'uid': value['uid'],
+        'url': value['url'],
+        'panels': ((value['panels'] as Array<any>).map(PanelInfoToJSON)),
+    };
+}
+
@@ -0,0 +1,70 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface DatapointLastTimestamp
+ */
+export interface DatapointLastTimestamp {
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointLastTimestamp
+     */
+    variable: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointLastTimestamp
+     */
+    timestamp: number;
+}
+
+/**
+ * Check if a given object implements the DatapointLastTimestamp interface.
+ */
+export function instanceOfDatapointLastTimestamp(value: object): boolean {
+    if (!('variable' in value)) return false;
+    if (!('timestamp' in value)) return false;
+    return true;
+}
+
+export function DatapointLastTimestampFromJSON(json: any): DatapointLastTimestamp {
+    return DatapointLastTimestampFromJSONTyped(json, false);
+}
+
+export function DatapointLastTimestampFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatapointLastTimestamp {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'variable': json['variable'],
+        'timestamp': json['timestamp'],
+    };
+}
+
+export function DatapointLastTimestampToJSON(value?: DatapointLastTimestamp | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'variable': value['variable'],
+        'timestamp': value['timestamp'],
+    };
+}
+
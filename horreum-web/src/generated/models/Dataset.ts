@@ -0,0 +1,160 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { ValidationError } from './ValidationError';
+import {
+    ValidationErrorFromJSON,
+    ValidationErrorFromJSONTyped,
+    ValidationErrorToJSON,
+} from './ValidationError';
+
+/**
+ * A dataset is the JSON document used as the basis for all comparisons and reporting
+ * @export
+ * @interface Dataset
+ */
+export interface Dataset {
+    /**
+     * Dataset Unique ID
+     * @type {number}
+     * @memberof Dataset
+     */
+    id?: number;
+    /**
+     * Run description
+     * @type {string}
+     * @memberof Dataset
+     */
+    description?: string;
+    /**
+     * Test ID that Dataset relates to
+     * @type {number}
+     * @memberof Dataset
+     */
+    testid: number;
+    /**
+     * Data payload
+     * @type {string}
+     * @memberof Dataset
+     */
+    data: string;
+    /**
+     * Dataset ordinal for ordered list of Datasets derived from a Run
+     * @type {number}
+     * @memberof Dataset
+     */
+    ordinal: number;
+    /**
+     * List of Validation Errors
+     * @type {Array<ValidationError>}
+     * @memberof Dataset
+     */
+    validationErrors?: Array<ValidationError>;
+    /**
+     * Run ID that Dataset relates to
+     * @type {number}
+     * @memberof Dataset
+     */
+    runId?: number;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Dataset
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Dataset
+     */
+    owner: string;
+    /**
+     * Run Start timestamp
+     * @type {number}
+     * @memberof Dataset
+     */
+    start: number;
+    /**
+     * Run Stop timestamp
+     * @type {number}
+     * @memberof Dataset
+     */
+    stop: number;
+}
+
+/**
+ * Check if a given object implements the Dataset interface.
+ */
+export function instanceOfDataset(value: object): boolean {
+    if (!('testid' in value)) return false;
+    if (!('data' in value)) return false;
+    if (!('ordinal' in value)) return false;
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('start' in value)) return false;
+    if (!('stop' in value)) return false;
+    return true;
+}
+
+export function DatasetFromJSON(json: any): Dataset {
+    return DatasetFromJSONTyped(json, false);
+}
+
+export function DatasetFromJSONTyped(json: any, ignoreDiscriminator: boolean): Dataset {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'] == null ? undefined : json['id'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'testid': json['testid'],
+        'data': json['data'],
+        'ordinal': json['ordinal'],
+        'validationErrors': json['validationErrors'] == null ? undefined : ((json['validationErrors'] as Array<any>).map(ValidationErrorFromJSON)),
+        'runId': json['runId'] == null ? undefined : json['runId'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'start': json['start'],
+        'stop': json['stop'],
+    };
+}
+
+export function DatasetToJSON(value?: Dataset | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'description': value['description'],
+        'testid': value['testid'],
+        'data': value['data'],
+        'ordinal': value['ordinal'],
+        'validationErrors': value['validationErrors'] == null ? undefined : ((value['validationErrors'] as Array<any>).map(ValidationErrorToJSON)),
+        'runId': value['runId'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'start': value['start'],
+        'stop': value['stop'],
+    };
+}
+
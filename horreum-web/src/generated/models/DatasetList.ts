@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { DatasetSummary } from './DatasetSummary';
+import {
+    DatasetSummaryFromJSON,
+    DatasetSummaryFromJSONTyped,
+    DatasetSummaryToJSON,
+} from './DatasetSummary';
+
+/**
+ * Result containing a subset of Dataset Summaries and the total count of available. Used in paginated tables
+ * @export
+ * @interface DatasetList
+ */
+export interface DatasetList {
+    /**
+     * Total number of Dataset Summaries available
+     * @type {number}
+     * @memberof DatasetList
+     */
+    total: number;
+    /**
+     * List of Dataset Summaries. This is often a subset of total available.
+     * @type {Array<DatasetSummary>}
+     * @memberof DatasetList
+     */
+    datasets: Array<DatasetSummary>;
+}
+
+/**
+ * Check if a given object implements the DatasetList interface.
+ */
+export function instanceOfDatasetList(value: object): boolean {
+    if (!('total' in value)) return false;
+    if (!('datasets' in value)) return false;
+    return true;
+}
+
+export function DatasetListFromJSON(json: any): DatasetList {
+    return DatasetListFromJSONTyped(json, false);
+}
+
+export function DatasetListFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatasetList {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'total': json['total'],
+        'datasets': ((json['datasets'] as Array<any>).map(DatasetSummaryFromJSON)),
+    };
+}
+
+export function DatasetListToJSON(value?: DatasetList | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'total': value['total'],
+        'datasets': ((value['datasets'] as Array<any>).map(DatasetSummaryToJSON)),
+    };
+}
+
@@ -0,0 +1,185 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { SchemaUsage } from './SchemaUsage';
+import {
+    SchemaUsageFromJSON,
+    SchemaUsageFromJSONTyped,
+    SchemaUsageToJSON,
+} from './SchemaUsage';
+import type { ValidationError } from './ValidationError';
+import {
+    ValidationErrorFromJSON,
+    ValidationErrorFromJSONTyped,
+    ValidationErrorToJSON,
+} from './ValidationError';
+
+/**
+ * 
+ * @export
+ * @interface DatasetSummary
+ */
+export interface DatasetSummary {
+    /**
+     * Unique Dataset ID
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    id: number;
+    /**
+     * Run ID that Dataset relates to
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    runId: number;
+    /**
+     * Ordinal position of Dataset Summary on returned List
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    ordinal: number;
+    /**
+     * Test ID that Dataset relates to
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    testId: number;
+    /**
+     * Test name that the Dataset relates to
+     * @type {string}
+     * @memberof DatasetSummary
+     */
+    testname: string;
+    /**
+     * Dataset description
+     * @type {string}
+     * @memberof DatasetSummary
+     */
+    description?: string;
+    /**
+     * map of view component ids to the LabelValueMap to render the component for this dataset
+     * @type {{ [key: string]: object; }}
+     * @memberof DatasetSummary
+     */
+    view?: { [key: string]: object; };
+    /**
+     * List of Schema usages
+     * @type {Array<SchemaUsage>}
+     * @memberof DatasetSummary
+     */
+    schemas: Array<SchemaUsage>;
+    /**
+     * List of Validation Errors
+     * @type {Array<ValidationError>}
+     * @memberof DatasetSummary
+     */
+    validationErrors?: Array<ValidationError>;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof DatasetSummary
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof DatasetSummary
+     */
+    owner: string;
+    /**
+     * Run Start timestamp
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    start: number;
+    /**
+     * Run Stop timestamp
+     * @type {number}
+     * @memberof DatasetSummary
+     */
+    stop: number;
+}
+
+/**
+ * Check if a given object implements the DatasetSummary interface.
+ */
+export function instanceOfDatasetSummary(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('runId' in value)) return false;
+    if (!('ordinal' in value)) return false;
+    if (!('testId' in value)) return false;
+    if (!('testname' in value)) return false;
+    if (!('schemas' in value)) return false;
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('start' in value)) return false;
+    if (!('stop' in value)) return false;
+    return true;
+}
+
+export function DatasetSummaryFromJSON(json: any): DatasetSummary {
+    return DatasetSummaryFromJSONTyped(json, false);
+}
+
+export function DatasetSummaryFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatasetSummary {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'runId': json['runId'],
+        'ordinal': json['ordinal'],
+        'testId': json['testId'],
+        'testname': json['testname'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'view': json['view'] == null ? undefined : json['view'],
+        'schemas': ((json['schemas'] as Array<any>).map(SchemaUsageFromJSON)),
+        'validationErrors': json['validationErrors'] == null ? undefined : ((json['validationErrors'] as Array<any>).map(ValidationErrorFromJSON)),
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'start': json['start'],
+        'stop': json['stop'],
+    };
+}
+
+export function DatasetSummaryToJSON(value?: DatasetSummary | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'runId': value['runId'],
+        'ordinal': value['ordinal'],
+        'testId': value['testId'],
+        'testname': value['testname'],
+        'description': value['description'],
+        'view': value['view'],
+        'schemas': ((value['schemas'] as Array<any>).map(SchemaUsageToJSON)),
+        'validationErrors': value['validationErrors'] == null ? undefined : ((value['validationErrors'] as Array<any>).map(ValidationErrorToJSON)),
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'start': value['start'],
+        'stop': value['stop'],
+    };
+}
+
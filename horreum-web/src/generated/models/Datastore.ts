@@ -0,0 +1,139 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { DatastoreConfig } from './DatastoreConfig';
+import {
+    DatastoreConfigFromJSON,
+    DatastoreConfigFromJSONTyped,
+    DatastoreConfigToJSON,
+} from './DatastoreConfig';
+
+/**
+ * Type of backend datastore
+ * @export
+ * @interface Datastore
+ */
+export interface Datastore {
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Datastore
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Datastore
+     */
+    owner: string;
+    /**
+     * Unique Datastore id
+     * @type {number}
+     * @memberof Datastore
+     */
+    id: number;
+    /**
+     * Name of the datastore, used to identify the datastore in the Test definition
+     * @type {string}
+     * @memberof Datastore
+     */
+    name: string;
+    /**
+     * Is this a built-in datastore? Built-in datastores cannot be deleted or modified
+     * @type {boolean}
+     * @memberof Datastore
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {DatastoreConfig}
+     * @memberof Datastore
+     */
+    config: DatastoreConfig;
+    /**
+     * Type of backend datastore
+     * @type {string}
+     * @memberof Datastore
+     */
+    type: DatastoreTypeEnum;
+}
+
+
+/**
+ * @export
+ */
+export const DatastoreTypeEnum = {
+    Postgres: 'POSTGRES',
+    Elasticsearch: 'ELASTICSEARCH'
+} as const;
+export type DatastoreTypeEnum = typeof DatastoreTypeEnum[keyof typeof DatastoreTypeEnum];
+
+
+/**
+ * Check if a given object implements the Datastore interface.
+ */
+export function instanceOfDatastore(value: object): boolean {
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('id' in value)) return false;
+    if (!('name' in value)) return false;
+    if (!('builtIn' in value)) return false;
+    if (!('config' in value)) return false;
+    if (!('type' in value)) return false;
+    return true;
+}
+
+export function DatastoreFromJSON(json: any): Datastore {
+    return DatastoreFromJSONTyped(json, false);
+}
+
+export function DatastoreFromJSONTyped(json: any, ignoreDiscriminator: boolean): Datastore {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'id': json['id'],
+        'name': json['name'],
+        'builtIn': json['builtIn'],
+        'config': DatastoreConfigFromJSON(json['config']),
+        'type': json['type'],
+    };
+}
+
+export function DatastoreToJSON(value?: Datastore | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'id': value['id'],
+        'name': value['name'],
+        'builtIn': value['builtIn'],
+        'config': DatastoreConfigToJSON(value['config']),
+        'type': value['type'],
+    };
+}
+
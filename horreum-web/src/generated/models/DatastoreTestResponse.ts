@@ -0,0 +1,68 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface DatastoreTestResponse
+ */
+export interface DatastoreTestResponse {
+    /**
+     * 
+     * @type {string}
+     * @memberof DatastoreTestResponse
+     */
+    msg?: string;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof DatastoreTestResponse
+     */
+    success?: boolean;
+}
+
+/**
+ * Check if a given object implements the DatastoreTestResponse interface.
+ */
+export function instanceOfDatastoreTestResponse(value: object): boolean {
+    return true;
+}
+
+export function DatastoreTestResponseFromJSON(json: any): DatastoreTestResponse {
+    return DatastoreTestResponseFromJSONTyped(json, false);
+}
+
+export function DatastoreTestResponseFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatastoreTestResponse {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'msg': json['msg'] == null ? undefined : json['msg'],
+        'success': json['success'] == null ? undefined : json['success'],
+    };
+}
+
+export function DatastoreTestResponseToJSON(value?: DatastoreTestResponse | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'msg': value['msg'],
+        'success': value['success'],
+    };
+}
+
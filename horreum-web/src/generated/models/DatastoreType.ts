@@ -0,0 +1,38 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * Type of backend datastore
+ * @export
+ */
+export const DatastoreType = {
+    Postgres: 'POSTGRES',
+    Elasticsearch: 'ELASTICSEARCH'
+} as const;
+export type DatastoreType = typeof DatastoreType[keyof typeof DatastoreType];
+
+
+export function DatastoreTypeFromJSON(json: any): DatastoreType {
+    return DatastoreTypeFromJSONTyped(json, false);
+}
+
+export function DatastoreTypeFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatastoreType {
+    return json as DatastoreType;
+}
+
+export function DatastoreTypeToJSON(value?: DatastoreType | null): any {
+    return value as any;
+}
+
@@ -0,0 +1,107 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface EwmaDetectionConfig
+ */
+export interface EwmaDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof EwmaDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof EwmaDetectionConfig
+     */
+    model: EwmaDetectionConfigModelEnum;
+    /**
+     * Weight of the most recent datapoint in the moving average.
+     * @type {number}
+     * @memberof EwmaDetectionConfig
+     */
+    lambda: number;
+    /**
+     * Width of the control limits in multiples of the standard deviation of the moving average.
+     * @type {number}
+     * @memberof EwmaDetectionConfig
+     */
+    width: number;
+    /**
+     * Number of datapoints after the last change used to estimate the baseline
+     * @type {number}
+     * @memberof EwmaDetectionConfig
+     */
+    minPrevious: number;
+}
+
+
+/**
+ * @export
+ */
+export const EwmaDetectionConfigModelEnum = {
+    Ewma: 'ewma'
+} as const;
+export type EwmaDetectionConfigModelEnum = typeof EwmaDetectionConfigModelEnum[keyof typeof EwmaDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the EwmaDetectionConfig interface.
+ */
+export function instanceOfEwmaDetectionConfig(value: object): boolean {
+    if (!('builtIn' in value)) return false;
+    if (!('model' in value)) return false;
+    if (!('lambda' in value)) return false;
+    if (!('width' in value)) return false;
+    if (!('minPrevious' in value)) return false;
+    return true;
+}
+
+export function EwmaDetectionConfigFromJSON(json: any): EwmaDetectionConfig {
+    return EwmaDetectionConfigFromJSONTyped(json, false);
+}
+
+export function EwmaDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): EwmaDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+        'lambda': json['lambda'],
+        'width': json['width'],
+        'minPrevious': json['minPrevious'],
+    };
+}
+
+export function EwmaDetectionConfigToJSON(value?: EwmaDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+        'lambda': value['lambda'],
+        'width': value['width'],
+        'minPrevious': value['minPrevious'],
+    };
+}
+
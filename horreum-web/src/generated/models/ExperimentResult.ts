@@ -0,0 +1,133 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ComparisonResult } from './ComparisonResult';
+import {
+    ComparisonResultFromJSON,
+    ComparisonResultFromJSONTyped,
+    ComparisonResultToJSON,
+} from './ComparisonResult';
+import type { DatasetInfo } from './DatasetInfo';
+import {
+    DatasetInfoFromJSON,
+    DatasetInfoFromJSONTyped,
+    DatasetInfoToJSON,
+} from './DatasetInfo';
+import type { DatasetLog } from './DatasetLog';
+import {
+    DatasetLogFromJSON,
+    DatasetLogFromJSONTyped,
+    DatasetLogToJSON,
+} from './DatasetLog';
+import type { ExperimentProfile } from './ExperimentProfile';
+import {
+    ExperimentProfileFromJSON,
+    ExperimentProfileFromJSONTyped,
+    ExperimentProfileToJSON,
+} from './ExperimentProfile';
+
+/**
+ * Result of running an Experiment
+ * @export
+ * @interface ExperimentResult
+ */
+export interface ExperimentResult {
+    /**
+     * Experiment profile that results relates to
+     * @type {ExperimentProfile}
+     * @memberof ExperimentResult
+     */
+    profile?: ExperimentProfile;
+    /**
+     * A list of log statements recorded while Experiment was evaluated
+     * @type {Array<DatasetLog>}
+     * @memberof ExperimentResult
+     */
+    logs?: Array<DatasetLog>;
+    /**
+     * Dataset Info about dataset used for experiment
+     * @type {DatasetInfo}
+     * @memberof ExperimentResult
+     */
+    datasetInfo?: DatasetInfo;
+    /**
+     * A list of Dataset Info for experiment baseline(s)
+     * @type {Array<DatasetInfo>}
+     * @memberof ExperimentResult
+     */
+    baseline?: Array<DatasetInfo>;
+    /**
+     * A Map of all comparisons and results evaluated during an Experiment
+     * @type {{ [key: string]: ComparisonResult; }}
+     * @memberof ExperimentResult
+     */
+    results?: { [key: string]: ComparisonResult; };
+    /**
+     * 
+     * @type {string}
+     * @memberof ExperimentResult
+     */
+    extraLabels?: string;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof ExperimentResult
+     */
+    notify?: boolean;
+}
+
+/**
+ * Check if a given object implements the ExperimentResult interface.
+ */
+export function instanceOfExperimentResult(value: object): boolean {
+    return true;
+}
+
+export function ExperimentResultFromJSON(json: any): ExperimentResult {
+    return ExperimentResultFromJSONTyped(json, false);
+}
+
+export function ExperimentResultFromJSONTyped(json: any, ignoreDiscriminator: boolean): ExperimentResult {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'profile': json['profile'] == null ? undefined : ExperimentProfileFromJSON(json['profile']),
+        'logs': json['logs'] == null ? undefined : ((json['logs'] as Array<any>).map(DatasetLogFromJSON)),
+        'datasetInfo': json['datasetInfo'] == null ? undefined : DatasetInfoFromJSON(json['datasetInfo']),
+        'baseline': json['baseline'] == null ? undefined : ((json['baseline'] as Array<any>).map(DatasetInfoFromJSON)),
+        'results': json['results'] == null ? undefined : (mapValues(json['results'], ComparisonResultFromJSON)),
+        'extraLabels': json['extraLabels'] == null ? undefined : json['extraLabels'],
+        'notify': json['notify'] == null ? undefined : json['notify'],
+    };
+}
+
+export function ExperimentResultToJSON(value?: ExperimentResult | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'profile': ExperimentProfileToJSON(value['profile']),
+        'logs': value['logs'] == null ? undefined : ((value['logs'] as Array<any>).map(DatasetLogToJSON)),
+        'datasetInfo': DatasetInfoToJSON(value['datasetInfo']),
+        'baseline': value['baseline'] == null ? undefined : ((value['baseline'] as Array<any>).map(DatasetInfoToJSON)),
+        'results': value['results'] == null ? undefined : (mapValues(value['results'], ComparisonResultToJSON)),
+        'extraLabels': value['extraLabels'],
+        'notify': value['notify'],
+    };
+}
+
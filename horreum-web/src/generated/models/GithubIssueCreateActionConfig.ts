@@ -0,0 +1,97 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface GithubIssueCreateActionConfig
+ */
+export interface GithubIssueCreateActionConfig {
+    /**
+     * Action type
+     * @type {string}
+     * @memberof GithubIssueCreateActionConfig
+     */
+    type: string;
+    /**
+     * GitHub repo owner
+     * @type {string}
+     * @memberof GithubIssueCreateActionConfig
+     */
+    owner: string;
+    /**
+     * GitHub repo name
+     * @type {string}
+     * @memberof GithubIssueCreateActionConfig
+     */
+    repo: string;
+    /**
+     * GitHub issue title
+     * @type {string}
+     * @memberof GithubIssueCreateActionConfig
+     */
+    title: string;
+    /**
+     * Object markdown formatter
+     * @type {string}
+     * @memberof GithubIssueCreateActionConfig
+     */
+    formatter: string;
+}
+
+/**
+ * Check if a given object implements the GithubIssueCreateActionConfig interface.
+ */
+export function instanceOfGithubIssueCreateActionConfig(value: object): boolean {
+    if (!('type' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('repo' in value)) return false;
+    if (!('title' in value)) return false;
+    if (!('formatter' in value)) return false;
+    return true;
+}
+
+export function GithubIssueCreateActionConfigFromJSON(json: any): GithubIssueCreateActionConfig {
+    return GithubIssueCreateActionConfigFromJSONTyped(json, false);
+}
+
+export function GithubIssueCreateActionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): GithubIssueCreateActionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'type': json['type'],
+        'owner': json['owner'],
+        'repo': json['repo'],
+        'title': json['title'],
+        'formatter': json['formatter'],
+    };
+}
+
+export function GithubIssueCreateActionConfigToJSON(value?: GithubIssueCreateActionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'type': value['type'],
+        'owner': value['owner'],
+        'repo': value['repo'],
+        'title': value['title'],
+        'formatter': value['formatter'],
+    };
+}
+
@@ -0,0 +1,76 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface KeycloakConfig
+ */
+export interface KeycloakConfig {
+    /**
+     * Keycloak realm securing Horreum instance
+     * @type {string}
+     * @memberof KeycloakConfig
+     */
+    realm?: string;
+    /**
+     * URL of Keycloak instance securing Horreum
+     * @type {string}
+     * @memberof KeycloakConfig
+     */
+    url?: string;
+    /**
+     * Keycloak client ID in Horreum realm for User Interface
+     * @type {string}
+     * @memberof KeycloakConfig
+     */
+    clientId?: string;
+}
+
+/**
+ * Check if a given object implements the KeycloakConfig interface.
+ */
+export function instanceOfKeycloakConfig(value: object): boolean {
+    return true;
+}
+
+export function KeycloakConfigFromJSON(json: any): KeycloakConfig {
+    return KeycloakConfigFromJSONTyped(json, false);
+}
+
+export function KeycloakConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): KeycloakConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'realm': json['realm'] == null ? undefined : json['realm'],
+        'url': json['url'] == null ? undefined : json['url'],
+        'clientId': json['clientId'] == null ? undefined : json['clientId'],
+    };
+}
+
+export function KeycloakConfigToJSON(value?: KeycloakConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'realm': value['realm'],
+        'url': value['url'],
+        'clientId': value['clientId'],
+    };
+}
+
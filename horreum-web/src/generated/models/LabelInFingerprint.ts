@@ -0,0 +1,76 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface LabelInFingerprint
+ */
+export interface LabelInFingerprint {
+    /**
+     * Location of Label usage
+     * @type {string}
+     * @memberof LabelInFingerprint
+     */
+    type?: string;
+    /**
+     * Unique ID for location that references Schema
+     * @type {number}
+     * @memberof LabelInFingerprint
+     */
+    testId?: number;
+    /**
+     * Test name that references Schema
+     * @type {string}
+     * @memberof LabelInFingerprint
+     */
+    testName?: string;
+}
+
+/**
+ * Check if a given object implements the LabelInFingerprint interface.
+ */
+export function instanceOfLabelInFingerprint(value: object): boolean {
+    return true;
+}
+
+export function LabelInFingerprintFromJSON(json: any): LabelInFingerprint {
+    return LabelInFingerprintFromJSONTyped(json, false);
+}
+
+export function LabelInFingerprintFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelInFingerprint {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'type': json['type'] == null ? undefined : json['type'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'testName': json['testName'] == null ? undefined : json['testName'],
+    };
+}
+
+export function LabelInFingerprintToJSON(value?: LabelInFingerprint | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'type': value['type'],
+        'testId': value['testId'],
+        'testName': value['testName'],
+    };
+}
+
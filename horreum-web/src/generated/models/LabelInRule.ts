@@ -0,0 +1,92 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface LabelInRule
+ */
+export interface LabelInRule {
+    /**
+     * 
+     * @type {number}
+     * @memberof LabelInRule
+     */
+    ruleId?: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof LabelInRule
+     */
+    ruleName?: string;
+    /**
+     * Location of Label usage
+     * @type {string}
+     * @memberof LabelInRule
+     */
+    type?: string;
+    /**
+     * Unique ID for location that references Schema
+     * @type {number}
+     * @memberof LabelInRule
+     */
+    testId?: number;
+    /**
+     * Test name that references Schema
+     * @type {string}
+     * @memberof LabelInRule
+     */
+    testName?: string;
+}
+
+/**
+ * Check if a given object implements the LabelInRule interface.
+ */
+export function instanceOfLabelInRule(value: object): boolean {
+    return true;
+}
+
+export function LabelInRuleFromJSON(json: any): LabelInRule {
+    return LabelInRuleFromJSONTyped(json, false);
+}
+
+export function LabelInRuleFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelInRule {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'ruleId': json['ruleId'] == null ? undefined : json['ruleId'],
+        'ruleName': json['ruleName'] == null ? undefined : json['ruleName'],
+        'type': json['type'] == null ? undefined : json['type'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'testName': json['testName'] == null ? undefined : json['testName'],
+    };
+}
+
+export function LabelInRuleToJSON(value?: LabelInRule | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'ruleId': value['ruleId'],
+        'ruleName': value['ruleName'],
+        'type': value['type'],
+        'testId': value['testId'],
+        'testName': value['testName'],
+    };
+}
+
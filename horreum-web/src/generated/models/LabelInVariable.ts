@@ -0,0 +1,92 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface LabelInVariable
+ */
+export interface LabelInVariable {
+    /**
+     * 
+     * @type {number}
+     * @memberof LabelInVariable
+     */
+    variableId?: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof LabelInVariable
+     */
+    variableName?: string;
+    /**
+     * Location of Label usage
+     * @type {string}
+     * @memberof LabelInVariable
+     */
+    type?: string;
+    /**
+     * Unique ID for location that references Schema
+     * @type {number}
+     * @memberof LabelInVariable
+     */
+    testId?: number;
+    /**
+     * Test name that references Schema
+     * @type {string}
+     * @memberof LabelInVariable
+     */
+    testName?: string;
+}
+
+/**
+ * Check if a given object implements the LabelInVariable interface.
+ */
+export function instanceOfLabelInVariable(value: object): boolean {
+    return true;
+}
+
+export function LabelInVariableFromJSON(json: any): LabelInVariable {
+    return LabelInVariableFromJSONTyped(json, false);
+}
+
+export function LabelInVariableFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelInVariable {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'variableId': json['variableId'] == null ? undefined : json['variableId'],
+        'variableName': json['variableName'] == null ? undefined : json['variableName'],
+        'type': json['type'] == null ? undefined : json['type'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'testName': json['testName'] == null ? undefined : json['testName'],
+    };
+}
+
+export function LabelInVariableToJSON(value?: LabelInVariable | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'variableId': value['variableId'],
+        'variableName': value['variableName'],
+        'type': value['type'],
+        'testId': value['testId'],
+        'testName': value['testName'],
+    };
+}
+
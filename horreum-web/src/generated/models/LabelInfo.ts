@@ -0,0 +1,95 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { SchemaDescriptor } from './SchemaDescriptor';
+import {
+    SchemaDescriptorFromJSON,
+    SchemaDescriptorFromJSONTyped,
+    SchemaDescriptorToJSON,
+} from './SchemaDescriptor';
+
+/**
+ * 
+ * @export
+ * @interface LabelInfo
+ */
+export interface LabelInfo {
+    /**
+     * Label name
+     * @type {string}
+     * @memberof LabelInfo
+     */
+    name: string;
+    /**
+     * Is label a metrics label?
+     * @type {boolean}
+     * @memberof LabelInfo
+     */
+    metrics: boolean;
+    /**
+     * Is label a filtering label?
+     * @type {boolean}
+     * @memberof LabelInfo
+     */
+    filtering: boolean;
+    /**
+     * List of schemas where label is referenced
+     * @type {Array<SchemaDescriptor>}
+     * @memberof LabelInfo
+     */
+    schemas: Array<SchemaDescriptor>;
+}
+
+/**
+ * Check if a given object implements the LabelInfo interface.
+ */
+export function instanceOfLabelInfo(value: object): boolean {
+    if (!('name' in value)) return false;
+    if (!('metrics' in value)) return false;
+    if (!('filtering' in value)) return false;
+    if (!('schemas' in value)) return false;
+    return true;
+}
+
+export function LabelInfoFromJSON(json: any): LabelInfo {
+    return LabelInfoFromJSONTyped(json, false);
+}
+
+export function LabelInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'name': json['name'],
+        'metrics': json['metrics'],
+        'filtering': json['filtering'],
+        'schemas': ((json['schemas'] as Array<any>).map(SchemaDescriptorFromJSON)),
+    };
+}
+
+export function LabelInfoToJSON(value?: LabelInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'name': value['name'],
+        'metrics': value['metrics'],
+        'filtering': value['filtering'],
+        'schemas': ((value['schemas'] as Array<any>).map(SchemaDescriptorToJSON)),
+    };
+}
+
@@ -0,0 +1,76 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface LabelLocation
+ */
+export interface LabelLocation {
+    /**
+     * Location of Label usage
+     * @type {string}
+     * @memberof LabelLocation
+     */
+    type?: string;
+    /**
+     * Unique ID for location that references Schema
+     * @type {number}
+     * @memberof LabelLocation
+     */
+    testId?: number;
+    /**
+     * Test name that references Schema
+     * @type {string}
+     * @memberof LabelLocation
+     */
+    testName?: string;
+}
+
+/**
+ * Check if a given object implements the LabelLocation interface.
+ */
+export function instanceOfLabelLocation(value: object): boolean {
+    return true;
+}
+
+export function LabelLocationFromJSON(json: any): LabelLocation {
+    return LabelLocationFromJSONTyped(json, false);
+}
+
+export function LabelLocationFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelLocation {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'type': json['type'] == null ? undefined : json['type'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'testName': json['testName'] == null ? undefined : json['testName'],
+    };
+}
+
+export function LabelLocationToJSON(value?: LabelLocation | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'type': value['type'],
+        'testId': value['testId'],
+        'testName': value['testName'],
+    };
+}
+
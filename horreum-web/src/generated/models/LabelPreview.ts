@@ -0,0 +1,68 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Preview a Label Value derived from a Dataset Data. A preview allows users to apply a Label to a dataset and preview the Label Value result and processing errors in the UI
+ * @export
+ * @interface LabelPreview
+ */
+export interface LabelPreview {
+    /**
+     * Value value extracted from Dataset. This can be a scalar, array or JSON object
+     * @type {string}
+     * @memberof LabelPreview
+     */
+    value?: string;
+    /**
+     * Description of errors occurred attempting to generate Label Value Preview
+     * @type {string}
+     * @memberof LabelPreview
+     */
+    output?: string;
+}
+
+/**
+ * Check if a given object implements the LabelPreview interface.
+ */
+export function instanceOfLabelPreview(value: object): boolean {
+    return true;
+}
+
+export function LabelPreviewFromJSON(json: any): LabelPreview {
+    return LabelPreviewFromJSONTyped(json, false);
+}
+
+export function LabelPreviewFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelPreview {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'value': json['value'] == null ? undefined : json['value'],
+        'output': json['output'] == null ? undefined : json['output'],
+    };
+}
+
+export function LabelPreviewToJSON(value?: LabelPreview | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'value': value['value'],
+        'output': value['output'],
+    };
+}
+
@@ -0,0 +1,91 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { UserData } from './UserData';
+import {
+    UserDataFromJSON,
+    UserDataFromJSONTyped,
+    UserDataToJSON,
+} from './UserData';
+
+/**
+ * 
+ * @export
+ * @interface NewUser
+ */
+export interface NewUser {
+    /**
+     * 
+     * @type {UserData}
+     * @memberof NewUser
+     */
+    user?: UserData;
+    /**
+     * 
+     * @type {string}
+     * @memberof NewUser
+     */
+    password?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof NewUser
+     */
+    team?: string;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof NewUser
+     */
+    roles?: Array<string>;
+}
+
+/**
+ * Check if a given object implements the NewUser interface.
+ */
+export function instanceOfNewUser(value: object): boolean {
+    return true;
+}
+
+export function NewUserFromJSON(json: any): NewUser {
+    return NewUserFromJSONTyped(json, false);
+}
+
+export function NewUserFromJSONTyped(json: any, ignoreDiscriminator: boolean): NewUser {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'user': json['user'] == null ? undefined : UserDataFromJSON(json['user']),
+        'password': json['password'] == null ? undefined : json['password'],
+        'team': json['team'] == null ? undefined : json['team'],
+        'roles': json['roles'] == null ? undefined : json['roles'],
+    };
+}
+
+export function NewUserToJSON(value?: NewUser | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'user': UserDataToJSON(value['user']),
+        'password': value['password'],
+        'team': value['team'],
+        'roles': value['roles'],
+    };
+}
+
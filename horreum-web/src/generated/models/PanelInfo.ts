@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Variable } from './Variable';
+import {
+    VariableFromJSON,
+    VariableFromJSONTyped,
+    VariableToJSON,
+} from './Variable';
+
+/**
+ * 
+ * @export
+ * @interface PanelInfo
+ */
+export interface PanelInfo {
+    /**
+     * 
+     * @type {string}
+     * @memberof PanelInfo
+     */
+    name: string;
+    /**
+     * 
+     * @type {Array<Variable>}
+     * @memberof PanelInfo
+     */
+    variables: Array<Variable>;
+}
+
+/**
+ * Check if a given object implements the PanelInfo interface.
+ */
+export function instanceOfPanelInfo(value: object): boolean {
+    if (!('name' in value)) return false;
+    if (!('variables' in value)) return false;
+    return true;
+}
+
+export function PanelInfoFromJSON(json: any): PanelInfo {
+    return PanelInfoFromJSONTyped(json, false);
+}
+
+export function PanelInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): PanelInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'name': json['name'],
+        'variables': ((json['variables'] as Array<any>).map(VariableFromJSON)),
+    };
+}
+
+export function PanelInfoToJSON(value?: PanelInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'name': value['name'],
+        'variables': ((value['variables'] as Array<any>).map(VariableToJSON)),
+    };
+}
+
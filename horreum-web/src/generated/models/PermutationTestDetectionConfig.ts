@@ -0,0 +1,133 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface PermutationTestDetectionConfig
+ */
+export interface PermutationTestDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof PermutationTestDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof PermutationTestDetectionConfig
+     */
+    model: PermutationTestDetectionConfigModelEnum;
+    /**
+     * Test statistic: 'mean' compares means of the values, 'mannWhitney' compares ranks
+     * @type {string}
+     * @memberof PermutationTestDetectionConfig
+     */
+    statistic: string;
+    /**
+     * Number of most recent datapoints tested against the preceding ones.
+     * @type {number}
+     * @memberof PermutationTestDetectionConfig
+     */
+    window: number;
+    /**
+     * Number of datapoints preceding the window
+     * @type {number}
+     * @memberof PermutationTestDetectionConfig
+     */
+    previous: number;
+    /**
+     * Maximum p-value of the test for the difference to be reported as a change.
+     * @type {number}
+     * @memberof PermutationTestDetectionConfig
+     */
+    pvalue: number;
+    /**
+     * Number of random permutations used to estimate the p-value
+     * @type {number}
+     * @memberof PermutationTestDetectionConfig
+     */
+    iterations: number;
+    /**
+     * Seed of the random permutations; the same datapoints always give the same result.
+     * @type {number}
+     * @memberof PermutationTestDetectionConfig
+     */
+    seed?: number;
+}
+
+
+/**
+ * @export
+ */
+export const PermutationTestDetectionConfigModelEnum = {
+    PermutationTest: 'permutationTest'
+} as const;
+export type PermutationTestDetectionConfigModelEnum = typeof PermutationTestDetectionConfigModelEnum[keyof typeof PermutationTestDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the PermutationTestDetectionConfig interface.
+ */
+export function instanceOfPermutationTestDetectionConfig(value: object): boolean {
+    if (!('builtIn' in value)) return false;
+    if (!('model' in value)) return false;
+    if (!('statistic' in value)) return false;
+    if (!('window' in value)) return false;
+    if (!('previous' in value)) return false;
+    if (!('pvalue' in value)) return false;
+    if (!('iterations' in value)) return false;
+    return true;
+}
+
+export function PermutationTestDetectionConfigFromJSON(json: any): PermutationTestDetectionConfig {
+    return PermutationTestDetectionConfigFromJSONTyped(json, false);
+}
+
+export function PermutationTestDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): PermutationTestDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+        'statistic': json['statistic'],
+        'window': json['window'],
+        'previous': json['previous'],
+        'pvalue': json['pvalue'],
+        'iterations': json['iterations'],
+        'seed': json['seed'] == null ? undefined : json['seed'],
+    };
+}
+
+export function PermutationTestDetectionConfigToJSON(value?: PermutationTestDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+        'statistic': value['statistic'],
+        'window': value['window'],
+        'previous': value['previous'],
+        'pvalue': value['pvalue'],
+        'iterations': value['iterations'],
+        'seed': value['seed'],
+    };
+}
+
@@ -0,0 +1,88 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Persistent Log
+ * @export
+ * @interface PersistentLog
+ */
+export interface PersistentLog {
+    /**
+     * 
+     * @type {number}
+     * @memberof PersistentLog
+     */
+    id: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof PersistentLog
+     */
+    level: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof PersistentLog
+     */
+    timestamp: Date;
+    /**
+     * 
+     * @type {string}
+     * @memberof PersistentLog
+     */
+    message: string;
+}
+
+/**
+ * Check if a given object implements the PersistentLog interface.
+ */
+export function instanceOfPersistentLog(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('level' in value)) return false;
+    if (!('timestamp' in value)) return false;
+    if (!('message' in value)) return false;
+    return true;
+}
+
+export function PersistentLogFromJSON(json: any): PersistentLog {
+    return PersistentLogFromJSONTyped(json, false);
+}
+
+export function PersistentLogFromJSONTyped(json: any, ignoreDiscriminator: boolean): PersistentLog {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'level': json['level'],
+        'timestamp': (new Date(json['timestamp'])),
+        'message': json['message'],
+    };
+}
+
+export function PersistentLogToJSON(value?: PersistentLog | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'level': value['level'],
+        'timestamp': ((value['timestamp']).toISOString()),
+        'message': value['message'],
+    };
+}
+
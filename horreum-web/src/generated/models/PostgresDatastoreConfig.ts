@@ -0,0 +1,61 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Built in backend datastore
+ * @export
+ * @interface PostgresDatastoreConfig
+ */
+export interface PostgresDatastoreConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof PostgresDatastoreConfig
+     */
+    builtIn: boolean;
+}
+
+/**
+ * Check if a given object implements the PostgresDatastoreConfig interface.
+ */
+export function instanceOfPostgresDatastoreConfig(value: object): boolean {
+    if (!('builtIn' in value)) return false;
+    return true;
+}
+
+export function PostgresDatastoreConfigFromJSON(json: any): PostgresDatastoreConfig {
+    return PostgresDatastoreConfigFromJSONTyped(json, false);
+}
+
+export function PostgresDatastoreConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): PostgresDatastoreConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+    };
+}
+
+export function PostgresDatastoreConfigToJSON(value?: PostgresDatastoreConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+    };
+}
+
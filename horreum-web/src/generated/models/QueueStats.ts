@@ -0,0 +1,133 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface QueueStats
+ */
+export interface QueueStats {
+    /**
+     * Processing lane
+     * @type {string}
+     * @memberof QueueStats
+     */
+    lane: string;
+    /**
+     * Maximum number of messages buffered before sending to the broker
+     * @type {number}
+     * @memberof QueueStats
+     */
+    capacity?: number;
+    /**
+     * Messages buffered and not acknowledged yet
+     * @type {number}
+     * @memberof QueueStats
+     */
+    buffered?: number;
+    /**
+     * Messages stored in the database because the buffer was full
+     * @type {number}
+     * @memberof QueueStats
+     */
+    spilled?: number;
+    /**
+     * Mean time in milliseconds spent waiting for space in the buffer
+     * @type {number}
+     * @memberof QueueStats
+     */
+    enqueueLatencyMean?: number;
+    /**
+     * Maximum time in milliseconds spent waiting for space in the buffer (recent)
+     * @type {number}
+     * @memberof QueueStats
+     */
+    enqueueLatencyMax?: number;
+    /**
+     * Messages queued by this instance
+     * @type {number}
+     * @memberof QueueStats
+     */
+    queued?: number;
+    /**
+     * Messages processed by this instance
+     * @type {number}
+     * @memberof QueueStats
+     */
+    processed?: number;
+    /**
+     * Jobs waiting in the database queue (from all instances)
+     * @type {number}
+     * @memberof QueueStats
+     */
+    backlog?: number;
+    /**
+     * Creation time of the oldest job waiting in the database queue
+     * @type {Date}
+     * @memberof QueueStats
+     */
+    oldestJob?: Date;
+}
+
+/**
+ * Check if a given object implements the QueueStats interface.
+ */
+export function instanceOfQueueStats(value: object): boolean {
+    if (!('lane' in value)) return false;
+    return true;
+}
+
+export function QueueStatsFromJSON(json: any): QueueStats {
+    return QueueStatsFromJSONTyped(json, false);
+}
+
+export function QueueStatsFromJSONTyped(json: any, ignoreDiscriminator: boolean): QueueStats {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'lane': json['lane'],
+        'capacity': json['capacity'] == null ? undefined : json['capacity'],
+        'buffered': json['buffered'] == null ? undefined : json['buffered'],
+        'spilled': json['spilled'] == null ? undefined : json['spilled'],
+        'enqueueLatencyMean': json['enqueueLatencyMean'] == null ? undefined : json['enqueueLatencyMean'],
+        'enqueueLatencyMax': json['enqueueLatencyMax'] == null ? undefined : json['enqueueLatencyMax'],
+        'queued': json['queued'] == null ? undefined : json['queued'],
+        'processed': json['processed'] == null ? undefined : json['processed'],
+        'backlog': json['backlog'] == null ? undefined : json['backlog'],
+        'oldestJob': json['oldestJob'] == null ? undefined : (new Date(json['oldestJob'])),
+    };
+}
+
+export function QueueStatsToJSON(value?: QueueStats | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'lane': value['lane'],
+        'capacity': value['capacity'],
+        'buffered': value['buffered'],
+        'spilled': value['spilled'],
+        'enqueueLatencyMean': value['enqueueLatencyMean'],
+        'enqueueLatencyMax': value['enqueueLatencyMax'],
+        'queued': value['queued'],
+        'processed': value['processed'],
+        'backlog': value['backlog'],
+        'oldestJob': value['oldestJob'] == null ? undefined : ((value['oldestJob']).toISOString()),
+    };
+}
+
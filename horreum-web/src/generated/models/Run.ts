@@ -0,0 +1,175 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { Dataset } from './Dataset';
+import {
+    DatasetFromJSON,
+    DatasetFromJSONTyped,
+    DatasetToJSON,
+} from './Dataset';
+import type { ValidationError } from './ValidationError';
+import {
+    ValidationErrorFromJSON,
+    ValidationErrorFromJSONTyped,
+    ValidationErrorToJSON,
+} from './ValidationError';
+
+/**
+ * 
+ * @export
+ * @interface Run
+ */
+export interface Run {
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Run
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Run
+     */
+    owner: string;
+    /**
+     * Run Start timestamp
+     * @type {number}
+     * @memberof Run
+     */
+    start: number;
+    /**
+     * Run Stop timestamp
+     * @type {number}
+     * @memberof Run
+     */
+    stop: number;
+    /**
+     * Unique Run ID
+     * @type {number}
+     * @memberof Run
+     */
+    id: number;
+    /**
+     * Run description
+     * @type {string}
+     * @memberof Run
+     */
+    description?: string;
+    /**
+     * Test ID run relates to
+     * @type {number}
+     * @memberof Run
+     */
+    testid: number;
+    /**
+     * Run result payload
+     * @type {string}
+     * @memberof Run
+     */
+    data: string;
+    /**
+     * JSON metadata related to run, can be tool configuration etc
+     * @type {string}
+     * @memberof Run
+     */
+    metadata?: string;
+    /**
+     * Has Run been deleted from UI
+     * @type {boolean}
+     * @memberof Run
+     */
+    trashed: boolean;
+    /**
+     * Collection of Datasets derived from Run payload
+     * @type {Array<Dataset>}
+     * @memberof Run
+     */
+    datasets?: Array<Dataset>;
+    /**
+     * Collection of Validation Errors in Run payload
+     * @type {Array<ValidationError>}
+     * @memberof Run
+     */
+    validationErrors?: Array<ValidationError>;
+}
+
+/**
+ * Check if a given object implements the Run interface.
+ */
+export function instanceOfRun(value: object): boolean {
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('start' in value)) return false;
+    if (!('stop' in value)) return false;
+    if (!('id' in value)) return false;
+    if (!('testid' in value)) return false;
+    if (!('data' in value)) return false;
+    if (!('trashed' in value)) return false;
+    return true;
+}
+
+export function RunFromJSON(json: any): Run {
+    return RunFromJSONTyped(json, false);
+}
+
+export function RunFromJSONTyped(json: any, ignoreDiscriminator: boolean): Run {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'start': json['start'],
+        'stop': json['stop'],
+        'id': json['id'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'testid': json['testid'],
+        'data': json['data'],
+        'metadata': json['metadata'] == null ? undefined : json['metadata'],
+        'trashed': json['trashed'],
+        'datasets': json['datasets'] == null ? undefined : ((json['datasets'] as Array<any>).map(DatasetFromJSON)),
+        'validationErrors': json['validationErrors'] == null ? undefined : ((json['validationErrors'] as Array<any>).map(ValidationErrorFromJSON)),
+    };
+}
+
+export function RunToJSON(value?: Run | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'start': value['start'],
+        'stop': value['stop'],
+        'id': value['id'],
+        'description': value['description'],
+        'testid': value['testid'],
+        'data': value['data'],
+        'metadata': value['metadata'],
+        'trashed': value['trashed'],
+        'datasets': value['datasets'] == null ? undefined : ((value['datasets'] as Array<any>).map(DatasetToJSON)),
+        'validationErrors': value['validationErrors'] == null ? undefined : ((value['validationErrors'] as Array<any>).map(ValidationErrorToJSON)),
+    };
+}
+
@@ -0,0 +1,124 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface RunImportStatus
+ */
+export interface RunImportStatus {
+    /**
+     * Import job ID
+     * @type {number}
+     * @memberof RunImportStatus
+     */
+    id: number;
+    /**
+     * Test ID
+     * @type {number}
+     * @memberof RunImportStatus
+     */
+    testId: number;
+    /**
+     * Number of Runs in the import
+     * @type {number}
+     * @memberof RunImportStatus
+     */
+    total: number;
+    /**
+     * Number of Runs persisted so far
+     * @type {number}
+     * @memberof RunImportStatus
+     */
+    persisted: number;
+    /**
+     * Number of Runs that failed to be persisted
+     * @type {number}
+     * @memberof RunImportStatus
+     */
+    failed: number;
+    /**
+     * True when all Runs have been processed
+     * @type {boolean}
+     * @memberof RunImportStatus
+     */
+    done: boolean;
+    /**
+     * IDs of the persisted Runs
+     * @type {Array<number>}
+     * @memberof RunImportStatus
+     */
+    runIds: Array<number>;
+    /**
+     * Errors of failed batches
+     * @type {Array<string>}
+     * @memberof RunImportStatus
+     */
+    errors: Array<string>;
+}
+
+/**
+ * Check if a given object implements the RunImportStatus interface.
+ */
+export function instanceOfRunImportStatus(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('testId' in value)) return false;
+    if (!('total' in value)) return false;
+    if (!('persisted' in value)) return false;
+    if (!('failed' in value)) return false;
+    if (!('done' in value)) return false;
+    if (!('runIds' in value)) return false;
+    if (!('errors' in value)) return false;
+    return true;
+}
+
+export function RunImportStatusFromJSON(json: any): RunImportStatus {
+    return RunImportStatusFromJSONTyped(json, false);
+}
+
+export function RunImportStatusFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunImportStatus {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'testId': json['testId'],
+        'total': json['total'],
+        'persisted': json['persisted'],
+        'failed': json['failed'],
+        'done': json['done'],
+        'runIds': json['runIds'],
+        'errors': json['errors'],
+    };
+}
+
+export function RunImportStatusToJSON(value?: RunImportStatus | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'testId': value['testId'],
+        'total': value['total'],
+        'persisted': value['persisted'],
+        'failed': value['failed'],
+        'done': value['done'],
+        'runIds': value['runIds'],
+        'errors': value['errors'],
+    };
+}
+
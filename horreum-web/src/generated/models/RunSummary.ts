@@ -0,0 +1,193 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { SchemaUsage } from './SchemaUsage';
+import {
+    SchemaUsageFromJSON,
+    SchemaUsageFromJSONTyped,
+    SchemaUsageToJSON,
+} from './SchemaUsage';
+import type { ValidationError } from './ValidationError';
+import {
+    ValidationErrorFromJSON,
+    ValidationErrorFromJSONTyped,
+    ValidationErrorToJSON,
+} from './ValidationError';
+
+/**
+ * 
+ * @export
+ * @interface RunSummary
+ */
+export interface RunSummary {
+    /**
+     * Run unique ID
+     * @type {number}
+     * @memberof RunSummary
+     */
+    id: number;
+    /**
+     * test ID run relates to
+     * @type {number}
+     * @memberof RunSummary
+     */
+    testid: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof RunSummary
+     */
+    token?: string;
+    /**
+     * test ID run relates to
+     * @type {string}
+     * @memberof RunSummary
+     */
+    testname: string;
+    /**
+     * has Run been trashed in the UI
+     * @type {boolean}
+     * @memberof RunSummary
+     */
+    trashed: boolean;
+    /**
+     * does Run have metadata uploaded alongside Run data
+     * @type {boolean}
+     * @memberof RunSummary
+     */
+    hasMetadata: boolean;
+    /**
+     * Run description
+     * @type {string}
+     * @memberof RunSummary
+     */
+    description?: string;
+    /**
+     * List of all Schema Usages for Run
+     * @type {Array<SchemaUsage>}
+     * @memberof RunSummary
+     */
+    schemas?: Array<SchemaUsage>;
+    /**
+     * Array of datasets ids
+     * @type {Array<number>}
+     * @memberof RunSummary
+     */
+    datasets: Array<number>;
+    /**
+     * Array of validation errors
+     * @type {Array<ValidationError>}
+     * @memberof RunSummary
+     */
+    validationErrors?: Array<ValidationError>;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof RunSummary
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof RunSummary
+     */
+    owner: string;
+    /**
+     * Run Start timestamp
+     * @type {number}
+     * @memberof RunSummary
+     */
+    start: number;
+    /**
+     * Run Stop timestamp
+     * @type {number}
+     * @memberof RunSummary
+     */
+    stop: number;
+}
+
+/**
+ * Check if a given object implements the RunSummary interface.
+ */
+export function instanceOfRunSummary(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('testid' in value)) return false;
+    if (!('testname' in value)) return false;
+    if (!('trashed' in value)) return false;
+    if (!('hasMetadata' in value)) return false;
+    if (!('datasets' in value)) return false;
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    if (!('start' in value)) return false;
+    if (!('stop' in value)) return false;
+    return true;
+}
+
+export function RunSummaryFromJSON(json: any): RunSummary {
+    return RunSummaryFromJSONTyped(json, false);
+}
+
+export function RunSummaryFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunSummary {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'testid': json['testid'],
+        'token': json['token'] == null ? undefined : json['token'],
+        'testname': json['testname'],
+        'trashed': json['trashed'],
+        'hasMetadata': json['hasMetadata'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'schemas': json['schemas'] == null ? undefined : ((json['schemas'] as Array<any>).map(SchemaUsageFromJSON)),
+        'datasets': json['datasets'],
+        'validationErrors': json['validationErrors'] == null ? undefined : ((json['validationErrors'] as Array<any>).map(ValidationErrorFromJSON)),
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'start': json['start'],
+        'stop': json['stop'],
+    };
+}
+
+export function RunSummaryToJSON(value?: RunSummary | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'testid': value['testid'],
+        'token': value['token'],
+        'testname': value['testname'],
+        'trashed': value['trashed'],
+        'hasMetadata': value['hasMetadata'],
+        'description': value['description'],
+        'schemas': value['schemas'] == null ? undefined : ((value['schemas'] as Array<any>).map(SchemaUsageToJSON)),
+        'datasets': value['datasets'],
+        'validationErrors': value['validationErrors'] == null ? undefined : ((value['validationErrors'] as Array<any>).map(ValidationErrorToJSON)),
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'start': value['start'],
+        'stop': value['stop'],
+    };
+}
+
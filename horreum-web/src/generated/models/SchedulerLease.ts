@@ -0,0 +1,88 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface SchedulerLease
+ */
+export interface SchedulerLease {
+    /**
+     * Identifier of the scheduled job
+     * @type {string}
+     * @memberof SchedulerLease
+     */
+    name: string;
+    /**
+     * Horreum instance holding the lease
+     * @type {string}
+     * @memberof SchedulerLease
+     */
+    holder: string;
+    /**
+     * Time when the current holder acquired the lease
+     * @type {Date}
+     * @memberof SchedulerLease
+     */
+    acquired: Date;
+    /**
+     * Time when the lease expires unless it is renewed
+     * @type {Date}
+     * @memberof SchedulerLease
+     */
+    expires: Date;
+}
+
+/**
+ * Check if a given object implements the SchedulerLease interface.
+ */
+export function instanceOfSchedulerLease(value: object): boolean {
+    if (!('name' in value)) return false;
+    if (!('holder' in value)) return false;
+    if (!('acquired' in value)) return false;
+    if (!('expires' in value)) return false;
+    return true;
+}
+
+export function SchedulerLeaseFromJSON(json: any): SchedulerLease {
+    return SchedulerLeaseFromJSONTyped(json, false);
+}
+
+export function SchedulerLeaseFromJSONTyped(json: any, ignoreDiscriminator: boolean): SchedulerLease {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'name': json['name'],
+        'holder': json['holder'],
+        'acquired': (new Date(json['acquired'])),
+        'expires': (new Date(json['expires'])),
+    };
+}
+
+export function SchedulerLeaseToJSON(value?: SchedulerLease | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'name': value['name'],
+        'holder': value['holder'],
+        'acquired': ((value['acquired']).toISOString()),
+        'expires': ((value['expires']).toISOString()),
+    };
+}
+
@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface SlackChannelMessageActionConfig
+ */
+export interface SlackChannelMessageActionConfig {
+    /**
+     * Action type
+     * @type {string}
+     * @memberof SlackChannelMessageActionConfig
+     */
+    type: string;
+    /**
+     * Slack channel
+     * @type {string}
+     * @memberof SlackChannelMessageActionConfig
+     */
+    channel: string;
+    /**
+     * Object markdown formatter
+     * @type {string}
+     * @memberof SlackChannelMessageActionConfig
+     */
+    formatter: string;
+}
+
+/**
+ * Check if a given object implements the SlackChannelMessageActionConfig interface.
+ */
+export function instanceOfSlackChannelMessageActionConfig(value: object): boolean {
+    if (!('type' in value)) return false;
+    if (!('channel' in value)) return false;
+    if (!('formatter' in value)) return false;
+    return true;
+}
+
+export function SlackChannelMessageActionConfigFromJSON(json: any): SlackChannelMessageActionConfig {
+    return SlackChannelMessageActionConfigFromJSONTyped(json, false);
+}
+
+export function SlackChannelMessageActionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): SlackChannelMessageActionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'type': json['type'],
+        'channel': json['channel'],
+        'formatter': json['formatter'],
+    };
+}
+
+export function SlackChannelMessageActionConfigToJSON(value?: SlackChannelMessageActionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'type': value['type'],
+        'channel': value['channel'],
+        'formatter': value['formatter'],
+    };
+}
+
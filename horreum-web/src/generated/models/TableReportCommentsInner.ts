@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface TableReportCommentsInner
+ */
+export interface TableReportCommentsInner {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportCommentsInner
+     */
+    id?: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportCommentsInner
+     */
+    level: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportCommentsInner
+     */
+    category?: string;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportCommentsInner
+     */
+    componentId?: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportCommentsInner
+     */
+    comment: string;
+}
+
+/**
+ * Check if a given object implements the TableReportCommentsInner interface.
+ */
+export function instanceOfTableReportCommentsInner(value: object): boolean {
+    if (!('level' in value)) return false;
+    if (!('comment' in value)) return false;
+    return true;
+}
+
+export function TableReportCommentsInnerFromJSON(json: any): TableReportCommentsInner {
+    return TableReportCommentsInnerFromJSONTyped(json, false);
+}
+
+export function TableReportCommentsInnerFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportCommentsInner {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'] == null ? undefined : json['id'],
+        'level': json['level'],
+        'category': json['category'] == null ? undefined : json['category'],
+        'componentId': json['componentId'] == null ? undefined : json['componentId'],
+        'comment': json['comment'],
+    };
+}
+
+export function TableReportCommentsInnerToJSON(value?: TableReportCommentsInner | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'level': value['level'],
+        'category': value['category'],
+        'componentId': value['componentId'],
+        'comment': value['comment'],
+    };
+}
+
@@ -0,0 +1,115 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Table Report Data
+ * @export
+ * @interface TableReportData
+ */
+export interface TableReportData {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    datasetId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    runId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    ordinal: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    category: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    series: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    scale: string;
+    /**
+     * Array of values
+     * @type {Array<number>}
+     * @memberof TableReportData
+     */
+    values: Array<number>;
+}
+
+/**
+ * Check if a given object implements the TableReportData interface.
+ */
+export function instanceOfTableReportData(value: object): boolean {
+    if (!('datasetId' in value)) return false;
+    if (!('runId' in value)) return false;
+    if (!('ordinal' in value)) return false;
+    if (!('category' in value)) return false;
+    if (!('series' in value)) return false;
+    if (!('scale' in value)) return false;
+    if (!('values' in value)) return false;
+    return true;
+}
+
+export function TableReportDataFromJSON(json: any): TableReportData {
+    return TableReportDataFromJSONTyped(json, false);
+}
+
+export function TableReportDataFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportData {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'datasetId': json['datasetId'],
+        'runId': json['runId'],
+        'ordinal': json['ordinal'],
+        'category': json['category'],
+        'series': json['series'],
+        'scale': json['scale'],
+        'values': json['values'],
+    };
+}
+
+export function TableReportDataToJSON(value?: TableReportData | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'datasetId': value['datasetId'],
+        'runId': value['runId'],
+        'ordinal': value['ordinal'],
+        'category': value['category'],
+        'series': value['series'],
+        'scale': value['scale'],
+        'values': value['values'],
+    };
+}
+
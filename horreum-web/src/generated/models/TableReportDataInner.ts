@@ -0,0 +1,115 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Table Report Data
+ * @export
+ * @interface TableReportDataInner
+ */
+export interface TableReportDataInner {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportDataInner
+     */
+    datasetId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportDataInner
+     */
+    runId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportDataInner
+     */
+    ordinal: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportDataInner
+     */
+    category: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportDataInner
+     */
+    series: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportDataInner
+     */
+    scale: string;
+    /**
+     * Array of values
+     * @type {Array<number>}
+     * @memberof TableReportDataInner
+     */
+    values: Array<number>;
+}
+
+/**
+ * Check if a given object implements the TableReportDataInner interface.
+ */
+export function instanceOfTableReportDataInner(value: object): boolean {
+    if (!('datasetId' in value)) return false;
+    if (!('runId' in value)) return false;
+    if (!('ordinal' in value)) return false;
+    if (!('category' in value)) return false;
+    if (!('series' in value)) return false;
+    if (!('scale' in value)) return false;
+    if (!('values' in value)) return false;
+    return true;
+}
+
+export function TableReportDataInnerFromJSON(json: any): TableReportDataInner {
+    return TableReportDataInnerFromJSONTyped(json, false);
+}
+
+export function TableReportDataInnerFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportDataInner {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'datasetId': json['datasetId'],
+        'runId': json['runId'],
+        'ordinal': json['ordinal'],
+        'category': json['category'],
+        'series': json['series'],
+        'scale': json['scale'],
+        'values': json['values'],
+    };
+}
+
+export function TableReportDataInnerToJSON(value?: TableReportDataInner | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'datasetId': value['datasetId'],
+        'runId': value['runId'],
+        'ordinal': value['ordinal'],
+        'category': value['category'],
+        'series': value['series'],
+        'scale': value['scale'],
+        'values': value['values'],
+    };
+}
+
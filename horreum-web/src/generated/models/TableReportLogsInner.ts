@@ -0,0 +1,97 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Report Log
+ * @export
+ * @interface TableReportLogsInner
+ */
+export interface TableReportLogsInner {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportLogsInner
+     */
+    reportId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportLogsInner
+     */
+    id: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportLogsInner
+     */
+    level: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof TableReportLogsInner
+     */
+    timestamp: Date;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportLogsInner
+     */
+    message: string;
+}
+
+/**
+ * Check if a given object implements the TableReportLogsInner interface.
+ */
+export function instanceOfTableReportLogsInner(value: object): boolean {
+    if (!('reportId' in value)) return false;
+    if (!('id' in value)) return false;
+    if (!('level' in value)) return false;
+    if (!('timestamp' in value)) return false;
+    if (!('message' in value)) return false;
+    return true;
+}
+
+export function TableReportLogsInnerFromJSON(json: any): TableReportLogsInner {
+    return TableReportLogsInnerFromJSONTyped(json, false);
+}
+
+export function TableReportLogsInnerFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportLogsInner {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'reportId': json['reportId'],
+        'id': json['id'],
+        'level': json['level'],
+        'timestamp': (new Date(json['timestamp'])),
+        'message': json['message'],
+    };
+}
+
+export function TableReportLogsInnerToJSON(value?: TableReportLogsInner | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'reportId': value['reportId'],
+        'id': value['id'],
+        'level': value['level'],
+        'timestamp': ((value['timestamp']).toISOString()),
+        'message': value['message'],
+    };
+}
+
@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface TableReportSummaryItem
+ */
+export interface TableReportSummaryItem {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportSummaryItem
+     */
+    id: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportSummaryItem
+     */
+    configId: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof TableReportSummaryItem
+     */
+    created: Date;
+}
+
+/**
+ * Check if a given object implements the TableReportSummaryItem interface.
+ */
+export function instanceOfTableReportSummaryItem(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('configId' in value)) return false;
+    if (!('created' in value)) return false;
+    return true;
+}
+
+export function TableReportSummaryItemFromJSON(json: any): TableReportSummaryItem {
+    return TableReportSummaryItemFromJSONTyped(json, false);
+}
+
+export function TableReportSummaryItemFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportSummaryItem {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'configId': json['configId'],
+        'created': (new Date(json['created'])),
+    };
+}
+
+export function TableReportSummaryItemToJSON(value?: TableReportSummaryItem | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'configId': value['configId'],
+        'created': ((value['created']).toISOString()),
+    };
+}
+
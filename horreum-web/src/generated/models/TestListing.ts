@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { TestSummary } from './TestSummary';
+import {
+    TestSummaryFromJSON,
+    TestSummaryFromJSONTyped,
+    TestSummaryToJSON,
+} from './TestSummary';
+
+/**
+ * 
+ * @export
+ * @interface TestListing
+ */
+export interface TestListing {
+    /**
+     * Array of Test Summaries
+     * @type {Array<TestSummary>}
+     * @memberof TestListing
+     */
+    tests: Array<TestSummary>;
+    /**
+     * Number of tests when pagination is ignored
+     * @type {number}
+     * @memberof TestListing
+     */
+    count: number;
+}
+
+/**
+ * Check if a given object implements the TestListing interface.
+ */
+export function instanceOfTestListing(value: object): boolean {
+    if (!('tests' in value)) return false;
+    if (!('count' in value)) return false;
+    return true;
+}
+
+export function TestListingFromJSON(json: any): TestListing {
+    return TestListingFromJSONTyped(json, false);
+}
+
+export function TestListingFromJSONTyped(json: any, ignoreDiscriminator: boolean): TestListing {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'tests': ((json['tests'] as Array<any>).map(TestSummaryFromJSON)),
+        'count': json['count'],
+    };
+}
+
+export function TestListingToJSON(value?: TestListing | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'tests': ((value['tests'] as Array<any>).map(TestSummaryToJSON)),
+        'count': value['count'],
+    };
+}
+
@@ -0,0 +1,96 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface TestToken
+ */
+export interface TestToken {
+    /**
+     * Unique Token id
+     * @type {number}
+     * @memberof TestToken
+     */
+    id: number;
+    /**
+     * Test ID to apply Token
+     * @type {number}
+     * @memberof TestToken
+     */
+    testId?: number;
+    /**
+     * Test value
+     * @type {string}
+     * @memberof TestToken
+     */
+    value: string;
+    /**
+     * 
+     * @type {number}
+     * @memberof TestToken
+     */
+    permissions: number;
+    /**
+     * Token description
+     * @type {string}
+     * @memberof TestToken
+     */
+    description: string;
+}
+
+/**
+ * Check if a given object implements the TestToken interface.
+ */
+export function instanceOfTestToken(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('value' in value)) return false;
+    if (!('permissions' in value)) return false;
+    if (!('description' in value)) return false;
+    return true;
+}
+
+export function TestTokenFromJSON(json: any): TestToken {
+    return TestTokenFromJSONTyped(json, false);
+}
+
+export function TestTokenFromJSONTyped(json: any, ignoreDiscriminator: boolean): TestToken {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'value': json['value'],
+        'permissions': json['permissions'],
+        'description': json['description'],
+    };
+}
+
+export function TestTokenToJSON(value?: TestToken | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'testId': value['testId'],
+        'value': value['value'],
+        'permissions': value['permissions'],
+        'description': value['description'],
+    };
+}
+
@@ -0,0 +1,161 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { Extractor } from './Extractor';
+import {
+    ExtractorFromJSON,
+    ExtractorFromJSONTyped,
+    ExtractorToJSON,
+} from './Extractor';
+
+/**
+ * A transformer extracts labals and applies a Function to convert a Run into one or more Datasets
+ * @export
+ * @interface Transformer
+ */
+export interface Transformer {
+    /**
+     * Unique Transformer id
+     * @type {number}
+     * @memberof Transformer
+     */
+    id: number;
+    /**
+     * Transformer name
+     * @type {string}
+     * @memberof Transformer
+     */
+    name: string;
+    /**
+     * Transformer description
+     * @type {string}
+     * @memberof Transformer
+     */
+    description?: string;
+    /**
+     * The schema associated with the calculated Datasets. Where a transformer creates a new JSON object with a new structure, this Schema is used to extafct values from the new Dataset JSON document
+     * @type {string}
+     * @memberof Transformer
+     */
+    targetSchemaUri?: string;
+    /**
+     * A collection of extractors to extract JSON values to create new Dataset JSON document
+     * @type {Array<Extractor>}
+     * @memberof Transformer
+     */
+    extractors: Array<Extractor>;
+    /**
+     * 
+     * @type {string}
+     * @memberof Transformer
+     */
+    _function?: string;
+    /**
+     * Schema ID that the transform is registered against
+     * @type {number}
+     * @memberof Transformer
+     */
+    schemaId: number;
+    /**
+     * Schema Uri that the transform is registered against
+     * @type {string}
+     * @memberof Transformer
+     */
+    schemaUri: string;
+    /**
+     * Schema name that the transform is registered against
+     * @type {string}
+     * @memberof Transformer
+     */
+    schemaName: string;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Transformer
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Transformer
+     */
+    owner: string;
+}
+
+/**
+ * Check if a given object implements the Transformer interface.
+ */
+export function instanceOfTransformer(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('name' in value)) return false;
+    if (!('extractors' in value)) return false;
+    if (!('schemaId' in value)) return false;
+    if (!('schemaUri' in value)) return false;
+    if (!('schemaName' in value)) return false;
+    if (!('access' in value)) return false;
+    if (!('owner' in value)) return false;
+    return true;
+}
+
+export function TransformerFromJSON(json: any): Transformer {
+    return TransformerFromJSONTyped(json, false);
+}
+
+export function TransformerFromJSONTyped(json: any, ignoreDiscriminator: boolean): Transformer {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'targetSchemaUri': json['targetSchemaUri'] == null ? undefined : json['targetSchemaUri'],
+        'extractors': ((json['extractors'] as Array<any>).map(ExtractorFromJSON)),
+        '_function': json['function'] == null ? undefined : json['function'],
+        'schemaId': json['schemaId'],
+        'schemaUri': json['schemaUri'],
+        'schemaName': json['schemaName'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function TransformerToJSON(value?: Transformer | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'description': value['description'],
+        'targetSchemaUri': value['targetSchemaUri'],
+        'extractors': ((value['extractors'] as Array<any>).map(ExtractorToJSON)),
+        'function': value['_function'],
+        'schemaId': value['schemaId'],
+        'schemaUri': value['schemaUri'],
+        'schemaName': value['schemaName'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
@@ -0,0 +1,78 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface VersionInfo
+ */
+export interface VersionInfo {
+    /**
+     * Version of Horreum
+     * @type {string}
+     * @memberof VersionInfo
+     */
+    version: string;
+    /**
+     * Timestamp of server startup
+     * @type {number}
+     * @memberof VersionInfo
+     */
+    startTimestamp: number;
+    /**
+     * Privacy statement
+     * @type {string}
+     * @memberof VersionInfo
+     */
+    privacyStatement?: string;
+}
+
+/**
+ * Check if a given object implements the VersionInfo interface.
+ */
+export function instanceOfVersionInfo(value: object): boolean {
+    if (!('version' in value)) return false;
+    if (!('startTimestamp' in value)) return false;
+    return true;
+}
+
+export function VersionInfoFromJSON(json: any): VersionInfo {
+    return VersionInfoFromJSONTyped(json, false);
+}
+
+export function VersionInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): VersionInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'version': json['version'],
+        'startTimestamp': json['startTimestamp'],
+        'privacyStatement': json['privacyStatement'] == null ? undefined : json['privacyStatement'],
+    };
+}
+
+export function VersionInfoToJSON(value?: VersionInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'version': value['version'],
+        'startTimestamp': value['startTimestamp'],
+        'privacyStatement': value['privacyStatement'],
+    };
+}
+
@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.14
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ViewComponent } from './ViewComponent';
+import {
+    ViewComponentFromJSON,
+    ViewComponentFromJSONTyped,
+    ViewComponentToJSON,
+} from './ViewComponent';
+
+/**
+ * 
+ * @export
+ * @interface View
+ */
+export interface View {
+    /**
+     * 
+     * @type {number}
+     * @memberof View
+     */
+    id: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof View
+     */
+    name: string;
+    /**
+     * 
+     * @type {number}
+     * @memberof View
+     */
+    testId?: number;
+    /**
+     * 
+     * @type {Array<ViewComponent>}
+     * @memberof View
+     */
+    components: Array<ViewComponent>;
+}
+
+/**
+ * Check if a given object implements the View interface.
+ */
+export function instanceOfView(value: object): boolean {
+    if (!('id' in value)) return false;
+    if (!('name' in value)) return false;
+    if (!('components' in value)) return false;
+    return true;
+}
+
+export function ViewFromJSON(json: any): View {
+    return ViewFromJSONTyped(json, false);
+}
+
+export function ViewFromJSONTyped(json: any, ignoreDiscriminator: boolean): View {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'components': ((json['components'] as Array<any>).map(ViewComponentFromJSON)),
+    };
+}
+
+export function ViewToJSON(value?: View | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'testId': value['testId'],
+        'components': ((value['components'] as Array<any>).map(ViewComponentToJSON)),
+    };
+}
+